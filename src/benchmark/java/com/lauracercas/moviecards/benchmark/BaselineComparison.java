@@ -0,0 +1,107 @@
+package com.lauracercas.moviecards.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Compara los resultados JSON de una ejecución de JMH con una línea base guardada: para cada
+ * benchmark (con sus parámetros) muestra la variación del rendimiento y de los bytes asignados
+ * por operación (gc.alloc.rate.norm del perfilador gc). Sale con código 1 si alguno empeora más
+ * del porcentaje indicado. Si la línea base no existe, guarda ahí los resultados actuales.
+ * Uso: BaselineComparison baseline.json resultados.json [porcentaje máximo de regresión]
+ * Autor: Hernan Andres Henao
+ * Proyecto: TFM Integración Continua con GitHub Actions
+ * Fecha: 18/10/2026
+ */
+public final class BaselineComparison {
+
+    private static final String ALLOCATION = "gc.alloc.rate.norm";
+
+    private BaselineComparison() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Uso: BaselineComparison baseline.json resultados.json [porcentaje]");
+            System.exit(2);
+        }
+        Path baselineFile = Paths.get(args[0]);
+        Path resultsFile = Paths.get(args[1]);
+        double maxRegression = args.length > 2 ? Double.parseDouble(args[2]) : 10.0;
+        if (!Files.exists(baselineFile)) {
+            Files.createDirectories(baselineFile.toAbsolutePath().getParent());
+            Files.copy(resultsFile, baselineFile, StandardCopyOption.REPLACE_EXISTING);
+            System.out.printf("Línea base guardada en %s%n", baselineFile);
+            return;
+        }
+        ObjectMapper mapper = new ObjectMapper();
+        Map<String, JsonNode> baseline = byBenchmark(mapper.readTree(baselineFile.toFile()));
+        Map<String, JsonNode> results = byBenchmark(mapper.readTree(resultsFile.toFile()));
+
+        int regressions = 0;
+        System.out.printf("%-70s %14s %14s %9s %12s %9s%n", "benchmark", "base", "actual", "Δ", "B/op", "Δ B/op");
+        for (Map.Entry<String, JsonNode> result : results.entrySet()) {
+            JsonNode current = result.getValue();
+            JsonNode previous = baseline.get(result.getKey());
+            double score = current.path("primaryMetric").path("score").asDouble();
+            double allocation = current.path("secondaryMetrics").path(ALLOCATION).path("score").asDouble(Double.NaN);
+            if (previous == null) {
+                System.out.printf("%-70s %14s %14.2f %9s %12.0f %9s%n", result.getKey(), "-", score, "nuevo",
+                        allocation, "");
+                continue;
+            }
+            double baseScore = previous.path("primaryMetric").path("score").asDouble();
+            double baseAllocation = previous.path("secondaryMetrics").path(ALLOCATION).path("score").asDouble(Double.NaN);
+            // En modo thrpt más es mejor; en avgt, sample y ss, menos
+            boolean higherIsBetter = "thrpt".equals(current.path("mode").asText());
+            double change = percent(baseScore, score);
+            double allocationChange = percent(baseAllocation, allocation);
+            boolean regression = (higherIsBetter ? -change : change) > maxRegression
+                    || allocationChange > maxRegression;
+            if (regression) {
+                regressions++;
+            }
+            System.out.printf("%-70s %14.2f %14.2f %+8.1f%% %12.0f %+8.1f%%%s%n", result.getKey(), baseScore, score,
+                    change, allocation, allocationChange, regression ? "  REGRESIÓN" : "");
+        }
+        if (regressions > 0) {
+            System.out.printf("%d benchmarks empeoran más de un %.0f%%%n", regressions, maxRegression);
+            System.exit(1);
+        }
+    }
+
+    private static Map<String, JsonNode> byBenchmark(JsonNode results) {
+        Map<String, JsonNode> byName = new LinkedHashMap<>();
+        for (JsonNode result : results) {
+            StringBuilder name = new StringBuilder(result.path("benchmark").asText()
+                    .replace("com.lauracercas.moviecards.benchmark.", ""));
+            Iterator<Map.Entry<String, JsonNode>> params = result.path("params").fields();
+            while (params.hasNext()) {
+                Map.Entry<String, JsonNode> param = params.next();
+                name.append(name.indexOf("(") < 0 ? "(" : ", ").append(param.getKey()).append('=')
+                        .append(param.getValue().asText());
+            }
+            if (name.indexOf("(") >= 0) {
+                name.append(')');
+            }
+            byName.put(name.toString(), result);
+        }
+        return byName;
+    }
+
+    private static double percent(double base, double value) {
+        if (Double.isNaN(base) || Double.isNaN(value) || base == 0) {
+            return 0;
+        }
+        return (value - base) / base * 100;
+    }
+}
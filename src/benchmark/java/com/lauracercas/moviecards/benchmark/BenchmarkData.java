@@ -0,0 +1,65 @@
+package com.lauracercas.moviecards.benchmark;
+
+import com.lauracercas.moviecards.model.Actor;
+import com.lauracercas.moviecards.model.Movie;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Catálogos de prueba deterministas (misma semilla en cada ejecución) para que los
+ * resultados de distintas ejecuciones sean comparables.
+ * Autor: Hernan Andres Henao
+ * Proyecto: TFM Integración Continua con GitHub Actions
+ * Fecha: 18/10/2026
+ */
+final class BenchmarkData {
+
+    private static final String[] GENRES = {"Drama", "Comedia", "Acción", "Ciencia ficción", "Terror", "Animación"};
+    private static final String[] COUNTRIES = {"España", "Estados Unidos", "Francia", "Japón", "México", "Argentina"};
+    private static final String[] WORDS = ("una historia de amistad y traición en la que un grupo de personajes "
+            + "inolvidables se enfrenta a su pasado mientras el destino de la ciudad pende de un hilo").split(" ");
+    private static final long DAY_MILLIS = 24L * 60 * 60 * 1000;
+
+    private BenchmarkData() {
+    }
+
+    static List<Movie> movies(int size) {
+        Random random = new Random(42);
+        List<Movie> movies = new ArrayList<>(size);
+        for (int i = 1; i <= size; i++) {
+            Movie movie = new Movie();
+            movie.setId(i);
+            movie.setTitle("Película " + i);
+            movie.setReleaseYear(1950 + random.nextInt(75));
+            movie.setDuration(80 + random.nextInt(100));
+            movie.setCountry(COUNTRIES[random.nextInt(COUNTRIES.length)]);
+            movie.setDirector("Director " + random.nextInt(500));
+            movie.setGenre(GENRES[random.nextInt(GENRES.length)]);
+            StringBuilder sinopsis = new StringBuilder();
+            for (int word = 0; word < 80 + random.nextInt(60); word++) {
+                sinopsis.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+            }
+            movie.setSinopsis(sinopsis.toString().trim());
+            movies.add(movie);
+        }
+        return movies;
+    }
+
+    static List<Actor> actors(int size) {
+        Random random = new Random(7);
+        List<Actor> actors = new ArrayList<>(size);
+        for (int i = 1; i <= size; i++) {
+            Actor actor = new Actor(i, "Actor " + i);
+            actor.setBirthDate(new Date(-random.nextInt(30_000) * DAY_MILLIS));
+            if (random.nextInt(4) == 0) {
+                actor.setDeadDate(new Date(random.nextInt(20_000) * DAY_MILLIS));
+            }
+            actor.setCountry(COUNTRIES[random.nextInt(COUNTRIES.length)]);
+            actors.add(actor);
+        }
+        return actors;
+    }
+}
@@ -0,0 +1,69 @@
+package com.lauracercas.moviecards.benchmark;
+
+import com.lauracercas.moviecards.model.Actor;
+import com.lauracercas.moviecards.model.Movie;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Movie.existActorInMovie con repartos grandes: el peor caso (el actor no está) y el último
+ * del reparto. Los actores buscados son copias, no las mismas instancias, como cuando llegan
+ * de otra petición al servicio.
+ * Autor: Hernan Andres Henao
+ * Proyecto: TFM Integración Continua con GitHub Actions
+ * Fecha: 18/10/2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CastLookupBenchmark {
+
+    @Param({"10", "1000", "10000"})
+    public int castSize;
+
+    private Movie movie;
+    private Actor last;
+    private Actor absent;
+
+    @Setup
+    public void setUp() {
+        List<Actor> cast = BenchmarkData.actors(castSize + 1);
+        movie = new Movie();
+        movie.setActors(cast.subList(0, castSize));
+        last = copy(cast.get(castSize - 1));
+        absent = copy(cast.get(castSize));
+    }
+
+    @Benchmark
+    public boolean lastActor() {
+        return movie.existActorInMovie(last);
+    }
+
+    @Benchmark
+    public boolean absentActor() {
+        return movie.existActorInMovie(absent);
+    }
+
+    private static Actor copy(Actor actor) {
+        Actor copy = new Actor(actor.getId(), actor.getName());
+        copy.setBirthDate(actor.getBirthDate());
+        copy.setDeadDate(actor.getDeadDate());
+        copy.setCountry(actor.getCountry());
+        return copy;
+    }
+}
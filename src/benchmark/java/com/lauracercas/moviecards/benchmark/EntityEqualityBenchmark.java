@@ -0,0 +1,65 @@
+package com.lauracercas.moviecards.benchmark;
+
+import com.lauracercas.moviecards.model.Actor;
+import com.lauracercas.moviecards.model.Movie;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * equals y hashCode de Movie y Actor entre instancias distintas con los mismos datos, que es
+ * lo que hacen las colecciones del reparto y las cachés.
+ * Autor: Hernan Andres Henao
+ * Proyecto: TFM Integración Continua con GitHub Actions
+ * Fecha: 18/10/2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EntityEqualityBenchmark {
+
+    private Movie movie;
+    private Movie sameMovie;
+    private Actor actor;
+    private Actor sameActor;
+
+    @Setup
+    public void setUp() {
+        movie = BenchmarkData.movies(1).get(0);
+        sameMovie = BenchmarkData.movies(1).get(0);
+        actor = BenchmarkData.actors(1).get(0);
+        sameActor = BenchmarkData.actors(1).get(0);
+    }
+
+    @Benchmark
+    public boolean movieEquals() {
+        return movie.equals(sameMovie);
+    }
+
+    @Benchmark
+    public int movieHashCode() {
+        return movie.hashCode();
+    }
+
+    @Benchmark
+    public boolean actorEquals() {
+        return actor.equals(sameActor);
+    }
+
+    @Benchmark
+    public int actorHashCode() {
+        return actor.hashCode();
+    }
+}
@@ -0,0 +1,70 @@
+package com.lauracercas.moviecards.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lauracercas.moviecards.model.Actor;
+import com.lauracercas.moviecards.model.Movie;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deserialización de los listados de películas y actores con el mismo ObjectMapper que usa
+ * RestTemplate para JSON.
+ * Autor: Hernan Andres Henao
+ * Proyecto: TFM Integración Continua con GitHub Actions
+ * Fecha: 18/10/2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonDecodingBenchmark {
+
+    private static final TypeReference<List<Movie>> MOVIE_LIST = new TypeReference<>() {};
+    private static final TypeReference<List<Actor>> ACTOR_LIST = new TypeReference<>() {};
+
+    @Param({"100", "10000", "100000"})
+    public int size;
+
+    private ObjectMapper mapper;
+    private byte[] movies;
+    private byte[] actors;
+
+    @Setup
+    public void setUp() throws IOException {
+        mapper = new RestTemplate().getMessageConverters().stream()
+                .filter(MappingJackson2HttpMessageConverter.class::isInstance)
+                .map(converter -> ((MappingJackson2HttpMessageConverter) converter).getObjectMapper())
+                .findFirst()
+                .orElseThrow();
+        movies = mapper.writeValueAsBytes(BenchmarkData.movies(size));
+        actors = mapper.writeValueAsBytes(BenchmarkData.actors(size));
+    }
+
+    @Benchmark
+    public List<Movie> decodeMovies() throws IOException {
+        return mapper.readValue(movies, MOVIE_LIST);
+    }
+
+    @Benchmark
+    public List<Actor> decodeActors() throws IOException {
+        return mapper.readValue(actors, ACTOR_LIST);
+    }
+}
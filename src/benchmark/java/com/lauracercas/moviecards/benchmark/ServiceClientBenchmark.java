@@ -0,0 +1,94 @@
+package com.lauracercas.moviecards.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lauracercas.moviecards.MovieCardsApplication;
+import com.lauracercas.moviecards.client.MovieCardsServiceClient;
+import com.lauracercas.moviecards.model.Movie;
+import com.sun.net.httpserver.HttpServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ida y vuelta completa de MovieCardsServiceClient.getAllMovies (limitador, circuito,
+ * reintentos, métricas, pool de conexiones de HttpClient y deserialización) contra un
+ * servidor HTTP de pruebas en el mismo proceso que responde siempre el mismo listado.
+ * El cliente sale del contexto de Spring de la aplicación, sin servidor web.
+ * Autor: Hernan Andres Henao
+ * Proyecto: TFM Integración Continua con GitHub Actions
+ * Fecha: 18/10/2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServiceClientBenchmark {
+
+    @Param({"100", "10000"})
+    public int size;
+
+    private ExecutorService serverExecutor;
+    private HttpServer server;
+    private ConfigurableApplicationContext context;
+    private MovieCardsServiceClient client;
+
+    @Setup
+    public void setUp() throws IOException {
+        byte[] body = new ObjectMapper().writeValueAsBytes(BenchmarkData.movies(size));
+        // Sin TCP_NODELAY las cabeceras y el cuerpo van en segmentos separados y el ACK retardado añade ~40 ms
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/api/movies", exchange -> {
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        serverExecutor = Executors.newFixedThreadPool(4);
+        server.setExecutor(serverExecutor);
+        server.start();
+        context = new SpringApplicationBuilder(MovieCardsApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--moviecards.service.url=http://localhost:" + server.getAddress().getPort() + "/api",
+                        "--moviecards.service.fallback=fail-fast",
+                        "--spring.main.banner-mode=off",
+                        "--logging.level.root=WARN");
+        client = context.getBean(MovieCardsServiceClient.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Benchmark
+    public List<Movie> getAllMovies() {
+        return client.getAllMovies();
+    }
+}
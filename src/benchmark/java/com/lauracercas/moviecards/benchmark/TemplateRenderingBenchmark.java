@@ -0,0 +1,85 @@
+package com.lauracercas.moviecards.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockServletContext;
+import org.thymeleaf.context.WebContext;
+import org.thymeleaf.spring5.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+import java.io.CharArrayWriter;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Render de movies/list y actors/list con la misma configuración de Thymeleaf que Spring Boot
+ * (plantillas de classpath:/templates/, caché de plantillas activada), sobre una salida en
+ * memoria que se reutiliza para medir solo el procesado de la plantilla.
+ * Autor: Hernan Andres Henao
+ * Proyecto: TFM Integración Continua con GitHub Actions
+ * Fecha: 18/10/2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TemplateRenderingBenchmark {
+
+    @Param({"100", "1000"})
+    public int size;
+
+    private SpringTemplateEngine engine;
+    private WebContext movies;
+    private WebContext actors;
+    private final CharArrayWriter output = new CharArrayWriter(1 << 20);
+
+    @Setup
+    public void setUp() {
+        ClassLoaderTemplateResolver resolver = new ClassLoaderTemplateResolver();
+        resolver.setPrefix("templates/");
+        resolver.setSuffix(".html");
+        resolver.setTemplateMode(TemplateMode.HTML);
+        resolver.setCharacterEncoding("UTF-8");
+        resolver.setCacheable(true);
+        engine = new SpringTemplateEngine();
+        engine.setTemplateResolver(resolver);
+        engine.setEnableSpringELCompiler(true);
+        movies = context(Map.of("movies", BenchmarkData.movies(size)));
+        actors = context(Map.of("actors", BenchmarkData.actors(size)));
+    }
+
+    @Benchmark
+    public int renderMovies() {
+        output.reset();
+        engine.process("movies/list", movies, output);
+        return output.size();
+    }
+
+    @Benchmark
+    public int renderActors() {
+        output.reset();
+        engine.process("actors/list", actors, output);
+        return output.size();
+    }
+
+    private static WebContext context(Map<String, Object> variables) {
+        MockServletContext servletContext = new MockServletContext();
+        return new WebContext(new MockHttpServletRequest(servletContext), new MockHttpServletResponse(),
+                servletContext, new Locale("es", "ES"), variables);
+    }
+}
@@ -0,0 +1,92 @@
+package com.lauracercas.moviecards.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lauracercas.moviecards.client.http.WireFormat;
+import com.lauracercas.moviecards.model.Movie;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Decodificación del listado de películas en cada formato (JSON, Smile, CBOR), con y sin gzip,
+ * usando los mismos ObjectMapper que RestTemplate. El tamaño del cuerpo recibido se escribe al
+ * preparar cada combinación: es un valor fijo y los contadores auxiliares de JMH lo sumarían
+ * en cada iteración.
+ * Autor: Hernan Andres Henao
+ * Proyecto: TFM Integración Continua con GitHub Actions
+ * Fecha: 18/10/2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WireFormatBenchmark {
+
+    private static final TypeReference<List<Movie>> MOVIE_LIST = new TypeReference<>() {};
+
+    @Param({"10000"})
+    public int size;
+
+    @Param({"JSON", "SMILE", "CBOR"})
+    public WireFormat format;
+
+    @Param({"false", "true"})
+    public boolean gzip;
+
+    private ObjectMapper mapper;
+    private byte[] payload;
+
+    @Setup
+    public void setUp() throws IOException {
+        mapper = new RestTemplate().getMessageConverters().stream()
+                .filter(AbstractJackson2HttpMessageConverter.class::isInstance)
+                .map(AbstractJackson2HttpMessageConverter.class::cast)
+                .filter(converter -> converter.getSupportedMediaTypes().stream()
+                        .anyMatch(mediaType -> mediaType.includes(format.getMediaType())))
+                .map(AbstractJackson2HttpMessageConverter::getObjectMapper)
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("Sin conversor para " + format));
+        byte[] plain = mapper.writeValueAsBytes(BenchmarkData.movies(size));
+        payload = gzip ? gzip(plain) : plain;
+        System.out.printf("%n%s%s: %d bytes%n", format, gzip ? "+gzip" : "", payload.length);
+    }
+
+    @Benchmark
+    public List<Movie> decodeMovies() throws IOException {
+        try (InputStream body = gzip
+                ? new GZIPInputStream(new ByteArrayInputStream(payload))
+                : new ByteArrayInputStream(payload)) {
+            return mapper.readValue(body, MOVIE_LIST);
+        }
+    }
+
+    private static byte[] gzip(byte[] plain) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(plain.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(plain);
+        }
+        return compressed.toByteArray();
+    }
+}
@@ -1,24 +1,93 @@
 package com.lauracercas.moviecards.client;
 
+import com.lauracercas.moviecards.client.cache.ConditionalResponseStore;
+import com.lauracercas.moviecards.client.cache.ConditionalResponseStore.StoredResponse;
+import com.lauracercas.moviecards.client.cache.EntityCache;
+import com.lauracercas.moviecards.client.concurrent.BatchLoaders;
+import com.lauracercas.moviecards.client.concurrent.BatchingLoader;
+import com.lauracercas.moviecards.client.concurrent.RequestHedger;
+import com.lauracercas.moviecards.client.concurrent.SingleFlight;
 import com.lauracercas.moviecards.client.exception.MovieCardsServiceException;
+import com.lauracercas.moviecards.client.exception.ServiceUnavailableException;
+import com.lauracercas.moviecards.client.fallback.FailFastFallback;
+import com.lauracercas.moviecards.client.fallback.OfflineData;
+import com.lauracercas.moviecards.client.fallback.ServiceFallback;
+import com.lauracercas.moviecards.client.http.ClientCallMetrics;
+import com.lauracercas.moviecards.client.http.CountingClientHttpResponse;
+import com.lauracercas.moviecards.client.http.ServiceEndpoint;
+import com.lauracercas.moviecards.client.http.WireFormat;
+import com.lauracercas.moviecards.client.patch.FieldFingerprint;
+import com.lauracercas.moviecards.client.resilience.AdaptiveConcurrencyLimiter;
+import com.lauracercas.moviecards.client.resilience.RetryPolicy;
+import com.lauracercas.moviecards.client.resilience.ServiceCallGuard;
+import com.lauracercas.moviecards.client.stream.JsonCatalogReader;
+import com.lauracercas.moviecards.client.sync.CatalogDelta;
 import com.lauracercas.moviecards.config.MovieCardsServiceConfig;
 import com.lauracercas.moviecards.model.Actor;
+import com.lauracercas.moviecards.model.ActorSummary;
+import com.lauracercas.moviecards.model.CatalogGraph;
 import com.lauracercas.moviecards.model.Movie;
+import com.lauracercas.moviecards.model.MovieSummary;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.core.ParameterizedTypeReference;
-import org.springframework.core.env.Environment;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
 import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpMessageConverterExtractor;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.client.RestClientException;
-
+import org.springframework.web.client.RestClientResponseException;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.ResponseExtractor;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 /**
  * Cliente REST para comunicarse con el servicio moviecards-service
  * Autor: Hernan Andres Henao
  * Proyecto: TFM Integración Continua con GitHub Actions
  * Fecha: 21/02/2026
+ * Modificado: 18/10/2026 - Actualizaciones parciales con JSON merge-patch a partir de la huella del formulario
+ * Modificado: 18/10/2026 - Listados en formato binario (Smile/CBOR) si el servicio lo ofrece
+ * Modificado: 18/10/2026 - Hedging de las lecturas agrupables
+ * Modificado: 18/10/2026 - Limitador adaptativo de peticiones en curso
+ * Modificado: 18/10/2026 - Reintentos con backoff exponencial de las llamadas idempotentes
+ * Modificado: 18/10/2026 - Consulta de los cambios del catálogo desde una versión (sincronización incremental)
+ * Modificado: 18/10/2026 - Métricas de latencia por operación lógica
+ * Modificado: 18/10/2026 - Listados resumidos (MovieSummary, ActorSummary) sin repartos
+ * Modificado: 18/10/2026 - Catálogo completo en grafo, con los actores compartidos entre repartos
+ * Modificado: 18/10/2026 - Listados resumidos leídos fila a fila
  */
 @Component
 public class MovieCardsServiceClient {
@@ -27,17 +96,90 @@ public class MovieCardsServiceClient {
     private static final String API_PATH_MOVIES_WITH_SLASH = "/movies/";
     private static final String API_PATH_ACTORS = "/actors";
     private static final String API_PATH_ACTORS_WITH_SLASH = "/actors/";
+    private static final String API_PATH_CHANGES = "/changes";
+    private static final String SUMMARY_VIEW = "view=summary";
+    private static final String GRAPH_VIEW = "view=graph";
+    private static final MediaType MERGE_PATCH_JSON = MediaType.valueOf("application/merge-patch+json");
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    /**
+     * Fallback de la sincronización de copias locales: sus errores nunca se sustituyen por datos offline.
+     */
+    private static final ServiceFallback FAIL_FAST = new FailFastFallback();
 
     private final RestTemplate restTemplate;
     private final MovieCardsServiceConfig config;
-    private final Environment environment;
+    private final EntityCache entityCache;
+    private final SingleFlight singleFlight;
+    private final ConditionalResponseStore responseStore;
+    private final ServiceCallGuard callGuard;
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final RequestHedger hedger;
+    private final RetryPolicy retryPolicy;
+    private final ClientCallMetrics callMetrics;
+    private final ServiceFallback fallback;
+    private final ObjectMapper objectMapper;
+    private final Map<WireFormat, JsonCatalogReader> catalogReaders = new EnumMap<>(WireFormat.class);
+    private final BatchingLoader<Integer, Movie> movieLoader;
+    private final BatchingLoader<Integer, Actor> actorLoader;
+    private final Set<String> batchUnsupported = ConcurrentHashMap.newKeySet();
+    private final Set<String> patchUnsupported = ConcurrentHashMap.newKeySet();
+    private final Set<String> changesUnsupported = ConcurrentHashMap.newKeySet();
 
     public MovieCardsServiceClient(RestTemplate restTemplate,
                                    MovieCardsServiceConfig config,
-                                   Environment environment) {
+                                   EntityCache entityCache,
+                                   SingleFlight singleFlight,
+                                   ConditionalResponseStore responseStore,
+                                   ServiceCallGuard callGuard,
+                                   AdaptiveConcurrencyLimiter limiter,
+                                   RequestHedger hedger,
+                                   RetryPolicy retryPolicy,
+                                   ClientCallMetrics callMetrics,
+                                   ServiceFallback fallback,
+                                   BatchLoaders batchLoaders) {
         this.restTemplate = restTemplate;
         this.config = config;
-        this.environment = environment;
+        this.entityCache = entityCache;
+        this.singleFlight = singleFlight;
+        this.responseStore = responseStore;
+        this.callGuard = callGuard;
+        this.limiter = limiter;
+        this.hedger = hedger;
+        this.retryPolicy = retryPolicy;
+        this.callMetrics = callMetrics;
+        this.fallback = fallback;
+        this.objectMapper = objectMapperFor(restTemplate, WireFormat.JSON);
+        for (WireFormat format : WireFormat.values()) {
+            catalogReaders.put(format, new JsonCatalogReader(objectMapperFor(restTemplate, format)));
+        }
+        this.movieLoader = batchLoaders.newLoader(
+                ids -> fetchByIds("getMoviesByIds", API_PATH_MOVIES, ids, Movie[].class, Movie::getId,
+                        MovieCardsServiceClient::stampMovie),
+                this::fetchMovieById, MovieCardsServiceClient::isNotFound);
+        this.actorLoader = batchLoaders.newLoader(
+                ids -> fetchByIds("getActorsByIds", API_PATH_ACTORS, ids, Actor[].class, Actor::getId,
+                        MovieCardsServiceClient::stampActor),
+                this::fetchActorById, MovieCardsServiceClient::isNotFound);
+    }
+
+    /**
+     * ObjectMapper del conversor de RestTemplate para el formato, con la misma configuración
+     * que usan las respuestas deserializadas por el propio RestTemplate.
+     */
+    private static ObjectMapper objectMapperFor(RestTemplate restTemplate, WireFormat format) {
+        return restTemplate.getMessageConverters().stream()
+                .filter(AbstractJackson2HttpMessageConverter.class::isInstance)
+                .map(AbstractJackson2HttpMessageConverter.class::cast)
+                .filter(converter -> converter.getSupportedMediaTypes().stream()
+                        .anyMatch(mediaType -> mediaType.includes(format.getMediaType())))
+                .map(AbstractJackson2HttpMessageConverter::getObjectMapper)
+                .findFirst()
+                .orElseGet(ObjectMapper::new);
+    }
+
+    private JsonCatalogReader catalogReader(ClientHttpResponse response) {
+        WireFormat format = WireFormat.fromContentType(response.getHeaders().getContentType());
+        return catalogReaders.get(format != null ? format : WireFormat.JSON);
     }
 
     /* ==============================
@@ -46,46 +188,159 @@ public class MovieCardsServiceClient {
 
     public List<Movie> getAllMovies() {
         String url = config.getServiceUrl() + API_PATH_MOVIES;
-        return executeGetList(url, new ParameterizedTypeReference<List<Movie>>() {});
+        return executeGetList("getAllMovies", url, new ParameterizedTypeReference<List<Movie>>() {});
+    }
+
+    /**
+     * Catálogo completo en grafo: cada actor una sola vez, compartido por los repartos en que
+     * aparece. Se pide con view=graph (moviecards.service.graph-view); si el servicio devuelve
+     * el listado con los repartos anidados, el grafo se rehace al leerlo. Sin view=graph la URL
+     * es la de getAllMovies, pero la respuesta guardada y la agrupación son propias de getCatalog.
+     */
+    public CatalogGraph getCatalog() {
+        return getCatalog(fallback);
+    }
+
+    /**
+     * Como getCatalog pero sin fallback, para sincronizar copias locales (CatalogMirror): un
+     * catálogo de sustitución se tomaría por el real y vaciaría la copia.
+     */
+    public CatalogGraph getCatalogForSync() {
+        return getCatalog(FAIL_FAST);
+    }
+
+    private CatalogGraph getCatalog(ServiceFallback onFailure) {
+        String url = config.getServiceUrl() + API_PATH_MOVIES;
+        String graphUrl = config.isGraphView() ? url + "?" + GRAPH_VIEW : url;
+        return call("getCatalog", ServiceEndpoint.LIST, graphUrl, "Error al obtener datos desde: " + graphUrl,
+                () -> conditionalGet("getCatalog", graphUrl,
+                        response -> catalogReader(response).readGraph(response.getBody())),
+                CatalogGraph::empty, onFailure);
+    }
+
+    public List<MovieSummary> getMovieSummaries() {
+        return executeGetList("getMovieSummaries", summaryUrl(API_PATH_MOVIES),
+                new ParameterizedTypeReference<List<MovieSummary>>() {});
+    }
+
+    public Page<MovieSummary> getMovieSummariesPage(Pageable pageable) {
+        return executeGetPage("getMovieSummariesPage", summaryUrl(API_PATH_MOVIES), MovieSummary.class, pageable);
+    }
+
+    /**
+     * Sin fallback, como todo lo que usa la sincronización: un fallo nunca se confunde con un
+     * servicio que no ofrece los cambios.
+     *
+     * @return los cambios desde la versión (since=0: el catálogo completo), o vacío si el servicio no los ofrece
+     */
+    public Optional<CatalogDelta<Movie>> getMovieChanges(long since) {
+        return executeGetChanges("getMovieChanges", API_PATH_MOVIES, since, new ParameterizedTypeReference<CatalogDelta<Movie>>() {});
+    }
+
+    public Page<Movie> getMoviesPage(Pageable pageable) {
+        return executeGetPage("getMoviesPage", config.getServiceUrl() + API_PATH_MOVIES, Movie.class, pageable);
+    }
+
+    public void streamMovieSummaries(Consumer<MovieSummary> consumer) {
+        executeStream("streamMovieSummaries", summaryUrl(API_PATH_MOVIES), MovieSummary.class, consumer);
+    }
+
+    public void streamAllMovies(Consumer<Movie> consumer) {
+        executeStream("streamAllMovies", config.getServiceUrl() + API_PATH_MOVIES, Movie.class, consumer);
     }
 
     public Movie getMovieById(Integer movieId) {
+        return entityCache.getMovie(movieId, movieLoader::get);
+    }
+
+    public List<Movie> getMoviesByIds(Collection<Integer> movieIds) {
+        return getByIds(movieIds, entityCache::getMovieIfPresent, movieLoader, Movie::getId, entityCache::putLoadedMovie);
+    }
+
+    private Movie fetchMovieById(Integer movieId) {
         String url = config.getServiceUrl() + API_PATH_MOVIES_WITH_SLASH + movieId;
-        return executeGetObject(url, Movie.class, () -> {
-            Movie mockMovie = new Movie();
-            mockMovie.setId(movieId);
-            mockMovie.setTitle("Test Movie");
-            mockMovie.setActors(List.of());
-            return mockMovie;
-        });
+        return executeGetObject("getMovieById", url, Movie.class, () -> OfflineData.movie(movieId), MovieCardsServiceClient::stampMovie);
     }
 
     public Movie saveMovie(Movie movie) {
+        return saveMovie(movie, null);
+    }
+
+    /**
+     * @param idempotencyKey clave fija para los reenvíos de una misma alta (outbox), o null para una por llamada
+     */
+    public Movie saveMovie(Movie movie, String idempotencyKey) {
         String url = config.getServiceUrl() + API_PATH_MOVIES;
-        return executePost(url, movie, Movie.class, () -> {
+        Movie saved = executePost("saveMovie", url, movie, Movie.class, () -> {
             if (movie.getId() == null) {
                 movie.setId(1);
             }
+            movie.setOffline(true);
             return movie;
-        });
+        }, idempotencyKey);
+        stampMovie(saved, null);
+        entityCache.putMovie(saved);
+        return saved;
     }
 
+    /**
+     * Una sola ida y vuelta: si la respuesta trae la película se usa tal cual; si no, se combina
+     * lo enviado con la copia en caché (el formulario no envía el reparto) y la entidad se
+     * vuelve a leer en segundo plano. Con moviecards.service.update.read-after-write=true
+     * se vuelve a leer siempre antes de responder.
+     * Si el formulario trae la huella con la que se cargó, solo se envían los campos cambiados
+     * (PATCH merge-patch, con If-Match si hubo ETag) y un reenvío idéntico no llama al servicio.
+     */
     public Movie updateMovie(Integer movieId, Movie movie) {
         String url = config.getServiceUrl() + API_PATH_MOVIES_WITH_SLASH + movieId;
-        try {
-            restTemplate.put(url, movie);
+        Movie cached = entityCache.getMovieIfPresent(movieId);
+        Map<String, Object> changes = FieldFingerprint.MOVIE.changedFields(movie, movie.getFingerprint());
+        if (changes != null && changes.isEmpty()) {
+            return cached != null ? cached : mergeMovie(movieId, movie, null);
+        }
+
+        String errorMessage = "Error al actualizar la película con ID: " + movieId;
+        ResponseExtractor<Optional<Movie>> extractor = optionalBody(Movie.class, MovieCardsServiceClient::stampMovie);
+        Supplier<Optional<Movie>> fullUpdate = () -> idempotentWrite("updateMovie", url, errorMessage,
+                () -> restTemplate.execute(url, HttpMethod.PUT,
+                        restTemplate.httpEntityCallback(movie, Movie.class), extractor),
+                () -> null);
+        Optional<Movie> response = changes != null
+                ? executePatch("updateMovie", url, API_PATH_MOVIES, changes, FieldFingerprint.MOVIE.etag(movie.getFingerprint()),
+                        errorMessage, extractor, fullUpdate)
+                : fullUpdate.get();
+        if (response == null) {
+            movie.setId(movieId);
+            return movie;
+        }
+        if (config.isReadAfterWrite()) {
+            entityCache.evictMovie(movieId);
             return getMovieById(movieId);
-        } catch (RestClientException e) {
-            if (isTestProfile()) {
-                movie.setId(movieId);
-                return movie;
+        }
+        if (response.isPresent()) {
+            entityCache.putMovie(response.get());
+            return response.get();
+        }
+
+        Movie merged = mergeMovie(movieId, movie, cached);
+        entityCache.putMovie(merged);
+        movieLoader.refresh(movieId).whenComplete((fresh, error) -> {
+            if (error != null) {
+                entityCache.evictMovie(movieId);
+            } else {
+                entityCache.putLoadedMovie(fresh);
             }
-            throw new MovieCardsServiceException(
-                    "Error al actualizar la película con ID: " + movieId,
-                    url,
-                    e
-            );
+        });
+        return merged;
+    }
+
+    private static Movie mergeMovie(Integer movieId, Movie movie, Movie cached) {
+        movie.setId(movieId);
+        if (movie.getActors() == null && cached != null) {
+            movie.setActors(cached.getActors());
         }
+        stampMovie(movie, null);
+        return movie;
     }
 
     /* ==============================
@@ -94,27 +349,133 @@ public class MovieCardsServiceClient {
 
     public List<Actor> getAllActors() {
         String url = config.getServiceUrl() + API_PATH_ACTORS;
-        return executeGetList(url, new ParameterizedTypeReference<List<Actor>>() {});
+        return executeGetList("getAllActors", url, new ParameterizedTypeReference<List<Actor>>() {});
+    }
+
+    /**
+     * Como getAllActors pero sin fallback, para sincronizar copias locales (CatalogMirror).
+     */
+    public List<Actor> getAllActorsForSync() {
+        String url = config.getServiceUrl() + API_PATH_ACTORS;
+        return executeGetList("getAllActors", url, new ParameterizedTypeReference<List<Actor>>() {}, FAIL_FAST);
+    }
+
+    public List<ActorSummary> getActorSummaries() {
+        return executeGetList("getActorSummaries", summaryUrl(API_PATH_ACTORS),
+                new ParameterizedTypeReference<List<ActorSummary>>() {});
+    }
+
+    public Page<ActorSummary> getActorSummariesPage(Pageable pageable) {
+        return executeGetPage("getActorSummariesPage", summaryUrl(API_PATH_ACTORS), ActorSummary.class, pageable);
+    }
+
+    public Optional<CatalogDelta<Actor>> getActorChanges(long since) {
+        return executeGetChanges("getActorChanges", API_PATH_ACTORS, since, new ParameterizedTypeReference<CatalogDelta<Actor>>() {});
+    }
+
+    public Page<Actor> getActorsPage(Pageable pageable) {
+        return executeGetPage("getActorsPage", config.getServiceUrl() + API_PATH_ACTORS, Actor.class, pageable);
+    }
+
+    public void streamActorSummaries(Consumer<ActorSummary> consumer) {
+        executeStream("streamActorSummaries", summaryUrl(API_PATH_ACTORS), ActorSummary.class, consumer);
+    }
+
+    public void streamAllActors(Consumer<Actor> consumer) {
+        executeStream("streamAllActors", config.getServiceUrl() + API_PATH_ACTORS, Actor.class, consumer);
     }
 
     public Actor getActorById(Integer actorId) {
+        return entityCache.getActor(actorId, actorLoader::get);
+    }
+
+    public List<Actor> getActorsByIds(Collection<Integer> actorIds) {
+        return getByIds(actorIds, entityCache::getActorIfPresent, actorLoader, Actor::getId, entityCache::putLoadedActor);
+    }
+
+    private Actor fetchActorById(Integer actorId) {
         String url = config.getServiceUrl() + API_PATH_ACTORS_WITH_SLASH + actorId;
-        return executeGetObject(url, Actor.class, () -> {
-            Actor mockActor = new Actor();
-            mockActor.setId(actorId);
-            mockActor.setName("Test Actor");
-            return mockActor;
-        });
+        return executeGetObject("getActorById", url, Actor.class, () -> OfflineData.actor(actorId), MovieCardsServiceClient::stampActor);
     }
 
     public Actor saveActor(Actor actor) {
+        return saveActor(actor, null);
+    }
+
+    public Actor saveActor(Actor actor, String idempotencyKey) {
         String url = config.getServiceUrl() + API_PATH_ACTORS;
-        return executePost(url, actor, Actor.class, () -> {
+        Actor saved = executePost("saveActor", url, actor, Actor.class, () -> {
             if (actor.getId() == null) {
                 actor.setId(1);
             }
+            actor.setOffline(true);
+            return actor;
+        }, idempotencyKey);
+        stampActor(saved, null);
+        entityCache.putActor(saved);
+        return saved;
+    }
+
+    /**
+     * Igual que updateMovie: envía solo los campos cambiados respecto a la huella del formulario.
+     * Sin huella, o si el servicio no acepta PATCH, guarda el actor completo con saveActor.
+     */
+    public Actor updateActor(Integer actorId, Actor actor) {
+        Actor cached = entityCache.getActorIfPresent(actorId);
+        Map<String, Object> changes = FieldFingerprint.ACTOR.changedFields(actor, actor.getFingerprint());
+        if (changes == null) {
+            return saveActor(actor);
+        }
+        if (changes.isEmpty()) {
+            return cached != null ? cached : mergeActor(actorId, actor, null);
+        }
+
+        String url = config.getServiceUrl() + API_PATH_ACTORS_WITH_SLASH + actorId;
+        Optional<Actor> response = executePatch("updateActor", url, API_PATH_ACTORS, changes,
+                FieldFingerprint.ACTOR.etag(actor.getFingerprint()),
+                "Error al actualizar el actor con ID: " + actorId,
+                optionalBody(Actor.class, MovieCardsServiceClient::stampActor),
+                () -> Optional.of(saveActor(actor)));
+        if (response == null) {
+            actor.setId(actorId);
             return actor;
+        }
+        if (config.isReadAfterWrite()) {
+            entityCache.evictActor(actorId);
+            return getActorById(actorId);
+        }
+        if (response.isPresent()) {
+            entityCache.putActor(response.get());
+            return response.get();
+        }
+
+        Actor merged = mergeActor(actorId, actor, cached);
+        entityCache.putActor(merged);
+        actorLoader.refresh(actorId).whenComplete((fresh, error) -> {
+            if (error != null) {
+                entityCache.evictActor(actorId);
+            } else {
+                entityCache.putLoadedActor(fresh);
+            }
         });
+        return merged;
+    }
+
+    private static Actor mergeActor(Integer actorId, Actor actor, Actor cached) {
+        actor.setId(actorId);
+        if (actor.getMovies() == null && cached != null) {
+            actor.setMovies(cached.getMovies());
+        }
+        stampActor(actor, null);
+        return actor;
+    }
+
+    private static void stampMovie(Movie movie, String etag) {
+        movie.setFingerprint(FieldFingerprint.MOVIE.of(movie, etag));
+    }
+
+    private static void stampActor(Actor actor, String etag) {
+        actor.setFingerprint(FieldFingerprint.ACTOR.of(actor, etag));
     }
 
     /* ==============================
@@ -122,110 +483,484 @@ public class MovieCardsServiceClient {
        ============================== */
 
     public String registerActorInMovie(Integer movieId, Integer actorId) {
+        return registerActorInMovie(movieId, actorId, null);
+    }
+
+    /**
+     * @param idempotencyKey clave fija para los reenvíos de un mismo registro (outbox), o null;
+     *                       con clave el POST se puede reintentar como las altas
+     */
+    public String registerActorInMovie(Integer movieId, Integer actorId, String idempotencyKey) {
         String url = config.getServiceUrl()
                 + API_PATH_MOVIES_WITH_SLASH + movieId
                 + API_PATH_ACTORS_WITH_SLASH + actorId;
-
-        try {
-            restTemplate.postForEntity(url, null, String.class);
-            return "Éxito";
-        } catch (RestClientException e) {
-            if (isTestProfile()) {
-                return "Éxito";
-            }
-            throw new MovieCardsServiceException(
-                    "Error al registrar el actor en la película",
-                    url,
-                    e
-            );
+        String errorMessage = "Error al registrar el actor en la película";
+        HttpHeaders headers = new HttpHeaders();
+        if (idempotencyKey != null) {
+            headers.set(IDEMPOTENCY_KEY, idempotencyKey);
         }
+        Supplier<String> register = () -> {
+            restTemplate.postForEntity(url, new HttpEntity<>(null, headers), String.class);
+            entityCache.evictMovie(movieId);
+            entityCache.evictActor(actorId);
+            return "Éxito";
+        };
+
+        return idempotencyKey != null
+                ? idempotentWrite("registerActorInMovie", url, errorMessage, register, () -> "Éxito")
+                : call("registerActorInMovie", ServiceEndpoint.WRITE, url, errorMessage, register, () -> "Éxito");
     }
 
     /* ==============================
        MÉTODOS PRIVADOS GENÉRICOS
        ============================== */
 
-    private <T> List<T> executeGetList(String url,
+    /**
+     * URL del listado en su representación reducida, si está activada (moviecards.service.summary-view).
+     * Las proyecciones ignoran los campos que no conocen, así que la respuesta completa también vale.
+     */
+    private String summaryUrl(String path) {
+        String url = config.getServiceUrl() + path;
+        return config.isSummaryView() ? url + "?" + SUMMARY_VIEW : url;
+    }
+
+    private <T> List<T> executeGetList(String operation,
+                                       String url,
                                        ParameterizedTypeReference<List<T>> type) {
-        try {
-            ResponseEntity<List<T>> response =
-                    restTemplate.exchange(url, HttpMethod.GET, null, type);
+        return executeGetList(operation, url, type, fallback);
+    }
 
-            return response.getBody() != null ? response.getBody() : List.of();
+    private <T> List<T> executeGetList(String operation,
+                                       String url,
+                                       ParameterizedTypeReference<List<T>> type,
+                                       ServiceFallback onFailure) {
+        List<T> body = call(operation, ServiceEndpoint.LIST, url, "Error al obtener datos desde: " + url,
+                () -> executeConditionalGet(operation, url, type),
+                List::of, onFailure);
 
-        } catch (RestClientException e) {
+        return body != null ? body : List.of();
+    }
 
-            if (isTestProfile()) {
-                return List.of();
-            }
+    /**
+     * GET condicional: envía los validadores de la última respuesta y, ante un 304,
+     * devuelve la lista ya deserializada en lugar de descargarla de nuevo.
+     */
+    private <T> List<T> executeConditionalGet(String operation, String url, ParameterizedTypeReference<List<T>> type) {
+        HttpMessageConverterExtractor<List<T>> extractor =
+                new HttpMessageConverterExtractor<>(type.getType(), restTemplate.getMessageConverters());
+
+        return conditionalGet(operation, url, response -> {
+            List<T> body = extractor.extractData(response);
+            return body != null ? Collections.unmodifiableList(body) : null;
+        });
+    }
 
-            throw new MovieCardsServiceException(
-                    "Error al obtener datos desde: " + url,
-                    url,
-                    e
-            );
+    private <T> T conditionalGet(String operation, String url, ResponseExtractor<T> extractor) {
+        StoredResponse<T> stored = responseStore.get(operation, url);
+
+        return restTemplate.execute(url, HttpMethod.GET,
+                request -> responseStore.addValidators(stored, request.getHeaders()),
+                response -> {
+                    if (response.getRawStatusCode() == HttpStatus.NOT_MODIFIED.value() && stored != null) {
+                        return responseStore.notModified(stored);
+                    }
+                    CountingClientHttpResponse countingResponse = new CountingClientHttpResponse(response);
+                    T result = extractor.extractData(countingResponse);
+                    responseStore.store(operation, url, response.getHeaders(), result, countingResponse.getBytesRead());
+                    return result;
+                });
+    }
+
+    private <T> Page<T> executeGetPage(String operation, String baseUrl, Class<T> type, Pageable pageable) {
+        UriComponentsBuilder builder = UriComponentsBuilder.fromHttpUrl(baseUrl);
+        if (pageable.isPaged()) {
+            builder.queryParam("page", pageable.getPageNumber())
+                    .queryParam("size", pageable.getPageSize());
+        }
+        for (Sort.Order order : pageable.getSort()) {
+            builder.queryParam("sort", order.getProperty() + "," + order.getDirection().name().toLowerCase());
         }
+        String url = builder.toUriString();
+
+        return call(operation, ServiceEndpoint.LIST, url, "Error al obtener datos desde: " + url,
+                () -> restTemplate.execute(url, HttpMethod.GET, null,
+                        response -> catalogReader(response).readPage(response.getBody(), type, pageable)),
+                () -> Page.empty(pageable));
     }
 
-    private <T> T executeGetObject(String url,
-                                   Class<T> clazz,
-                                   SupplierWithException<T> testFallback) {
+    /**
+     * Recorre el listado completo entregando cada elemento al consumidor según se parsea,
+     * con memoria constante sea cual sea el tamaño del catálogo.
+     * Solo la petición hasta recibir la cabecera de la respuesta pasa por el circuit breaker, el
+     * bulkhead y el limitador (y cuenta en la métrica de la operación): el cuerpo se lee después, al
+     * ritmo del consumidor, que puede quedarse esperando a un navegador lento sin que eso cuente como
+     * una llamada lenta al servicio ni ocupe su hueco.
+     */
+    private <T> void executeStream(String operation, String url, Class<T> type, Consumer<T> consumer) {
+        String errorMessage = "Error al obtener datos desde: " + url;
+        ClientHttpResponse opened = callWithoutCoalescing(operation, ServiceEndpoint.LIST, url, errorMessage,
+                () -> openResponse(url), () -> null);
+        if (opened == null) {
+            return;
+        }
+        try (ClientHttpResponse response = opened) {
+            catalogReader(response).readArray(response.getBody(), type, consumer);
+        } catch (IOException e) {
+            fallback.recover(new MovieCardsServiceException(errorMessage, url, e), () -> 0L);
+        }
+    }
+
+    /**
+     * GET con los interceptores y el tratamiento de errores de RestTemplate, pero sin leer el cuerpo:
+     * la respuesta se entrega abierta y la cierra quien la lee.
+     */
+    private ClientHttpResponse openResponse(String url) {
+        URI uri = restTemplate.getUriTemplateHandler().expand(url);
+        ClientHttpResponse response = null;
         try {
-            ResponseEntity<T> response =
-                    restTemplate.getForEntity(url, clazz);
+            response = restTemplate.getRequestFactory().createRequest(uri, HttpMethod.GET).execute();
+            if (restTemplate.getErrorHandler().hasError(response)) {
+                restTemplate.getErrorHandler().handleError(uri, HttpMethod.GET, response);
+            }
+            return response;
+        } catch (IOException e) {
+            closeQuietly(response);
+            throw new ResourceAccessException("I/O error on GET request for \"" + url + "\": " + e.getMessage(), e);
+        } catch (RuntimeException e) {
+            closeQuietly(response);
+            throw e;
+        }
+    }
 
-            return response.getBody();
+    private static void closeQuietly(ClientHttpResponse response) {
+        if (response != null) {
+            response.close();
+        }
+    }
 
-        } catch (RestClientException e) {
+    /**
+     * Resuelve varios ids: primero en la caché y el resto con llamadas por lotes.
+     * Conserva el orden pedido y omite los ids que no existen.
+     */
+    private <T> List<T> getByIds(Collection<Integer> ids,
+                                 Function<Integer, T> cached,
+                                 BatchingLoader<Integer, T> loader,
+                                 Function<T, Integer> idOf,
+                                 Consumer<T> store) {
+        Map<Integer, T> found = new LinkedHashMap<>();
+        List<Integer> missing = new ArrayList<>();
+        for (Integer id : new LinkedHashSet<>(ids)) {
+            T hit = cached.apply(id);
+            found.put(id, hit);
+            if (hit == null) {
+                missing.add(id);
+            }
+        }
+        for (T loaded : loader.getAll(missing)) {
+            store.accept(loaded);
+            found.put(idOf.apply(loaded), loaded);
+        }
+        return found.values().stream().filter(Objects::nonNull).collect(Collectors.toList());
+    }
 
-            if (isTestProfile()) {
-                return testFallback.get();
+    /**
+     * Consulta por lotes (GET /movies?ids=1,2,3). Si el servicio no tiene ese endpoint, o ignora
+     * el parámetro y devuelve el catálogo completo, deja de usarse para esa ruta y los ids se
+     * piden uno a uno (BatchingLoader lo hace en paralelo con las claves que aquí no aparecen).
+     */
+    private <T> Map<Integer, T> fetchByIds(String operation,
+                                           String path,
+                                           Set<Integer> ids,
+                                           Class<T[]> arrayType,
+                                           Function<T, Integer> idOf,
+                                           BiConsumer<T, String> stamp) {
+        if (batchUnsupported.contains(path)) {
+            return Map.of();
+        }
+        String url = UriComponentsBuilder.fromHttpUrl(config.getServiceUrl() + path)
+                .queryParam("ids", ids.stream().map(String::valueOf).collect(Collectors.joining(",")))
+                .toUriString();
+        T[] body;
+        try {
+            body = call(operation, ServiceEndpoint.LIST, url, "Error al obtener datos desde: " + url,
+                    () -> restTemplate.getForObject(url, arrayType),
+                    () -> null);
+        } catch (MovieCardsServiceException e) {
+            if (!isMissingEndpoint(e)) {
+                throw e;
             }
+            batchUnsupported.add(path);
+            return Map.of();
+        }
 
-            throw new MovieCardsServiceException(
-                    "Error al obtener recurso desde: " + url,
-                    url,
-                    e
-            );
+        Map<Integer, T> result = new HashMap<>();
+        if (body != null) {
+            for (T item : body) {
+                Integer id = idOf.apply(item);
+                if (ids.contains(id)) {
+                    stamp.accept(item, null);
+                    result.put(id, item);
+                } else {
+                    batchUnsupported.add(path);
+                }
+            }
         }
+        return result;
     }
 
-    private <T> T executePost(String url,
-                              Object request,
-                              Class<T> clazz,
-                              SupplierWithException<T> testFallback) {
+    /**
+     * GET {path}/changes?since=N. Si el servicio no tiene esa ruta (en muchos servicios acaba en
+     * {path}/{id} y responde 400) se recuerda y se devuelve vacío: el llamante recarga todo.
+     * Un 410 Gone se propaga como error para que el llamante detecte el hueco.
+     */
+    private <T> Optional<CatalogDelta<T>> executeGetChanges(String operation,
+                                                            String path,
+                                                            long since,
+                                                            ParameterizedTypeReference<CatalogDelta<T>> type) {
+        if (changesUnsupported.contains(path)) {
+            return Optional.empty();
+        }
+        String url = UriComponentsBuilder.fromHttpUrl(config.getServiceUrl() + path + API_PATH_CHANGES)
+                .queryParam("since", since)
+                .toUriString();
         try {
-            ResponseEntity<T> response =
-                    restTemplate.postForEntity(url, request, clazz);
+            return call(operation, ServiceEndpoint.LIST, url, "Error al obtener los cambios desde: " + url,
+                    () -> Optional.ofNullable(restTemplate.exchange(url, HttpMethod.GET, null, type).getBody()),
+                    Optional::empty, FAIL_FAST);
+        } catch (MovieCardsServiceException e) {
+            if (!isMissingEndpoint(e)) {
+                throw e;
+            }
+            changesUnsupported.add(path);
+            return Optional.empty();
+        }
+    }
 
-            return response.getBody();
+    private static boolean isNotFound(RuntimeException e) {
+        return e instanceof MovieCardsServiceException
+                && Integer.valueOf(HttpStatus.NOT_FOUND.value()).equals(((MovieCardsServiceException) e).getStatusCode());
+    }
 
-        } catch (RestClientException e) {
+    private static boolean isMissingEndpoint(MovieCardsServiceException e) {
+        Integer status = e.getStatusCode();
+        return status != null && (status == HttpStatus.BAD_REQUEST.value()
+                || status == HttpStatus.NOT_FOUND.value()
+                || status == HttpStatus.METHOD_NOT_ALLOWED.value()
+                || status == HttpStatus.NOT_IMPLEMENTED.value());
+    }
 
-            if (isTestProfile()) {
-                return testFallback.get();
-            }
+    /**
+     * @param stamp recibe la entidad leída y su ETag (o null) para calcular la huella del formulario
+     */
+    private <T> T executeGetObject(String operation,
+                                   String url,
+                                   Class<T> clazz,
+                                   Supplier<T> offlineValue,
+                                   BiConsumer<T, String> stamp) {
+        return call(operation, ServiceEndpoint.GET_BY_ID, url, "Error al obtener recurso desde: " + url,
+                () -> {
+                    ResponseEntity<T> response = restTemplate.getForEntity(url, clazz);
+                    T body = response.getBody();
+                    if (body != null) {
+                        stamp.accept(body, response.getHeaders().getETag());
+                    }
+                    return body;
+                },
+                offlineValue);
+    }
 
-            throw new MovieCardsServiceException(
-                    "Error al enviar datos a: " + url,
-                    url,
-                    e
-            );
+    /**
+     * PATCH con los campos cambiados como documento JSON merge-patch y, si se conoce el ETag con el
+     * que se cargó la entidad, la precondición If-Match (un 412 se propaga como error). Si el servicio
+     * no admite PATCH en esa ruta se recuerda y se hace la actualización completa.
+     *
+     * @return el cuerpo de la respuesta si lo hubo, o null si se usaron datos de sustitución
+     */
+    private <T> Optional<T> executePatch(String operation,
+                                         String url,
+                                         String path,
+                                         Map<String, Object> changes,
+                                         String etag,
+                                         String errorMessage,
+                                         ResponseExtractor<Optional<T>> extractor,
+                                         Supplier<Optional<T>> fullUpdate) {
+        if (patchUnsupported.contains(path)) {
+            return fullUpdate.get();
+        }
+        Optional<T> response = call(operation, ServiceEndpoint.WRITE, url, errorMessage,
+                () -> {
+                    try {
+                        return restTemplate.execute(url, HttpMethod.PATCH, request -> {
+                            HttpHeaders headers = request.getHeaders();
+                            headers.setContentType(MERGE_PATCH_JSON);
+                            headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+                            if (etag != null) {
+                                headers.setIfMatch(etag);
+                            }
+                            objectMapper.writeValue(request.getBody(), changes);
+                        }, extractor);
+                    } catch (HttpStatusCodeException e) {
+                        if (!isMissingPatchEndpoint(e.getRawStatusCode())) {
+                            throw e;
+                        }
+                        patchUnsupported.add(path);
+                        return null;
+                    }
+                },
+                () -> null);
+        if (response == null && patchUnsupported.contains(path)) {
+            return fullUpdate.get();
         }
+        return response;
+    }
+
+    /**
+     * Solo 405, 415 y 501 dicen que la ruta no admite PATCH; un 404 es que la entidad no existe
+     * (borrada entre la carga y el guardado) y se entrega como error, sin pasar a PUT.
+     */
+    private static boolean isMissingPatchEndpoint(int status) {
+        return status == HttpStatus.METHOD_NOT_ALLOWED.value()
+                || status == HttpStatus.UNSUPPORTED_MEDIA_TYPE.value()
+                || status == HttpStatus.NOT_IMPLEMENTED.value();
     }
 
-    private boolean isTestProfile() {
-        String[] activeProfiles = environment.getActiveProfiles();
-        for (String profile : activeProfiles) {
-            if (profile.contains("test")) {
-                return true;
+    /**
+     * Lee el cuerpo solo si es JSON (o Smile/CBOR): un 204 o una respuesta vacía dan Optional.empty().
+     */
+    private <T> ResponseExtractor<Optional<T>> optionalBody(Class<T> type, BiConsumer<T, String> stamp) {
+        return response -> {
+            if (WireFormat.fromContentType(response.getHeaders().getContentType()) == null) {
+                return Optional.empty();
             }
+            T body = new HttpMessageConverterExtractor<>(type, restTemplate.getMessageConverters()).extractData(response);
+            if (body != null) {
+                stamp.accept(body, response.getHeaders().getETag());
+            }
+            return Optional.ofNullable(body);
+        };
+    }
+
+    /**
+     * POST de alta. Con moviecards.retry.idempotency-keys (o si el llamante da la clave) lleva una
+     * Idempotency-Key, la misma en todos los intentos, para que el servicio pueda descartar los
+     * duplicados; solo entonces se reintenta.
+     */
+    private <T> T executePost(String operation,
+                              String url,
+                              Object request,
+                              Class<T> clazz,
+                              Supplier<T> offlineValue,
+                              String idempotencyKey) {
+        String errorMessage = "Error al enviar datos a: " + url;
+        String key = idempotencyKey != null || !retryPolicy.usesIdempotencyKeys()
+                ? idempotencyKey
+                : UUID.randomUUID().toString();
+        if (key == null) {
+            return call(operation, ServiceEndpoint.WRITE, url, errorMessage,
+                    () -> restTemplate.postForEntity(url, request, clazz).getBody(),
+                    offlineValue);
         }
-        return false;
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(IDEMPOTENCY_KEY, key);
+        HttpEntity<Object> entity = new HttpEntity<>(request, headers);
+        return idempotentWrite(operation, url, errorMessage,
+                () -> restTemplate.postForEntity(url, entity, clazz).getBody(),
+                offlineValue);
+    }
+
+    /**
+     * Punto único de salida hacia el servicio. Las lecturas concurrentes de la misma operación a
+     * la misma URL se agrupan en una sola llamada (con hedging si está activado); todas pasan por
+     * el circuit breaker, el bulkhead y el limitador adaptativo, y los errores se entregan a la estrategia de fallback
+     * elegida al arrancar. Las lecturas se reintentan ante errores transitorios (RetryPolicy).
+     */
+    private <T> T call(String operation,
+                       ServiceEndpoint endpoint,
+                       String url,
+                       String errorMessage,
+                       Supplier<T> remoteCall,
+                       Supplier<T> offlineValue) {
+        return call(operation, endpoint, url, errorMessage, remoteCall, offlineValue, fallback);
+    }
+
+    /**
+     * @param onFailure estrategia de fallback de esta llamada (FAIL_FAST para la sincronización)
+     */
+    private <T> T call(String operation,
+                       ServiceEndpoint endpoint,
+                       String url,
+                       String errorMessage,
+                       Supplier<T> remoteCall,
+                       Supplier<T> offlineValue,
+                       ServiceFallback onFailure) {
+        boolean read = endpoint != ServiceEndpoint.WRITE;
+        return guardedCall(operation, endpoint, url, errorMessage, remoteCall, offlineValue, onFailure, read, read);
+    }
+
+    /**
+     * Escritura que se puede repetir sin efectos duplicados (PUT o POST con Idempotency-Key):
+     * no se agrupa, pero sí se reintenta.
+     */
+    private <T> T idempotentWrite(String operation,
+                                  String url,
+                                  String errorMessage,
+                                  Supplier<T> remoteCall,
+                                  Supplier<T> offlineValue) {
+        return guardedCall(operation, ServiceEndpoint.WRITE, url, errorMessage, remoteCall, offlineValue, fallback,
+                false, true);
+    }
+
+    /**
+     * Igual que call() pero sin agrupar lecturas ni reintentar: para llamadas cuyo resultado
+     * no se puede compartir (por ejemplo, las que entregan elementos a un consumidor, que
+     * recibiría dos veces los elementos leídos antes del fallo).
+     */
+    private <T> T callWithoutCoalescing(String operation,
+                                        ServiceEndpoint endpoint,
+                                        String url,
+                                        String errorMessage,
+                                        Supplier<T> remoteCall,
+                                        Supplier<T> offlineValue) {
+        return guardedCall(operation, endpoint, url, errorMessage, remoteCall, offlineValue, fallback, false, false);
     }
 
-    @FunctionalInterface
-    private interface SupplierWithException<T> {
-        T get();
+    private <T> T guardedCall(String operation,
+                              ServiceEndpoint endpoint,
+                              String url,
+                              String errorMessage,
+                              Supplier<T> remoteCall,
+                              Supplier<T> offlineValue,
+                              ServiceFallback onFailure,
+                              boolean coalesce,
+                              boolean retryable) {
+        // Solo se duplican las lecturas agrupables: su resultado no depende de quién lo consuma.
+        // Cada reintento y cada intento del hedging pasan por su cuenta por el circuit breaker, el
+        // bulkhead y el limitador: el segundo intento ocupa su propio hueco y mide su propia latencia
+        ClientCallMetrics.Sample sample = callMetrics.start(operation);
+        Supplier<T> measuredCall = sample.bind(remoteCall);
+        Supplier<T> attempt = () -> callGuard.execute(endpoint, url, () -> limiter.execute(url, measuredCall));
+        Supplier<T> guardedCall = () -> retryPolicy.execute(retryable,
+                coalesce ? () -> hedger.execute(endpoint, attempt) : attempt);
+        try {
+            // La clave lleva la operación: con las vistas reducidas desactivadas, el listado completo,
+            // su resumen y el grafo comparten URL pero no tipo de resultado
+            return coalesce ? singleFlight.execute(operation + ' ' + url, guardedCall) : guardedCall.get();
+
+        } catch (RestClientResponseException e) {
+            sample.failed(e.getRawStatusCode());
+            return onFailure.recover(new MovieCardsServiceException(
+                    errorMessage, url, e.getRawStatusCode(), e.getResponseBodyAsString(), e), offlineValue);
+
+        } catch (RestClientException e) {
+            sample.failedWithoutResponse();
+            return onFailure.recover(new MovieCardsServiceException(errorMessage, url, e), offlineValue);
+
+        } catch (ServiceUnavailableException e) {
+            sample.rejected();
+            return onFailure.recover(e, offlineValue);
+
+        } finally {
+            sample.stop();
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,38 @@
+package com.lauracercas.moviecards.client.async;
+
+import com.lauracercas.moviecards.model.Actor;
+import com.lauracercas.moviecards.model.ActorSummary;
+import com.lauracercas.moviecards.model.Movie;
+import com.lauracercas.moviecards.model.MovieSummary;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Operaciones de lectura y registro de fichas de moviecards-service con resultado diferido,
+ * para que los controladores liberen el hilo de Tomcat mientras esperan al servicio.
+ * La implementación se elige con moviecards.service.client-mode (ver MovieCardsServiceConfig).
+ * Autor: Hernan Andres Henao
+ * Proyecto: TFM Integración Continua con GitHub Actions
+ * Fecha: 18/10/2026
+ * Modificado: 18/10/2026 - Listados resumidos sin repartos
+ */
+public interface AsyncServiceClient {
+
+    CompletableFuture<List<Movie>> getAllMovies();
+
+    CompletableFuture<List<MovieSummary>> getMovieSummaries();
+
+    CompletableFuture<Movie> getMovieById(Integer movieId);
+
+    CompletableFuture<List<Actor>> getAllActors();
+
+    CompletableFuture<List<ActorSummary>> getActorSummaries();
+
+    CompletableFuture<Actor> getActorById(Integer actorId);
+
+    /**
+     * @param idempotencyKey clave con la que el servicio reconoce un registro repetido (outbox), o null
+     */
+    CompletableFuture<String> registerActorInMovie(Integer movieId, Integer actorId, String idempotencyKey);
+}
@@ -0,0 +1,66 @@
+package com.lauracercas.moviecards.client.async;
+
+import com.lauracercas.moviecards.client.MovieCardsServiceClient;
+import com.lauracercas.moviecards.model.Actor;
+import com.lauracercas.moviecards.model.ActorSummary;
+import com.lauracercas.moviecards.model.Movie;
+import com.lauracercas.moviecards.model.MovieSummary;
+import com.lauracercas.moviecards.service.ParallelCalls;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Modo "blocking": cada llamada se ejecuta con el cliente RestTemplate en el pool acotado
+ * de ParallelCalls, de modo que el hilo de Tomcat queda libre pero un hilo del pool
+ * permanece bloqueado mientras dura la llamada.
+ * Autor: Hernan Andres Henao
+ * Proyecto: TFM Integración Continua con GitHub Actions
+ * Fecha: 18/10/2026
+ * Modificado: 18/10/2026 - Listados resumidos sin repartos
+ */
+public class BlockingAsyncServiceClient implements AsyncServiceClient {
+
+    private final MovieCardsServiceClient serviceClient;
+    private final ParallelCalls parallelCalls;
+
+    public BlockingAsyncServiceClient(MovieCardsServiceClient serviceClient, ParallelCalls parallelCalls) {
+        this.serviceClient = serviceClient;
+        this.parallelCalls = parallelCalls;
+    }
+
+    @Override
+    public CompletableFuture<List<Movie>> getAllMovies() {
+        return parallelCalls.supplyAsync(serviceClient::getAllMovies);
+    }
+
+    @Override
+    public CompletableFuture<List<MovieSummary>> getMovieSummaries() {
+        return parallelCalls.supplyAsync(serviceClient::getMovieSummaries);
+    }
+
+    @Override
+    public CompletableFuture<Movie> getMovieById(Integer movieId) {
+        return parallelCalls.supplyAsync(() -> serviceClient.getMovieById(movieId));
+    }
+
+    @Override
+    public CompletableFuture<List<Actor>> getAllActors() {
+        return parallelCalls.supplyAsync(serviceClient::getAllActors);
+    }
+
+    @Override
+    public CompletableFuture<List<ActorSummary>> getActorSummaries() {
+        return parallelCalls.supplyAsync(serviceClient::getActorSummaries);
+    }
+
+    @Override
+    public CompletableFuture<Actor> getActorById(Integer actorId) {
+        return parallelCalls.supplyAsync(() -> serviceClient.getActorById(actorId));
+    }
+
+    @Override
+    public CompletableFuture<String> registerActorInMovie(Integer movieId, Integer actorId, String idempotencyKey) {
+        return parallelCalls.supplyAsync(() -> serviceClient.registerActorInMovie(movieId, actorId, idempotencyKey));
+    }
+}
@@ -0,0 +1,253 @@
+package com.lauracercas.moviecards.client.async;
+
+import com.lauracercas.moviecards.client.cache.EntityCache;
+import com.lauracercas.moviecards.client.exception.MovieCardsServiceException;
+import com.lauracercas.moviecards.client.exception.ServiceUnavailableException;
+import com.lauracercas.moviecards.client.fallback.OfflineData;
+import com.lauracercas.moviecards.client.fallback.ServiceFallback;
+import com.lauracercas.moviecards.client.http.CallTimingFilter;
+import com.lauracercas.moviecards.client.http.ClientCallMetrics;
+import com.lauracercas.moviecards.client.http.EndpointTimeouts;
+import com.lauracercas.moviecards.client.http.ServiceEndpoint;
+import com.lauracercas.moviecards.client.patch.FieldFingerprint;
+import com.lauracercas.moviecards.client.resilience.AdaptiveConcurrencyLimiter;
+import com.lauracercas.moviecards.client.resilience.RetryPolicy;
+import com.lauracercas.moviecards.client.resilience.ServiceCallGuard;
+import com.lauracercas.moviecards.model.Actor;
+import com.lauracercas.moviecards.model.ActorSummary;
+import com.lauracercas.moviecards.model.Movie;
+import com.lauracercas.moviecards.model.MovieSummary;
+import com.lauracercas.moviecards.timing.RequestTimings;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Modo "async": cliente no bloqueante sobre WebClient. Ningún hilo queda esperando la respuesta;
+ * las llamadas pasan por el mismo circuit breaker, bulkhead, limitador, reintentos, caché por id
+ * y fallback que el cliente RestTemplate, con el plazo de lectura de cada tipo de operación, y
+ * publican la misma métrica moviecards.client.operation con los mismos nombres de operación.
+ * No agrupan lecturas concurrentes (SingleFlight) ni hacen GET condicional: cada listado se
+ * descarga entero, así que esas dos optimizaciones solo existen en el modo blocking.
+ * Autor: Hernan Andres Henao
+ * Proyecto: TFM Integración Continua con GitHub Actions
+ * Fecha: 18/10/2026
+ * Modificado: 18/10/2026 - Listados resumidos (view=summary) sin repartos
+ */
+public class WebClientServiceClient implements AsyncServiceClient {
+
+    private static final String API_PATH_MOVIES = "/movies";
+    private static final String API_PATH_ACTORS = "/actors";
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+
+    private final WebClient webClient;
+    private final String serviceUrl;
+    private final Map<ServiceEndpoint, EndpointTimeouts> timeouts;
+    private final String summaryQuery;
+    private final EntityCache entityCache;
+    private final ServiceCallGuard callGuard;
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final RetryPolicy retryPolicy;
+    private final ClientCallMetrics callMetrics;
+    private final ServiceFallback fallback;
+
+    public WebClientServiceClient(WebClient webClient,
+                                  String serviceUrl,
+                                  Map<ServiceEndpoint, EndpointTimeouts> timeouts,
+                                  boolean summaryView,
+                                  EntityCache entityCache,
+                                  ServiceCallGuard callGuard,
+                                  AdaptiveConcurrencyLimiter limiter,
+                                  RetryPolicy retryPolicy,
+                                  ClientCallMetrics callMetrics,
+                                  ServiceFallback fallback) {
+        this.webClient = webClient;
+        this.serviceUrl = serviceUrl;
+        this.timeouts = timeouts;
+        this.summaryQuery = summaryView ? "?view=summary" : "";
+        this.entityCache = entityCache;
+        this.callGuard = callGuard;
+        this.limiter = limiter;
+        this.retryPolicy = retryPolicy;
+        this.callMetrics = callMetrics;
+        this.fallback = fallback;
+    }
+
+    @Override
+    public CompletableFuture<List<Movie>> getAllMovies() {
+        return getList("getAllMovies", API_PATH_MOVIES, new ParameterizedTypeReference<List<Movie>>() {});
+    }
+
+    @Override
+    public CompletableFuture<List<MovieSummary>> getMovieSummaries() {
+        return getList("getMovieSummaries", API_PATH_MOVIES + summaryQuery,
+                new ParameterizedTypeReference<List<MovieSummary>>() {});
+    }
+
+    @Override
+    public CompletableFuture<Movie> getMovieById(Integer movieId) {
+        Movie cached = entityCache.getMovieIfPresent(movieId);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        return call("getMovieById", ServiceEndpoint.GET_BY_ID, API_PATH_MOVIES + "/" + movieId,
+                "Error al obtener recurso desde: ",
+                uri -> webClient.get().uri(uri).retrieve().toEntity(Movie.class),
+                entity -> stamp(entity, FieldFingerprint.MOVIE, Movie::setFingerprint),
+                () -> OfflineData.movie(movieId))
+                .thenApply(movie -> {
+                    entityCache.putLoadedMovie(movie);
+                    return movie;
+                });
+    }
+
+    @Override
+    public CompletableFuture<List<Actor>> getAllActors() {
+        return getList("getAllActors", API_PATH_ACTORS, new ParameterizedTypeReference<List<Actor>>() {});
+    }
+
+    @Override
+    public CompletableFuture<List<ActorSummary>> getActorSummaries() {
+        return getList("getActorSummaries", API_PATH_ACTORS + summaryQuery,
+                new ParameterizedTypeReference<List<ActorSummary>>() {});
+    }
+
+    @Override
+    public CompletableFuture<Actor> getActorById(Integer actorId) {
+        Actor cached = entityCache.getActorIfPresent(actorId);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        return call("getActorById", ServiceEndpoint.GET_BY_ID, API_PATH_ACTORS + "/" + actorId,
+                "Error al obtener recurso desde: ",
+                uri -> webClient.get().uri(uri).retrieve().toEntity(Actor.class),
+                entity -> stamp(entity, FieldFingerprint.ACTOR, Actor::setFingerprint),
+                () -> OfflineData.actor(actorId))
+                .thenApply(actor -> {
+                    entityCache.putLoadedActor(actor);
+                    return actor;
+                });
+    }
+
+    @Override
+    public CompletableFuture<String> registerActorInMovie(Integer movieId, Integer actorId, String idempotencyKey) {
+        String path = API_PATH_MOVIES + "/" + movieId + API_PATH_ACTORS + "/" + actorId;
+        return call("registerActorInMovie", ServiceEndpoint.WRITE, path, "Error al registrar el actor en la película: ",
+                uri -> webClient.post().uri(uri)
+                        .headers(headers -> {
+                            if (idempotencyKey != null) {
+                                headers.set(IDEMPOTENCY_KEY, idempotencyKey);
+                            }
+                        })
+                        .retrieve().toBodilessEntity(),
+                entity -> {
+                    entityCache.evictMovie(movieId);
+                    entityCache.evictActor(actorId);
+                    return "Éxito";
+                },
+                () -> "Éxito");
+    }
+
+    /**
+     * Deja en la entidad la huella del formulario con el ETag de la respuesta, como el cliente RestTemplate.
+     */
+    private static <T> T stamp(ResponseEntity<T> entity,
+                               FieldFingerprint<T> fingerprint,
+                               BiConsumer<T, String> setter) {
+        T body = entity.getBody();
+        if (body != null) {
+            setter.accept(body, fingerprint.of(body, entity.getHeaders().getETag()));
+        }
+        return body;
+    }
+
+    private <T> CompletableFuture<List<T>> getList(String operation,
+                                                   String path,
+                                                   ParameterizedTypeReference<List<T>> type) {
+        return call(operation, ServiceEndpoint.LIST, path, "Error al obtener datos desde: ",
+                uri -> webClient.get().uri(uri).retrieve().toEntity(type),
+                ResponseEntity::getBody,
+                List::<T>of)
+                .thenApply(body -> body != null ? body : List.of());
+    }
+
+    /**
+     * Equivalente asíncrono del punto único de salida de MovieCardsServiceClient: plazo de lectura
+     * por operación, reintentos de las lecturas ante errores transitorios (cada intento vuelve a
+     * pasar por el circuit breaker, el bulkhead y el limitador adaptativo), métrica de la
+     * operación, traducción de errores y fallback. La petición web en curso viaja en el contexto
+     * de Reactor hasta CallTimingFilter, que abre sus tramos http y decode.
+     *
+     * @param exchange petición a la URL completa, con la respuesta entera para conocer su código
+     * @param result   valor de la operación a partir de la respuesta (solo si ha ido bien)
+     */
+    private <B, T> CompletableFuture<T> call(String operation,
+                                             ServiceEndpoint endpoint,
+                                             String path,
+                                             String errorMessage,
+                                             Function<String, Mono<ResponseEntity<B>>> exchange,
+                                             Function<ResponseEntity<B>, T> result,
+                                             Supplier<T> offlineValue) {
+        String url = serviceUrl + path;
+        Duration readTimeout = Duration.ofMillis(timeouts.get(endpoint).getReadTimeout());
+        ClientCallMetrics.Sample sample = callMetrics.start(operation);
+        Context timings = CallTimingFilter.context(RequestTimings.current(), operation);
+        return retryPolicy.executeAsync(endpoint != ServiceEndpoint.WRITE,
+                        () -> callGuard.executeAsync(endpoint, url,
+                                () -> limiter.executeAsync(url, () -> exchange.apply(url)
+                                        .timeout(readTimeout)
+                                        .contextWrite(timings)
+                                        .toFuture())))
+                .handle((entity, error) -> {
+                    try {
+                        if (error == null) {
+                            sample.responded(entity.getStatusCodeValue());
+                            return result.apply(entity);
+                        }
+                        Throwable cause = unwrap(error);
+                        record(sample, cause);
+                        return fallback.recover(translate(cause, errorMessage + url, url), offlineValue);
+                    } finally {
+                        sample.stop();
+                    }
+                });
+    }
+
+    private static void record(ClientCallMetrics.Sample sample, Throwable error) {
+        if (error instanceof ServiceUnavailableException) {
+            sample.rejected();
+        } else if (error instanceof WebClientResponseException) {
+            sample.failed(((WebClientResponseException) error).getRawStatusCode());
+        } else {
+            sample.failedWithoutResponse();
+        }
+    }
+
+    private static MovieCardsServiceException translate(Throwable error, String message, String url) {
+        if (error instanceof MovieCardsServiceException) {
+            return (MovieCardsServiceException) error;
+        }
+        if (error instanceof WebClientResponseException) {
+            WebClientResponseException responseError = (WebClientResponseException) error;
+            return new MovieCardsServiceException(message, url,
+                    responseError.getRawStatusCode(), responseError.getResponseBodyAsString(), responseError);
+        }
+        return new MovieCardsServiceException(message, url, error);
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+}
@@ -0,0 +1,137 @@
+package com.lauracercas.moviecards.client.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Guarda, por operación y URL, el último cuerpo ya deserializado y sus validadores (ETag /
+ * Last-Modified) para enviar peticiones condicionales. Ante un 304 se reutiliza el cuerpo sin
+ * volver a parsearlo. La operación forma parte de la clave porque una misma URL se lee como
+ * tipos distintos (el listado completo, su resumen o el grafo del catálogo cuando las vistas
+ * reducidas están desactivadas) y cada lectura necesita su propio cuerpo.
+ * Autor: Hernan Andres Henao
+ * Proyecto: TFM Integración Continua con GitHub Actions
+ * Fecha: 18/10/2026
+ */
+@Component
+public class ConditionalResponseStore implements MeterBinder {
+
+    private static final String METRIC_RESPONSES = "moviecards.client.conditional.responses";
+
+    private final Cache<String, StoredResponse<?>> responses;
+    private final AtomicLong modified = new AtomicLong();
+    private final AtomicLong notModified = new AtomicLong();
+    private final AtomicLong bytesSaved = new AtomicLong();
+
+    public ConditionalResponseStore(@Value("${moviecards.conditional.max-entries:256}") long maxEntries) {
+        this.responses = Caffeine.newBuilder().maximumSize(maxEntries).build();
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> StoredResponse<T> get(String operation, String url) {
+        return (StoredResponse<T>) responses.getIfPresent(key(operation, url));
+    }
+
+    /**
+     * Añade a la petición los validadores guardados para la URL, si los hay.
+     */
+    public void addValidators(StoredResponse<?> stored, HttpHeaders requestHeaders) {
+        if (stored == null) {
+            return;
+        }
+        if (stored.getEtag() != null) {
+            requestHeaders.setIfNoneMatch(stored.getEtag());
+        }
+        if (stored.getLastModified() != null) {
+            requestHeaders.set(HttpHeaders.IF_MODIFIED_SINCE, stored.getLastModified());
+        }
+    }
+
+    /**
+     * Guarda una respuesta 200 si trae validadores; si no, olvida lo que hubiera para esa operación y URL.
+     */
+    public <T> void store(String operation, String url, HttpHeaders responseHeaders, T body, long bodyBytes) {
+        String key = key(operation, url);
+        modified.incrementAndGet();
+        String etag = responseHeaders.getETag();
+        String lastModified = responseHeaders.getFirst(HttpHeaders.LAST_MODIFIED);
+        if (body != null && (etag != null || lastModified != null)) {
+            responses.put(key, new StoredResponse<>(etag, lastModified, body, bodyBytes));
+        } else {
+            responses.invalidate(key);
+        }
+    }
+
+    private static String key(String operation, String url) {
+        return operation + ' ' + url;
+    }
+
+    /**
+     * Registra un 304 y devuelve el cuerpo guardado.
+     */
+    public <T> T notModified(StoredResponse<T> stored) {
+        notModified.incrementAndGet();
+        bytesSaved.addAndGet(stored.getBodyBytes());
+        return stored.getBody();
+    }
+
+    public void clear() {
+        responses.invalidateAll();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        registry.more().counter(METRIC_RESPONSES, Tags.of("result", "modified"), modified);
+        registry.more().counter(METRIC_RESPONSES, Tags.of("result", "not_modified"), notModified);
+        registry.more().counter("moviecards.client.conditional.bytes.saved", Tags.empty(), bytesSaved);
+        Gauge.builder("moviecards.client.conditional.not_modified.ratio", this, ConditionalResponseStore::notModifiedRatio)
+                .description("Proporción de respuestas 304 sobre el total de peticiones condicionales")
+                .register(registry);
+    }
+
+    private double notModifiedRatio() {
+        long hits = notModified.get();
+        long total = hits + modified.get();
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+
+    public static class StoredResponse<T> {
+
+        private final String etag;
+        private final String lastModified;
+        private final T body;
+        private final long bodyBytes;
+
+        StoredResponse(String etag, String lastModified, T body, long bodyBytes) {
+            this.etag = etag;
+            this.lastModified = lastModified;
+            this.body = body;
+            this.bodyBytes = bodyBytes;
+        }
+
+        public String getEtag() {
+            return etag;
+        }
+
+        public String getLastModified() {
+            return lastModified;
+        }
+
+        public T getBody() {
+            return body;
+        }
+
+        public long getBodyBytes() {
+            return bodyBytes;
+        }
+    }
+}
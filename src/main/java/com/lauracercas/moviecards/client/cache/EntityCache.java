@@ -0,0 +1,162 @@
+package com.lauracercas.moviecards.client.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.lauracercas.moviecards.model.Actor;
+import com.lauracercas.moviecards.model.Movie;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Caché acotada y con TTL de películas y actores consultados por id.
+ * El cliente la lee antes de ir al servicio y la actualiza o invalida en cada escritura.
+ * Las entidades de sustitución (isOffline, del fallback offline-data) no se guardan nunca: si
+ * no, seguirían sirviéndose hasta el TTL aunque el servicio ya hubiera vuelto.
+ * Los contadores de aciertos, fallos y expulsiones se publican como cache.* (cache=movies|actors).
+ * Autor: Hernan Andres Henao
+ * Proyecto: TFM Integración Continua con GitHub Actions
+ * Fecha: 18/10/2026
+ */
+@Component
+public class EntityCache implements MeterBinder {
+
+    private final Cache<Integer, Movie> movies;
+    private final Cache<Integer, Actor> actors;
+
+    public EntityCache(@Value("${moviecards.cache.max-size:1000}") long maxSize,
+                       @Value("${moviecards.cache.ttl:30000}") long ttlMillis) {
+        this.movies = newCache(maxSize, ttlMillis);
+        this.actors = newCache(maxSize, ttlMillis);
+    }
+
+    private static <V> Cache<Integer, V> newCache(long maxSize, long ttlMillis) {
+        return Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(ttlMillis))
+                .recordStats()
+                .build();
+    }
+
+    public Movie getMovie(Integer movieId, Function<Integer, Movie> loader) {
+        return get(movies, movieId, loader, Movie::isOffline);
+    }
+
+    public Actor getActor(Integer actorId, Function<Integer, Actor> loader) {
+        return get(actors, actorId, loader, Actor::isOffline);
+    }
+
+    /**
+     * Carga con el cargador si no está; lo cargado se guarda salvo que sea de sustitución, que
+     * se devuelve sin pasar por la caché (el cargador de Caffeine no guarda un null).
+     */
+    private static <V> V get(Cache<Integer, V> cache, Integer id, Function<Integer, V> loader, Predicate<V> offline) {
+        if (id == null) {
+            return loader.apply(null);
+        }
+        AtomicReference<V> substitute = new AtomicReference<>();
+        V value = cache.get(id, key -> {
+            V loaded = loader.apply(key);
+            if (loaded != null && offline.test(loaded)) {
+                substitute.set(loaded);
+                return null;
+            }
+            return loaded;
+        });
+        return value != null ? value : substitute.get();
+    }
+
+    /**
+     * Para lecturas asíncronas, que no pueden bloquear en el cargador de getMovie/getActor:
+     * se consulta antes con getMovieIfPresent y se guarda lo descargado con putLoadedMovie.
+     */
+    public Movie getMovieIfPresent(Integer movieId) {
+        return movieId != null ? movies.getIfPresent(movieId) : null;
+    }
+
+    public Actor getActorIfPresent(Integer actorId) {
+        return actorId != null ? actors.getIfPresent(actorId) : null;
+    }
+
+    public void putLoadedMovie(Movie movie) {
+        if (movie != null && movie.getId() != null && !movie.isOffline()) {
+            movies.put(movie.getId(), movie);
+        }
+    }
+
+    public void putLoadedActor(Actor actor) {
+        if (actor != null && actor.getId() != null && !actor.isOffline()) {
+            actors.put(actor.getId(), actor);
+        }
+    }
+
+    public void putMovie(Movie movie) {
+        if (movie != null && movie.getId() != null && !movie.isOffline()) {
+            movies.put(movie.getId(), movie);
+            // Los actores guardan una copia de sus películas, que ya no está al día
+            evictActors(movie.getActors());
+        }
+    }
+
+    public void putActor(Actor actor) {
+        if (actor != null && actor.getId() != null && !actor.isOffline()) {
+            actors.put(actor.getId(), actor);
+            evictMovies(actor.getMovies());
+        }
+    }
+
+    public void evictMovie(Integer movieId) {
+        if (movieId != null) {
+            Movie cached = movies.getIfPresent(movieId);
+            movies.invalidate(movieId);
+            if (cached != null) {
+                evictActors(cached.getActors());
+            }
+        }
+    }
+
+    public void evictActor(Integer actorId) {
+        if (actorId != null) {
+            actors.invalidate(actorId);
+        }
+    }
+
+    public void clear() {
+        movies.invalidateAll();
+        actors.invalidateAll();
+    }
+
+    private void evictActors(List<Actor> movieActors) {
+        if (movieActors != null) {
+            for (Actor actor : movieActors) {
+                if (actor != null) {
+                    evictActor(actor.getId());
+                }
+            }
+        }
+    }
+
+    private void evictMovies(List<Movie> actorMovies) {
+        if (actorMovies != null) {
+            for (Movie movie : actorMovies) {
+                if (movie != null && movie.getId() != null) {
+                    movies.invalidate(movie.getId());
+                }
+            }
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, movies, "movies");
+        CaffeineCacheMetrics.monitor(registry, actors, "actors");
+    }
+}
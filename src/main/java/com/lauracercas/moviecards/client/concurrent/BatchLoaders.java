@@ -0,0 +1,111 @@
+package com.lauracercas.moviecards.client.concurrent;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import com.lauracercas.moviecards.timing.RequestTimings;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Crea los BatchingLoader del cliente y les da la ventana de agrupación, el tamaño máximo
+ * de lote, el temporizador y el pool acotado en el que se hacen las llamadas por lotes
+ * y las consultas individuales de respaldo. Las tareas del pool llevan consigo el RequestTimings
+ * de la petición que las lanza, para que sus tramos http y decode lleguen a su Server-Timing.
+ * Autor: Hernan Andres Henao
+ * Proyecto: TFM Integración Continua con GitHub Actions
+ * Fecha: 18/10/2026
+ */
+@Component
+public class BatchLoaders implements MeterBinder, DisposableBean {
+
+    private static final String METRIC_CALLS = "moviecards.client.batch.calls";
+
+    private final long windowMillis;
+    private final int maxBatchSize;
+    private final ExecutorService executor;
+    private final Executor propagatingExecutor;
+    private final ScheduledExecutorService scheduler;
+    private final AtomicLong batchCalls = new AtomicLong();
+    private final AtomicLong batchedKeys = new AtomicLong();
+    private final AtomicLong singleCalls = new AtomicLong();
+
+    @Autowired
+    public BatchLoaders(@Value("${moviecards.batch.window:5}") long windowMillis,
+                        @Value("${moviecards.batch.max-size:50}") int maxBatchSize,
+                        @Value("${moviecards.batch.threads:8}") int threads,
+                        @Value("${moviecards.batch.queue-size:256}") int queueSize) {
+        this(windowMillis, maxBatchSize, new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueSize),
+                new CustomizableThreadFactory("moviecards-batch-"),
+                new ThreadPoolExecutor.CallerRunsPolicy()));
+    }
+
+    public BatchLoaders(long windowMillis, int maxBatchSize, ExecutorService executor) {
+        this.windowMillis = windowMillis;
+        this.maxBatchSize = maxBatchSize;
+        this.executor = executor;
+        this.propagatingExecutor = RequestTimings.propagating(executor);
+        CustomizableThreadFactory timerThreads = new CustomizableThreadFactory("moviecards-batch-window-");
+        timerThreads.setDaemon(true);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(timerThreads);
+    }
+
+    /**
+     * @param batchFunction  consulta por lotes; las claves que no devuelva se piden con singleFunction
+     * @param singleFunction consulta individual, usada también para lotes de una sola clave
+     */
+    public <K, V> BatchingLoader<K, V> newLoader(Function<Set<K>, Map<K, V>> batchFunction,
+                                                 Function<K, V> singleFunction) {
+        return newLoader(batchFunction, singleFunction, e -> false);
+    }
+
+    /**
+     * @param absent reconoce el error de la consulta individual que indica que la clave no existe
+     *               (getAll la omite en lugar de fallar)
+     */
+    public <K, V> BatchingLoader<K, V> newLoader(Function<Set<K>, Map<K, V>> batchFunction,
+                                                 Function<K, V> singleFunction,
+                                                 Predicate<RuntimeException> absent) {
+        return new BatchingLoader<>(batchFunction, singleFunction, absent, windowMillis, maxBatchSize,
+                scheduler, propagatingExecutor, this);
+    }
+
+    void recordBatch(int size) {
+        batchCalls.incrementAndGet();
+        batchedKeys.addAndGet(size);
+    }
+
+    void recordSingle() {
+        singleCalls.incrementAndGet();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        registry.more().counter(METRIC_CALLS, Tags.of("type", "batch"), batchCalls);
+        registry.more().counter(METRIC_CALLS, Tags.of("type", "single"), singleCalls);
+        registry.more().counter("moviecards.client.batch.keys", Tags.empty(), batchedKeys);
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdownNow();
+        executor.shutdownNow();
+    }
+}
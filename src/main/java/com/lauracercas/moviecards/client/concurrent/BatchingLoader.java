@@ -0,0 +1,253 @@
+package com.lauracercas.moviecards.client.concurrent;
+
+import com.lauracercas.moviecards.timing.RequestTimings;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Reúne las consultas por id que llegan dentro de una ventana corta (o hasta completar un lote)
+ * y las resuelve con una sola llamada por lotes, repartiendo después cada resultado a quien lo pidió.
+ * La ventana solo se abre con carga concurrente: si no hay ninguna consulta en curso ni esperando,
+ * la clave se pide al momento, así que una página con una sola consulta no paga la espera.
+ * Las claves que el lote no devuelve se piden una a una en el pool acotado, cada una con su propio
+ * resultado o error, de modo que un id inexistente no hace fallar al resto del lote; en getAll,
+ * además, las claves que la consulta individual da por inexistentes se omiten sin error.
+ * Se crea con BatchLoaders.newLoader.
+ * Autor: Hernan Andres Henao
+ * Proyecto: TFM Integración Continua con GitHub Actions
+ * Fecha: 18/10/2026
+ */
+public class BatchingLoader<K, V> {
+
+    private final Function<Set<K>, Map<K, V>> batchFunction;
+    private final Function<K, V> singleFunction;
+    private final Predicate<RuntimeException> absent;
+    private final long windowMillis;
+    private final int maxBatchSize;
+    private final ScheduledExecutorService scheduler;
+    private final Executor executor;
+    private final BatchLoaders stats;
+
+    private final Object lock = new Object();
+    private Map<K, CompletableFuture<V>> pending = new LinkedHashMap<>();
+    private final Map<K, CompletableFuture<V>> pendingResults = new HashMap<>();
+    private ScheduledFuture<?> windowTimer;
+    private int inFlight;
+
+    BatchingLoader(Function<Set<K>, Map<K, V>> batchFunction,
+                   Function<K, V> singleFunction,
+                   Predicate<RuntimeException> absent,
+                   long windowMillis,
+                   int maxBatchSize,
+                   ScheduledExecutorService scheduler,
+                   Executor executor,
+                   BatchLoaders stats) {
+        this.batchFunction = batchFunction;
+        this.singleFunction = singleFunction;
+        this.absent = absent;
+        this.windowMillis = windowMillis;
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.scheduler = scheduler;
+        this.executor = executor;
+        this.stats = stats;
+    }
+
+    /**
+     * Encola la clave en la ventana actual; las peticiones de la misma clave dentro de la
+     * ventana comparten resultado. Con ventana 0, o si no hay otra consulta en curso ni
+     * esperando, la consulta se hace al momento, sin agrupar.
+     */
+    public CompletableFuture<V> load(K key) {
+        if (windowMillis <= 0) {
+            CompletableFuture<V> future = new CompletableFuture<>();
+            resolveSingle(key, future, false);
+            return future;
+        }
+        Map<K, CompletableFuture<V>> batch = null;
+        CompletableFuture<V> result;
+        synchronized (lock) {
+            result = pendingResults.get(key);
+            if (result != null) {
+                return result;
+            }
+            CompletableFuture<V> future = new CompletableFuture<>();
+            // Quien espera el resultado lo ve ya descontado de las consultas en curso
+            result = future.whenComplete((value, error) -> {
+                synchronized (lock) {
+                    inFlight--;
+                }
+            });
+            inFlight++;
+            if (inFlight == 1 && pending.isEmpty()) {
+                batch = Map.of(key, future);
+            } else {
+                pending.put(key, future);
+                pendingResults.put(key, result);
+                if (pending.size() >= maxBatchSize) {
+                    batch = takePending();
+                } else if (windowTimer == null) {
+                    // El lote que cierre el temporizador se atribuye a la petición que abrió la ventana
+                    windowTimer = scheduler.schedule(RequestTimings.wrap(this::flushWindow), windowMillis,
+                            TimeUnit.MILLISECONDS);
+                }
+            }
+        }
+        if (batch != null) {
+            dispatch(batch, false);
+        }
+        return result;
+    }
+
+    /**
+     * Versión bloqueante de load para el cliente RestTemplate: devuelve el valor
+     * o relanza la excepción original de la consulta.
+     */
+    public V get(K key) {
+        try {
+            return load(key).join();
+        } catch (CompletionException e) {
+            throw unwrap(e);
+        }
+    }
+
+    /**
+     * Vuelve a consultar la clave en segundo plano, sin esperar a la ventana de agrupación.
+     */
+    public CompletableFuture<V> refresh(K key) {
+        CompletableFuture<V> future = new CompletableFuture<>();
+        executor.execute(() -> resolveSingle(key, future, false));
+        return future;
+    }
+
+    /**
+     * Resuelve varias claves a la vez, sin esperar a la ventana, en lotes de como mucho
+     * el tamaño máximo. El resultado conserva el orden de las claves y omite las que no existen
+     * (las que el lote no devuelve y cuya consulta individual falla con un error de ausencia).
+     */
+    public List<V> getAll(Collection<K> keys) {
+        List<CompletableFuture<V>> futures = new ArrayList<>();
+        Map<K, CompletableFuture<V>> chunk = new LinkedHashMap<>();
+        for (K key : new LinkedHashSet<>(keys)) {
+            CompletableFuture<V> future = new CompletableFuture<>();
+            futures.add(future);
+            chunk.put(key, future);
+            if (chunk.size() == maxBatchSize) {
+                dispatch(chunk, true);
+                chunk = new LinkedHashMap<>();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            dispatch(chunk, true);
+        }
+
+        List<V> values = new ArrayList<>(futures.size());
+        for (CompletableFuture<V> future : futures) {
+            V value;
+            try {
+                value = future.join();
+            } catch (CompletionException e) {
+                throw unwrap(e);
+            }
+            if (value != null) {
+                values.add(value);
+            }
+        }
+        return values;
+    }
+
+    private void flushWindow() {
+        Map<K, CompletableFuture<V>> batch;
+        synchronized (lock) {
+            windowTimer = null;
+            if (pending.isEmpty()) {
+                return;
+            }
+            batch = takePending();
+        }
+        dispatch(batch, false);
+    }
+
+    private Map<K, CompletableFuture<V>> takePending() {
+        Map<K, CompletableFuture<V>> batch = pending;
+        pending = new LinkedHashMap<>();
+        pendingResults.clear();
+        if (windowTimer != null) {
+            windowTimer.cancel(false);
+            windowTimer = null;
+        }
+        return batch;
+    }
+
+    /**
+     * @param skipAbsent si una clave inexistente se completa con null en lugar de con el error
+     */
+    private void dispatch(Map<K, CompletableFuture<V>> batch, boolean skipAbsent) {
+        if (batch.size() == 1) {
+            Map.Entry<K, CompletableFuture<V>> only = batch.entrySet().iterator().next();
+            executor.execute(() -> resolveSingle(only.getKey(), only.getValue(), skipAbsent));
+            return;
+        }
+        executor.execute(() -> resolveBatch(batch, skipAbsent));
+    }
+
+    private void resolveBatch(Map<K, CompletableFuture<V>> batch, boolean skipAbsent) {
+        Map<K, V> values;
+        try {
+            stats.recordBatch(batch.size());
+            values = batchFunction.apply(Collections.unmodifiableSet(new LinkedHashSet<>(batch.keySet())));
+        } catch (RuntimeException | Error e) {
+            batch.values().forEach(future -> future.completeExceptionally(e));
+            return;
+        }
+        batch.forEach((key, future) -> {
+            V value = values != null ? values.get(key) : null;
+            if (value != null) {
+                future.complete(value);
+            } else {
+                executor.execute(() -> resolveSingle(key, future, skipAbsent));
+            }
+        });
+    }
+
+    private void resolveSingle(K key, CompletableFuture<V> future, boolean skipAbsent) {
+        try {
+            stats.recordSingle();
+            future.complete(singleFunction.apply(key));
+        } catch (RuntimeException e) {
+            if (skipAbsent && absent.test(e)) {
+                future.complete(null);
+            } else {
+                future.completeExceptionally(e);
+            }
+        } catch (Error e) {
+            future.completeExceptionally(e);
+        }
+    }
+
+    private static RuntimeException unwrap(CompletionException e) {
+        Throwable cause = e.getCause();
+        if (cause instanceof RuntimeException) {
+            return (RuntimeException) cause;
+        }
+        if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+        return e;
+    }
+}
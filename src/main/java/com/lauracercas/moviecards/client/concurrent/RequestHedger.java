@@ -0,0 +1,263 @@
+package com.lauracercas.moviecards.client.concurrent;
+
+import com.lauracercas.moviecards.client.exception.MovieCardsServiceException;
+import com.lauracercas.moviecards.client.http.RequestCancellation;
+import com.lauracercas.moviecards.client.http.ServiceEndpoint;
+import com.lauracercas.moviecards.timing.RequestTimings;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Peticiones "hedged" para las lecturas (listados y consultas por id): si el primer intento no ha
+ * respondido cuando se alcanza el percentil configurado de la latencia reciente, se lanza un
+ * segundo intento igual; gana la primera respuesta correcta y el otro intento se cancela.
+ * Los segundos intentos consumen un presupuesto que se recarga con cada llamada (budget-ratio
+ * por llamada, como mucho 1), de modo que el hedging nunca puede más que duplicar la carga.
+ * Los intentos llevan consigo el RequestTimings de la petición que los lanza.
+ * Desactivado por defecto (moviecards.hedge.enabled).
+ * Autor: Hernan Andres Henao
+ * Proyecto: TFM Integración Continua con GitHub Actions
+ * Fecha: 18/10/2026
+ */
+@Component
+public class RequestHedger implements MeterBinder, DisposableBean {
+
+    private static final String METRIC_CALLS = "moviecards.client.hedge.calls";
+    private static final int LATENCY_SAMPLES = 256;
+    private static final double MAX_BUDGET_TOKENS = 10;
+
+    private final boolean enabled;
+    private final double percentile;
+    private final long minDelayMillis;
+    private final int minSamples;
+    private final ExecutorService executor;
+    private final Map<ServiceEndpoint, EndpointHedging> endpoints = new EnumMap<>(ServiceEndpoint.class);
+    private final TokenBudget budget;
+
+    @Autowired
+    public RequestHedger(@Value("${moviecards.hedge.enabled:false}") boolean enabled,
+                         @Value("${moviecards.hedge.percentile:95}") double percentile,
+                         @Value("${moviecards.hedge.min-delay:10}") long minDelayMillis,
+                         @Value("${moviecards.hedge.min-samples:20}") int minSamples,
+                         @Value("${moviecards.hedge.budget-ratio:0.1}") double budgetRatio,
+                         @Value("${moviecards.hedge.threads:32}") int threads) {
+        this(enabled, percentile, minDelayMillis, minSamples, budgetRatio,
+                new ThreadPoolExecutor(0, threads, 60, TimeUnit.SECONDS, new SynchronousQueue<>(),
+                        new CustomizableThreadFactory("moviecards-hedge-")));
+    }
+
+    public RequestHedger(boolean enabled,
+                         double percentile,
+                         long minDelayMillis,
+                         int minSamples,
+                         double budgetRatio,
+                         ExecutorService executor) {
+        this.enabled = enabled;
+        this.percentile = percentile;
+        this.minDelayMillis = minDelayMillis;
+        this.minSamples = Math.max(1, minSamples);
+        this.budget = new TokenBudget(budgetRatio, MAX_BUDGET_TOKENS, 0);
+        this.executor = executor;
+        endpoints.put(ServiceEndpoint.LIST, new EndpointHedging());
+        endpoints.put(ServiceEndpoint.GET_BY_ID, new EndpointHedging());
+    }
+
+    /**
+     * Ejecuta la lectura con hedging. Las escrituras, o todo si está desactivado, se ejecutan
+     * directamente en el hilo llamante. Con el pool lleno tampoco se hace hedging.
+     */
+    public <T> T execute(ServiceEndpoint endpoint, Supplier<T> call) {
+        EndpointHedging hedging = endpoints.get(endpoint);
+        if (!enabled || hedging == null) {
+            return call.get();
+        }
+        budget.deposit();
+        long delay = hedging.hedgeDelayMillis();
+        if (delay < 0) {
+            // Sin muestras suficientes todavía: solo se mide la latencia
+            long start = System.nanoTime();
+            T value = call.get();
+            hedging.record(System.nanoTime() - start);
+            return value;
+        }
+        Attempt<T> primary = Attempt.start(call, executor, hedging);
+        if (primary == null) {
+            return call.get();
+        }
+        try {
+            try {
+                return primary.result.get(delay, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                // El primer intento va lento: se intenta lanzar el segundo
+            }
+            if (!budget.tryAcquire()) {
+                hedging.denied.incrementAndGet();
+                return primary.result.get();
+            }
+            Attempt<T> hedge = Attempt.start(call, executor, hedging);
+            if (hedge == null) {
+                return primary.result.get();
+            }
+            hedging.fired.incrementAndGet();
+            try {
+                Attempt<T> winner = firstSuccess(primary, hedge).get();
+                if (winner == hedge) {
+                    hedging.won.incrementAndGet();
+                }
+                return winner.result.join();
+            } finally {
+                hedge.cancel();
+            }
+        } catch (ExecutionException e) {
+            throw unwrap(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MovieCardsServiceException("Consulta al servicio interrumpida", null, e);
+        } finally {
+            primary.cancel();
+        }
+    }
+
+    private static <T> CompletableFuture<Attempt<T>> firstSuccess(Attempt<T> primary, Attempt<T> hedge) {
+        CompletableFuture<Attempt<T>> winner = new CompletableFuture<>();
+        AtomicInteger failures = new AtomicInteger();
+        for (Attempt<T> attempt : List.of(primary, hedge)) {
+            attempt.result.whenComplete((value, error) -> {
+                if (error == null) {
+                    winner.complete(attempt);
+                } else if (failures.incrementAndGet() == 2) {
+                    winner.completeExceptionally(error);
+                }
+            });
+        }
+        return winner;
+    }
+
+    private static RuntimeException unwrap(Throwable cause) {
+        if (cause instanceof RuntimeException) {
+            return (RuntimeException) cause;
+        }
+        if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+        return new MovieCardsServiceException("Error consultando el servicio", null, cause);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        endpoints.forEach((endpoint, hedging) -> {
+            Tags tags = Tags.of("endpoint", endpoint.getTag());
+            registry.more().counter(METRIC_CALLS, tags.and("result", "fired"), hedging.fired);
+            registry.more().counter(METRIC_CALLS, tags.and("result", "won"), hedging.won);
+            registry.more().counter(METRIC_CALLS, tags.and("result", "budget-exhausted"), hedging.denied);
+            Gauge.builder("moviecards.client.hedge.delay", hedging, EndpointHedging::hedgeDelayMillis)
+                    .tags(tags)
+                    .baseUnit("milliseconds")
+                    .register(registry);
+        });
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Un intento de la llamada en el pool, con su propia RequestCancellation para poder cortar
+     * la petición HTTP si pierde.
+     */
+    private static final class Attempt<T> {
+
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+        private final RequestCancellation cancellation = new RequestCancellation();
+        private Future<?> task;
+
+        static <T> Attempt<T> start(Supplier<T> call, ExecutorService executor, EndpointHedging hedging) {
+            Attempt<T> attempt = new Attempt<>();
+            try {
+                attempt.task = executor.submit(RequestTimings.wrap(() -> {
+                    long start = System.nanoTime();
+                    try {
+                        T value = attempt.cancellation.run(call);
+                        hedging.record(System.nanoTime() - start);
+                        attempt.result.complete(value);
+                    } catch (RuntimeException | Error e) {
+                        attempt.result.completeExceptionally(e);
+                    }
+                }));
+            } catch (RejectedExecutionException e) {
+                return null;
+            }
+            return attempt;
+        }
+
+        void cancel() {
+            if (!result.isDone()) {
+                cancellation.cancel();
+                task.cancel(true);
+                result.cancel(false);
+            }
+        }
+    }
+
+    /**
+     * Latencias recientes de un tipo de operación (las últimas LATENCY_SAMPLES respuestas
+     * correctas) y contadores de hedging.
+     */
+    private final class EndpointHedging {
+
+        private final long[] samples = new long[LATENCY_SAMPLES];
+        private int count;
+        private int next;
+        private final AtomicLong fired = new AtomicLong();
+        private final AtomicLong won = new AtomicLong();
+        private final AtomicLong denied = new AtomicLong();
+
+        synchronized void record(long nanos) {
+            samples[next] = nanos;
+            next = (next + 1) % samples.length;
+            count = Math.min(count + 1, samples.length);
+        }
+
+        /**
+         * @return espera antes del segundo intento, o -1 si aún no hay muestras suficientes
+         */
+        long hedgeDelayMillis() {
+            long[] sorted;
+            synchronized (this) {
+                if (count < minSamples) {
+                    return -1;
+                }
+                sorted = Arrays.copyOf(samples, count);
+            }
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(percentile / 100 * sorted.length) - 1;
+            long nanos = sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+            return Math.max(minDelayMillis, TimeUnit.NANOSECONDS.toMillis(nanos));
+        }
+    }
+}
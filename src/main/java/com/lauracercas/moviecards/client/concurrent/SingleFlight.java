@@ -0,0 +1,75 @@
+package com.lauracercas.moviecards.client.concurrent;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Agrupa las llamadas concurrentes con la misma clave en una sola petición saliente.
+ * El primer hilo ejecuta la llamada y el resto espera su resultado o su excepción, así que la
+ * clave tiene que identificar también el tipo del resultado: el cliente usa la operación y la
+ * URL, porque una misma URL se puede leer como listados de tipos distintos.
+ * Autor: Hernan Andres Henao
+ * Proyecto: TFM Integración Continua con GitHub Actions
+ * Fecha: 18/10/2026
+ */
+@Component
+public class SingleFlight implements MeterBinder {
+
+    private static final String METRIC_CALLS = "moviecards.client.singleflight.calls";
+
+    private final ConcurrentMap<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong executed = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String key, Supplier<T> call) {
+        CompletableFuture<Object> leader = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, leader);
+        if (existing != null) {
+            coalesced.incrementAndGet();
+            return (T) await(existing);
+        }
+
+        executed.incrementAndGet();
+        try {
+            T result = call.get();
+            leader.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            leader.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, leader);
+        }
+    }
+
+    private static Object await(CompletableFuture<Object> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        registry.more().counter(METRIC_CALLS, Tags.of("result", "executed"), executed);
+        registry.more().counter(METRIC_CALLS, Tags.of("result", "coalesced"), coalesced);
+    }
+}
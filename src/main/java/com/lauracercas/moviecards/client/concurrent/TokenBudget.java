@@ -0,0 +1,34 @@
+package com.lauracercas.moviecards.client.concurrent;
+
+/**
+ * Presupuesto de llamadas extra (reintentos, peticiones hedged): cada llamada normal deposita
+ * ratio fichas y cada llamada extra gasta una, así que las extra nunca superan esa proporción
+ * de las normales más la reserva de maxTokens. El ratio se limita a 1.
+ * Autor: Hernan Andres Henao
+ * Proyecto: TFM Integración Continua con GitHub Actions
+ * Fecha: 18/10/2026
+ */
+public class TokenBudget {
+
+    private final double ratio;
+    private final double maxTokens;
+    private double tokens;
+
+    public TokenBudget(double ratio, double maxTokens, double initialTokens) {
+        this.ratio = Math.min(1, Math.max(0, ratio));
+        this.maxTokens = maxTokens;
+        this.tokens = Math.min(maxTokens, initialTokens);
+    }
+
+    public synchronized void deposit() {
+        tokens = Math.min(maxTokens, tokens + ratio);
+    }
+
+    public synchronized boolean tryAcquire() {
+        if (tokens < 1) {
+            return false;
+        }
+        tokens--;
+        return true;
+    }
+}
@@ -0,0 +1,16 @@
+package com.lauracercas.moviecards.client.exception;
+
+/**
+ * La llamada no se ha enviado porque moviecards-service ya tiene tantas peticiones en curso
+ * como permite el limitador adaptativo y no se ha liberado ningún hueco a tiempo.
+ * Los controladores la convierten en la página de servicio degradado.
+ * Autor: Hernan Andres Henao
+ * Proyecto: TFM Integración Continua con GitHub Actions
+ * Fecha: 18/10/2026
+ */
+public class ServiceOverloadedException extends ServiceUnavailableException {
+
+    public ServiceOverloadedException(String message, String serviceUrl) {
+        super(message, serviceUrl, null);
+    }
+}
@@ -0,0 +1,15 @@
+package com.lauracercas.moviecards.client.exception;
+
+/**
+ * La llamada no se ha llegado a enviar a moviecards-service porque el circuito está abierto
+ * o porque se ha alcanzado el máximo de llamadas concurrentes.
+ * Autor: Hernan Andres Henao
+ * Proyecto: TFM Integración Continua con GitHub Actions
+ * Fecha: 18/10/2026
+ */
+public class ServiceUnavailableException extends MovieCardsServiceException {
+
+    public ServiceUnavailableException(String message, String serviceUrl, Throwable cause) {
+        super(message, serviceUrl, cause);
+    }
+}
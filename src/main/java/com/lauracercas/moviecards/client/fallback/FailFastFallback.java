@@ -0,0 +1,19 @@
+package com.lauracercas.moviecards.client.fallback;
+
+import com.lauracercas.moviecards.client.exception.MovieCardsServiceException;
+
+import java.util.function.Supplier;
+
+/**
+ * Estrategia de producción: el error llega tal cual a servicios y controladores.
+ * Autor: Hernan Andres Henao
+ * Proyecto: TFM Integración Continua con GitHub Actions
+ * Fecha: 18/10/2026
+ */
+public class FailFastFallback implements ServiceFallback {
+
+    @Override
+    public <T> T recover(MovieCardsServiceException failure, Supplier<T> offlineValue) {
+        throw failure;
+    }
+}
@@ -0,0 +1,36 @@
+package com.lauracercas.moviecards.client.fallback;
+
+import com.lauracercas.moviecards.model.Actor;
+import com.lauracercas.moviecards.model.Movie;
+
+import java.util.List;
+
+/**
+ * Entidades de sustitución que usa OfflineDataFallback cuando el servicio no responde. Van
+ * marcadas como offline para que EntityCache no las guarde en lugar de las reales.
+ * Autor: Hernan Andres Henao
+ * Proyecto: TFM Integración Continua con GitHub Actions
+ * Fecha: 18/10/2026
+ */
+public final class OfflineData {
+
+    private OfflineData() {
+    }
+
+    public static Movie movie(Integer movieId) {
+        Movie mockMovie = new Movie();
+        mockMovie.setId(movieId);
+        mockMovie.setTitle("Test Movie");
+        mockMovie.setActors(List.of());
+        mockMovie.setOffline(true);
+        return mockMovie;
+    }
+
+    public static Actor actor(Integer actorId) {
+        Actor mockActor = new Actor();
+        mockActor.setId(actorId);
+        mockActor.setName("Test Actor");
+        mockActor.setOffline(true);
+        return mockActor;
+    }
+}
@@ -0,0 +1,25 @@
+package com.lauracercas.moviecards.client.fallback;
+
+import com.lauracercas.moviecards.client.exception.MovieCardsServiceException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.function.Supplier;
+
+/**
+ * Estrategia para pruebas sin moviecards-service: devuelve datos de sustitución
+ * (listas vacías, entidades de prueba) en lugar de propagar el error.
+ * Autor: Hernan Andres Henao
+ * Proyecto: TFM Integración Continua con GitHub Actions
+ * Fecha: 18/10/2026
+ */
+public class OfflineDataFallback implements ServiceFallback {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(OfflineDataFallback.class);
+
+    @Override
+    public <T> T recover(MovieCardsServiceException failure, Supplier<T> offlineValue) {
+        LOGGER.debug("Usando datos de sustitución para {}: {}", failure.getServiceUrl(), failure.getMessage());
+        return offlineValue.get();
+    }
+}
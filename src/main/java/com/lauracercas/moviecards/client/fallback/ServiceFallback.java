@@ -0,0 +1,21 @@
+package com.lauracercas.moviecards.client.fallback;
+
+import com.lauracercas.moviecards.client.exception.MovieCardsServiceException;
+
+import java.util.function.Supplier;
+
+/**
+ * Estrategia que decide qué hacer cuando una llamada a moviecards-service falla.
+ * Se elige una sola vez al arrancar (ver MovieCardsServiceConfig).
+ * Autor: Hernan Andres Henao
+ * Proyecto: TFM Integración Continua con GitHub Actions
+ * Fecha: 18/10/2026
+ */
+public interface ServiceFallback {
+
+    /**
+     * @param failure      error ya traducido a la excepción del cliente
+     * @param offlineValue valor de sustitución propio de cada operación
+     */
+    <T> T recover(MovieCardsServiceException failure, Supplier<T> offlineValue);
+}
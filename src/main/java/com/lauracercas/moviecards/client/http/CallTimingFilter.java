@@ -0,0 +1,53 @@
+package com.lauracercas.moviecards.client.http;
+
+import com.lauracercas.moviecards.timing.RequestTimings;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+/**
+ * Equivalente de CallTimingInterceptor para WebClient: abre los tramos "http" (hasta las
+ * cabeceras) y "decode" (hasta terminar de leer el cuerpo) de RequestTimings. Los hilos de
+ * Reactor no tienen la petición web asociada, así que el cliente la pasa en el contexto de
+ * Reactor con context(); las peticiones sin ella no se miden.
+ * Autor: Hernan Andres Henao
+ * Proyecto: TFM Integración Continua con GitHub Actions
+ * Fecha: 18/10/2026
+ */
+public class CallTimingFilter implements ExchangeFilterFunction {
+
+    private static final String OPERATION = CallTimingFilter.class.getName() + ".operation";
+
+    /**
+     * @return el contexto de Reactor con la petición web y la operación, o vacío si no hay petición
+     */
+    public static Context context(RequestTimings timings, String operation) {
+        return timings == null
+                ? Context.empty()
+                : Context.of(RequestTimings.class, timings, OPERATION, operation);
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        return Mono.deferContextual(context -> {
+            if (!context.hasKey(RequestTimings.class)) {
+                return next.exchange(request);
+            }
+            RequestTimings timings = context.get(RequestTimings.class);
+            String operation = context.get(OPERATION);
+            RequestTimings.Span network = timings.startSpan("http", operation);
+            return next.exchange(request)
+                    .doFinally(signal -> network.end())
+                    .map(response -> {
+                        network.end();
+                        RequestTimings.Span decode = timings.startSpan("decode", operation);
+                        return response.mutate()
+                                .body(body -> body.doFinally(signal -> decode.end()))
+                                .build();
+                    });
+        });
+    }
+}
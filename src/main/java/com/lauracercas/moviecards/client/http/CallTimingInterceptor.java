@@ -0,0 +1,55 @@
+package com.lauracercas.moviecards.client.http;
+
+import com.lauracercas.moviecards.timing.RequestTimings;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+
+/**
+ * Separa el tiempo de red (hasta las cabeceras) del de lectura y deserialización del cuerpo
+ * (hasta que RestTemplate cierra la respuesta) y cuenta los bytes recibidos, para la operación
+ * de ClientCallMetrics en curso en el hilo. Las peticiones fuera de una operación no se miden.
+ * Ambos tiempos se abren además como tramos "http" y "decode" de RequestTimings.
+ * Autor: Hernan Andres Henao
+ * Proyecto: TFM Integración Continua con GitHub Actions
+ * Fecha: 18/10/2026
+ * Modificado: 18/10/2026 - Tramos http y decode para Server-Timing y JFR
+ */
+public class CallTimingInterceptor implements ClientHttpRequestInterceptor {
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        ClientCallMetrics.Sample sample = ClientCallMetrics.current();
+        if (sample == null) {
+            return execution.execute(request, body);
+        }
+        RequestTimings.Span network = RequestTimings.start("http", sample.getOperation());
+        long start = System.nanoTime();
+        ClientHttpResponse response;
+        try {
+            response = execution.execute(request, body);
+        } finally {
+            network.end();
+        }
+        long headersReceived = System.nanoTime();
+        sample.responseReceived(response.getRawStatusCode(), headersReceived - start);
+        RequestTimings.Span decode = RequestTimings.start("decode", sample.getOperation());
+        return new CountingClientHttpResponse(response) {
+            private boolean closed;
+
+            @Override
+            public void close() {
+                if (!closed) {
+                    closed = true;
+                    decode.end();
+                    sample.bodyRead(getBytesRead(), System.nanoTime() - headersReceived);
+                }
+                super.close();
+            }
+        };
+    }
+}
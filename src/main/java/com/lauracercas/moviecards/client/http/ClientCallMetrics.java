@@ -0,0 +1,217 @@
+package com.lauracercas.moviecards.client.http;
+
+import com.lauracercas.moviecards.timing.RequestTimings;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.metrics.http.Outcome;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Métricas por operación lógica de MovieCardsServiceClient (getAllMovies, getMovieById,
+ * updateMovie, registerActorInMovie...):
+ * - moviecards.client.operation: duración completa (reintentos y fallback incluidos), por
+ *   resultado y código de estado de la respuesta que recibió la propia llamada (NONE si no hubo:
+ *   agrupada con otra igual, rechazada por el circuito o error de red).
+ * - moviecards.client.network: hasta recibir las cabeceras de cada petición HTTP.
+ * - moviecards.client.deserialization: desde las cabeceras hasta cerrar la respuesta (lectura
+ *   y deserialización del cuerpo).
+ * - moviecards.client.payload: bytes del cuerpo de cada respuesta.
+ * Las dos últimas las mide CallTimingInterceptor para la operación en curso en el hilo, así que
+ * el cliente WebClient (modo async) solo publica moviecards.client.operation.
+ * Con moviecards.client.metrics.histograms los timers publican un histograma de percentiles
+ * con cubos fijos (en Prometheus, histogram_quantile); los medidores se crean una vez por
+ * combinación de etiquetas y se reutilizan, así que el coste por llamada es el de unos
+ * contadores atómicos.
+ * Autor: Hernan Andres Henao
+ * Proyecto: TFM Integración Continua con GitHub Actions
+ * Fecha: 18/10/2026
+ * Modificado: 18/10/2026 - Tramos de RequestTimings en el hilo de cada intento
+ */
+@Component
+public class ClientCallMetrics implements MeterBinder {
+
+    private static final String PREFIX = "moviecards.client.";
+    private static final String OPERATION = "operation";
+    private static final String NO_STATUS = "NONE";
+    private static final ThreadLocal<Sample> CURRENT = new ThreadLocal<>();
+
+    private final boolean histograms;
+    private volatile MeterRegistry registry;
+    private final Map<String, Timer> operationTimers = new ConcurrentHashMap<>();
+    private final Map<String, Timer> networkTimers = new ConcurrentHashMap<>();
+    private final Map<String, Timer> deserializationTimers = new ConcurrentHashMap<>();
+    private final Map<String, DistributionSummary> payloadSummaries = new ConcurrentHashMap<>();
+
+    public ClientCallMetrics(@Value("${moviecards.client.metrics.histograms:true}") boolean histograms) {
+        this.histograms = histograms;
+    }
+
+    public Sample start(String operation) {
+        return new Sample(operation);
+    }
+
+    /**
+     * @return la operación que está haciendo la petición HTTP en este hilo, o null si no hay ninguna
+     */
+    static Sample current() {
+        return CURRENT.get();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    private Timer operationTimer(String operation, String outcome, String status) {
+        return operationTimers.computeIfAbsent(operation + '|' + outcome + '|' + status,
+                key -> timer(PREFIX + "operation", "Duración de cada operación del cliente")
+                        .tags(OPERATION, operation, "outcome", outcome, "status", status)
+                        .register(registry));
+    }
+
+    private Timer networkTimer(String operation) {
+        return networkTimers.computeIfAbsent(operation,
+                key -> timer(PREFIX + "network", "Tiempo hasta recibir las cabeceras de la respuesta")
+                        .tag(OPERATION, operation)
+                        .register(registry));
+    }
+
+    private Timer deserializationTimer(String operation) {
+        return deserializationTimers.computeIfAbsent(operation,
+                key -> timer(PREFIX + "deserialization", "Lectura y deserialización del cuerpo de la respuesta")
+                        .tag(OPERATION, operation)
+                        .register(registry));
+    }
+
+    private DistributionSummary payloadSummary(String operation) {
+        return payloadSummaries.computeIfAbsent(operation, key -> {
+            DistributionSummary.Builder builder = DistributionSummary.builder(PREFIX + "payload")
+                    .description("Tamaño del cuerpo de la respuesta")
+                    .baseUnit("bytes")
+                    .tag(OPERATION, operation);
+            if (histograms) {
+                builder.publishPercentileHistogram()
+                        .minimumExpectedValue(64.0)
+                        .maximumExpectedValue(64.0 * 1024 * 1024);
+            }
+            return builder.register(registry);
+        });
+    }
+
+    private Timer.Builder timer(String name, String description) {
+        Timer.Builder builder = Timer.builder(name).description(description);
+        if (histograms) {
+            builder.publishPercentileHistogram()
+                    .minimumExpectedValue(Duration.ofMillis(1))
+                    .maximumExpectedValue(Duration.ofSeconds(30));
+        }
+        return builder;
+    }
+
+    /**
+     * Medición de una llamada: se abre al empezar la operación y se cierra con stop() en un finally.
+     */
+    public final class Sample {
+
+        private final String operation;
+        private final RequestTimings timings = RequestTimings.current();
+        private final long startNanos = System.nanoTime();
+        private volatile int status = -1;
+        private String outcome;
+
+        private Sample(String operation) {
+            this.operation = operation;
+        }
+
+        /**
+         * @return la llamada remota con esta medición como operación en curso del hilo que la
+         * ejecute (puede ser otro, p. ej. el intento duplicado del hedging), junto con la petición
+         * web que la originó para sus tramos de RequestTimings
+         */
+        public <T> Supplier<T> bind(Supplier<T> call) {
+            return () -> {
+                Sample previous = CURRENT.get();
+                CURRENT.set(this);
+                RequestTimings previousTimings = RequestTimings.attach(timings);
+                try {
+                    return call.get();
+                } finally {
+                    RequestTimings.restore(previousTimings);
+                    if (previous == null) {
+                        CURRENT.remove();
+                    } else {
+                        CURRENT.set(previous);
+                    }
+                }
+            };
+        }
+
+        /**
+         * Código de la respuesta recibida, para los clientes que no pasan por CallTimingInterceptor
+         * (el de WebClient).
+         */
+        public void responded(int responseStatus) {
+            status = responseStatus;
+        }
+
+        public void failed(int responseStatus) {
+            status = responseStatus;
+            outcome = Outcome.forStatus(responseStatus).name();
+        }
+
+        /**
+         * La petición no llegó a tener respuesta (timeout, conexión rechazada...).
+         */
+        public void failedWithoutResponse() {
+            outcome = Outcome.UNKNOWN.name();
+        }
+
+        /**
+         * La llamada no se llegó a enviar (circuito abierto, bulkhead o limitador).
+         */
+        public void rejected() {
+            status = -1;
+            outcome = "REJECTED";
+        }
+
+        public void stop() {
+            if (registry == null) {
+                return;
+            }
+            int observed = status;
+            operationTimer(operation, outcome != null ? outcome : Outcome.SUCCESS.name(),
+                    observed > 0 ? String.valueOf(observed) : NO_STATUS)
+                    .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        }
+
+        String getOperation() {
+            return operation;
+        }
+
+        void responseReceived(int responseStatus, long networkNanos) {
+            status = responseStatus;
+            if (registry != null) {
+                networkTimer(operation).record(networkNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        void bodyRead(long bytes, long readNanos) {
+            if (registry == null) {
+                return;
+            }
+            deserializationTimer(operation).record(readNanos, TimeUnit.NANOSECONDS);
+            if (bytes > 0) {
+                payloadSummary(operation).record(bytes);
+            }
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.lauracercas.moviecards.client.http;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+
+/**
+ * Publica la ocupación del pool de conexiones hacia moviecards-service
+ * (conexiones en uso, libres, peticiones esperando y máximo) para poder dimensionarlo.
+ * Autor: Hernan Andres Henao
+ * Proyecto: TFM Integración Continua con GitHub Actions
+ * Fecha: 18/10/2026
+ */
+public class ConnectionPoolMetrics implements MeterBinder {
+
+    private static final String PREFIX = "moviecards.client.pool.";
+
+    private final PoolingHttpClientConnectionManager connectionManager;
+
+    public ConnectionPoolMetrics(PoolingHttpClientConnectionManager connectionManager) {
+        this.connectionManager = connectionManager;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder(PREFIX + "leased", connectionManager, cm -> cm.getTotalStats().getLeased())
+                .description("Conexiones en uso")
+                .register(registry);
+        Gauge.builder(PREFIX + "available", connectionManager, cm -> cm.getTotalStats().getAvailable())
+                .description("Conexiones abiertas y libres")
+                .register(registry);
+        Gauge.builder(PREFIX + "pending", connectionManager, cm -> cm.getTotalStats().getPending())
+                .description("Peticiones esperando una conexión libre")
+                .register(registry);
+        Gauge.builder(PREFIX + "max", connectionManager, cm -> cm.getTotalStats().getMax())
+                .description("Máximo de conexiones del pool")
+                .register(registry);
+    }
+}
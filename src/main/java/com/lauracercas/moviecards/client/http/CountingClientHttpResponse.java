@@ -0,0 +1,92 @@
+package com.lauracercas.moviecards.client.http;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Envuelve una respuesta para contar los bytes del cuerpo que se van leyendo
+ * (ya descomprimidos, tal y como los recibe el conversor).
+ * Autor: Hernan Andres Henao
+ * Proyecto: TFM Integración Continua con GitHub Actions
+ * Fecha: 18/10/2026
+ * Modificado: 18/10/2026 - Los bytes releídos tras mark/reset ya no se cuentan dos veces
+ */
+public class CountingClientHttpResponse implements ClientHttpResponse {
+
+    private final ClientHttpResponse delegate;
+    private long bytesRead;
+    private InputStream body;
+
+    public CountingClientHttpResponse(ClientHttpResponse delegate) {
+        this.delegate = delegate;
+    }
+
+    public long getBytesRead() {
+        return bytesRead;
+    }
+
+    @Override
+    public InputStream getBody() throws IOException {
+        if (body == null) {
+            body = new FilterInputStream(delegate.getBody()) {
+                @Override
+                public int read() throws IOException {
+                    int value = super.read();
+                    if (value >= 0) {
+                        bytesRead++;
+                    }
+                    return value;
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) throws IOException {
+                    int count = super.read(buffer, offset, length);
+                    if (count > 0) {
+                        bytesRead += count;
+                    }
+                    return count;
+                }
+
+                /**
+                 * Sin mark/reset: los bytes releídos tras un reset se contarían dos veces
+                 * (RestTemplate marca el cuerpo para comprobar si está vacío).
+                 */
+                @Override
+                public boolean markSupported() {
+                    return false;
+                }
+            };
+        }
+        return body;
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+        return delegate.getHeaders();
+    }
+
+    @Override
+    public HttpStatus getStatusCode() throws IOException {
+        return delegate.getStatusCode();
+    }
+
+    @Override
+    public int getRawStatusCode() throws IOException {
+        return delegate.getRawStatusCode();
+    }
+
+    @Override
+    public String getStatusText() throws IOException {
+        return delegate.getStatusText();
+    }
+
+    @Override
+    public void close() {
+        delegate.close();
+    }
+}
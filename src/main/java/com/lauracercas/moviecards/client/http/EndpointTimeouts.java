@@ -0,0 +1,32 @@
+package com.lauracercas.moviecards.client.http;
+
+/**
+ * Timeouts (en milisegundos) aplicados a un tipo de operación del servicio.
+ * Autor: Hernan Andres Henao
+ * Proyecto: TFM Integración Continua con GitHub Actions
+ * Fecha: 18/10/2026
+ */
+public class EndpointTimeouts {
+
+    private final int connectTimeout;
+    private final int readTimeout;
+    private final int poolAcquireTimeout;
+
+    public EndpointTimeouts(int connectTimeout, int readTimeout, int poolAcquireTimeout) {
+        this.connectTimeout = connectTimeout;
+        this.readTimeout = readTimeout;
+        this.poolAcquireTimeout = poolAcquireTimeout;
+    }
+
+    public int getConnectTimeout() {
+        return connectTimeout;
+    }
+
+    public int getReadTimeout() {
+        return readTimeout;
+    }
+
+    public int getPoolAcquireTimeout() {
+        return poolAcquireTimeout;
+    }
+}
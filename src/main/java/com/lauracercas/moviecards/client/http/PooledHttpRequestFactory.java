@@ -0,0 +1,173 @@
+package com.lauracercas.moviecards.client.http;
+
+import org.apache.hc.client5.http.classic.methods.HttpUriRequestBase;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.protocol.HttpClientContext;
+import org.apache.hc.client5.http.routing.RoutingSupport;
+import org.apache.hc.core5.http.ClassicHttpResponse;
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.Header;
+import org.apache.hc.core5.http.HttpEntity;
+import org.apache.hc.core5.http.HttpException;
+import org.apache.hc.core5.http.io.entity.ByteArrayEntity;
+import org.apache.hc.core5.http.io.entity.EntityUtils;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.AbstractClientHttpRequest;
+import org.springframework.http.client.AbstractClientHttpResponse;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Factoría de peticiones para RestTemplate sobre un pool de conexiones de Apache HttpClient 5.
+ * Spring 5.3 solo trae la integración con HttpClient 4, por eso se adapta aquí el cliente 5.
+ * Cada petición recibe los timeouts del tipo de operación al que pertenece y puede
+ * abortarse desde otro hilo con RequestCancellation.
+ * Autor: Hernan Andres Henao
+ * Proyecto: TFM Integración Continua con GitHub Actions
+ * Fecha: 18/10/2026
+ */
+public class PooledHttpRequestFactory implements ClientHttpRequestFactory {
+
+    private final CloseableHttpClient httpClient;
+    private final Map<ServiceEndpoint, RequestConfig> requestConfigs = new EnumMap<>(ServiceEndpoint.class);
+
+    public PooledHttpRequestFactory(CloseableHttpClient httpClient, Map<ServiceEndpoint, EndpointTimeouts> timeouts) {
+        this.httpClient = httpClient;
+        for (ServiceEndpoint endpoint : ServiceEndpoint.values()) {
+            requestConfigs.put(endpoint, toRequestConfig(timeouts.get(endpoint)));
+        }
+    }
+
+    @Override
+    public ClientHttpRequest createRequest(URI uri, HttpMethod httpMethod) {
+        RequestConfig requestConfig = requestConfigs.get(ServiceEndpoint.classify(httpMethod, uri));
+        return new PooledHttpRequest(httpClient, httpMethod, uri, requestConfig);
+    }
+
+    @SuppressWarnings("deprecation") // El connect timeout por petición sigue soportado en HttpClient 5.3
+    private static RequestConfig toRequestConfig(EndpointTimeouts timeouts) {
+        return RequestConfig.custom()
+                .setConnectTimeout(Timeout.ofMilliseconds(timeouts.getConnectTimeout()))
+                .setResponseTimeout(Timeout.ofMilliseconds(timeouts.getReadTimeout()))
+                .setConnectionRequestTimeout(Timeout.ofMilliseconds(timeouts.getPoolAcquireTimeout()))
+                .build();
+    }
+
+    private static class PooledHttpRequest extends AbstractClientHttpRequest {
+
+        private final CloseableHttpClient httpClient;
+        private final HttpMethod method;
+        private final URI uri;
+        private final RequestConfig requestConfig;
+        private final ByteArrayOutputStream body = new ByteArrayOutputStream(1024);
+
+        PooledHttpRequest(CloseableHttpClient httpClient, HttpMethod method, URI uri, RequestConfig requestConfig) {
+            this.httpClient = httpClient;
+            this.method = method;
+            this.uri = uri;
+            this.requestConfig = requestConfig;
+        }
+
+        @Override
+        public String getMethodValue() {
+            return method.name();
+        }
+
+        @Override
+        public URI getURI() {
+            return uri;
+        }
+
+        @Override
+        protected OutputStream getBodyInternal(HttpHeaders headers) {
+            return body;
+        }
+
+        @Override
+        protected ClientHttpResponse executeInternal(HttpHeaders headers) throws IOException {
+            HttpUriRequestBase request = new HttpUriRequestBase(method.name(), uri);
+            headers.forEach((name, values) -> {
+                if (!HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)
+                        && !HttpHeaders.TRANSFER_ENCODING.equalsIgnoreCase(name)) {
+                    values.forEach(value -> request.addHeader(name, value));
+                }
+            });
+            if (body.size() > 0) {
+                ContentType contentType = headers.getContentType() != null
+                        ? ContentType.parse(headers.getContentType().toString())
+                        : null;
+                request.setEntity(new ByteArrayEntity(body.toByteArray(), contentType));
+            }
+
+            HttpClientContext context = HttpClientContext.create();
+            context.setRequestConfig(requestConfig);
+            RequestCancellation.register(request);
+            try {
+                return new PooledHttpResponse(
+                        httpClient.executeOpen(RoutingSupport.determineHost(request), request, context));
+            } catch (HttpException e) {
+                throw new IOException(e.getMessage(), e);
+            }
+        }
+    }
+
+    private static class PooledHttpResponse extends AbstractClientHttpResponse {
+
+        private final ClassicHttpResponse response;
+        private HttpHeaders headers;
+
+        PooledHttpResponse(ClassicHttpResponse response) {
+            this.response = response;
+        }
+
+        @Override
+        public int getRawStatusCode() {
+            return response.getCode();
+        }
+
+        @Override
+        public String getStatusText() {
+            return response.getReasonPhrase() != null ? response.getReasonPhrase() : "";
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            if (headers == null) {
+                headers = new HttpHeaders();
+                for (Header header : response.getHeaders()) {
+                    headers.add(header.getName(), header.getValue());
+                }
+            }
+            return headers;
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            HttpEntity entity = response.getEntity();
+            return entity != null ? entity.getContent() : InputStream.nullInputStream();
+        }
+
+        @Override
+        public void close() {
+            // Consumir el cuerpo devuelve la conexión al pool en lugar de cerrarla
+            try {
+                EntityUtils.consume(response.getEntity());
+                response.close();
+            } catch (IOException e) {
+                // La conexión se descarta; el pool abrirá otra cuando haga falta
+            }
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.lauracercas.moviecards.client.http;
+
+import org.apache.hc.core5.concurrent.Cancellable;
+
+import java.io.InterruptedIOException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Permite abortar desde otro hilo la petición HTTP que está haciendo una llamada: mientras se
+ * ejecuta run(), PooledHttpRequestFactory registra aquí cada petición y cancel() corta la conexión
+ * en lugar de esperar a que termine. La usa RequestHedger para cancelar el intento que pierde.
+ * Autor: Hernan Andres Henao
+ * Proyecto: TFM Integración Continua con GitHub Actions
+ * Fecha: 18/10/2026
+ */
+public final class RequestCancellation {
+
+    private static final ThreadLocal<RequestCancellation> CURRENT = new ThreadLocal<>();
+
+    private final AtomicBoolean cancelled = new AtomicBoolean();
+    private volatile Cancellable request;
+
+    public <T> T run(Supplier<T> call) {
+        CURRENT.set(this);
+        try {
+            return call.get();
+        } finally {
+            CURRENT.remove();
+        }
+    }
+
+    public void cancel() {
+        if (cancelled.compareAndSet(false, true)) {
+            Cancellable current = request;
+            if (current != null) {
+                current.cancel();
+            }
+        }
+    }
+
+    public boolean isCancelled() {
+        return cancelled.get();
+    }
+
+    /**
+     * @return si la llamada que se ejecuta en este hilo es un intento que se ha cancelado: su
+     * error no dice nada del servicio y ni el circuit breaker ni el limitador deben contarlo
+     */
+    public static boolean isCurrentCancelled() {
+        RequestCancellation current = CURRENT.get();
+        return current != null && current.isCancelled();
+    }
+
+    /**
+     * Asocia la petición a la cancelación activa en este hilo, si la hay. Si ya se había
+     * cancelado, la petición no llega a enviarse.
+     */
+    static void register(Cancellable request) throws InterruptedIOException {
+        RequestCancellation current = CURRENT.get();
+        if (current == null) {
+            return;
+        }
+        current.request = request;
+        if (current.cancelled.get()) {
+            request.cancel();
+            throw new InterruptedIOException("Petición a moviecards-service cancelada");
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.lauracercas.moviecards.client.http;
+
+import org.springframework.http.HttpMethod;
+
+import java.net.URI;
+
+/**
+ * Tipos de operación contra moviecards-service. Cada uno tiene sus propios timeouts
+ * y se identifica por el método HTTP y la ruta de la petición.
+ * Autor: Hernan Andres Henao
+ * Proyecto: TFM Integración Continua con GitHub Actions
+ * Fecha: 18/10/2026
+ */
+public enum ServiceEndpoint {
+
+    /** Listados completos: GET /movies, GET /actors */
+    LIST("list"),
+
+    /** Consulta de una entidad: GET /movies/{id}, GET /actors/{id} */
+    GET_BY_ID("get-by-id"),
+
+    /** Altas, modificaciones y registros: POST, PUT, PATCH, DELETE */
+    WRITE("write");
+
+    private final String tag;
+
+    ServiceEndpoint(String tag) {
+        this.tag = tag;
+    }
+
+    public String getTag() {
+        return tag;
+    }
+
+    public static ServiceEndpoint classify(HttpMethod method, URI uri) {
+        if (method != HttpMethod.GET && method != HttpMethod.HEAD) {
+            return WRITE;
+        }
+        String path = uri.getPath();
+        if (path == null) {
+            return LIST;
+        }
+        if (path.endsWith("/")) {
+            path = path.substring(0, path.length() - 1);
+        }
+        String lastSegment = path.substring(path.lastIndexOf('/') + 1);
+        return isNumeric(lastSegment) ? GET_BY_ID : LIST;
+    }
+
+    private static boolean isNumeric(String segment) {
+        if (segment.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < segment.length(); i++) {
+            if (!Character.isDigit(segment.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,66 @@
+package com.lauracercas.moviecards.client.http;
+
+import org.springframework.http.MediaType;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Formatos de intercambio con moviecards-service. JSON es el formato por defecto; Smile y CBOR
+ * son las variantes binarias de Jackson (mismo modelo de datos, menos bytes y menos trabajo
+ * de parseo) y solo se piden si se activan con moviecards.service.wire-format.
+ * Autor: Hernan Andres Henao
+ * Proyecto: TFM Integración Continua con GitHub Actions
+ * Fecha: 18/10/2026
+ */
+public enum WireFormat {
+
+    JSON(MediaType.APPLICATION_JSON),
+
+    SMILE(new MediaType("application", "x-jackson-smile")),
+
+    CBOR(MediaType.APPLICATION_CBOR);
+
+    private static final MediaType JSON_FALLBACK = MediaType.valueOf("application/json;q=0.9");
+
+    private final MediaType mediaType;
+
+    WireFormat(MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    /**
+     * Cabecera Accept de las lecturas: el formato binario preferido y JSON con menor
+     * prioridad, para que un servidor que no ofrezca el binario siga respondiendo en JSON.
+     */
+    public List<MediaType> getAccept() {
+        return this == JSON ? List.of(MediaType.APPLICATION_JSON) : List.of(mediaType, JSON_FALLBACK);
+    }
+
+    public static WireFormat fromProperty(String value) {
+        return value == null || value.isBlank() ? JSON : valueOf(value.trim().toUpperCase(Locale.ROOT));
+    }
+
+    /**
+     * @return el formato de una respuesta según su Content-Type, o null si no es ninguno de los conocidos
+     */
+    public static WireFormat fromContentType(MediaType contentType) {
+        if (contentType == null) {
+            return null;
+        }
+        if (contentType.isCompatibleWith(MediaType.APPLICATION_JSON)
+                || "json".equals(contentType.getSubtypeSuffix())) {
+            return JSON;
+        }
+        for (WireFormat format : values()) {
+            if (contentType.isCompatibleWith(format.mediaType)) {
+                return format;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,57 @@
+package com.lauracercas.moviecards.client.http;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+
+/**
+ * Pide el formato binario configurado en las lecturas de los listados de películas y actores
+ * (GET a una ruta que acaba en /movies o /actors, con cualquier consulta: completo, resumen,
+ * grafo o por ids), que es donde el tamaño del cuerpo importa. El resto de peticiones conserva
+ * el Accept que calcula RestTemplate. La respuesta se decodifica según su Content-Type, así que
+ * si el servidor contesta en JSON no cambia nada. forWebClient aplica la misma regla a WebClient.
+ * Autor: Hernan Andres Henao
+ * Proyecto: TFM Integración Continua con GitHub Actions
+ * Fecha: 18/10/2026
+ */
+public class WireFormatInterceptor implements ClientHttpRequestInterceptor {
+
+    private static final String MOVIES_PATH = "/movies";
+    private static final String ACTORS_PATH = "/actors";
+
+    private final WireFormat wireFormat;
+
+    public WireFormatInterceptor(WireFormat wireFormat) {
+        this.wireFormat = wireFormat;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        if (request.getMethod() == HttpMethod.GET && isListPath(request.getURI().getPath())) {
+            request.getHeaders().setAccept(wireFormat.getAccept());
+        }
+        return execution.execute(request, body);
+    }
+
+    /**
+     * @return el filtro de WebClient que pide el formato binario en las mismas lecturas de listados
+     */
+    public static ExchangeFilterFunction forWebClient(WireFormat wireFormat) {
+        return ExchangeFilterFunction.ofRequestProcessor(request -> Mono.just(
+                request.method() == HttpMethod.GET && isListPath(request.url().getPath())
+                        ? ClientRequest.from(request).headers(headers -> headers.setAccept(wireFormat.getAccept())).build()
+                        : request));
+    }
+
+    private static boolean isListPath(String path) {
+        return path != null && (path.endsWith(MOVIES_PATH) || path.endsWith(ACTORS_PATH));
+    }
+}
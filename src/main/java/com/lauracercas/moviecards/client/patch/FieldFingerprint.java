@@ -0,0 +1,144 @@
+package com.lauracercas.moviecards.client.patch;
+
+import com.lauracercas.moviecards.model.Actor;
+import com.lauracercas.moviecards.model.Movie;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.SimpleDateFormat;
+import java.util.Base64;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Huella de los campos editables de una entidad tal y como se cargó en el formulario:
+ * el ETag de la respuesta (si lo hubo) y un hash por campo. Al guardar permite saber qué
+ * campos han cambiado sin conservar los valores originales y enviar solo esos. El hash son los
+ * primeros 128 bits de SHA-256: una colisión haría que un cambio no se enviase, así que no basta
+ * con un CRC de 32 bits. Una huella antigua (con hashes más cortos) da todos los campos por cambiados.
+ * Formato: base64url(etag) + "." + hashes hexadecimales separados por "-", en el orden de los campos.
+ * Autor: Hernan Andres Henao
+ * Proyecto: TFM Integración Continua con GitHub Actions
+ * Fecha: 18/10/2026
+ */
+public final class FieldFingerprint<T> {
+
+    public static final FieldFingerprint<Movie> MOVIE = new FieldFingerprint<Movie>()
+            .field("title", Movie::getTitle)
+            .field("releaseYear", Movie::getReleaseYear)
+            .field("duration", Movie::getDuration)
+            .field("country", Movie::getCountry)
+            .field("director", Movie::getDirector)
+            .field("genre", Movie::getGenre)
+            .field("sinopsis", Movie::getSinopsis);
+
+    public static final FieldFingerprint<Actor> ACTOR = new FieldFingerprint<Actor>()
+            .field("name", Actor::getName)
+            .field("birthDate", Actor::getBirthDate)
+            .field("deadDate", Actor::getDeadDate)
+            .field("country", Actor::getCountry);
+
+    private static final String DATE_PATTERN = "yyyy-MM-dd";
+    private static final int HASH_BYTES = 16;
+
+    private final Map<String, Function<T, Object>> fields = new LinkedHashMap<>();
+
+    private FieldFingerprint() {
+    }
+
+    private FieldFingerprint<T> field(String name, Function<T, Object> getter) {
+        fields.put(name, getter);
+        return this;
+    }
+
+    public String of(T entity, String etag) {
+        StringBuilder fingerprint = new StringBuilder();
+        if (etag != null) {
+            fingerprint.append(Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString(etag.getBytes(StandardCharsets.UTF_8)));
+        }
+        fingerprint.append('.');
+        boolean first = true;
+        for (Function<T, Object> getter : fields.values()) {
+            if (!first) {
+                fingerprint.append('-');
+            }
+            fingerprint.append(hash(getter.apply(entity)));
+            first = false;
+        }
+        return fingerprint.toString();
+    }
+
+    /**
+     * @return el ETag con el que se cargó la entidad, o null si no lo hubo o la huella no es válida
+     */
+    public String etag(String fingerprint) {
+        int separator = fingerprint != null ? fingerprint.indexOf('.') : -1;
+        if (separator <= 0) {
+            return null;
+        }
+        try {
+            return new String(Base64.getUrlDecoder().decode(fingerprint.substring(0, separator)), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Campos cuyo valor enviado no coincide con la huella, con su nuevo valor (documento
+     * JSON merge-patch). Devuelve null si la huella falta o no es válida: entonces no se
+     * sabe qué ha cambiado y hay que enviar la entidad completa.
+     */
+    public Map<String, Object> changedFields(T submitted, String fingerprint) {
+        int separator = fingerprint != null ? fingerprint.indexOf('.') : -1;
+        if (separator < 0) {
+            return null;
+        }
+        String[] hashes = fingerprint.substring(separator + 1).split("-", -1);
+        if (hashes.length != fields.size()) {
+            return null;
+        }
+        Map<String, Object> changes = new LinkedHashMap<>();
+        int index = 0;
+        for (Map.Entry<String, Function<T, Object>> field : fields.entrySet()) {
+            Object value = field.getValue().apply(submitted);
+            if (!hash(value).equals(hashes[index++])) {
+                changes.put(field.getKey(), value);
+            }
+        }
+        return changes;
+    }
+
+    /**
+     * Un campo de texto vacío del formulario equivale a un valor nulo, y las fechas se comparan
+     * con el mismo formato con el que las envía el formulario.
+     */
+    private static String hash(Object value) {
+        String normalized;
+        if (value == null) {
+            normalized = "";
+        } else if (value instanceof Date) {
+            normalized = new SimpleDateFormat(DATE_PATTERN).format((Date) value);
+        } else {
+            normalized = value.toString();
+        }
+        byte[] digest = sha256().digest(normalized.getBytes(StandardCharsets.UTF_8));
+        StringBuilder hex = new StringBuilder(HASH_BYTES * 2);
+        for (int i = 0; i < HASH_BYTES; i++) {
+            hex.append(Character.forDigit((digest[i] >> 4) & 0xF, 16)).append(Character.forDigit(digest[i] & 0xF, 16));
+        }
+        return hex.toString();
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // Toda JVM debe ofrecer SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+}
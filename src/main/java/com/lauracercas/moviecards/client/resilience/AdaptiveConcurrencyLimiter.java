@@ -0,0 +1,195 @@
+package com.lauracercas.moviecards.client.resilience;
+
+import com.lauracercas.moviecards.client.exception.ServiceOverloadedException;
+import com.lauracercas.moviecards.client.exception.ServiceUnavailableException;
+import com.lauracercas.moviecards.client.http.RequestCancellation;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Limita las peticiones en curso hacia moviecards-service con un límite que se adapta (AIMD):
+ * cada respuesta correcta con la latencia estable lo sube en 1/límite (un hueco más por cada
+ * "ventana" completa) y un error de servidor, un timeout o una latencia mayor que tolerance veces
+ * la media a largo plazo lo multiplica por backoff, como mucho una vez por cada latencia media.
+ * Por encima del límite la llamada espera un hueco hasta max-wait y después se rechaza con
+ * ServiceOverloadedException. Las variantes asíncronas no esperan: rechazan al momento.
+ * Autor: Hernan Andres Henao
+ * Proyecto: TFM Integración Continua con GitHub Actions
+ * Fecha: 18/10/2026
+ */
+@Component
+public class AdaptiveConcurrencyLimiter implements MeterBinder {
+
+    private static final String METRIC_PREFIX = "moviecards.client.limiter.";
+    private static final double RTT_SMOOTHING = 0.05;
+
+    private final boolean enabled;
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoff;
+    private final double tolerance;
+    private final long maxWaitNanos;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition slotFreed = lock.newCondition();
+    private double limit;
+    private int inFlight;
+    private double longRttNanos;
+    private long lastDecreaseNanos;
+    private final AtomicLong rejected = new AtomicLong();
+
+    public AdaptiveConcurrencyLimiter(@Value("${moviecards.limiter.enabled:true}") boolean enabled,
+                                      @Value("${moviecards.limiter.initial-limit:20}") int initialLimit,
+                                      @Value("${moviecards.limiter.min-limit:2}") int minLimit,
+                                      @Value("${moviecards.limiter.max-limit:200}") int maxLimit,
+                                      @Value("${moviecards.limiter.backoff:0.9}") double backoff,
+                                      @Value("${moviecards.limiter.tolerance:2.0}") double tolerance,
+                                      @Value("${moviecards.limiter.max-wait:50}") long maxWaitMillis) {
+        this.enabled = enabled;
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.backoff = backoff;
+        this.tolerance = tolerance;
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxWaitMillis);
+        this.limit = Math.min(this.maxLimit, Math.max(this.minLimit, initialLimit));
+    }
+
+    public <T> T execute(String url, Supplier<T> call) {
+        if (!enabled) {
+            return call.get();
+        }
+        acquire(url, maxWaitNanos);
+        long start = System.nanoTime();
+        try {
+            T value = call.get();
+            release(System.nanoTime() - start, null);
+            return value;
+        } catch (RuntimeException | Error e) {
+            release(System.nanoTime() - start, e);
+            throw e;
+        }
+    }
+
+    /**
+     * Variante no bloqueante: si no hay hueco rechaza al momento; el hueco se libera al terminar la llamada.
+     */
+    public <T> CompletableFuture<T> executeAsync(String url, Supplier<CompletableFuture<T>> call) {
+        if (!enabled) {
+            return call.get();
+        }
+        try {
+            acquire(url, 0);
+        } catch (ServiceOverloadedException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        long start = System.nanoTime();
+        CompletableFuture<T> future;
+        try {
+            future = call.get();
+        } catch (RuntimeException | Error e) {
+            release(System.nanoTime() - start, e);
+            throw e;
+        }
+        return future.whenComplete((value, error) -> release(System.nanoTime() - start, error));
+    }
+
+    private void acquire(String url, long waitNanos) {
+        lock.lock();
+        try {
+            long remaining = waitNanos;
+            while (inFlight >= (int) limit) {
+                if (remaining <= 0) {
+                    rejected.incrementAndGet();
+                    throw new ServiceOverloadedException(
+                            "moviecards-service tiene " + inFlight + " peticiones en curso (límite actual)", url);
+                }
+                remaining = slotFreed.awaitNanos(remaining);
+            }
+            inFlight++;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            rejected.incrementAndGet();
+            throw new ServiceOverloadedException("Espera de un hueco hacia moviecards-service interrumpida", url);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void release(long rttNanos, Throwable error) {
+        lock.lock();
+        try {
+            inFlight--;
+            if (isOverloadSignal(error) || (longRttNanos > 0 && rttNanos > longRttNanos * tolerance)) {
+                long now = System.nanoTime();
+                if (now - lastDecreaseNanos >= longRttNanos) {
+                    limit = Math.max(minLimit, limit * backoff);
+                    lastDecreaseNanos = now;
+                }
+            } else if (error == null) {
+                longRttNanos = longRttNanos == 0 ? rttNanos : longRttNanos + RTT_SMOOTHING * (rttNanos - longRttNanos);
+                // Solo crece si el límite se está usando; con poco tráfico no hay nada que medir
+                if (inFlight * 2 >= (int) limit) {
+                    limit = Math.min(maxLimit, limit + 1 / limit);
+                }
+            }
+            slotFreed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Errores que indican que el servicio no da abasto. Los 4xx son errores de la petición
+     * y un rechazo local (circuito abierto, bulkhead) no ha llegado al servicio.
+     */
+    private static boolean isOverloadSignal(Throwable error) {
+        if (error == null) {
+            return false;
+        }
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        return !(RequestCancellation.isCurrentCancelled()
+                || cause instanceof HttpClientErrorException
+                || cause instanceof ServiceUnavailableException
+                || (cause instanceof WebClientResponseException
+                && ((WebClientResponseException) cause).getRawStatusCode() / 100 == 4));
+    }
+
+    public int getLimit() {
+        lock.lock();
+        try {
+            return (int) limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getInFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder(METRIC_PREFIX + "limit", this, AdaptiveConcurrencyLimiter::getLimit).register(registry);
+        Gauge.builder(METRIC_PREFIX + "inflight", this, AdaptiveConcurrencyLimiter::getInFlight).register(registry);
+        registry.more().counter(METRIC_PREFIX + "rejected", Tags.empty(), rejected);
+    }
+}
@@ -0,0 +1,196 @@
+package com.lauracercas.moviecards.client.resilience;
+
+import com.lauracercas.moviecards.client.concurrent.TokenBudget;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClientResponseException;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Reintentos de las llamadas que se pueden repetir sin efectos duplicados (GET, PUT y los POST
+ * con Idempotency-Key) ante errores transitorios: 502, 503, 504 o un fallo de conexión.
+ * La espera entre intentos es exponencial con jitter completo (un valor aleatorio entre 0 y
+ * base * 2^intento, con tope max-delay) y cada reintento gasta del presupuesto de reintentos,
+ * que solo se recarga en budget-ratio por llamada: una tormenta de reintentos no puede
+ * multiplicar la carga sobre el servicio. El cliente WebClient usa executeAsync, con la misma
+ * política y el mismo presupuesto pero sin bloquear ningún hilo durante la espera.
+ * Autor: Hernan Andres Henao
+ * Proyecto: TFM Integración Continua con GitHub Actions
+ * Fecha: 18/10/2026
+ */
+@Component
+public class RetryPolicy implements MeterBinder {
+
+    private static final String METRIC_CALLS = "moviecards.client.retry.calls";
+    private static final double BUDGET_RESERVE = 10;
+
+    private final boolean enabled;
+    private final int maxAttempts;
+    private final long baseDelayMillis;
+    private final long maxDelayMillis;
+    private final boolean idempotencyKeys;
+    private final TokenBudget budget;
+    private final AtomicLong retried = new AtomicLong();
+    private final AtomicLong recovered = new AtomicLong();
+    private final AtomicLong budgetExhausted = new AtomicLong();
+
+    @Autowired
+    public RetryPolicy(@Value("${moviecards.retry.enabled:true}") boolean enabled,
+                       @Value("${moviecards.retry.max-attempts:3}") int maxAttempts,
+                       @Value("${moviecards.retry.base-delay:50}") long baseDelayMillis,
+                       @Value("${moviecards.retry.max-delay:1000}") long maxDelayMillis,
+                       @Value("${moviecards.retry.budget-ratio:0.1}") double budgetRatio,
+                       @Value("${moviecards.retry.idempotency-keys:true}") boolean idempotencyKeys) {
+        this.enabled = enabled;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.baseDelayMillis = baseDelayMillis;
+        this.maxDelayMillis = maxDelayMillis;
+        this.idempotencyKeys = idempotencyKeys;
+        this.budget = new TokenBudget(budgetRatio, BUDGET_RESERVE, BUDGET_RESERVE);
+    }
+
+    /**
+     * @return si los POST de alta llevan una Idempotency-Key generada por el cliente (y por tanto se reintentan)
+     */
+    public boolean usesIdempotencyKeys() {
+        return idempotencyKeys;
+    }
+
+    /**
+     * @param retryable si la llamada se puede repetir; si no, se ejecuta una sola vez
+     */
+    public <T> T execute(boolean retryable, Supplier<T> call) {
+        if (!enabled || !retryable) {
+            return call.get();
+        }
+        budget.deposit();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                T value = call.get();
+                if (attempt > 1) {
+                    recovered.incrementAndGet();
+                }
+                return value;
+            } catch (RuntimeException e) {
+                if (attempt >= maxAttempts || !isTransient(e)) {
+                    throw e;
+                }
+                if (!budget.tryAcquire()) {
+                    budgetExhausted.incrementAndGet();
+                    throw e;
+                }
+                retried.incrementAndGet();
+                if (!backoff(attempt)) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    /**
+     * Igual que execute para llamadas asíncronas: el siguiente intento se programa al acabar la
+     * espera en lugar de dormir el hilo.
+     *
+     * @param retryable si la llamada se puede repetir; si no, se ejecuta una sola vez
+     */
+    public <T> CompletableFuture<T> executeAsync(boolean retryable, Supplier<CompletableFuture<T>> call) {
+        if (!enabled || !retryable) {
+            return call.get();
+        }
+        budget.deposit();
+        return attemptAsync(call, 1);
+    }
+
+    private <T> CompletableFuture<T> attemptAsync(Supplier<CompletableFuture<T>> call, int attempt) {
+        return call.get().handle((value, error) -> {
+            if (error == null) {
+                if (attempt > 1) {
+                    recovered.incrementAndGet();
+                }
+                return CompletableFuture.completedFuture(value);
+            }
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            if (attempt >= maxAttempts || !isTransient(cause)) {
+                return CompletableFuture.<T>failedFuture(cause);
+            }
+            if (!budget.tryAcquire()) {
+                budgetExhausted.incrementAndGet();
+                return CompletableFuture.<T>failedFuture(cause);
+            }
+            retried.incrementAndGet();
+            return CompletableFuture.runAsync(() -> { },
+                            CompletableFuture.delayedExecutor(delayMillis(attempt), TimeUnit.MILLISECONDS))
+                    .thenCompose(ignored -> attemptAsync(call, attempt + 1));
+        }).thenCompose(Function.identity());
+    }
+
+    /**
+     * Espera con jitter completo antes del siguiente intento.
+     *
+     * @return false si el hilo se ha interrumpido mientras esperaba
+     */
+    private boolean backoff(int attempt) {
+        long delay = delayMillis(attempt);
+        if (delay <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(delay);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private long delayMillis(int attempt) {
+        long ceiling = Math.min(maxDelayMillis, baseDelayMillis << Math.min(attempt - 1, 20));
+        return ceiling <= 0 ? 0 : ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    /**
+     * Errores que suelen desaparecer al repetir: el servicio o su proxy no está disponible
+     * un momento, o la conexión se ha cortado. Los rechazos locales (circuito abierto, bulkhead,
+     * limitador) no se reintentan. Con WebClient, el plazo de lectura agotado llega como
+     * TimeoutException y el fallo de conexión como WebClientRequestException.
+     */
+    private static boolean isTransient(Throwable e) {
+        if (e instanceof RestClientResponseException) {
+            return isTransientStatus(((RestClientResponseException) e).getRawStatusCode());
+        }
+        if (e instanceof WebClientResponseException) {
+            return isTransientStatus(((WebClientResponseException) e).getRawStatusCode());
+        }
+        return e instanceof ResourceAccessException || e instanceof WebClientRequestException
+                || e instanceof TimeoutException;
+    }
+
+    private static boolean isTransientStatus(int status) {
+        return status == HttpStatus.BAD_GATEWAY.value()
+                || status == HttpStatus.SERVICE_UNAVAILABLE.value()
+                || status == HttpStatus.GATEWAY_TIMEOUT.value();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        registry.more().counter(METRIC_CALLS, Tags.of("result", "retried"), retried);
+        registry.more().counter(METRIC_CALLS, Tags.of("result", "recovered"), recovered);
+        registry.more().counter(METRIC_CALLS, Tags.of("result", "budget-exhausted"), budgetExhausted);
+    }
+}
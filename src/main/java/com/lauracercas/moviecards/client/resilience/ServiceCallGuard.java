@@ -0,0 +1,154 @@
+package com.lauracercas.moviecards.client.resilience;
+
+import com.lauracercas.moviecards.client.exception.ServiceOverloadedException;
+import com.lauracercas.moviecards.client.exception.ServiceUnavailableException;
+import com.lauracercas.moviecards.client.http.RequestCancellation;
+import com.lauracercas.moviecards.client.http.ServiceEndpoint;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Supplier;
+
+/**
+ * Protege las llamadas a moviecards-service con un circuit breaker por tipo de operación
+ * (ventanas de tasa de fallos y de llamadas lentas, con sondeo en semiabierto) y un bulkhead
+ * que limita las llamadas concurrentes. Con el circuito abierto o el bulkhead lleno la llamada
+ * falla al momento con ServiceUnavailableException.
+ * Autor: Hernan Andres Henao
+ * Proyecto: TFM Integración Continua con GitHub Actions
+ * Fecha: 18/10/2026
+ */
+@Component
+public class ServiceCallGuard implements MeterBinder {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ServiceCallGuard.class);
+
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final BulkheadRegistry bulkheadRegistry;
+    private final Map<ServiceEndpoint, CircuitBreaker> circuitBreakers = new EnumMap<>(ServiceEndpoint.class);
+    private final Bulkhead bulkhead;
+
+    public ServiceCallGuard(@Value("${moviecards.service.circuit.failure-rate-threshold:50}") float failureRateThreshold,
+                            @Value("${moviecards.service.circuit.slow-call-rate-threshold:80}") float slowCallRateThreshold,
+                            @Value("${moviecards.service.circuit.slow-call-duration:3000}") long slowCallDurationMillis,
+                            @Value("${moviecards.service.circuit.window-seconds:30}") int windowSeconds,
+                            @Value("${moviecards.service.circuit.minimum-calls:10}") int minimumCalls,
+                            @Value("${moviecards.service.circuit.wait-in-open:10000}") long waitInOpenMillis,
+                            @Value("${moviecards.service.circuit.half-open-calls:3}") int halfOpenCalls,
+                            @Value("${moviecards.service.bulkhead.max-concurrent-calls:40}") int maxConcurrentCalls,
+                            @Value("${moviecards.service.bulkhead.max-wait:50}") long bulkheadMaxWaitMillis) {
+        CircuitBreakerConfig circuitBreakerConfig = CircuitBreakerConfig.custom()
+                .slidingWindowType(CircuitBreakerConfig.SlidingWindowType.TIME_BASED)
+                .slidingWindowSize(windowSeconds)
+                .minimumNumberOfCalls(minimumCalls)
+                .failureRateThreshold(failureRateThreshold)
+                .slowCallRateThreshold(slowCallRateThreshold)
+                .slowCallDurationThreshold(Duration.ofMillis(slowCallDurationMillis))
+                .waitDurationInOpenState(Duration.ofMillis(waitInOpenMillis))
+                .permittedNumberOfCallsInHalfOpenState(halfOpenCalls)
+                .automaticTransitionFromOpenToHalfOpenEnabled(true)
+                // Un 4xx es un error de la petición, no un síntoma de que el servicio esté degradado;
+                // tampoco cuentan los rechazos locales del bulkhead o del limitador adaptativo ni
+                // los intentos de hedging cancelados por haber ganado el otro
+                .ignoreException(ServiceCallGuard::isIgnored)
+                .build();
+        this.circuitBreakerRegistry = CircuitBreakerRegistry.of(circuitBreakerConfig);
+        for (ServiceEndpoint endpoint : ServiceEndpoint.values()) {
+            CircuitBreaker circuitBreaker = circuitBreakerRegistry.circuitBreaker(endpoint.getTag());
+            circuitBreaker.getEventPublisher().onStateTransition(event -> LOGGER.warn(
+                    "Circuito '{}' de moviecards-service: {}",
+                    event.getCircuitBreakerName(), event.getStateTransition()));
+            circuitBreakers.put(endpoint, circuitBreaker);
+        }
+
+        this.bulkheadRegistry = BulkheadRegistry.of(BulkheadConfig.custom()
+                .maxConcurrentCalls(maxConcurrentCalls)
+                .maxWaitDuration(Duration.ofMillis(bulkheadMaxWaitMillis))
+                .build());
+        this.bulkhead = bulkheadRegistry.bulkhead("moviecards-service");
+    }
+
+    public <T> T execute(ServiceEndpoint endpoint, String url, Supplier<T> call) {
+        CircuitBreaker circuitBreaker = circuitBreakers.get(endpoint);
+        try {
+            return circuitBreaker.executeSupplier(() -> bulkhead.executeSupplier(call));
+        } catch (CallNotPermittedException | BulkheadFullException e) {
+            throw rejected(endpoint, url, e);
+        }
+    }
+
+    /**
+     * Variante no bloqueante: el permiso del bulkhead se libera y el resultado se anota
+     * en el circuito cuando la llamada termina, no cuando se lanza.
+     */
+    public <T> CompletableFuture<T> executeAsync(ServiceEndpoint endpoint, String url,
+                                                 Supplier<CompletionStage<T>> call) {
+        CircuitBreaker circuitBreaker = circuitBreakers.get(endpoint);
+        return circuitBreaker.executeCompletionStage(() -> bulkhead.executeCompletionStage(call))
+                .toCompletableFuture()
+                .handle((value, error) -> {
+                    if (error == null) {
+                        return value;
+                    }
+                    Throwable cause = unwrap(error);
+                    if (cause instanceof CallNotPermittedException || cause instanceof BulkheadFullException) {
+                        throw rejected(endpoint, url, (RuntimeException) cause);
+                    }
+                    throw error instanceof CompletionException ? (CompletionException) error : new CompletionException(cause);
+                });
+    }
+
+    private static ServiceUnavailableException rejected(ServiceEndpoint endpoint, String url, RuntimeException cause) {
+        if (cause instanceof CallNotPermittedException) {
+            return new ServiceUnavailableException(
+                    "Circuito abierto para las operaciones '" + endpoint.getTag() + "' de moviecards-service", url, cause);
+        }
+        return new ServiceUnavailableException("Demasiadas llamadas concurrentes a moviecards-service", url, cause);
+    }
+
+    private static boolean isIgnored(Throwable error) {
+        Throwable cause = unwrap(error);
+        return RequestCancellation.isCurrentCancelled()
+                || cause instanceof HttpClientErrorException
+                || cause instanceof BulkheadFullException
+                || cause instanceof ServiceOverloadedException
+                || (cause instanceof WebClientResponseException
+                && ((WebClientResponseException) cause).getRawStatusCode() / 100 == 4);
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    public CircuitBreaker.State getState(ServiceEndpoint endpoint) {
+        return circuitBreakers.get(endpoint).getState();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(circuitBreakerRegistry).bindTo(registry);
+        TaggedBulkheadMetrics.ofBulkheadRegistry(bulkheadRegistry).bindTo(registry);
+    }
+}
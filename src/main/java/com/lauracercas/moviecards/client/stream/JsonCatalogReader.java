@@ -0,0 +1,168 @@
+package com.lauracercas.moviecards.client.stream;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.lauracercas.moviecards.model.CatalogGraph;
+import com.lauracercas.moviecards.model.CatalogGraphModule;
+import com.lauracercas.moviecards.model.Movie;
+import org.springframework.beans.support.MutableSortDefinition;
+import org.springframework.beans.support.PropertyComparator;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.Consumer;
+
+/**
+ * Lectura incremental de listados JSON de moviecards-service: los elementos se deserializan
+ * de uno en uno según llegan, sin construir nunca la lista completa en memoria.
+ * Con un ObjectMapper de Smile o CBOR lee igual esos formatos binarios, que tienen la misma estructura.
+ * Autor: Hernan Andres Henao
+ * Proyecto: TFM Integración Continua con GitHub Actions
+ * Fecha: 18/10/2026
+ * Modificado: 18/10/2026 - Lectura del catálogo en grafo
+ */
+public class JsonCatalogReader {
+
+    private static final String FIELD_CONTENT = "content";
+    private static final String FIELD_TOTAL_ELEMENTS = "totalElements";
+
+    private final ObjectMapper objectMapper;
+    private final ObjectMapper graphMapper;
+
+    public JsonCatalogReader(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.graphMapper = CatalogGraphModule.graphMapper(objectMapper);
+    }
+
+    /**
+     * Recorre un array JSON entregando cada elemento al consumidor.
+     *
+     * @return número de elementos leídos
+     */
+    public <T> long readArray(InputStream body, Class<T> type, Consumer<T> consumer) throws IOException {
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IOException("Se esperaba un array JSON");
+            }
+            return readItems(parser, objectMapper.readerFor(type), consumer);
+        }
+    }
+
+    /**
+     * Lee una página. Si el servicio devuelve una página de Spring Data ({content, totalElements})
+     * se usa tal cual; si ignora la paginación y devuelve el array completo, la página se recorta
+     * aquí reteniendo como mucho page * size + size elementos.
+     */
+    public <T> Page<T> readPage(InputStream body, Class<T> type, Pageable pageable) throws IOException {
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            JsonToken first = parser.nextToken();
+            if (first == JsonToken.START_ARRAY) {
+                return pageFromArray(parser, objectMapper.readerFor(type), pageable);
+            }
+            if (first == JsonToken.START_OBJECT) {
+                return pageFromObject(parser, objectMapper.readerFor(type), pageable);
+            }
+            throw new IOException("Respuesta de página no reconocida");
+        }
+    }
+
+    /**
+     * Lee el catálogo en grafo ({movies, actors} con las relaciones como ids). Si el servicio no
+     * ofrece esa representación y devuelve el array de películas con el reparto anidado, el grafo
+     * se rehace según llegan las películas: las copias repetidas de cada actor no pasan de ahí.
+     */
+    public CatalogGraph readGraph(InputStream body) throws IOException {
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            JsonToken first = parser.nextToken();
+            if (first == JsonToken.START_ARRAY) {
+                CatalogGraph.Builder graph = new CatalogGraph.Builder();
+                readItems(parser, objectMapper.readerFor(Movie.class), graph::add);
+                return graph.build();
+            }
+            if (first == JsonToken.START_OBJECT) {
+                return graphMapper.readValue(parser, CatalogGraph.class);
+            }
+            throw new IOException("Respuesta de catálogo no reconocida");
+        }
+    }
+
+    private static <T> long readItems(JsonParser parser, ObjectReader reader, Consumer<T> consumer) throws IOException {
+        long count = 0;
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            consumer.accept(reader.readValue(parser));
+            count++;
+        }
+        return count;
+    }
+
+    private static <T> Page<T> pageFromObject(JsonParser parser, ObjectReader reader, Pageable pageable) throws IOException {
+        List<T> content = new ArrayList<>();
+        long total = -1;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            JsonToken value = parser.nextToken();
+            if (FIELD_CONTENT.equals(field) && value == JsonToken.START_ARRAY) {
+                JsonCatalogReader.<T>readItems(parser, reader, content::add);
+            } else if (FIELD_TOTAL_ELEMENTS.equals(field) && value.isNumeric()) {
+                total = parser.getLongValue();
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return new PageImpl<>(content, pageable, total >= 0 ? total : content.size());
+    }
+
+    private static <T> Page<T> pageFromArray(JsonParser parser, ObjectReader reader, Pageable pageable) throws IOException {
+        long offset = pageable.isPaged() ? pageable.getOffset() : 0;
+        int limit = pageable.isPaged() ? pageable.getPageSize() : Integer.MAX_VALUE;
+        Comparator<T> comparator = comparator(pageable.getSort());
+
+        if (comparator == null) {
+            List<T> content = new ArrayList<>();
+            long[] index = {0};
+            long total = readItems(parser, reader, (T item) -> {
+                if (index[0] >= offset && content.size() < limit) {
+                    content.add(item);
+                }
+                index[0]++;
+            });
+            return new PageImpl<>(content, pageable, total);
+        }
+
+        // Con orden hay que ver todos los elementos, pero basta con retener los offset + size primeros
+        long retained = offset + limit;
+        PriorityQueue<T> smallest = new PriorityQueue<>(comparator.reversed());
+        long total = readItems(parser, reader, (T item) -> {
+            smallest.add(item);
+            if (smallest.size() > retained) {
+                smallest.poll();
+            }
+        });
+        List<T> sorted = new ArrayList<>(smallest);
+        sorted.sort(comparator);
+        List<T> content = offset < sorted.size()
+                ? new ArrayList<>(sorted.subList((int) offset, sorted.size()))
+                : List.of();
+        return new PageImpl<>(content, pageable, total);
+    }
+
+    private static <T> Comparator<T> comparator(Sort sort) {
+        Comparator<T> comparator = null;
+        for (Sort.Order order : sort) {
+            Comparator<T> next = new PropertyComparator<>(
+                    new MutableSortDefinition(order.getProperty(), order.isIgnoreCase(), order.isAscending()));
+            comparator = comparator == null ? next : comparator.thenComparing(next);
+        }
+        return comparator;
+    }
+}
@@ -0,0 +1,34 @@
+package com.lauracercas.moviecards.client.sync;
+
+import java.util.Collection;
+
+/**
+ * Suma de control del conjunto de ids de un catálogo, independiente del orden: la suma módulo 2^64
+ * del finalizador de MurmurHash3 (fmix64) de cada id, en hexadecimal. Si la copia local y el
+ * servicio no coinciden es que se ha perdido algún cambio y hay que recargar todo.
+ * Autor: Hernan Andres Henao
+ * Proyecto: TFM Integración Continua con GitHub Actions
+ * Fecha: 18/10/2026
+ */
+public final class CatalogChecksum {
+
+    private CatalogChecksum() {
+    }
+
+    public static String of(Collection<Integer> ids) {
+        long sum = 0;
+        for (Integer id : ids) {
+            if (id != null) {
+                sum += mix(id);
+            }
+        }
+        return Long.toHexString(sum);
+    }
+
+    private static long mix(long value) {
+        long z = value;
+        z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+        z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return z ^ (z >>> 33);
+    }
+}
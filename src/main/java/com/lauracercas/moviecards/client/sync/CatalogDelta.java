@@ -0,0 +1,63 @@
+package com.lauracercas.moviecards.client.sync;
+
+import java.util.List;
+
+/**
+ * Respuesta de GET /movies/changes?since=N (o /actors/changes): las entidades creadas o modificadas
+ * y los ids borrados desde la versión N, la versión del catálogo a la que llevan (la marca para la
+ * siguiente consulta) y, opcionalmente, la suma de control de los ids vigentes (CatalogChecksum).
+ * Con since=0 la respuesta trae el catálogo completo. Un 410 Gone indica que el servicio ya no
+ * conserva los cambios desde N y hay que recargar todo.
+ * Autor: Hernan Andres Henao
+ * Proyecto: TFM Integración Continua con GitHub Actions
+ * Fecha: 18/10/2026
+ */
+public class CatalogDelta<T> {
+
+    private long version;
+    private List<T> changed = List.of();
+    private List<Integer> deleted = List.of();
+    private String checksum;
+
+    public CatalogDelta() {
+    }
+
+    public CatalogDelta(long version, List<T> changed, List<Integer> deleted, String checksum) {
+        this.version = version;
+        this.changed = changed;
+        this.deleted = deleted;
+        this.checksum = checksum;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    public List<T> getChanged() {
+        return changed;
+    }
+
+    public void setChanged(List<T> changed) {
+        this.changed = changed != null ? changed : List.of();
+    }
+
+    public List<Integer> getDeleted() {
+        return deleted;
+    }
+
+    public void setDeleted(List<Integer> deleted) {
+        this.deleted = deleted != null ? deleted : List.of();
+    }
+
+    public String getChecksum() {
+        return checksum;
+    }
+
+    public void setChecksum(String checksum) {
+        this.checksum = checksum;
+    }
+}
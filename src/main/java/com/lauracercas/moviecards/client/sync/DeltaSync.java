@@ -0,0 +1,141 @@
+package com.lauracercas.moviecards.client.sync;
+
+import com.lauracercas.moviecards.client.exception.MovieCardsServiceException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongFunction;
+import java.util.function.Supplier;
+
+/**
+ * Sincronización incremental de una copia local de un catálogo: guarda la versión hasta la que
+ * está al día (la marca) y en cada pasada pide solo los cambios desde ella, de modo que el coste
+ * crece con el ritmo de cambios y no con el tamaño del catálogo. Si hay un hueco (410 Gone, una
+ * versión menor que la marca o una suma de control que no coincide tras aplicar los cambios)
+ * recarga todo con since=0 y vuelve a comprobar la suma. Si el servicio no ofrece el endpoint de
+ * cambios, cada pasada es una recarga completa con fullLoad.
+ * Autor: Hernan Andres Henao
+ * Proyecto: TFM Integración Continua con GitHub Actions
+ * Fecha: 18/10/2026
+ */
+public class DeltaSync<T> implements MeterBinder {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DeltaSync.class);
+    private static final String METRIC_PREFIX = "moviecards.client.sync.";
+
+    public enum Mode { DELTA, FULL }
+
+    private final String entity;
+    private final LongFunction<Optional<CatalogDelta<T>>> changesSince;
+    private final Supplier<List<T>> fullLoad;
+    private long version;
+    private final AtomicLong deltaSyncs = new AtomicLong();
+    private final AtomicLong fullSyncs = new AtomicLong();
+    private final AtomicLong gaps = new AtomicLong();
+    private final AtomicLong appliedEntities = new AtomicLong();
+
+    /**
+     * @param entity       nombre del catálogo para los logs y las métricas ("movies", "actors")
+     * @param changesSince cambios desde una versión; vacío si el servicio no ofrece el endpoint
+     * @param fullLoad     catálogo completo sin versión, para servicios sin endpoint de cambios
+     */
+    public DeltaSync(String entity, LongFunction<Optional<CatalogDelta<T>>> changesSince, Supplier<List<T>> fullLoad) {
+        this.entity = entity;
+        this.changesSince = changesSince;
+        this.fullLoad = fullLoad;
+    }
+
+    public synchronized Mode sync(DeltaTarget<T> target) {
+        if (version > 0 && applyDelta(target)) {
+            deltaSyncs.incrementAndGet();
+            return Mode.DELTA;
+        }
+        fullResync(target);
+        fullSyncs.incrementAndGet();
+        return Mode.FULL;
+    }
+
+    /**
+     * @return false si hay un hueco y hay que recargar todo (o el servicio ya no ofrece cambios)
+     */
+    private boolean applyDelta(DeltaTarget<T> target) {
+        Optional<CatalogDelta<T>> response;
+        try {
+            response = changesSince.apply(version);
+        } catch (MovieCardsServiceException e) {
+            if (!Objects.equals(e.getStatusCode(), HttpStatus.GONE.value())) {
+                throw e;
+            }
+            return gap("el servicio ya no conserva los cambios desde la versión " + version);
+        }
+        if (response.isEmpty()) {
+            return false;
+        }
+        CatalogDelta<T> delta = response.get();
+        if (delta.getVersion() < version) {
+            return gap("versión " + delta.getVersion() + " anterior a la marca " + version);
+        }
+        target.apply(delta.getChanged(), delta.getDeleted());
+        appliedEntities.addAndGet(delta.getChanged().size() + delta.getDeleted().size());
+        if (!matches(target, delta.getChecksum())) {
+            return gap("la suma de control no coincide tras aplicar los cambios");
+        }
+        version = delta.getVersion();
+        return true;
+    }
+
+    private void fullResync(DeltaTarget<T> target) {
+        Optional<CatalogDelta<T>> snapshot = changesSince.apply(0);
+        if (snapshot.isEmpty()) {
+            List<T> all = fullLoad.get();
+            target.replaceAll(all);
+            appliedEntities.addAndGet(all.size());
+            version = 0;
+            return;
+        }
+        CatalogDelta<T> all = snapshot.get();
+        target.replaceAll(all.getChanged());
+        appliedEntities.addAndGet(all.getChanged().size());
+        if (matches(target, all.getChecksum())) {
+            version = all.getVersion();
+        } else {
+            // Probablemente ha cambiado algo durante la carga: la próxima pasada vuelve a cargar todo
+            LOGGER.warn("Catálogo {}: la suma de control no coincide tras la recarga completa", entity);
+            version = 0;
+        }
+    }
+
+    private boolean gap(String reason) {
+        gaps.incrementAndGet();
+        LOGGER.info("Catálogo {}: recarga completa, {}", entity, reason);
+        return false;
+    }
+
+    private static boolean matches(DeltaTarget<?> target, String checksum) {
+        return checksum == null || checksum.equalsIgnoreCase(CatalogChecksum.of(target.ids()));
+    }
+
+    /**
+     * @return la versión hasta la que está al día la copia, o 0 si la próxima pasada es una recarga completa
+     */
+    public synchronized long getVersion() {
+        return version;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Tags tags = Tags.of("entity", entity);
+        registry.more().counter(METRIC_PREFIX + "runs", tags.and("mode", "delta"), deltaSyncs);
+        registry.more().counter(METRIC_PREFIX + "runs", tags.and("mode", "full"), fullSyncs);
+        registry.more().counter(METRIC_PREFIX + "gaps", tags, gaps);
+        registry.more().counter(METRIC_PREFIX + "entities", tags, appliedEntities);
+    }
+}
@@ -0,0 +1,28 @@
+package com.lauracercas.moviecards.client.sync;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Copia local de un catálogo (espejo, caché) que se mantiene al día con DeltaSync.
+ * Autor: Hernan Andres Henao
+ * Proyecto: TFM Integración Continua con GitHub Actions
+ * Fecha: 18/10/2026
+ */
+public interface DeltaTarget<T> {
+
+    /**
+     * Aplica los cambios desde la última sincronización: crea o sustituye changed y borra deleted.
+     */
+    void apply(List<T> changed, Collection<Integer> deleted);
+
+    /**
+     * Sustituye toda la copia por el catálogo completo.
+     */
+    void replaceAll(List<T> all);
+
+    /**
+     * @return los ids de la copia local, para comprobar la suma de control
+     */
+    Collection<Integer> ids();
+}
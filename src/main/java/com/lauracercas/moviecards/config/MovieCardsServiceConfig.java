@@ -1,15 +1,63 @@
 package com.lauracercas.moviecards.config;
 
+import com.lauracercas.moviecards.client.MovieCardsServiceClient;
+import com.lauracercas.moviecards.client.async.AsyncServiceClient;
+import com.lauracercas.moviecards.client.async.BlockingAsyncServiceClient;
+import com.lauracercas.moviecards.client.async.WebClientServiceClient;
+import com.lauracercas.moviecards.client.cache.EntityCache;
+import com.lauracercas.moviecards.client.fallback.FailFastFallback;
+import com.lauracercas.moviecards.client.fallback.OfflineDataFallback;
+import com.lauracercas.moviecards.client.fallback.ServiceFallback;
+import com.lauracercas.moviecards.client.http.CallTimingFilter;
+import com.lauracercas.moviecards.client.http.CallTimingInterceptor;
+import com.lauracercas.moviecards.client.http.ClientCallMetrics;
+import com.lauracercas.moviecards.client.http.ConnectionPoolMetrics;
+import com.lauracercas.moviecards.client.http.EndpointTimeouts;
+import com.lauracercas.moviecards.client.http.PooledHttpRequestFactory;
+import com.lauracercas.moviecards.client.http.ServiceEndpoint;
+import com.lauracercas.moviecards.client.http.WireFormat;
+import com.lauracercas.moviecards.client.http.WireFormatInterceptor;
+import com.lauracercas.moviecards.client.resilience.AdaptiveConcurrencyLimiter;
+import com.lauracercas.moviecards.client.resilience.RetryPolicy;
+import com.lauracercas.moviecards.client.resilience.ServiceCallGuard;
+import com.lauracercas.moviecards.service.ParallelCalls;
+import io.netty.channel.ChannelOption;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.impl.DefaultConnectionKeepAliveStrategy;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClientBuilder;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.http.codec.cbor.Jackson2CborDecoder;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
 
 /**
  * Configuración para el cliente REST del servicio moviecards-service
  * Autor: Laura Cercas Ramos
  * Proyecto: TFM Integración Continua con GitHub Actions
  * Fecha: 21/02/2026
+ * Modificado: 18/10/2026 - Pool de conexiones keep-alive y timeouts por operación
+ * Modificado: 18/10/2026 - Cliente asíncrono seleccionable (blocking | async)
+ * Modificado: 18/10/2026 - Compresión gzip/deflate y formato binario opcional (json | smile | cbor)
+ * Modificado: 18/10/2026 - Tiempos de red y de deserialización de cada petición
+ * Modificado: 18/10/2026 - Listados resumidos (view=summary) para las páginas de listado y los desplegables
+ * Modificado: 18/10/2026 - Catálogo completo en grafo (view=graph)
  */
 @Configuration
 public class MovieCardsServiceConfig {
@@ -20,9 +68,179 @@ public class MovieCardsServiceConfig {
     @Value("${moviecards.service.timeout:5000}")
     private int timeout;
 
+    @Value("${moviecards.service.fallback:auto}")
+    private String fallbackMode;
+
+    @Value("${moviecards.service.client-mode:blocking}")
+    private String clientMode;
+
+    @Value("${moviecards.service.update.read-after-write:false}")
+    private boolean readAfterWrite;
+
+    @Value("${moviecards.service.summary-view:true}")
+    private boolean summaryView;
+
+    @Value("${moviecards.service.graph-view:true}")
+    private boolean graphView;
+
+    @Value("${moviecards.service.compression:true}")
+    private boolean compression;
+
+    @Value("${moviecards.service.wire-format:json}")
+    private String wireFormat;
+
+    @Value("${moviecards.service.pool.max-per-route:20}")
+    private int maxConnectionsPerRoute;
+
+    @Value("${moviecards.service.pool.max-total:50}")
+    private int maxConnectionsTotal;
+
+    @Value("${moviecards.service.pool.keep-alive:30000}")
+    private int keepAlive;
+
+    @Value("${moviecards.service.pool.idle-eviction:15000}")
+    private int idleEviction;
+
+    @Value("${moviecards.service.list.connect-timeout:2000}")
+    private int listConnectTimeout;
+
+    @Value("${moviecards.service.list.read-timeout:${moviecards.service.timeout:5000}}")
+    private int listReadTimeout;
+
+    @Value("${moviecards.service.list.pool-acquire-timeout:1000}")
+    private int listPoolAcquireTimeout;
+
+    @Value("${moviecards.service.get-by-id.connect-timeout:2000}")
+    private int getByIdConnectTimeout;
+
+    @Value("${moviecards.service.get-by-id.read-timeout:3000}")
+    private int getByIdReadTimeout;
+
+    @Value("${moviecards.service.get-by-id.pool-acquire-timeout:500}")
+    private int getByIdPoolAcquireTimeout;
+
+    @Value("${moviecards.service.write.connect-timeout:2000}")
+    private int writeConnectTimeout;
+
+    @Value("${moviecards.service.write.read-timeout:${moviecards.service.timeout:5000}}")
+    private int writeReadTimeout;
+
+    @Value("${moviecards.service.write.pool-acquire-timeout:1000}")
+    private int writePoolAcquireTimeout;
+
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager movieCardsConnectionManager() {
+        return PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnPerRoute(maxConnectionsPerRoute)
+                .setMaxConnTotal(maxConnectionsTotal)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(listConnectTimeout))
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                        .build())
+                .build();
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient movieCardsHttpClient(PoolingHttpClientConnectionManager movieCardsConnectionManager) {
+        TimeValue defaultKeepAlive = TimeValue.ofMilliseconds(keepAlive);
+        HttpClientBuilder builder = HttpClients.custom();
+        if (!compression) {
+            // Por defecto HttpClient envía Accept-Encoding: gzip, deflate y descomprime el cuerpo al leerlo
+            builder.disableContentCompression();
+        }
+        return builder
+                .setConnectionManager(movieCardsConnectionManager)
+                // Respeta el Keep-Alive del servidor y, si no lo envía, usa el valor configurado
+                .setKeepAliveStrategy((response, context) -> {
+                    TimeValue serverKeepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+                    return serverKeepAlive.compareTo(defaultKeepAlive) < 0 ? serverKeepAlive : defaultKeepAlive;
+                })
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofMilliseconds(idleEviction))
+                .build();
+    }
+
+    @Bean
+    public RestTemplate restTemplate(CloseableHttpClient movieCardsHttpClient) {
+        RestTemplate restTemplate = new RestTemplate(new PooledHttpRequestFactory(movieCardsHttpClient, endpointTimeouts()));
+        restTemplate.getInterceptors().add(new CallTimingInterceptor());
+        WireFormat format = WireFormat.fromProperty(wireFormat);
+        if (format != WireFormat.JSON) {
+            restTemplate.getInterceptors().add(new WireFormatInterceptor(format));
+        }
+        return restTemplate;
+    }
+
+    @Bean
+    public ConnectionPoolMetrics connectionPoolMetrics(PoolingHttpClientConnectionManager movieCardsConnectionManager) {
+        return new ConnectionPoolMetrics(movieCardsConnectionManager);
+    }
+
+    /**
+     * Estrategia ante fallos del servicio, decidida una sola vez al arrancar:
+     * "offline-data" devuelve datos de sustitución, "fail-fast" propaga el error y
+     * "auto" usa datos de sustitución solo con un perfil de pruebas activo.
+     */
+    @Bean
+    public ServiceFallback serviceFallback(Environment environment) {
+        boolean offline = "offline-data".equals(fallbackMode)
+                || ("auto".equals(fallbackMode) && Arrays.stream(environment.getActiveProfiles())
+                .anyMatch(profile -> profile.contains("test")));
+        return offline ? new OfflineDataFallback() : new FailFastFallback();
+    }
+
+    /**
+     * Cliente de las operaciones asíncronas: "blocking" usa RestTemplate sobre el pool de
+     * ParallelCalls y "async" usa WebClient sin bloquear ningún hilo. Así se pueden comparar
+     * ambos modos bajo la misma carga cambiando solo moviecards.service.client-mode.
+     */
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public AsyncServiceClient asyncServiceClient(MovieCardsServiceClient serviceClient,
+                                                 ParallelCalls parallelCalls,
+                                                 WebClient.Builder webClientBuilder,
+                                                 EntityCache entityCache,
+                                                 ServiceCallGuard callGuard,
+                                                 AdaptiveConcurrencyLimiter limiter,
+                                                 RetryPolicy retryPolicy,
+                                                 ClientCallMetrics callMetrics,
+                                                 ServiceFallback serviceFallback) {
+        if ("async".equals(clientMode)) {
+            return new WebClientServiceClient(movieCardsWebClient(webClientBuilder), serviceUrl,
+                    endpointTimeouts(), summaryView, entityCache, callGuard, limiter, retryPolicy, callMetrics,
+                    serviceFallback);
+        }
+        return new BlockingAsyncServiceClient(serviceClient, parallelCalls);
+    }
+
+    private WebClient movieCardsWebClient(WebClient.Builder webClientBuilder) {
+        ConnectionProvider connectionProvider = ConnectionProvider.builder("moviecards-service")
+                .maxConnections(maxConnectionsTotal)
+                .pendingAcquireTimeout(Duration.ofMillis(listPoolAcquireTimeout))
+                .maxIdleTime(Duration.ofMillis(keepAlive))
+                .evictInBackground(Duration.ofMillis(idleEviction))
+                .build();
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, listConnectTimeout)
+                .compress(compression);
+        webClientBuilder.filter(new CallTimingFilter());
+        WireFormat format = WireFormat.fromProperty(wireFormat);
+        if (format != WireFormat.JSON) {
+            webClientBuilder
+                    .codecs(codecs -> codecs.customCodecs().register(new Jackson2CborDecoder()))
+                    .filter(WireFormatInterceptor.forWebClient(format));
+        }
+        return webClientBuilder.clientConnector(new ReactorClientHttpConnector(httpClient)).build();
+    }
+
+    public Map<ServiceEndpoint, EndpointTimeouts> endpointTimeouts() {
+        Map<ServiceEndpoint, EndpointTimeouts> timeouts = new EnumMap<>(ServiceEndpoint.class);
+        timeouts.put(ServiceEndpoint.LIST,
+                new EndpointTimeouts(listConnectTimeout, listReadTimeout, listPoolAcquireTimeout));
+        timeouts.put(ServiceEndpoint.GET_BY_ID,
+                new EndpointTimeouts(getByIdConnectTimeout, getByIdReadTimeout, getByIdPoolAcquireTimeout));
+        timeouts.put(ServiceEndpoint.WRITE,
+                new EndpointTimeouts(writeConnectTimeout, writeReadTimeout, writePoolAcquireTimeout));
+        return timeouts;
     }
 
     public String getServiceUrl() {
@@ -32,4 +250,24 @@ public class MovieCardsServiceConfig {
     public int getTimeout() {
         return timeout;
     }
+
+    public boolean isReadAfterWrite() {
+        return readAfterWrite;
+    }
+
+    /**
+     * Si los listados resumidos se piden con view=summary; el servicio que no lo entienda
+     * devuelve el listado completo y el cliente salta al parsear los campos que sobran.
+     */
+    public boolean isSummaryView() {
+        return summaryView;
+    }
+
+    /**
+     * Si el catálogo completo se pide en grafo con view=graph; si el servicio devuelve el
+     * listado con los repartos anidados, el cliente rehace el grafo al leerlo.
+     */
+    public boolean isGraphView() {
+        return graphView;
+    }
 }
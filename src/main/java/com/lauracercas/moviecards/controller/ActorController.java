@@ -1,9 +1,14 @@
 package com.lauracercas.moviecards.controller;
 
 import com.lauracercas.moviecards.model.Actor;
+import com.lauracercas.moviecards.model.ActorSummary;
 import com.lauracercas.moviecards.model.Movie;
+import com.lauracercas.moviecards.service.RowStreams;
 import com.lauracercas.moviecards.service.actor.ActorService;
 import com.lauracercas.moviecards.util.Messages;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindException;
@@ -16,11 +21,13 @@ import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 
+import javax.servlet.http.HttpServletResponse;
 import java.beans.PropertyEditorSupport;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.Date;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 
 /**
@@ -37,11 +44,13 @@ public class ActorController {
     private static final String VIEW_ACTORS_FORM = "actors/form";
 
     private final ActorService actorService;
+    private final RowStreams rowStreams;
 
     private static final String DATE_PATTERN = "yyyy-MM-dd";
 
-    public ActorController(ActorService actorService) {
+    public ActorController(ActorService actorService, RowStreams rowStreams) {
         this.actorService = actorService;
+        this.rowStreams = rowStreams;
     }
 
     @InitBinder(ATTRIBUTE_ACTOR)
@@ -84,8 +93,22 @@ public class ActorController {
     }
 
     @GetMapping("actors")
-    public String getActorsList(Model model) {
-        model.addAttribute("actors", actorService.getAllActors());
+    public CompletableFuture<String> getActorsList(Model model, HttpServletResponse response) {
+        if (rowStreams.isEnabled()) {
+            model.addAttribute("actors", rowStreams.open(actorService::streamActorSummaries, response::flushBuffer));
+            return CompletableFuture.completedFuture("actors/list");
+        }
+        return actorService.getActorSummariesAsync().thenApply(actors -> {
+            model.addAttribute("actors", actors);
+            return "actors/list";
+        });
+    }
+
+    @GetMapping(value = "actors", params = "page")
+    public String getActorsPage(@PageableDefault(size = 50) Pageable pageable, Model model) {
+        Page<ActorSummary> page = actorService.getActorSummariesPage(pageable);
+        model.addAttribute("actors", page.getContent());
+        model.addAttribute("page", page);
         return "actors/list";
     }
 
@@ -103,7 +126,9 @@ public class ActorController {
         if (!result.hasErrors()) {
             Actor actorSaved = actorService.save(actor);
             Actor actorToShow = (actorSaved != null) ? actorSaved : actor;
-            if (actor.getId() != null) {
+            if (actorToShow.isPending()) {
+                model.addAttribute("message", Messages.SAVED_ACTOR_PENDING);
+            } else if (actor.getId() != null) {
                 model.addAttribute("message", Messages.UPDATED_ACTOR_SUCCESS);
             } else {
                 model.addAttribute("message", Messages.SAVED_ACTOR_SUCCESS);
@@ -119,15 +144,16 @@ public class ActorController {
     }
 
     @GetMapping("editActor/{actorId}")
-    public String editActor(@PathVariable Integer actorId, Model model) {
-        Actor actor = actorService.getActorById(actorId);
-        List<Movie> movies = actor.getMovies();
-        model.addAttribute(ATTRIBUTE_ACTOR, actor);
-        model.addAttribute("movies", movies);
+    public CompletableFuture<String> editActor(@PathVariable Integer actorId, Model model) {
+        return actorService.getActorByIdAsync(actorId).thenApply(actor -> {
+            List<Movie> movies = actor.getMovies();
+            model.addAttribute(ATTRIBUTE_ACTOR, actor);
+            model.addAttribute("movies", movies);
 
-        model.addAttribute(ATTRIBUTE_TITLE, Messages.EDIT_ACTOR_TITLE);
+            model.addAttribute(ATTRIBUTE_TITLE, Messages.EDIT_ACTOR_TITLE);
 
-        return VIEW_ACTORS_FORM;
+            return VIEW_ACTORS_FORM;
+        });
     }
 
 
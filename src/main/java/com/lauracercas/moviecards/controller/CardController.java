@@ -1,8 +1,6 @@
 package com.lauracercas.moviecards.controller;
 
-import com.lauracercas.moviecards.model.Actor;
 import com.lauracercas.moviecards.model.Card;
-import com.lauracercas.moviecards.model.Movie;
 import com.lauracercas.moviecards.service.actor.ActorService;
 import com.lauracercas.moviecards.service.card.CardService;
 import com.lauracercas.moviecards.service.movie.MovieService;
@@ -13,7 +11,7 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PostMapping;
 
-import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 
 /**
@@ -36,31 +34,29 @@ public class CardController {
     }
 
     @GetMapping("registerActorMovie")
-    public String showInfoForm(Model model) {
-        prepareCardInfoForm(model);
-
-        return "cards/registerActorMovieForm";
+    public CompletableFuture<String> showInfoForm(Model model) {
+        return prepareCardInfoForm(model).thenApply(ready -> "cards/registerActorMovieForm");
     }
 
-    private void prepareCardInfoForm(Model model) {
-        List<Actor> actors = actorService.getAllActors();
-        List<Movie> movies = movieService.getAllMovies();
-
-        model.addAttribute("actors", actors);
-        model.addAttribute("movies", movies);
+    private CompletableFuture<Void> prepareCardInfoForm(Model model) {
         model.addAttribute("card", new Card());
+        // Los dos listados son independientes: se piden a la vez
+        return actorService.getActorSummariesAsync().thenAcceptBoth(movieService.getMovieSummariesAsync(),
+                (actors, movies) -> {
+                    model.addAttribute("actors", actors);
+                    model.addAttribute("movies", movies);
+                });
     }
 
     @PostMapping("/register")
-    public String registerCard(@ModelAttribute Card card, Model model) {
-        String result = cardService.registerActorInMovie(card);
-
-        model.addAttribute("message", result);
-        if (!result.equals(Messages.CARD_REGISTRATION_SUCCESS)) {
-            prepareCardInfoForm(model);
-            return "cards/registerActorMovieForm";
-        }
-
-        return "index";
+    public CompletableFuture<String> registerCard(@ModelAttribute Card card, Model model) {
+        return cardService.registerActorInMovieAsync(card).thenCompose(result -> {
+            model.addAttribute("message", result);
+            if (!result.equals(Messages.CARD_REGISTRATION_SUCCESS)
+                    && !result.equals(Messages.CARD_REGISTRATION_PENDING)) {
+                return prepareCardInfoForm(model).thenApply(ready -> "cards/registerActorMovieForm");
+            }
+            return CompletableFuture.completedFuture("index");
+        });
     }
 }
@@ -1,10 +1,16 @@
 package com.lauracercas.moviecards.controller;
 
 import com.lauracercas.moviecards.client.exception.MovieCardsServiceException;
+import com.lauracercas.moviecards.client.exception.ServiceOverloadedException;
 import com.lauracercas.moviecards.model.Actor;
 import com.lauracercas.moviecards.model.Movie;
+import com.lauracercas.moviecards.model.MovieSummary;
+import com.lauracercas.moviecards.service.RowStreams;
 import com.lauracercas.moviecards.service.movie.MovieService;
 import com.lauracercas.moviecards.util.Messages;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindException;
@@ -15,7 +21,9 @@ import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 
+import javax.servlet.http.HttpServletResponse;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 
 /**
@@ -31,9 +39,11 @@ public class MovieController {
     private static final String VIEW_MOVIES_FORM = "movies/form";
 
     private final MovieService movieService;
+    private final RowStreams rowStreams;
 
-    public MovieController(MovieService movieService) {
+    public MovieController(MovieService movieService, RowStreams rowStreams) {
         this.movieService = movieService;
+        this.rowStreams = rowStreams;
     }
 
     @ExceptionHandler(BindException.class)
@@ -49,6 +59,11 @@ public class MovieController {
         return VIEW_MOVIES_FORM;
     }
 
+    @ExceptionHandler(ServiceOverloadedException.class)
+    public String handleServiceOverloaded(ServiceOverloadedException ex, HttpServletResponse response, Model model) {
+        return ServiceDegradedAdvice.degradedPage(response, model);
+    }
+
     @ExceptionHandler(MovieCardsServiceException.class)
     public String handleMovieCardsServiceException(MovieCardsServiceException ex, Model model) {
         model.addAttribute(ATTRIBUTE_MOVIE, new Movie());
@@ -58,8 +73,22 @@ public class MovieController {
     }
 
     @GetMapping("movies")
-    public String getMoviesList(Model model) {
-        model.addAttribute("movies", movieService.getAllMovies());
+    public CompletableFuture<String> getMoviesList(Model model, HttpServletResponse response) {
+        if (rowStreams.isEnabled()) {
+            model.addAttribute("movies", rowStreams.open(movieService::streamMovieSummaries, response::flushBuffer));
+            return CompletableFuture.completedFuture("movies/list");
+        }
+        return movieService.getMovieSummariesAsync().thenApply(movies -> {
+            model.addAttribute("movies", movies);
+            return "movies/list";
+        });
+    }
+
+    @GetMapping(value = "movies", params = "page")
+    public String getMoviesPage(@PageableDefault(size = 50) Pageable pageable, Model model) {
+        Page<MovieSummary> page = movieService.getMovieSummariesPage(pageable);
+        model.addAttribute("movies", page.getContent());
+        model.addAttribute("page", page);
         return "movies/list";
     }
 
@@ -77,7 +106,9 @@ public class MovieController {
         if (!result.hasErrors()) {
             Movie movieSaved = movieService.save(movie);
             Movie movieToShow = (movieSaved != null) ? movieSaved : movie;
-            if (movie.getId() != null) {
+            if (movieToShow.isPending()) {
+                model.addAttribute("message", Messages.SAVED_MOVIE_PENDING);
+            } else if (movie.getId() != null) {
                 model.addAttribute("message", Messages.UPDATED_MOVIE_SUCCESS);
             } else {
                 model.addAttribute("message", Messages.SAVED_MOVIE_SUCCESS);
@@ -93,13 +124,14 @@ public class MovieController {
     }
 
     @GetMapping("editMovie/{movieId}")
-    public String editMovie(@PathVariable Integer movieId, Model model) {
-        Movie movie = movieService.getMovieById(movieId);
-        List<Actor> actors = movie.getActors();
-        model.addAttribute(ATTRIBUTE_MOVIE, movie);
-        model.addAttribute("actors", actors);
-        model.addAttribute(ATTRIBUTE_TITLE, Messages.EDIT_MOVIE_TITLE);
-        return VIEW_MOVIES_FORM;
+    public CompletableFuture<String> editMovie(@PathVariable Integer movieId, Model model) {
+        return movieService.getMovieByIdAsync(movieId).thenApply(movie -> {
+            List<Actor> actors = movie.getActors();
+            model.addAttribute(ATTRIBUTE_MOVIE, movie);
+            model.addAttribute("actors", actors);
+            model.addAttribute(ATTRIBUTE_TITLE, Messages.EDIT_MOVIE_TITLE);
+            return VIEW_MOVIES_FORM;
+        });
     }
 
 
@@ -0,0 +1,41 @@
+package com.lauracercas.moviecards.controller;
+
+import com.lauracercas.moviecards.client.exception.ServiceOverloadedException;
+import com.lauracercas.moviecards.util.Messages;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Cuando el limitador adaptativo rechaza una llamada a moviecards-service, cualquier página
+ * responde con la vista de servicio degradado (503 con Retry-After) en lugar de un error genérico.
+ * Autor: Hernan Andres Henao
+ * Proyecto: TFM Integración Continua con GitHub Actions
+ * Fecha: 18/10/2026
+ */
+@ControllerAdvice
+public class ServiceDegradedAdvice {
+
+    static final String VIEW_DEGRADED = "degraded";
+    private static final String RETRY_AFTER_SECONDS = "2";
+
+    @ExceptionHandler(ServiceOverloadedException.class)
+    public String handleServiceOverloaded(ServiceOverloadedException ex, HttpServletResponse response, Model model) {
+        return degradedPage(response, model);
+    }
+
+    /**
+     * También la usan los controladores con su propio manejador de MovieCardsServiceException,
+     * que tendría prioridad sobre este consejo.
+     */
+    static String degradedPage(HttpServletResponse response, Model model) {
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS);
+        model.addAttribute("errorMessage", Messages.SERVICE_OVERLOADED);
+        return VIEW_DEGRADED;
+    }
+}
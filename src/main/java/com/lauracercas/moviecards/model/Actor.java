@@ -1,5 +1,6 @@
 package com.lauracercas.moviecards.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import org.springframework.format.annotation.DateTimeFormat;
 
 import javax.persistence.*;
@@ -11,6 +12,8 @@ import java.util.Objects;
  * Autor: Laura Cercas Ramos
  * Proyecto: TFM Integración Continua con GitHub Actions
  * Fecha: 04/06/2024
+ * Modificado: 18/10/2026 - Marca de guardado pendiente en el outbox
+ * Modificado: 18/10/2026 - Marca de datos de sustitución, que no se guardan en la caché
  */
 @Entity
 public class Actor {
@@ -31,6 +34,27 @@ public class Actor {
     @ManyToMany(mappedBy = "actors")
     private List<Movie> movies;
 
+    /**
+     * Huella de los campos tal y como se cargaron en el formulario; no se envía al servicio.
+     */
+    @Transient
+    @JsonIgnore
+    private String fingerprint;
+
+    /**
+     * Guardado en el outbox a la espera de que moviecards-service vuelva a estar disponible.
+     */
+    @Transient
+    @JsonIgnore
+    private boolean pending;
+
+    /**
+     * Datos de sustitución porque moviecards-service no respondió (ver OfflineData); no se guarda en la caché.
+     */
+    @Transient
+    @JsonIgnore
+    private boolean offline;
+
     public Actor() {
     }
 
@@ -87,6 +111,30 @@ public class Actor {
         this.movies = movies;
     }
 
+    public String getFingerprint() {
+        return fingerprint;
+    }
+
+    public void setFingerprint(String fingerprint) {
+        this.fingerprint = fingerprint;
+    }
+
+    public boolean isPending() {
+        return pending;
+    }
+
+    public void setPending(boolean pending) {
+        this.pending = pending;
+    }
+
+    public boolean isOffline() {
+        return offline;
+    }
+
+    public void setOffline(boolean offline) {
+        this.offline = offline;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -0,0 +1,80 @@
+package com.lauracercas.moviecards.model;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.Date;
+import java.util.Objects;
+
+/**
+ * Proyección de solo lectura de un actor con las columnas del listado y de los desplegables,
+ * sin sus películas. Al deserializarla, Jackson salta el subárbol "movies" (y cualquier otro
+ * campo desconocido) sin construir objetos.
+ * Autor: Hernan Andres Henao
+ * Proyecto: TFM Integración Continua con GitHub Actions
+ * Fecha: 18/10/2026
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public final class ActorSummary {
+
+    private final Integer id;
+    private final String name;
+    private final Date birthDate;
+    private final Date deadDate;
+    private final String country;
+
+    /**
+     * También la usan las consultas JPQL del espejo local (select new ...).
+     */
+    @JsonCreator
+    public ActorSummary(@JsonProperty("id") Integer id,
+                        @JsonProperty("name") String name,
+                        @JsonProperty("birthDate") Date birthDate,
+                        @JsonProperty("deadDate") Date deadDate,
+                        @JsonProperty("country") String country) {
+        this.id = id;
+        this.name = name;
+        this.birthDate = birthDate;
+        this.deadDate = deadDate;
+        this.country = country;
+    }
+
+    public static ActorSummary of(Actor actor) {
+        return new ActorSummary(actor.getId(), actor.getName(), actor.getBirthDate(), actor.getDeadDate(),
+                actor.getCountry());
+    }
+
+    public Integer getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Date getBirthDate() {
+        return birthDate;
+    }
+
+    public Date getDeadDate() {
+        return deadDate;
+    }
+
+    public String getCountry() {
+        return country;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ActorSummary actor = (ActorSummary) o;
+        return Objects.equals(id, actor.id) && Objects.equals(name, actor.name) && Objects.equals(birthDate, actor.birthDate) && Objects.equals(deadDate, actor.deadDate) && Objects.equals(country, actor.country);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, name, birthDate, deadDate, country);
+    }
+}
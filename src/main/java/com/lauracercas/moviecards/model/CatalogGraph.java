@@ -0,0 +1,100 @@
+package com.lauracercas.moviecards.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Catálogo como grafo: cada película y cada actor aparecen una sola vez y las relaciones entre
+ * ellos son listas de ids (ver CatalogGraphModule), de modo que el tamaño del documento y la
+ * memoria al leerlo crecen con las entidades distintas y no con las relaciones. Las instancias
+ * quedan compartidas: el actor de dos películas es el mismo objeto en ambos repartos, y su
+ * lista movies apunta a esas mismas películas.
+ * Autor: Hernan Andres Henao
+ * Proyecto: TFM Integración Continua con GitHub Actions
+ * Fecha: 18/10/2026
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+@JsonPropertyOrder({"movies", "actors"})
+public final class CatalogGraph {
+
+    @JsonProperty
+    private List<Movie> movies = List.of();
+    @JsonProperty
+    private List<Actor> actors = List.of();
+
+    private CatalogGraph() {
+    }
+
+    private CatalogGraph(List<Movie> movies, List<Actor> actors) {
+        this.movies = Collections.unmodifiableList(movies);
+        this.actors = Collections.unmodifiableList(actors);
+    }
+
+    public static CatalogGraph empty() {
+        return new CatalogGraph();
+    }
+
+    /**
+     * Rehace el grafo a partir de películas con el reparto anidado (una copia de cada actor por
+     * película), como las devuelve el listado de moviecards-service.
+     */
+    public static CatalogGraph of(Collection<Movie> movies) {
+        Builder builder = new Builder();
+        movies.forEach(builder::add);
+        return builder.build();
+    }
+
+    public List<Movie> getMovies() {
+        return movies;
+    }
+
+    public List<Actor> getActors() {
+        return actors;
+    }
+
+    /**
+     * Construye el grafo película a película: cada actor del reparto se sustituye por la primera
+     * instancia vista con su id y se le añade la película, así que las copias repetidas se pueden
+     * liberar en cuanto se ha añadido la película que las traía. Los actores sin id no se
+     * pueden referenciar y se quitan del reparto.
+     */
+    public static final class Builder {
+
+        private final List<Movie> movies = new ArrayList<>();
+        private final Map<Integer, Actor> actors = new LinkedHashMap<>();
+
+        public Builder add(Movie movie) {
+            movies.add(movie);
+            List<Actor> cast = movie.getActors();
+            if (cast == null) {
+                return this;
+            }
+            List<Actor> shared = new ArrayList<>(cast.size());
+            for (Actor actor : cast) {
+                if (actor == null || actor.getId() == null) {
+                    continue;
+                }
+                Actor unique = actors.computeIfAbsent(actor.getId(), id -> {
+                    actor.setMovies(new ArrayList<>());
+                    return actor;
+                });
+                unique.getMovies().add(movie);
+                shared.add(unique);
+            }
+            movie.setActors(shared);
+            return this;
+        }
+
+        public CatalogGraph build() {
+            return new CatalogGraph(movies, new ArrayList<>(actors.values()));
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.lauracercas.moviecards.model;
+
+import com.fasterxml.jackson.annotation.JsonIdentityInfo;
+import com.fasterxml.jackson.annotation.JsonIdentityReference;
+import com.fasterxml.jackson.annotation.ObjectIdGenerators;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+
+import java.util.List;
+
+/**
+ * Representación en grafo de Movie y Actor para CatalogGraph: cada entidad se identifica por su
+ * id (cada tipo con su propio espacio de ids) y las relaciones actors / movies se escriben
+ * siempre como listas de ids. Al leer, Jackson resuelve cada id a la instancia ya leída (o
+ * pendiente de leer, más adelante en el documento), así que las instancias quedan compartidas
+ * y los ciclos Movie - Actor no se recorren nunca.
+ * Solo se registra en mappers propios (ver graphMapper): el formato de Movie y Actor con el
+ * resto de moviecards-service no cambia.
+ * Autor: Hernan Andres Henao
+ * Proyecto: TFM Integración Continua con GitHub Actions
+ * Fecha: 18/10/2026
+ */
+public class CatalogGraphModule extends SimpleModule {
+
+    public CatalogGraphModule() {
+        super("CatalogGraphModule");
+        setMixInAnnotation(Movie.class, MovieMixIn.class);
+        setMixInAnnotation(Actor.class, ActorMixIn.class);
+    }
+
+    /**
+     * @return una copia del mapper (con su formato: JSON, Smile o CBOR) con la representación en grafo
+     */
+    public static ObjectMapper graphMapper(ObjectMapper objectMapper) {
+        return objectMapper.copy().registerModule(new CatalogGraphModule());
+    }
+
+    @JsonIdentityInfo(generator = ObjectIdGenerators.PropertyGenerator.class, property = "id", scope = Movie.class)
+    abstract static class MovieMixIn {
+
+        @JsonIdentityReference(alwaysAsId = true)
+        abstract List<Actor> getActors();
+    }
+
+    @JsonIdentityInfo(generator = ObjectIdGenerators.PropertyGenerator.class, property = "id", scope = Actor.class)
+    abstract static class ActorMixIn {
+
+        @JsonIdentityReference(alwaysAsId = true)
+        abstract List<Movie> getMovies();
+    }
+}
@@ -1,7 +1,11 @@
 package com.lauracercas.moviecards.model;
 
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.lauracercas.moviecards.util.IntHashSet;
+
 import javax.persistence.*;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 
@@ -9,6 +13,10 @@ import java.util.Objects;
  * Autor: Laura Cercas Ramos
  * Proyecto: TFM Integración Continua con GitHub Actions
  * Fecha: 04/06/2024
+ * Modificado: 18/10/2026 - Sinopsis más larga para el espejo local del catálogo
+ * Modificado: 18/10/2026 - Marca de guardado pendiente en el outbox
+ * Modificado: 18/10/2026 - Pertenencia al reparto por id con un índice de ints
+ * Modificado: 18/10/2026 - Marca de datos de sustitución, que no se guardan en la caché
  */
 @Entity
 public class Movie {
@@ -21,6 +29,7 @@ public class Movie {
     private String country;
     private String director;
     private String genre;
+    @Column(length = 4000)
     private String sinopsis;
 
     @ManyToMany
@@ -31,6 +40,37 @@ public class Movie {
     )
     private List<Actor> actors;
 
+    /**
+     * Huella de los campos tal y como se cargaron en el formulario; no se envía al servicio.
+     */
+    @Transient
+    @JsonIgnore
+    private String fingerprint;
+
+    /**
+     * Guardado en el outbox a la espera de que moviecards-service vuelva a estar disponible.
+     */
+    @Transient
+    @JsonIgnore
+    private boolean pending;
+
+    /**
+     * Datos de sustitución porque moviecards-service no respondió (ver OfflineData); no se guarda en la caché.
+     */
+    @Transient
+    @JsonIgnore
+    private boolean offline;
+
+    /**
+     * Ids del reparto para existActorInMovie. getActors devuelve una vista de solo lectura, así
+     * que el reparto solo cambia con setActors/addActor o cuando Hibernate asigna el campo (o
+     * inicializa la colección perezosa): basta con comprobar que es la misma lista y con el
+     * mismo tamaño. El índice no se modifica una vez publicado: cada cambio crea uno nuevo, de
+     * modo que las películas compartidas entre hilos (la caché por id) lo leen siempre entero.
+     */
+    @Transient
+    private volatile CastIndex castIndex;
+
 
     public Integer getId() {
         return id;
@@ -97,12 +137,40 @@ public class Movie {
     }
 
 
+    /**
+     * @return el reparto como vista de solo lectura; se cambia con setActors o addActor
+     */
     public List<Actor> getActors() {
-        return actors;
+        return actors != null ? Collections.unmodifiableList(actors) : null;
     }
 
     public void setActors(List<Actor> actors) {
         this.actors = actors;
+        this.castIndex = null;
+    }
+
+    public String getFingerprint() {
+        return fingerprint;
+    }
+
+    public void setFingerprint(String fingerprint) {
+        this.fingerprint = fingerprint;
+    }
+
+    public boolean isPending() {
+        return pending;
+    }
+
+    public void setPending(boolean pending) {
+        this.pending = pending;
+    }
+
+    public boolean isOffline() {
+        return offline;
+    }
+
+    public void setOffline(boolean offline) {
+        this.offline = offline;
     }
 
     @Override
@@ -120,12 +188,57 @@ public class Movie {
 
     public void addActor(Actor actor) {
         if (actor != null) {
-            getActors().add(actor);
+            actors.add(actor);
         }
     }
 
+    /**
+     * El actor está en el reparto si hay alguno con su id, aunque el resto de campos difieran
+     * (la copia remota puede estar más actualizada). Un actor sin id aún no se ha guardado y
+     * solo puede estar como la misma instancia o una igual.
+     */
     public boolean existActorInMovie(Actor actor) {
-        return actors.contains(actor);
+        if (actor == null || actors == null) {
+            return false;
+        }
+        if (actor.getId() == null) {
+            return actors.contains(actor);
+        }
+        CastIndex index = castIndex;
+        if (index == null || !index.isCurrent(actors)) {
+            index = new CastIndex(actors);
+            castIndex = index;
+        }
+        return index.contains(actor.getId());
+    }
+
+    /**
+     * Ids de un reparto concreto, fijados al crearse junto con la lista y el tamaño que reflejan.
+     */
+    private static final class CastIndex {
+
+        private final List<Actor> actors;
+        private final int size;
+        private final IntHashSet ids;
+
+        private CastIndex(List<Actor> actors) {
+            this.actors = actors;
+            this.size = actors.size();
+            this.ids = new IntHashSet(size);
+            for (Actor member : actors) {
+                if (member != null && member.getId() != null) {
+                    ids.add(member.getId());
+                }
+            }
+        }
+
+        private boolean isCurrent(List<Actor> current) {
+            return actors == current && size == current.size();
+        }
+
+        private boolean contains(int id) {
+            return ids.contains(id);
+        }
     }
 
 
@@ -0,0 +1,100 @@
+package com.lauracercas.moviecards.model;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.Objects;
+
+/**
+ * Proyección de solo lectura de una película con las columnas del listado y de los
+ * desplegables, sin el reparto. Al deserializarla, Jackson salta el subárbol "actors" (y
+ * cualquier otro campo desconocido) sin construir objetos.
+ * Autor: Hernan Andres Henao
+ * Proyecto: TFM Integración Continua con GitHub Actions
+ * Fecha: 18/10/2026
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public final class MovieSummary {
+
+    private final Integer id;
+    private final String title;
+    private final Integer releaseYear;
+    private final Integer duration;
+    private final String country;
+    private final String director;
+    private final String genre;
+    private final String sinopsis;
+
+    /**
+     * También la usan las consultas JPQL del espejo local (select new ...).
+     */
+    @JsonCreator
+    public MovieSummary(@JsonProperty("id") Integer id,
+                        @JsonProperty("title") String title,
+                        @JsonProperty("releaseYear") Integer releaseYear,
+                        @JsonProperty("duration") Integer duration,
+                        @JsonProperty("country") String country,
+                        @JsonProperty("director") String director,
+                        @JsonProperty("genre") String genre,
+                        @JsonProperty("sinopsis") String sinopsis) {
+        this.id = id;
+        this.title = title;
+        this.releaseYear = releaseYear;
+        this.duration = duration;
+        this.country = country;
+        this.director = director;
+        this.genre = genre;
+        this.sinopsis = sinopsis;
+    }
+
+    public static MovieSummary of(Movie movie) {
+        return new MovieSummary(movie.getId(), movie.getTitle(), movie.getReleaseYear(), movie.getDuration(),
+                movie.getCountry(), movie.getDirector(), movie.getGenre(), movie.getSinopsis());
+    }
+
+    public Integer getId() {
+        return id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public Integer getReleaseYear() {
+        return releaseYear;
+    }
+
+    public Integer getDuration() {
+        return duration;
+    }
+
+    public String getCountry() {
+        return country;
+    }
+
+    public String getDirector() {
+        return director;
+    }
+
+    public String getGenre() {
+        return genre;
+    }
+
+    public String getSinopsis() {
+        return sinopsis;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        MovieSummary movie = (MovieSummary) o;
+        return Objects.equals(id, movie.id) && Objects.equals(title, movie.title) && Objects.equals(releaseYear, movie.releaseYear) && Objects.equals(duration, movie.duration) && Objects.equals(country, movie.country) && Objects.equals(director, movie.director) && Objects.equals(genre, movie.genre) && Objects.equals(sinopsis, movie.sinopsis);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, title, releaseYear, duration, country, director, genre, sinopsis);
+    }
+}
@@ -0,0 +1,48 @@
+package com.lauracercas.moviecards.repositories;
+
+import com.lauracercas.moviecards.model.Actor;
+import com.lauracercas.moviecards.model.ActorSummary;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Actores del espejo local del catálogo (CatalogMirror); como en MovieJPA, las escrituras
+ * conservan los ids de moviecards-service.
+ * Autor: Hernan Andres Henao
+ * Proyecto: TFM Integración Continua con GitHub Actions
+ * Fecha: 18/10/2026
+ * Modificado: 18/10/2026 - Proyecciones ActorSummary para los listados
+ */
+public interface ActorJPA extends JpaRepository<Actor, Integer> {
+
+    List<Actor> findAllByOrderById();
+
+    String SUMMARY = "select new com.lauracercas.moviecards.model.ActorSummary(a.id, a.name, a.birthDate, "
+            + "a.deadDate, a.country) from Actor a";
+
+    @Query(SUMMARY + " order by a.id")
+    List<ActorSummary> findAllSummaries();
+
+    @Query(value = SUMMARY, countQuery = "select count(a) from Actor a")
+    Page<ActorSummary> findSummaries(Pageable pageable);
+
+    @Query("select a.id from Actor a")
+    List<Integer> findAllIds();
+
+    @Modifying
+    @Query(value = "MERGE INTO actor (id, name, birth_date, dead_date, country) KEY (id) "
+            + "VALUES (:#{#actor.id}, :#{#actor.name}, :#{#actor.birthDate}, :#{#actor.deadDate}, :#{#actor.country})",
+            nativeQuery = true)
+    void upsert(@Param("actor") Actor actor);
+
+    @Modifying
+    @Query(value = "DELETE FROM actor WHERE id NOT IN (:ids)", nativeQuery = true)
+    void deleteByIdNotIn(@Param("ids") Collection<Integer> ids);
+}
@@ -0,0 +1,87 @@
+package com.lauracercas.moviecards.repositories;
+
+import com.lauracercas.moviecards.model.Movie;
+import com.lauracercas.moviecards.model.MovieSummary;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Películas del espejo local del catálogo (CatalogMirror). Los ids son los de moviecards-service,
+ * por eso las escrituras son MERGE nativos por clave en lugar de save(), que generaría ids nuevos.
+ * Autor: Hernan Andres Henao
+ * Proyecto: TFM Integración Continua con GitHub Actions
+ * Fecha: 18/10/2026
+ * Modificado: 18/10/2026 - Proyecciones MovieSummary para los listados
+ */
+public interface MovieJPA extends JpaRepository<Movie, Integer> {
+
+    @Query("select distinct m from Movie m left join fetch m.actors order by m.id")
+    List<Movie> findAllWithActors();
+
+    String SUMMARY = "select new com.lauracercas.moviecards.model.MovieSummary(m.id, m.title, m.releaseYear, "
+            + "m.duration, m.country, m.director, m.genre, m.sinopsis) from Movie m";
+
+    @Query(SUMMARY + " order by m.id")
+    List<MovieSummary> findAllSummaries();
+
+    @Query(value = SUMMARY, countQuery = "select count(m) from Movie m")
+    Page<MovieSummary> findSummaries(Pageable pageable);
+
+    @Query("select distinct m from Movie m left join fetch m.actors where m.id in :ids")
+    List<Movie> findAllWithActorsByIdIn(@Param("ids") Collection<Integer> ids);
+
+    @EntityGraph(attributePaths = "actors")
+    Optional<Movie> findWithActorsById(Integer id);
+
+    @Query("select m.id from Movie m")
+    List<Integer> findAllIds();
+
+    @Modifying
+    @Query(value = "MERGE INTO movie (id, title, release_year, duration, country, director, genre, sinopsis) KEY (id) "
+            + "VALUES (:#{#movie.id}, :#{#movie.title}, :#{#movie.releaseYear}, :#{#movie.duration}, "
+            + ":#{#movie.country}, :#{#movie.director}, :#{#movie.genre}, :#{#movie.sinopsis})",
+            nativeQuery = true)
+    void upsert(@Param("movie") Movie movie);
+
+    @Modifying
+    @Query(value = "DELETE FROM movie_actor WHERE movie_id = :movieId", nativeQuery = true)
+    void deleteCast(@Param("movieId") Integer movieId);
+
+    @Modifying
+    @Query(value = "MERGE INTO movie_actor (movie_id, actor_id) KEY (movie_id, actor_id) VALUES (:movieId, :actorId)",
+            nativeQuery = true)
+    void addToCast(@Param("movieId") Integer movieId, @Param("actorId") Integer actorId);
+
+    @Modifying
+    @Query(value = "DELETE FROM movie_actor", nativeQuery = true)
+    void deleteAllCasts();
+
+    @Modifying
+    @Query(value = "DELETE FROM movie_actor WHERE movie_id IN (:movieIds)", nativeQuery = true)
+    void deleteCastsOfMovies(@Param("movieIds") Collection<Integer> movieIds);
+
+    @Modifying
+    @Query(value = "DELETE FROM movie_actor WHERE movie_id NOT IN (:movieIds)", nativeQuery = true)
+    void deleteCastsOfMoviesNotIn(@Param("movieIds") Collection<Integer> movieIds);
+
+    @Modifying
+    @Query(value = "DELETE FROM movie_actor WHERE actor_id IN (:actorIds)", nativeQuery = true)
+    void deleteCastsOfActors(@Param("actorIds") Collection<Integer> actorIds);
+
+    @Modifying
+    @Query(value = "DELETE FROM movie_actor WHERE actor_id NOT IN (:actorIds)", nativeQuery = true)
+    void deleteCastsOfActorsNotIn(@Param("actorIds") Collection<Integer> actorIds);
+
+    @Modifying
+    @Query(value = "DELETE FROM movie WHERE id NOT IN (:ids)", nativeQuery = true)
+    void deleteByIdNotIn(@Param("ids") Collection<Integer> ids);
+}
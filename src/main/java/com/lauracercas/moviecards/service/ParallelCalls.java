@@ -0,0 +1,177 @@
+package com.lauracercas.moviecards.service;
+
+import com.lauracercas.moviecards.client.exception.MovieCardsServiceException;
+import com.lauracercas.moviecards.timing.RequestTimings;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+
+/**
+ * Ejecuta en paralelo dos consultas independientes al servicio sobre un pool acotado.
+ * Ambas comparten un plazo máximo; si una falla o se agota el plazo, se cancela la otra
+ * y se propaga el error (las MovieCardsServiceException llegan tal cual al llamante).
+ * Con el pool saturado la consulta no se ejecuta en el hilo llamante (allí nada podría cortarla
+ * al agotarse el plazo): quien la lanza espera hueco en la cola como mucho hasta el plazo y, si
+ * no lo hay, falla por tiempo agotado. Las tareas llevan consigo el RequestTimings de la
+ * petición que las lanza.
+ * Autor: Hernan Andres Henao
+ * Proyecto: TFM Integración Continua con GitHub Actions
+ * Fecha: 18/10/2026
+ * Modificado: 18/10/2026 - Propagación de RequestTimings a los hilos del pool
+ */
+@Component
+public class ParallelCalls implements DisposableBean {
+
+    private final ExecutorService executor;
+    private final long deadlineMillis;
+
+    @Autowired
+    public ParallelCalls(@Value("${moviecards.parallel.threads:16}") int threads,
+                         @Value("${moviecards.parallel.queue-size:64}") int queueSize,
+                         @Value("${moviecards.parallel.deadline:8000}") long deadlineMillis) {
+        this(new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueSize),
+                new CustomizableThreadFactory("moviecards-parallel-"),
+                new ThreadPoolExecutor.AbortPolicy()), deadlineMillis);
+    }
+
+    public ParallelCalls(ExecutorService executor, long deadlineMillis) {
+        this.executor = executor;
+        this.deadlineMillis = deadlineMillis;
+    }
+
+    public <A, B, R> R invokeBoth(Callable<A> first, Callable<B> second, BiFunction<A, B, R> combiner) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(deadlineMillis);
+        CompletionService<Object> completionService =
+                new ExecutorCompletionService<>(command -> execute(command, deadline));
+        Future<Object> firstFuture = null;
+        Future<Object> secondFuture = null;
+        try {
+            firstFuture = completionService.submit(first::call);
+            secondFuture = completionService.submit(second::call);
+            for (int completed = 0; completed < 2; completed++) {
+                Future<Object> done = completionService.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                if (done == null) {
+                    throw deadlineExceeded(null);
+                }
+                done.get();
+            }
+            @SuppressWarnings("unchecked")
+            A firstResult = (A) firstFuture.get();
+            @SuppressWarnings("unchecked")
+            B secondResult = (B) secondFuture.get();
+            return combiner.apply(firstResult, secondResult);
+        } catch (ExecutionException e) {
+            throw unwrap(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MovieCardsServiceException("Consulta al servicio interrumpida", null, e);
+        } finally {
+            if (firstFuture != null) {
+                firstFuture.cancel(true);
+            }
+            if (secondFuture != null) {
+                secondFuture.cancel(true);
+            }
+        }
+    }
+
+    public <A, B> void acceptBoth(Callable<A> first, Callable<B> second, BiConsumer<A, B> consumer) {
+        invokeBoth(first, second, (a, b) -> {
+            consumer.accept(a, b);
+            return null;
+        });
+    }
+
+    /**
+     * Lanza una consulta bloqueante en el pool y entrega su resultado de forma diferida,
+     * con el mismo plazo máximo que invokeBoth. Con el pool saturado, la espera por un hueco
+     * en la cola sí ocurre en el hilo llamante, acotada por ese plazo.
+     */
+    public <T> CompletableFuture<T> supplyAsync(Supplier<T> call) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(deadlineMillis);
+        CompletableFuture<T> future;
+        try {
+            future = CompletableFuture.supplyAsync(call, command -> execute(command, deadline));
+        } catch (MovieCardsServiceException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return future
+                .orTimeout(deadlineMillis, TimeUnit.MILLISECONDS)
+                .handle((value, error) -> {
+                    if (error == null) {
+                        return value;
+                    }
+                    Throwable cause = error instanceof CompletionException && error.getCause() != null
+                            ? error.getCause()
+                            : error;
+                    if (cause instanceof TimeoutException) {
+                        throw deadlineExceeded(cause);
+                    }
+                    throw error instanceof CompletionException ? (CompletionException) error : new CompletionException(cause);
+                });
+    }
+
+    /**
+     * Envía la tarea al pool; si está saturado, espera hueco en la cola hasta el plazo en lugar
+     * de ejecutarla aquí.
+     */
+    private void execute(Runnable command, long deadline) {
+        Runnable task = RequestTimings.wrap(command);
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            if (!(executor instanceof ThreadPoolExecutor) || executor.isShutdown()) {
+                throw new MovieCardsServiceException("Sin hilos libres para consultar el servicio", null, e);
+            }
+            try {
+                if (!((ThreadPoolExecutor) executor).getQueue().offer(task, deadline - System.nanoTime(),
+                        TimeUnit.NANOSECONDS)) {
+                    throw deadlineExceeded(e);
+                }
+            } catch (InterruptedException interrupted) {
+                Thread.currentThread().interrupt();
+                throw new MovieCardsServiceException("Consulta al servicio interrumpida", null, interrupted);
+            }
+        }
+    }
+
+    private MovieCardsServiceException deadlineExceeded(Throwable cause) {
+        return new MovieCardsServiceException(
+                "Tiempo de espera agotado consultando el servicio (" + deadlineMillis + " ms)", null, cause);
+    }
+
+    private static RuntimeException unwrap(Throwable cause) {
+        if (cause instanceof RuntimeException) {
+            return (RuntimeException) cause;
+        }
+        if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+        return new MovieCardsServiceException("Error consultando el servicio", null, cause);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
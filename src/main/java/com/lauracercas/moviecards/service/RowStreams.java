@@ -0,0 +1,304 @@
+package com.lauracercas.moviecards.service;
+
+import com.lauracercas.moviecards.client.exception.MovieCardsServiceException;
+import com.lauracercas.moviecards.timing.RequestTimings;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Filas de un listado que se pintan según llegan: una fuente que entrega los elementos a un
+ * consumidor (los streamAll... de los servicios) se lee en un hilo propio y sus filas pasan por
+ * una cola acotada al th:each de la plantilla, que las pide de una en una. La salida se vacía
+ * antes de la primera fila (la cabecera de la tabla llega enseguida), cada chunk-rows filas y
+ * siempre que haya que esperar a la fuente, así que la memoria no depende del tamaño del
+ * catálogo y el navegador empieza a pintar antes.
+ * open() no vuelve hasta que la fuente entrega la primera fila, termina o falla: si falla sin
+ * haber entregado ninguna, el error llega al controlador (página de error o de servicio
+ * degradado) antes de enviar nada. Con la respuesta ya enviada eso ya no es posible: si la
+ * fuente falla a mitad, el listado se corta y el fallo queda en el log. Si no hay hilo libre,
+ * la fuente se lee entera en el hilo de la petición y se pinta como antes.
+ * Autor: Hernan Andres Henao
+ * Proyecto: TFM Integración Continua con GitHub Actions
+ * Fecha: 18/10/2026
+ */
+@Component
+public class RowStreams implements MeterBinder, DisposableBean {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RowStreams.class);
+    private static final String METRIC_PREFIX = "moviecards.render.streams";
+    private static final Object END = new Object();
+
+    private final boolean enabled;
+    private final int chunkRows;
+    private final long timeoutMillis;
+    private final ExecutorService executor;
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicLong streamed = new AtomicLong();
+    private final AtomicLong materialized = new AtomicLong();
+    private final AtomicLong abandoned = new AtomicLong();
+
+    @Autowired
+    public RowStreams(@Value("${moviecards.render.streaming:true}") boolean enabled,
+                      @Value("${moviecards.render.chunk-rows:100}") int chunkRows,
+                      @Value("${moviecards.render.threads:8}") int threads,
+                      @Value("${moviecards.render.timeout:15000}") long timeoutMillis) {
+        this(enabled, chunkRows, timeoutMillis, newExecutor(threads));
+    }
+
+    public RowStreams(boolean enabled, int chunkRows, long timeoutMillis, ExecutorService executor) {
+        this.enabled = enabled;
+        this.chunkRows = Math.max(1, chunkRows);
+        this.timeoutMillis = timeoutMillis;
+        this.executor = executor;
+    }
+
+    private static ExecutorService newExecutor(int threads) {
+        // Sin cola: una fuente que no puede empezar ya no debe hacer esperar a la página
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new SynchronousQueue<>(), new CustomizableThreadFactory("moviecards-render-"));
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * Si los listados completos se pintan en streaming (moviecards.render.streaming).
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @param source fuente que entrega todas las filas al consumidor y vuelve al terminar
+     * @param output salida de la página, que se vacía al enviar cada bloque de filas
+     * @return las filas para recorrerlas una sola vez mientras se pinta la plantilla
+     * @throws RuntimeException el error de la fuente, si falla antes de entregar la primera fila
+     */
+    public <T> Iterable<T> open(Consumer<Consumer<T>> source, Flushable output) {
+        RowStream<T> stream = new RowStream<>(output);
+        try {
+            executor.execute(RequestTimings.wrap(() -> stream.produce(source)));
+        } catch (RejectedExecutionException e) {
+            materialized.incrementAndGet();
+            List<T> rows = new ArrayList<>();
+            source.accept(rows::add);
+            return rows;
+        }
+        streamed.incrementAndGet();
+        stream.awaitFirst();
+        return stream;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder(METRIC_PREFIX + ".active", active, AtomicInteger::get)
+                .description("Listados pintándose en streaming")
+                .register(registry);
+        registry.more().counter(METRIC_PREFIX, Tags.of("mode", "streamed"), streamed);
+        registry.more().counter(METRIC_PREFIX, Tags.of("mode", "materialized"), materialized);
+        registry.more().counter(METRIC_PREFIX, Tags.of("mode", "abandoned"), abandoned);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Señal para cortar la fuente cuando nadie recoge sus filas (página abandonada).
+     */
+    private static final class Abandoned extends RuntimeException {
+
+        private Abandoned() {
+            super("Listado abandonado", null, false, false);
+        }
+    }
+
+    private final class RowStream<T> implements Iterable<T>, Iterator<T> {
+
+        private final BlockingQueue<Object> queue = new ArrayBlockingQueue<>(chunkRows * 2);
+        private final Flushable output;
+        private volatile boolean closed;
+        private volatile RuntimeException failure;
+        private boolean iterating;
+        private boolean finished;
+        private Object next;
+        private Object head;
+        private int unflushed;
+        private boolean headerFlushed;
+
+        private RowStream(Flushable output) {
+            this.output = output;
+        }
+
+        private void produce(Consumer<Consumer<T>> source) {
+            active.incrementAndGet();
+            try {
+                source.accept(this::offer);
+            } catch (Abandoned e) {
+                abandoned.incrementAndGet();
+            } catch (RuntimeException e) {
+                failure = e;
+            } finally {
+                active.decrementAndGet();
+                try {
+                    if (!closed && !queue.offer(END, timeoutMillis, TimeUnit.MILLISECONDS)) {
+                        closed = true;
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+
+        private void offer(T row) {
+            try {
+                if (closed || !queue.offer(row, timeoutMillis, TimeUnit.MILLISECONDS)) {
+                    closed = true;
+                    throw new Abandoned();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                closed = true;
+                throw new Abandoned();
+            }
+        }
+
+        /**
+         * Espera a la primera fila (o al final de la fuente) sin tocar la salida.
+         */
+        private void awaitFirst() {
+            Object first;
+            try {
+                first = queue.poll(timeoutMillis, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                closed = true;
+                throw new MovieCardsServiceException("Consulta del listado interrumpida", null, e);
+            }
+            if (first == null) {
+                closed = true;
+                throw new MovieCardsServiceException(
+                        "Tiempo de espera agotado leyendo el listado (" + timeoutMillis + " ms)", null, null);
+            }
+            if (first == END && failure != null) {
+                closed = true;
+                throw failure;
+            }
+            head = first;
+        }
+
+        private Object poll() {
+            Object taken = head != null ? head : queue.poll();
+            head = null;
+            return taken;
+        }
+
+        @Override
+        public Iterator<T> iterator() {
+            if (iterating) {
+                throw new IllegalStateException("Las filas en streaming solo se pueden recorrer una vez");
+            }
+            iterating = true;
+            return this;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next != null) {
+                return true;
+            }
+            if (finished) {
+                return false;
+            }
+            Object taken = poll();
+            if (taken == null) {
+                taken = flush() ? take() : null;
+            } else if (!headerFlushed && !flush()) {
+                taken = null;
+            }
+            if (taken == END || taken == null) {
+                finish();
+                return false;
+            }
+            next = taken;
+            return true;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            @SuppressWarnings("unchecked")
+            T row = (T) next;
+            next = null;
+            if (++unflushed >= chunkRows && !flush()) {
+                finish();
+            }
+            return row;
+        }
+
+        private Object take() {
+            try {
+                Object taken = queue.poll(timeoutMillis, TimeUnit.MILLISECONDS);
+                if (taken == null) {
+                    LOGGER.warn("Listado cortado: la fuente no ha entregado filas en {} ms", timeoutMillis);
+                }
+                return taken;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+        }
+
+        private void finish() {
+            finished = true;
+            closed = true;
+            queue.clear();
+            if (failure != null) {
+                LOGGER.warn("Listado cortado por un error de la fuente: {}", failure.getMessage());
+            }
+        }
+
+        /**
+         * @return false si la salida ya no admite datos (el cliente ha cerrado): el recorrido termina
+         */
+        private boolean flush() {
+            headerFlushed = true;
+            unflushed = 0;
+            try {
+                output.flush();
+                return true;
+            } catch (IOException e) {
+                LOGGER.debug("Listado abandonado por el cliente: {}", e.getMessage());
+                return false;
+            }
+        }
+    }
+}
@@ -1,19 +1,49 @@
 package com.lauracercas.moviecards.service.actor;
 
 import com.lauracercas.moviecards.model.Actor;
+import com.lauracercas.moviecards.model.ActorSummary;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 /**
  * Autor: Laura Cercas Ramos
  * Proyecto: TFM Integración Continua con GitHub Actions
  * Fecha: 04/06/2024
+ * Modificado: 18/10/2026 - Listados resumidos sin repartos
+ * Modificado: 18/10/2026 - Listado resumido entregado fila a fila para pintarlo en streaming
  */
 public interface ActorService {
 
     List<Actor> getAllActors();
 
+    CompletableFuture<List<Actor>> getAllActorsAsync();
+
+    Page<Actor> getActorsPage(Pageable pageable);
+
+    /**
+     * Listado sin repartos para las páginas de listado y los desplegables.
+     */
+    CompletableFuture<List<ActorSummary>> getActorSummariesAsync();
+
+    Page<ActorSummary> getActorSummariesPage(Pageable pageable);
+
+    void streamAllActors(Consumer<Actor> consumer);
+
+    /**
+     * Entrega el listado resumido completo según se lee, sin construir la lista.
+     */
+    void streamActorSummaries(Consumer<ActorSummary> consumer);
+
     Actor save(Actor actor);
 
     Actor getActorById(Integer actorId);
+
+    CompletableFuture<Actor> getActorByIdAsync(Integer actorId);
+
+    List<Actor> getActorsByIds(Collection<Integer> actorIds);
 }
@@ -2,38 +2,122 @@ package com.lauracercas.moviecards.service.actor;
 
 
 import com.lauracercas.moviecards.client.MovieCardsServiceClient;
+import com.lauracercas.moviecards.client.async.AsyncServiceClient;
+import com.lauracercas.moviecards.client.exception.MovieCardsServiceException;
 import com.lauracercas.moviecards.model.Actor;
+import com.lauracercas.moviecards.model.ActorSummary;
+import com.lauracercas.moviecards.service.mirror.CatalogMirror;
+import com.lauracercas.moviecards.service.outbox.WriteOutbox;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 /**
  * Autor: Laura Cercas Ramos
  * Proyecto: TFM Integración Continua con GitHub Actions
  * Fecha: 04/06/2024
  * Modificado: 21/02/2026 - Integración con moviecards-service - prueba
+ * Modificado: 18/10/2026 - Lecturas desde el espejo local del catálogo si está activado
+ * Modificado: 18/10/2026 - Guardados al outbox si moviecards-service no está disponible
+ * Modificado: 18/10/2026 - Listados resumidos para las páginas de listado y los desplegables
+ * Modificado: 18/10/2026 - Listado resumido fila a fila para pintarlo en streaming
  */
 @Service
 public class ActorServiceImpl implements ActorService {
 
     private final MovieCardsServiceClient serviceClient;
+    private final AsyncServiceClient asyncServiceClient;
+    private final CatalogMirror mirror;
+    private final WriteOutbox outbox;
 
-    public ActorServiceImpl(MovieCardsServiceClient serviceClient) {
+    public ActorServiceImpl(MovieCardsServiceClient serviceClient, AsyncServiceClient asyncServiceClient,
+                            CatalogMirror mirror, WriteOutbox outbox) {
         this.serviceClient = serviceClient;
+        this.asyncServiceClient = asyncServiceClient;
+        this.mirror = mirror;
+        this.outbox = outbox;
     }
 
     @Override
     public List<Actor> getAllActors() {
-        return serviceClient.getAllActors();
+        return mirror.actors().orElseGet(serviceClient::getAllActors);
+    }
+
+    @Override
+    public CompletableFuture<List<Actor>> getAllActorsAsync() {
+        return mirror.actors().map(CompletableFuture::completedFuture)
+                .orElseGet(asyncServiceClient::getAllActors);
+    }
+
+    @Override
+    public Page<Actor> getActorsPage(Pageable pageable) {
+        return mirror.actorsPage(pageable).orElseGet(() -> serviceClient.getActorsPage(pageable));
+    }
+
+    @Override
+    public CompletableFuture<List<ActorSummary>> getActorSummariesAsync() {
+        return mirror.actorSummaries().map(CompletableFuture::completedFuture)
+                .orElseGet(asyncServiceClient::getActorSummaries);
+    }
+
+    @Override
+    public Page<ActorSummary> getActorSummariesPage(Pageable pageable) {
+        return mirror.actorSummariesPage(pageable).orElseGet(() -> serviceClient.getActorSummariesPage(pageable));
+    }
+
+    @Override
+    public void streamActorSummaries(Consumer<ActorSummary> consumer) {
+        mirror.actorSummaries().ifPresentOrElse(list -> list.forEach(consumer),
+                () -> serviceClient.streamActorSummaries(consumer));
+    }
+
+    @Override
+    public void streamAllActors(Consumer<Actor> consumer) {
+        mirror.actors().ifPresentOrElse(list -> list.forEach(consumer),
+                () -> serviceClient.streamAllActors(consumer));
     }
 
     @Override
     public Actor save(Actor actor) {
-        return serviceClient.saveActor(actor);
+        if (outbox.shouldQueue(actor.getId())) {
+            return outbox.enqueueActor(actor);
+        }
+        // La clave del alta se fija antes del primer intento: si este llega al servicio pero la
+        // respuesta se pierde, el reenvío desde el outbox no crea la entidad dos veces
+        String idempotencyKey = actor.getId() == null ? outbox.newIdempotencyKey() : null;
+        Actor saved;
+        try {
+            saved = actor.getId() != null
+                    ? serviceClient.updateActor(actor.getId(), actor)
+                    : serviceClient.saveActor(actor, idempotencyKey);
+        } catch (MovieCardsServiceException e) {
+            if (!outbox.accepts(e)) {
+                throw e;
+            }
+            return outbox.enqueueActor(actor, idempotencyKey);
+        }
+        mirror.applyActor(saved);
+        return saved;
     }
 
     @Override
     public Actor getActorById(Integer actorId) {
-        return serviceClient.getActorById(actorId);
+        return mirror.actor(actorId).orElseGet(() -> serviceClient.getActorById(actorId));
+    }
+
+    @Override
+    public CompletableFuture<Actor> getActorByIdAsync(Integer actorId) {
+        return mirror.actor(actorId).map(CompletableFuture::completedFuture)
+                .orElseGet(() -> asyncServiceClient.getActorById(actorId));
+    }
+
+    @Override
+    public List<Actor> getActorsByIds(Collection<Integer> actorIds) {
+        return mirror.actorsByIds(actorIds).orElseGet(() -> serviceClient.getActorsByIds(actorIds));
     }
 }
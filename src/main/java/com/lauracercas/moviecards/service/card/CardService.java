@@ -2,6 +2,8 @@ package com.lauracercas.moviecards.service.card;
 
 import com.lauracercas.moviecards.model.Card;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Autor: Laura Cercas Ramos
  * Proyecto: TFM Integración Continua con GitHub Actions
@@ -11,4 +13,6 @@ public interface CardService {
 
     String registerActorInMovie(Card card);
 
+    CompletableFuture<String> registerActorInMovieAsync(Card card);
+
 }
@@ -2,19 +2,27 @@ package com.lauracercas.moviecards.service.card;
 
 
 import com.lauracercas.moviecards.client.MovieCardsServiceClient;
+import com.lauracercas.moviecards.client.async.AsyncServiceClient;
 import com.lauracercas.moviecards.model.Actor;
 import com.lauracercas.moviecards.model.Card;
 import com.lauracercas.moviecards.model.Movie;
+import com.lauracercas.moviecards.service.ParallelCalls;
 import com.lauracercas.moviecards.service.actor.ActorService;
+import com.lauracercas.moviecards.service.mirror.CatalogMirror;
 import com.lauracercas.moviecards.service.movie.MovieService;
+import com.lauracercas.moviecards.service.outbox.WriteOutbox;
 import com.lauracercas.moviecards.util.Messages;
 import org.springframework.stereotype.Service;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Autor: Laura Cercas Ramos
  * Proyecto: TFM Integración Continua con GitHub Actions
  * Fecha: 04/06/2024
  * Modificado: 21/02/2026 - Integración con moviecards-service
+ * Modificado: 18/10/2026 - El reparto registrado se aplica también al espejo local del catálogo
+ * Modificado: 18/10/2026 - Registros al outbox si moviecards-service no está disponible
  */
 @Service
 public class CardServiceImpl implements CardService {
@@ -22,11 +30,21 @@ public class CardServiceImpl implements CardService {
     private final ActorService actorService;
     private final MovieService movieService;
     private final MovieCardsServiceClient serviceClient;
+    private final AsyncServiceClient asyncServiceClient;
+    private final ParallelCalls parallelCalls;
+    private final CatalogMirror mirror;
+    private final WriteOutbox outbox;
 
-    public CardServiceImpl(ActorService actorService, MovieService movieService, MovieCardsServiceClient serviceClient) {
+    public CardServiceImpl(ActorService actorService, MovieService movieService,
+                           MovieCardsServiceClient serviceClient, AsyncServiceClient asyncServiceClient,
+                           ParallelCalls parallelCalls, CatalogMirror mirror, WriteOutbox outbox) {
         this.actorService = actorService;
         this.movieService = movieService;
         this.serviceClient = serviceClient;
+        this.asyncServiceClient = asyncServiceClient;
+        this.parallelCalls = parallelCalls;
+        this.mirror = mirror;
+        this.outbox = outbox;
     }
 
     @Override
@@ -34,24 +52,80 @@ public class CardServiceImpl implements CardService {
         Integer actorId = card.getIdActor();
         Integer movieId = card.getIdMovie();
 
-        Actor actor = actorService.getActorById(actorId);
-        Movie movie = movieService.getMovieById(movieId);
+        // Las dos consultas son independientes: se lanzan a la vez
+        return parallelCalls.invokeBoth(
+                () -> actorService.getActorById(actorId),
+                () -> movieService.getMovieById(movieId),
+                (actor, movie) -> register(actor, movie, movieId, actorId));
+    }
 
-        if (actor == null || movie == null) {
-            return Messages.ERROR_MESSAGE;
+    @Override
+    public CompletableFuture<String> registerActorInMovieAsync(Card card) {
+        Integer actorId = card.getIdActor();
+        Integer movieId = card.getIdMovie();
+
+        CompletableFuture<Actor> actor = actorService.getActorByIdAsync(actorId);
+        CompletableFuture<Movie> movie = movieService.getMovieByIdAsync(movieId);
+        return actor.thenCombine(movie, CardServiceImpl::validate)
+                .thenCompose(error -> error != null
+                        ? CompletableFuture.completedFuture(error)
+                        : sendOrQueue(movieId, actorId));
+    }
+
+    private CompletableFuture<String> sendOrQueue(Integer movieId, Integer actorId) {
+        if (outbox.shouldQueue(null)) {
+            return CompletableFuture.completedFuture(queue(movieId, actorId, null));
         }
+        String idempotencyKey = outbox.newIdempotencyKey();
+        return asyncServiceClient.registerActorInMovie(movieId, actorId, idempotencyKey)
+                .handle((ok, failure) -> {
+                    if (failure != null) {
+                        return outbox.accepts(failure) ? queue(movieId, actorId, idempotencyKey) : Messages.ERROR_MESSAGE;
+                    }
+                    mirror.applyCast(movieId, actorId);
+                    return Messages.CARD_REGISTRATION_SUCCESS;
+                });
+    }
 
-        if (movie.existActorInMovie(actor)) {
-            return Messages.CARD_ALREADY_EXISTS;
+    private String register(Actor actor, Movie movie, Integer movieId, Integer actorId) {
+        String error = validate(actor, movie);
+        if (error != null) {
+            return error;
         }
 
+        if (outbox.shouldQueue(null)) {
+            return queue(movieId, actorId, null);
+        }
+        // Misma clave en el primer intento y en el reenvío: un registro aplicado cuya respuesta
+        // se perdió no se registra dos veces
+        String idempotencyKey = outbox.newIdempotencyKey();
         try {
-            serviceClient.registerActorInMovie(movieId, actorId);
-            return Messages.CARD_REGISTRATION_SUCCESS;
+            serviceClient.registerActorInMovie(movieId, actorId, idempotencyKey);
+        } catch (RuntimeException e) {
+            return outbox.accepts(e) ? queue(movieId, actorId, idempotencyKey) : Messages.ERROR_MESSAGE;
+        }
+        mirror.applyCast(movieId, actorId);
+        return Messages.CARD_REGISTRATION_SUCCESS;
+    }
+
+    private String queue(Integer movieId, Integer actorId, String idempotencyKey) {
+        try {
+            outbox.enqueueCast(movieId, actorId, idempotencyKey);
+            return Messages.CARD_REGISTRATION_PENDING;
         } catch (RuntimeException e) {
             return Messages.ERROR_MESSAGE;
         }
     }
 
+    private static String validate(Actor actor, Movie movie) {
+        if (actor == null || movie == null) {
+            return Messages.ERROR_MESSAGE;
+        }
+        if (movie.existActorInMovie(actor)) {
+            return Messages.CARD_ALREADY_EXISTS;
+        }
+        return null;
+    }
+
 
 }
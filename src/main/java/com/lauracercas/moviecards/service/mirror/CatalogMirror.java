@@ -0,0 +1,383 @@
+package com.lauracercas.moviecards.service.mirror;
+
+import com.lauracercas.moviecards.client.MovieCardsServiceClient;
+import com.lauracercas.moviecards.client.patch.FieldFingerprint;
+import com.lauracercas.moviecards.client.sync.DeltaSync;
+import com.lauracercas.moviecards.client.sync.DeltaTarget;
+import com.lauracercas.moviecards.model.Actor;
+import com.lauracercas.moviecards.model.ActorSummary;
+import com.lauracercas.moviecards.model.Movie;
+import com.lauracercas.moviecards.model.MovieSummary;
+import com.lauracercas.moviecards.repositories.ActorJPA;
+import com.lauracercas.moviecards.repositories.MovieJPA;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Espejo local del catálogo en la base de datos embebida (H2) con las entidades JPA de Movie y Actor.
+ * Con moviecards.mirror.enabled una tarea en segundo plano lo sincroniza cada sync-interval con
+ * moviecards-service (solo los cambios desde la pasada anterior, ver DeltaSync), y los servicios
+ * leen de aquí mientras la última sincronización correcta no tenga más de max-staleness; si no,
+ * o si el espejo falla, leen del servicio remoto.
+ * Las escrituras siguen yendo al servicio y, si salen bien, se aplican también aquí.
+ * Autor: Hernan Andres Henao
+ * Proyecto: TFM Integración Continua con GitHub Actions
+ * Fecha: 18/10/2026
+ * Modificado: 18/10/2026 - Sincronización incremental en lugar de copiar todo el catálogo en cada pasada
+ * Modificado: 18/10/2026 - Listados como proyecciones, sin cargar los repartos
+ * Modificado: 18/10/2026 - Recarga completa de películas desde el catálogo en grafo
+ */
+@Component
+public class CatalogMirror implements MeterBinder, DisposableBean {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CatalogMirror.class);
+    private static final String METRIC_PREFIX = "moviecards.mirror.";
+
+    private final boolean enabled;
+    private final long syncIntervalMillis;
+    private final long maxStalenessNanos;
+    private final MovieJPA movieJPA;
+    private final ActorJPA actorJPA;
+    private final TransactionTemplate transaction;
+    private final DeltaSync<Actor> actorSync;
+    private final DeltaSync<Movie> movieSync;
+    private final ScheduledExecutorService scheduler;
+    private volatile long lastSyncNanos;
+    private volatile boolean synced;
+    private final AtomicLong syncSuccesses = new AtomicLong();
+    private final AtomicLong syncFailures = new AtomicLong();
+
+    public CatalogMirror(@Value("${moviecards.mirror.enabled:false}") boolean enabled,
+                         @Value("${moviecards.mirror.sync-interval:60000}") long syncIntervalMillis,
+                         @Value("${moviecards.mirror.max-staleness:300000}") long maxStalenessMillis,
+                         MovieCardsServiceClient serviceClient,
+                         MovieJPA movieJPA,
+                         ActorJPA actorJPA,
+                         PlatformTransactionManager transactionManager) {
+        this.enabled = enabled;
+        this.syncIntervalMillis = syncIntervalMillis;
+        this.maxStalenessNanos = TimeUnit.MILLISECONDS.toNanos(maxStalenessMillis);
+        this.movieJPA = movieJPA;
+        this.actorJPA = actorJPA;
+        this.transaction = new TransactionTemplate(transactionManager);
+        // Sin fallback: con datos offline, una caída del servicio vaciaría el espejo y lo daría por al día
+        this.actorSync = new DeltaSync<>("actors", serviceClient::getActorChanges, serviceClient::getAllActorsForSync);
+        this.movieSync = new DeltaSync<>("movies", serviceClient::getMovieChanges,
+                () -> serviceClient.getCatalogForSync().getMovies());
+        CustomizableThreadFactory threads = new CustomizableThreadFactory("moviecards-mirror-");
+        threads.setDaemon(true);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(threads);
+    }
+
+    /**
+     * La primera sincronización se lanza al terminar de arrancar; hasta entonces se lee del servicio.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (enabled) {
+            scheduler.scheduleWithFixedDelay(this::sync, 0, syncIntervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Aplica los cambios de actores y después los de películas (el reparto de una película puede
+     * referirse a actores nuevos). Cada paso es una transacción.
+     *
+     * @return true si el espejo ha quedado al día
+     */
+    public boolean sync() {
+        if (!enabled) {
+            return false;
+        }
+        try {
+            actorSync.sync(new ActorTarget());
+            movieSync.sync(new MovieTarget());
+            lastSyncNanos = System.nanoTime();
+            synced = true;
+            syncSuccesses.incrementAndGet();
+            return true;
+        } catch (RuntimeException e) {
+            syncFailures.incrementAndGet();
+            LOGGER.warn("No se ha podido sincronizar el espejo del catálogo: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private final class ActorTarget implements DeltaTarget<Actor> {
+
+        @Override
+        public void apply(List<Actor> changed, Collection<Integer> deleted) {
+            transaction.executeWithoutResult(status -> {
+                if (!deleted.isEmpty()) {
+                    movieJPA.deleteCastsOfActors(deleted);
+                    actorJPA.deleteAllByIdInBatch(deleted);
+                }
+                changed.stream().filter(actor -> actor.getId() != null).forEach(actorJPA::upsert);
+            });
+        }
+
+        @Override
+        public void replaceAll(List<Actor> all) {
+            Set<Integer> actorIds = idsOf(all, Actor::getId);
+            transaction.executeWithoutResult(status -> {
+                if (actorIds.isEmpty()) {
+                    movieJPA.deleteAllCasts();
+                    actorJPA.deleteAllInBatch();
+                } else {
+                    movieJPA.deleteCastsOfActorsNotIn(actorIds);
+                    actorJPA.deleteByIdNotIn(actorIds);
+                }
+                all.stream().filter(actor -> actor.getId() != null).forEach(actorJPA::upsert);
+            });
+        }
+
+        @Override
+        public Collection<Integer> ids() {
+            return actorJPA.findAllIds();
+        }
+    }
+
+    private final class MovieTarget implements DeltaTarget<Movie> {
+
+        @Override
+        public void apply(List<Movie> changed, Collection<Integer> deleted) {
+            transaction.executeWithoutResult(status -> {
+                if (!deleted.isEmpty()) {
+                    movieJPA.deleteCastsOfMovies(deleted);
+                    movieJPA.deleteAllByIdInBatch(deleted);
+                }
+                changed.stream().filter(movie -> movie.getId() != null).forEach(CatalogMirror.this::upsertMovie);
+            });
+        }
+
+        @Override
+        public void replaceAll(List<Movie> all) {
+            Set<Integer> movieIds = idsOf(all, Movie::getId);
+            transaction.executeWithoutResult(status -> {
+                if (movieIds.isEmpty()) {
+                    movieJPA.deleteAllCasts();
+                    movieJPA.deleteAllInBatch();
+                } else {
+                    movieJPA.deleteCastsOfMoviesNotIn(movieIds);
+                    movieJPA.deleteByIdNotIn(movieIds);
+                }
+                all.stream().filter(movie -> movie.getId() != null).forEach(CatalogMirror.this::upsertMovie);
+            });
+        }
+
+        @Override
+        public Collection<Integer> ids() {
+            return movieJPA.findAllIds();
+        }
+    }
+
+    /**
+     * El reparto solo se sustituye si la película lo trae; los actores del reparto se copian
+     * también para que existan aunque aún no estén en el espejo.
+     */
+    private void upsertMovie(Movie movie) {
+        movieJPA.upsert(movie);
+        if (movie.getActors() == null) {
+            return;
+        }
+        movieJPA.deleteCast(movie.getId());
+        for (Actor actor : movie.getActors()) {
+            if (actor.getId() != null) {
+                actorJPA.upsert(actor);
+                movieJPA.addToCast(movie.getId(), actor.getId());
+            }
+        }
+    }
+
+    private static <T> Set<Integer> idsOf(Collection<T> entities, Function<T, Integer> id) {
+        return entities.stream().map(id).filter(Objects::nonNull).collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
+    /* ==============================
+       LECTURAS
+       ============================== */
+
+    /**
+     * @return si las lecturas se sirven desde el espejo: activado, sincronizado y no demasiado antiguo
+     */
+    public boolean isServing() {
+        return enabled && synced && System.nanoTime() - lastSyncNanos <= maxStalenessNanos;
+    }
+
+    public Optional<List<Movie>> movies() {
+        return read(movieJPA::findAllWithActors);
+    }
+
+    public Optional<List<Actor>> actors() {
+        return read(actorJPA::findAllByOrderById);
+    }
+
+    public Optional<Page<Movie>> moviesPage(Pageable pageable) {
+        return read(() -> movieJPA.findAll(pageable));
+    }
+
+    public Optional<Page<Actor>> actorsPage(Pageable pageable) {
+        return read(() -> actorJPA.findAll(pageable));
+    }
+
+    public Optional<List<MovieSummary>> movieSummaries() {
+        return read(movieJPA::findAllSummaries);
+    }
+
+    public Optional<List<ActorSummary>> actorSummaries() {
+        return read(actorJPA::findAllSummaries);
+    }
+
+    public Optional<Page<MovieSummary>> movieSummariesPage(Pageable pageable) {
+        return read(() -> movieJPA.findSummaries(pageable));
+    }
+
+    public Optional<Page<ActorSummary>> actorSummariesPage(Pageable pageable) {
+        return read(() -> actorJPA.findSummaries(pageable));
+    }
+
+    /**
+     * @return la película con la huella del formulario, o vacío si no está en el espejo
+     */
+    public Optional<Movie> movie(Integer movieId) {
+        return read(() -> movieJPA.findWithActorsById(movieId).map(CatalogMirror::stampMovie).orElse(null));
+    }
+
+    public Optional<Actor> actor(Integer actorId) {
+        return read(() -> actorJPA.findById(actorId).map(CatalogMirror::stampActor).orElse(null));
+    }
+
+    /**
+     * @return las películas en el orden de los ids, o vacío si falta alguna en el espejo
+     */
+    public Optional<List<Movie>> moviesByIds(Collection<Integer> movieIds) {
+        return read(() -> inOrder(movieIds, movieJPA.findAllWithActorsByIdIn(movieIds), Movie::getId));
+    }
+
+    public Optional<List<Actor>> actorsByIds(Collection<Integer> actorIds) {
+        return read(() -> inOrder(actorIds, actorJPA.findAllById(actorIds), Actor::getId));
+    }
+
+    private static <T> List<T> inOrder(Collection<Integer> ids, List<T> found, Function<T, Integer> id) {
+        Map<Integer, T> byId = found.stream().collect(Collectors.toMap(id, Function.identity()));
+        if (!byId.keySet().containsAll(ids)) {
+            return null;
+        }
+        return ids.stream().distinct().map(byId::get).collect(Collectors.toList());
+    }
+
+    /**
+     * Un fallo del espejo nunca llega al usuario: se lee del servicio.
+     */
+    private <T> Optional<T> read(Supplier<T> query) {
+        if (!isServing()) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.ofNullable(query.get());
+        } catch (RuntimeException e) {
+            LOGGER.warn("Lectura del espejo del catálogo fallida, se usa el servicio: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private static Movie stampMovie(Movie movie) {
+        movie.setFingerprint(FieldFingerprint.MOVIE.of(movie, null));
+        return movie;
+    }
+
+    private static Actor stampActor(Actor actor) {
+        actor.setFingerprint(FieldFingerprint.ACTOR.of(actor, null));
+        return actor;
+    }
+
+    /* ==============================
+       ESCRITURAS CONFIRMADAS POR EL SERVICIO
+       ============================== */
+
+    public void applyMovie(Movie movie) {
+        if (movie != null && movie.getId() != null) {
+            write(() -> upsertMovie(movie));
+        }
+    }
+
+    public void applyActor(Actor actor) {
+        if (actor != null && actor.getId() != null) {
+            write(() -> actorJPA.upsert(actor));
+        }
+    }
+
+    /**
+     * Si la película o el actor aún no están en el espejo los traerá la próxima sincronización.
+     */
+    public void applyCast(Integer movieId, Integer actorId) {
+        write(() -> {
+            if (movieJPA.existsById(movieId) && actorJPA.existsById(actorId)) {
+                movieJPA.addToCast(movieId, actorId);
+            }
+        });
+    }
+
+    private void write(Runnable change) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            transaction.executeWithoutResult(status -> change.run());
+        } catch (RuntimeException e) {
+            LOGGER.warn("No se ha podido aplicar el cambio al espejo del catálogo: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * @return segundos desde la última sincronización correcta, o NaN si aún no ha habido ninguna
+     */
+    public double getStalenessSeconds() {
+        return synced ? (System.nanoTime() - lastSyncNanos) / 1e9 : Double.NaN;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder(METRIC_PREFIX + "staleness", this, CatalogMirror::getStalenessSeconds)
+                .baseUnit("seconds")
+                .register(registry);
+        registry.more().counter(METRIC_PREFIX + "syncs", Tags.of("result", "success"), syncSuccesses);
+        registry.more().counter(METRIC_PREFIX + "syncs", Tags.of("result", "failure"), syncFailures);
+        actorSync.bindTo(registry);
+        movieSync.bindTo(registry);
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdownNow();
+    }
+}
@@ -1,20 +1,50 @@
 package com.lauracercas.moviecards.service.movie;
 
 import com.lauracercas.moviecards.model.Movie;
+import com.lauracercas.moviecards.model.MovieSummary;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 /**
  * Autor: Laura Cercas Ramos
  * Proyecto: TFM Integración Continua con GitHub Actions
  * Fecha: 04/06/2024
+ * Modificado: 18/10/2026 - Listados resumidos sin repartos
+ * Modificado: 18/10/2026 - Listado resumido entregado fila a fila para pintarlo en streaming
  */
 public interface MovieService {
 
     List<Movie> getAllMovies();
 
+    CompletableFuture<List<Movie>> getAllMoviesAsync();
+
+    Page<Movie> getMoviesPage(Pageable pageable);
+
+    /**
+     * Listado sin repartos para las páginas de listado y los desplegables.
+     */
+    CompletableFuture<List<MovieSummary>> getMovieSummariesAsync();
+
+    Page<MovieSummary> getMovieSummariesPage(Pageable pageable);
+
+    void streamAllMovies(Consumer<Movie> consumer);
+
+    /**
+     * Entrega el listado resumido completo según se lee, sin construir la lista.
+     */
+    void streamMovieSummaries(Consumer<MovieSummary> consumer);
+
     Movie save(Movie movie);
 
 
     Movie getMovieById(Integer movieId);
+
+    CompletableFuture<Movie> getMovieByIdAsync(Integer movieId);
+
+    List<Movie> getMoviesByIds(Collection<Integer> movieIds);
 }
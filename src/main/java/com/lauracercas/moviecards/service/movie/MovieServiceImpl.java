@@ -2,43 +2,123 @@ package com.lauracercas.moviecards.service.movie;
 
 
 import com.lauracercas.moviecards.client.MovieCardsServiceClient;
+import com.lauracercas.moviecards.client.async.AsyncServiceClient;
+import com.lauracercas.moviecards.client.exception.MovieCardsServiceException;
 import com.lauracercas.moviecards.model.Movie;
+import com.lauracercas.moviecards.model.MovieSummary;
+import com.lauracercas.moviecards.service.mirror.CatalogMirror;
+import com.lauracercas.moviecards.service.outbox.WriteOutbox;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 /**
  * Autor: Laura Cercas Ramos
  * Proyecto: TFM Integración Continua con GitHub Actions
  * Fecha: 04/06/2024
  * Modificado: 21/02/2026 - Integración con moviecards-service
+ * Modificado: 18/10/2026 - Lecturas desde el espejo local del catálogo si está activado
+ * Modificado: 18/10/2026 - Guardados al outbox si moviecards-service no está disponible
+ * Modificado: 18/10/2026 - Listados resumidos para las páginas de listado y los desplegables
+ * Modificado: 18/10/2026 - Listado resumido fila a fila para pintarlo en streaming
  */
 @Service
 public class MovieServiceImpl implements MovieService {
 
     private final MovieCardsServiceClient serviceClient;
+    private final AsyncServiceClient asyncServiceClient;
+    private final CatalogMirror mirror;
+    private final WriteOutbox outbox;
 
-    public MovieServiceImpl(MovieCardsServiceClient serviceClient) {
+    public MovieServiceImpl(MovieCardsServiceClient serviceClient, AsyncServiceClient asyncServiceClient,
+                            CatalogMirror mirror, WriteOutbox outbox) {
         this.serviceClient = serviceClient;
+        this.asyncServiceClient = asyncServiceClient;
+        this.mirror = mirror;
+        this.outbox = outbox;
     }
 
 
     @Override
     public List<Movie> getAllMovies() {
-        return serviceClient.getAllMovies();
+        return mirror.movies().orElseGet(serviceClient::getAllMovies);
+    }
+
+    @Override
+    public CompletableFuture<List<Movie>> getAllMoviesAsync() {
+        return mirror.movies().map(CompletableFuture::completedFuture)
+                .orElseGet(asyncServiceClient::getAllMovies);
+    }
+
+    @Override
+    public Page<Movie> getMoviesPage(Pageable pageable) {
+        return mirror.moviesPage(pageable).orElseGet(() -> serviceClient.getMoviesPage(pageable));
+    }
+
+    @Override
+    public CompletableFuture<List<MovieSummary>> getMovieSummariesAsync() {
+        return mirror.movieSummaries().map(CompletableFuture::completedFuture)
+                .orElseGet(asyncServiceClient::getMovieSummaries);
+    }
+
+    @Override
+    public Page<MovieSummary> getMovieSummariesPage(Pageable pageable) {
+        return mirror.movieSummariesPage(pageable).orElseGet(() -> serviceClient.getMovieSummariesPage(pageable));
+    }
+
+    @Override
+    public void streamMovieSummaries(Consumer<MovieSummary> consumer) {
+        mirror.movieSummaries().ifPresentOrElse(list -> list.forEach(consumer),
+                () -> serviceClient.streamMovieSummaries(consumer));
+    }
+
+    @Override
+    public void streamAllMovies(Consumer<Movie> consumer) {
+        mirror.movies().ifPresentOrElse(list -> list.forEach(consumer),
+                () -> serviceClient.streamAllMovies(consumer));
     }
 
     @Override
     public Movie save(Movie movie) {
-        if (movie.getId() != null) {
-            return serviceClient.updateMovie(movie.getId(), movie);
-        } else {
-            return serviceClient.saveMovie(movie);
+        if (outbox.shouldQueue(movie.getId())) {
+            return outbox.enqueueMovie(movie);
+        }
+        // La clave del alta se fija antes del primer intento: si este llega al servicio pero la
+        // respuesta se pierde, el reenvío desde el outbox no crea la entidad dos veces
+        String idempotencyKey = movie.getId() == null ? outbox.newIdempotencyKey() : null;
+        Movie saved;
+        try {
+            saved = movie.getId() != null
+                    ? serviceClient.updateMovie(movie.getId(), movie)
+                    : serviceClient.saveMovie(movie, idempotencyKey);
+        } catch (MovieCardsServiceException e) {
+            if (!outbox.accepts(e)) {
+                throw e;
+            }
+            return outbox.enqueueMovie(movie, idempotencyKey);
         }
+        mirror.applyMovie(saved);
+        return saved;
     }
 
     @Override
     public Movie getMovieById(Integer movieId) {
-        return serviceClient.getMovieById(movieId);
+        return mirror.movie(movieId).orElseGet(() -> serviceClient.getMovieById(movieId));
+    }
+
+    @Override
+    public CompletableFuture<Movie> getMovieByIdAsync(Integer movieId) {
+        return mirror.movie(movieId).map(CompletableFuture::completedFuture)
+                .orElseGet(() -> asyncServiceClient.getMovieById(movieId));
+    }
+
+    @Override
+    public List<Movie> getMoviesByIds(Collection<Integer> movieIds) {
+        return mirror.moviesByIds(movieIds).orElseGet(() -> serviceClient.getMoviesByIds(movieIds));
     }
 }
@@ -0,0 +1,131 @@
+package com.lauracercas.moviecards.service.outbox;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.lauracercas.moviecards.model.Actor;
+import com.lauracercas.moviecards.model.Movie;
+
+/**
+ * Una escritura pendiente del outbox tal y como se guarda en el diario: la operación, la clave
+ * de idempotencia con la que se reenvía siempre y los datos del formulario. La huella del
+ * formulario se guarda aparte porque las entidades no la serializan.
+ * Autor: Hernan Andres Henao
+ * Proyecto: TFM Integración Continua con GitHub Actions
+ * Fecha: 18/10/2026
+ */
+public class OutboxEntry {
+
+    public enum Operation { SAVE_MOVIE, SAVE_ACTOR, REGISTER_CAST }
+
+    private long seq;
+    private Operation operation;
+    private String idempotencyKey;
+    private long enqueuedAt;
+    private Integer entityId;
+    private Movie movie;
+    private Actor actor;
+    private String fingerprint;
+    private Integer movieId;
+    private Integer actorId;
+
+    @JsonIgnore
+    private boolean inFlight;
+
+    public long getSeq() {
+        return seq;
+    }
+
+    public void setSeq(long seq) {
+        this.seq = seq;
+    }
+
+    public Operation getOperation() {
+        return operation;
+    }
+
+    public void setOperation(Operation operation) {
+        this.operation = operation;
+    }
+
+    public String getIdempotencyKey() {
+        return idempotencyKey;
+    }
+
+    public void setIdempotencyKey(String idempotencyKey) {
+        this.idempotencyKey = idempotencyKey;
+    }
+
+    public long getEnqueuedAt() {
+        return enqueuedAt;
+    }
+
+    public void setEnqueuedAt(long enqueuedAt) {
+        this.enqueuedAt = enqueuedAt;
+    }
+
+    /**
+     * @return id de la película o actor que se guarda: negativo si es un alta aún no enviada
+     */
+    public Integer getEntityId() {
+        return entityId;
+    }
+
+    public void setEntityId(Integer entityId) {
+        this.entityId = entityId;
+    }
+
+    public Movie getMovie() {
+        return movie;
+    }
+
+    public void setMovie(Movie movie) {
+        this.movie = movie;
+    }
+
+    public Actor getActor() {
+        return actor;
+    }
+
+    public void setActor(Actor actor) {
+        this.actor = actor;
+    }
+
+    public String getFingerprint() {
+        return fingerprint;
+    }
+
+    public void setFingerprint(String fingerprint) {
+        this.fingerprint = fingerprint;
+    }
+
+    public Integer getMovieId() {
+        return movieId;
+    }
+
+    public void setMovieId(Integer movieId) {
+        this.movieId = movieId;
+    }
+
+    public Integer getActorId() {
+        return actorId;
+    }
+
+    public void setActorId(Integer actorId) {
+        this.actorId = actorId;
+    }
+
+    boolean isInFlight() {
+        return inFlight;
+    }
+
+    void setInFlight(boolean inFlight) {
+        this.inFlight = inFlight;
+    }
+
+    /**
+     * @return si es el guardado de la misma entidad, y por tanto se puede fusionar con él
+     */
+    boolean savesSameEntity(Operation otherOperation, Integer otherEntityId) {
+        return operation == otherOperation && operation != Operation.REGISTER_CAST
+                && entityId != null && entityId.equals(otherEntityId);
+    }
+}
@@ -0,0 +1,234 @@
+package com.lauracercas.moviecards.service.outbox;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Diario del outbox: un fichero de solo añadir con un registro JSON por línea. Un registro con
+ * entrada crea o sustituye (fusión) la escritura pendiente de ese número de secuencia; uno con
+ * done la da por enviada. Las escrituras se hacen duraderas con fsync agrupado: quien escribe
+ * espera a que un force() cubra su registro y un solo force() cubre a todos los que escribieron
+ * mientras se hacía el anterior. Al vaciarse el outbox el fichero se trunca y solo conserva un
+ * registro con los ids reales de las altas ya enviadas.
+ * Autor: Hernan Andres Henao
+ * Proyecto: TFM Integración Continua con GitHub Actions
+ * Fecha: 18/10/2026
+ */
+class OutboxJournal implements Closeable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(OutboxJournal.class);
+
+    private final Path file;
+    private final ObjectMapper mapper;
+    private final FileChannel channel;
+    private final Object forceLock = new Object();
+    private long written;
+    private volatile long durable;
+
+    OutboxJournal(Path file, ObjectMapper mapper) {
+        this.file = file;
+        this.mapper = mapper;
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+            this.written = channel.size();
+            this.durable = written;
+            channel.position(written);
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se puede abrir el diario del outbox " + file, e);
+        }
+    }
+
+    /**
+     * Lee las escrituras pendientes en orden de secuencia y los ids reales de las altas ya enviadas.
+     * Una última línea incompleta (caída a mitad de escritura) se ignora.
+     */
+    synchronized Contents load() {
+        Map<Long, OutboxEntry> pending = new TreeMap<>();
+        Map<Integer, Integer> createdIds = new HashMap<>();
+        int lowestLocalId = 0;
+        List<String> lines;
+        try {
+            lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se puede leer el diario del outbox " + file, e);
+        }
+        for (String line : lines) {
+            if (line.isBlank()) {
+                continue;
+            }
+            Record record;
+            try {
+                record = mapper.readValue(line, Record.class);
+            } catch (JsonProcessingException e) {
+                LOGGER.warn("Registro del outbox ilegible, se ignora: {}", e.getOriginalMessage());
+                continue;
+            }
+            if (record.createdIds != null) {
+                createdIds.putAll(record.createdIds);
+            }
+            if (record.lowestLocalId != null) {
+                lowestLocalId = Math.min(lowestLocalId, record.lowestLocalId);
+            }
+            if (record.entry != null) {
+                pending.put(record.seq, record.entry);
+                if (record.entry.getEntityId() != null) {
+                    lowestLocalId = Math.min(lowestLocalId, record.entry.getEntityId());
+                }
+            } else if (record.done) {
+                OutboxEntry entry = pending.remove(record.seq);
+                if (entry != null && record.resultId != null && entry.getEntityId() != null) {
+                    createdIds.put(entry.getEntityId(), record.resultId);
+                }
+            }
+        }
+        return new Contents(new ArrayList<>(pending.values()), createdIds, lowestLocalId);
+    }
+
+    /**
+     * Escribe la entrada (nueva o fusionada) sin esperar al disco.
+     *
+     * @return la posición que tiene que cubrir awaitDurable
+     */
+    synchronized long append(OutboxEntry entry) {
+        Record record = new Record();
+        record.seq = entry.getSeq();
+        record.entry = entry;
+        return write(List.of(record));
+    }
+
+    /**
+     * @param resultIds id asignado por el servicio a cada alta enviada, por número de secuencia
+     */
+    synchronized long markDone(Collection<OutboxEntry> entries, Map<Long, Integer> resultIds) {
+        List<Record> records = new ArrayList<>();
+        for (OutboxEntry entry : entries) {
+            Record record = new Record();
+            record.seq = entry.getSeq();
+            record.done = true;
+            record.resultId = resultIds.get(entry.getSeq());
+            records.add(record);
+        }
+        return write(records);
+    }
+
+    private long write(List<Record> records) {
+        StringBuilder lines = new StringBuilder();
+        try {
+            for (Record record : records) {
+                lines.append(mapper.writeValueAsString(record)).append('\n');
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+            while (buffer.hasRemaining()) {
+                written += channel.write(buffer);
+            }
+            return written;
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se puede escribir en el diario del outbox " + file, e);
+        }
+    }
+
+    /**
+     * Espera a que lo escrito hasta position esté en disco; si nadie está haciendo force() lo hace este hilo.
+     */
+    void awaitDurable(long position) {
+        synchronized (forceLock) {
+            if (durable >= position) {
+                return;
+            }
+            long target;
+            synchronized (this) {
+                target = written;
+            }
+            try {
+                channel.force(false);
+            } catch (IOException e) {
+                throw new UncheckedIOException("No se puede sincronizar el diario del outbox " + file, e);
+            }
+            durable = target;
+        }
+    }
+
+    /**
+     * Vacía el diario; solo se llama cuando no queda nada pendiente. Los registros de hecho eran
+     * lo único que guardaba los ids reales de las altas, así que se sustituyen por un registro con
+     * esa correspondencia y el id local más bajo repartido: tras reiniciar, un id local viejo
+     * sigue resolviéndose y las altas nuevas no lo reutilizan.
+     *
+     * @param createdIds id real de cada alta enviada, por id local
+     * @param lowestLocalId id local más bajo repartido hasta ahora
+     */
+    synchronized void truncate(Map<Integer, Integer> createdIds, int lowestLocalId) {
+        try {
+            channel.truncate(0);
+            channel.position(0);
+            written = 0;
+            durable = 0;
+        } catch (IOException e) {
+            LOGGER.warn("No se ha podido truncar el diario del outbox: {}", e.getMessage());
+            return;
+        }
+        if (createdIds.isEmpty() && lowestLocalId == 0) {
+            return;
+        }
+        Record record = new Record();
+        record.createdIds = new HashMap<>(createdIds);
+        record.lowestLocalId = lowestLocalId;
+        write(List.of(record));
+        try {
+            channel.force(false);
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se puede sincronizar el diario del outbox " + file, e);
+        }
+        durable = written;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    static final class Contents {
+
+        final List<OutboxEntry> pending;
+        final Map<Integer, Integer> createdIds;
+        final int lowestLocalId;
+
+        Contents(List<OutboxEntry> pending, Map<Integer, Integer> createdIds, int lowestLocalId) {
+            this.pending = pending;
+            this.createdIds = createdIds;
+            this.lowestLocalId = lowestLocalId;
+        }
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_DEFAULT)
+    static final class Record {
+
+        public long seq;
+        public OutboxEntry entry;
+        public boolean done;
+        public Integer resultId;
+        public Map<Integer, Integer> createdIds;
+        public Integer lowestLocalId;
+    }
+}
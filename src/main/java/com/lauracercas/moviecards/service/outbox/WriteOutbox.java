@@ -0,0 +1,540 @@
+package com.lauracercas.moviecards.service.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lauracercas.moviecards.client.MovieCardsServiceClient;
+import com.lauracercas.moviecards.client.async.AsyncServiceClient;
+import com.lauracercas.moviecards.client.exception.MovieCardsServiceException;
+import com.lauracercas.moviecards.client.exception.ServiceUnavailableException;
+import com.lauracercas.moviecards.model.Actor;
+import com.lauracercas.moviecards.model.Movie;
+import com.lauracercas.moviecards.service.mirror.CatalogMirror;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Outbox de escrituras (moviecards.outbox.enabled): si moviecards-service no está disponible,
+ * los guardados de películas y actores y los registros de fichas se anotan en un diario local
+ * (ver OutboxJournal), se confirman al usuario como pendientes y una tarea en segundo plano los
+ * reenvía en orden cada replay-interval. Mientras quede algo pendiente, las escrituras nuevas
+ * también pasan por el outbox para no adelantarse a las anteriores.
+ * Los guardados sucesivos de una misma entidad que aún no se han enviado se fusionan en uno, con
+ * la huella del primer formulario para que el PATCH lleve todos los campos cambiados; los
+ * registros de fichas consecutivos se envían en lotes de batch-size a la vez. Cada entrada se
+ * reenvía siempre con la misma Idempotency-Key, así que repetir un envío tras una caída no
+ * duplica nada. Las altas reciben un id local negativo hasta que el servicio asigna el real; la
+ * correspondencia entre ids locales y reales sobrevive al vaciado del diario y a los reinicios,
+ * así que un formulario abierto con un id local sigue apuntando a la entidad creada.
+ * Solo tiene sentido con el fallback fail-fast (el de auto fuera del perfil test): con
+ * offline-data el cliente nunca informa de que el servicio no está.
+ * Autor: Hernan Andres Henao
+ * Proyecto: TFM Integración Continua con GitHub Actions
+ * Fecha: 18/10/2026
+ */
+@Component
+public class WriteOutbox implements MeterBinder, DisposableBean {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(WriteOutbox.class);
+    private static final String METRIC_PREFIX = "moviecards.outbox.";
+    private static final String JOURNAL_FILE = "outbox.journal";
+
+    private final boolean enabled;
+    private final long replayIntervalMillis;
+    private final int batchSize;
+    private final MovieCardsServiceClient serviceClient;
+    private final ObjectProvider<AsyncServiceClient> asyncServiceClient;
+    private final CatalogMirror mirror;
+    private final OutboxJournal journal;
+    private final Deque<OutboxEntry> queue = new ArrayDeque<>();
+    private final Map<Integer, Integer> createdIds = new ConcurrentHashMap<>();
+    private final AtomicInteger localIds = new AtomicInteger();
+    private final ScheduledExecutorService scheduler;
+    private long nextSeq = 1;
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong merged = new AtomicLong();
+    private final AtomicLong dead = new AtomicLong();
+
+    public WriteOutbox(@Value("${moviecards.outbox.enabled:false}") boolean enabled,
+                       @Value("${moviecards.outbox.dir:${java.io.tmpdir}/moviecards-outbox}") String dir,
+                       @Value("${moviecards.outbox.replay-interval:1000}") long replayIntervalMillis,
+                       @Value("${moviecards.outbox.batch-size:20}") int batchSize,
+                       MovieCardsServiceClient serviceClient,
+                       ObjectProvider<AsyncServiceClient> asyncServiceClient,
+                       CatalogMirror mirror) {
+        this.enabled = enabled;
+        this.replayIntervalMillis = replayIntervalMillis;
+        this.batchSize = Math.max(1, batchSize);
+        this.serviceClient = serviceClient;
+        this.asyncServiceClient = asyncServiceClient;
+        this.mirror = mirror;
+        this.journal = enabled ? new OutboxJournal(Paths.get(dir, JOURNAL_FILE), new ObjectMapper()) : null;
+        if (journal != null) {
+            OutboxJournal.Contents contents = journal.load();
+            queue.addAll(contents.pending);
+            createdIds.putAll(contents.createdIds);
+            localIds.set(contents.lowestLocalId);
+            for (OutboxEntry entry : contents.pending) {
+                nextSeq = Math.max(nextSeq, entry.getSeq() + 1);
+            }
+            if (!queue.isEmpty()) {
+                LOGGER.info("Outbox con {} escrituras pendientes de una ejecución anterior", queue.size());
+            }
+        }
+        CustomizableThreadFactory threads = new CustomizableThreadFactory("moviecards-outbox-");
+        threads.setDaemon(true);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(threads);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (enabled) {
+            scheduler.scheduleWithFixedDelay(this::replay, replayIntervalMillis, replayIntervalMillis,
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * @param entityId id del formulario (null o negativo si es un alta)
+     * @return si la escritura tiene que ir al outbox sin intentar el servicio: hay algo pendiente
+     * delante o es sobre un alta que aún no se ha enviado
+     */
+    public boolean shouldQueue(Integer entityId) {
+        return enabled && (entityId != null && entityId < 0 || getDepth() > 0);
+    }
+
+    /**
+     * @return si el fallo es de disponibilidad y la escritura se puede dejar en el outbox; los
+     * errores 4xx (datos rechazados) se siguen mostrando al usuario
+     */
+    public boolean accepts(Throwable failure) {
+        return enabled && isUnavailable(failure);
+    }
+
+    private static boolean isUnavailable(Throwable failure) {
+        Throwable cause = failure instanceof CompletionException || failure instanceof ExecutionException
+                ? failure.getCause()
+                : failure;
+        if (cause instanceof ServiceUnavailableException) {
+            return true;
+        }
+        if (cause instanceof MovieCardsServiceException) {
+            Integer status = ((MovieCardsServiceException) cause).getStatusCode();
+            return status == null || status >= 500;
+        }
+        return false;
+    }
+
+    /* ==============================
+       ENCOLADO
+       ============================== */
+
+    /**
+     * Clave de idempotencia para el primer intento de un alta o de un registro de ficha: si la
+     * respuesta se pierde y la escritura acaba en el outbox, se reenvía con esa misma clave y el
+     * servicio la reconoce.
+     *
+     * @return la clave, o null si el outbox está desactivado (el cliente decide por sí solo)
+     */
+    public String newIdempotencyKey() {
+        return enabled ? UUID.randomUUID().toString() : null;
+    }
+
+    /**
+     * @return la película del formulario marcada como pendiente, con su id local si es un alta
+     */
+    public Movie enqueueMovie(Movie movie) {
+        return enqueueMovie(movie, null);
+    }
+
+    /**
+     * @param idempotencyKey la del intento que no obtuvo respuesta (newIdempotencyKey), o null
+     */
+    public Movie enqueueMovie(Movie movie, String idempotencyKey) {
+        Movie payload = copyOf(movie);
+        OutboxEntry entry = enqueueSave(OutboxEntry.Operation.SAVE_MOVIE, movie.getId(), movie.getFingerprint(),
+                idempotencyKey, saved -> saved.setMovie(payload));
+        movie.setId(entry.getEntityId());
+        movie.setFingerprint(entry.getFingerprint());
+        movie.setPending(true);
+        return movie;
+    }
+
+    public Actor enqueueActor(Actor actor) {
+        return enqueueActor(actor, null);
+    }
+
+    public Actor enqueueActor(Actor actor, String idempotencyKey) {
+        Actor payload = copyOf(actor);
+        OutboxEntry entry = enqueueSave(OutboxEntry.Operation.SAVE_ACTOR, actor.getId(), actor.getFingerprint(),
+                idempotencyKey, saved -> saved.setActor(payload));
+        actor.setId(entry.getEntityId());
+        actor.setFingerprint(entry.getFingerprint());
+        actor.setPending(true);
+        return actor;
+    }
+
+    public void enqueueCast(Integer movieId, Integer actorId) {
+        enqueueCast(movieId, actorId, null);
+    }
+
+    /**
+     * Un registro idéntico a otro que sigue pendiente no se vuelve a anotar.
+     *
+     * @param idempotencyKey la del intento que no obtuvo respuesta (newIdempotencyKey), o null
+     */
+    public void enqueueCast(Integer movieId, Integer actorId, String idempotencyKey) {
+        long position;
+        synchronized (this) {
+            Integer movie = resolve(movieId);
+            Integer actor = resolve(actorId);
+            for (OutboxEntry pending : queue) {
+                if (pending.getOperation() == OutboxEntry.Operation.REGISTER_CAST && !pending.isInFlight()
+                        && movie.equals(pending.getMovieId()) && actor.equals(pending.getActorId())) {
+                    merged.incrementAndGet();
+                    return;
+                }
+            }
+            OutboxEntry entry = newEntry(OutboxEntry.Operation.REGISTER_CAST, idempotencyKey);
+            entry.setMovieId(movie);
+            entry.setActorId(actor);
+            position = append(entry, true);
+        }
+        awaitDurable(position);
+    }
+
+    private OutboxEntry enqueueSave(OutboxEntry.Operation operation, Integer formId, String fingerprint,
+                                    String idempotencyKey, Consumer<OutboxEntry> payload) {
+        OutboxEntry entry;
+        long position;
+        synchronized (this) {
+            Integer entityId = formId != null ? resolve(formId) : Integer.valueOf(localIds.decrementAndGet());
+            entry = lastPendingSave(operation, entityId);
+            boolean added = entry == null;
+            if (added) {
+                entry = newEntry(operation, idempotencyKey);
+                entry.setEntityId(entityId);
+                entry.setFingerprint(fingerprint);
+            } else {
+                merged.incrementAndGet();
+            }
+            payload.accept(entry);
+            position = append(entry, added);
+        }
+        awaitDurable(position);
+        return entry;
+    }
+
+    /**
+     * Solo se fusiona con el último guardado de la entidad y si no se está enviando ya.
+     */
+    private OutboxEntry lastPendingSave(OutboxEntry.Operation operation, Integer entityId) {
+        Iterator<OutboxEntry> newestFirst = queue.descendingIterator();
+        while (newestFirst.hasNext()) {
+            OutboxEntry pending = newestFirst.next();
+            if (pending.savesSameEntity(operation, entityId)) {
+                return pending.isInFlight() ? null : pending;
+            }
+        }
+        return null;
+    }
+
+    private OutboxEntry newEntry(OutboxEntry.Operation operation, String idempotencyKey) {
+        OutboxEntry entry = new OutboxEntry();
+        entry.setSeq(nextSeq++);
+        entry.setOperation(operation);
+        entry.setIdempotencyKey(idempotencyKey != null ? idempotencyKey : UUID.randomUUID().toString());
+        entry.setEnqueuedAt(System.currentTimeMillis());
+        return entry;
+    }
+
+    private long append(OutboxEntry entry, boolean added) {
+        long position;
+        try {
+            position = journal.append(entry);
+        } catch (UncheckedIOException e) {
+            throw new MovieCardsServiceException("No se ha podido guardar la escritura en el outbox", null, e);
+        }
+        if (added) {
+            queue.addLast(entry);
+        }
+        return position;
+    }
+
+    private void awaitDurable(long position) {
+        try {
+            journal.awaitDurable(position);
+        } catch (UncheckedIOException e) {
+            throw new MovieCardsServiceException("No se ha podido guardar la escritura en el outbox", null, e);
+        }
+    }
+
+    /**
+     * Las altas ya enviadas pasan a su id real (un formulario puede seguir con el local).
+     */
+    private Integer resolve(Integer id) {
+        return id != null && id < 0 ? createdIds.getOrDefault(id, id) : id;
+    }
+
+    /* ==============================
+       REENVÍO
+       ============================== */
+
+    /**
+     * Reenvía en orden todo lo que pueda; se detiene en cuanto el servicio sigue sin estar
+     * disponible, y lo que quede se intenta en la siguiente pasada.
+     */
+    public void replay() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            List<OutboxEntry> batch = nextBatch();
+            while (!batch.isEmpty()) {
+                boolean delivered = batch.get(0).getOperation() == OutboxEntry.Operation.REGISTER_CAST
+                        ? sendCasts(batch)
+                        : sendSave(batch.get(0));
+                if (!delivered) {
+                    return;
+                }
+                batch = nextBatch();
+            }
+        } catch (RuntimeException e) {
+            LOGGER.warn("Error al reenviar el outbox: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * La entrada más antigua o, si es un registro de ficha, hasta batchSize registros seguidos.
+     */
+    private synchronized List<OutboxEntry> nextBatch() {
+        List<OutboxEntry> batch = new ArrayList<>();
+        for (OutboxEntry entry : queue) {
+            boolean cast = entry.getOperation() == OutboxEntry.Operation.REGISTER_CAST;
+            if (!batch.isEmpty() && (!cast || batch.size() == batchSize)) {
+                break;
+            }
+            entry.setInFlight(true);
+            batch.add(entry);
+            if (!cast) {
+                break;
+            }
+        }
+        return batch;
+    }
+
+    private boolean sendSave(OutboxEntry entry) {
+        // Un alta ya enviada (p. ej. editada mientras su POST estaba en vuelo) se actualiza con su id real
+        Integer targetId = resolve(entry.getEntityId());
+        Integer resultId;
+        try {
+            resultId = entry.getOperation() == OutboxEntry.Operation.SAVE_MOVIE
+                    ? sendMovie(entry, targetId)
+                    : sendActor(entry, targetId);
+        } catch (RuntimeException e) {
+            if (!failed(entry, e)) {
+                return false;
+            }
+            resultId = null;
+        }
+        Map<Long, Integer> resultIds = new HashMap<>();
+        if (resultId != null && targetId < 0) {
+            createdIds.put(entry.getEntityId(), resultId);
+            resultIds.put(entry.getSeq(), resultId);
+        }
+        complete(List.of(entry), resultIds);
+        return true;
+    }
+
+    private Integer sendMovie(OutboxEntry entry, Integer targetId) {
+        Movie movie = copyOf(entry.getMovie());
+        Movie saved;
+        if (targetId < 0) {
+            movie.setId(null);
+            saved = serviceClient.saveMovie(movie, entry.getIdempotencyKey());
+        } else {
+            movie.setFingerprint(entry.getFingerprint());
+            saved = serviceClient.updateMovie(targetId, movie);
+        }
+        sent.incrementAndGet();
+        mirror.applyMovie(saved);
+        return saved != null ? saved.getId() : null;
+    }
+
+    private Integer sendActor(OutboxEntry entry, Integer targetId) {
+        Actor actor = copyOf(entry.getActor());
+        Actor saved;
+        if (targetId < 0) {
+            actor.setId(null);
+            saved = serviceClient.saveActor(actor, entry.getIdempotencyKey());
+        } else {
+            actor.setFingerprint(entry.getFingerprint());
+            saved = serviceClient.updateActor(targetId, actor);
+        }
+        sent.incrementAndGet();
+        mirror.applyActor(saved);
+        return saved != null ? saved.getId() : null;
+    }
+
+    /**
+     * Envía el lote a la vez y marca como hechos, con un solo fsync, los que hayan terminado.
+     * El cliente asíncrono se pide aquí y no en el constructor: el de WebClient depende del
+     * registro de métricas, que a su vez se construye con este MeterBinder.
+     *
+     * @return false si alguno no ha llegado porque el servicio sigue sin estar disponible
+     */
+    private boolean sendCasts(List<OutboxEntry> batch) {
+        AsyncServiceClient client = asyncServiceClient.getObject();
+        List<CompletableFuture<String>> calls = new ArrayList<>();
+        for (OutboxEntry entry : batch) {
+            calls.add(client.registerActorInMovie(resolve(entry.getMovieId()), resolve(entry.getActorId()),
+                    entry.getIdempotencyKey()));
+        }
+        List<OutboxEntry> done = new ArrayList<>();
+        boolean delivered = true;
+        for (int i = 0; i < batch.size(); i++) {
+            OutboxEntry entry = batch.get(i);
+            try {
+                calls.get(i).join();
+                sent.incrementAndGet();
+                mirror.applyCast(resolve(entry.getMovieId()), resolve(entry.getActorId()));
+                done.add(entry);
+            } catch (RuntimeException e) {
+                if (failed(entry, e)) {
+                    done.add(entry);
+                } else {
+                    delivered = false;
+                }
+            }
+        }
+        complete(done, Map.of());
+        return delivered;
+    }
+
+    /**
+     * @return true si la entrada se descarta (el servicio la rechaza, p. ej. 4xx o 412 por un
+     * cambio concurrente); false si hay que volver a intentarlo más tarde
+     */
+    private boolean failed(OutboxEntry entry, RuntimeException e) {
+        entry.setInFlight(false);
+        if (isUnavailable(e)) {
+            LOGGER.debug("moviecards-service sigue sin estar disponible, el outbox espera: {}", e.getMessage());
+            return false;
+        }
+        dead.incrementAndGet();
+        LOGGER.warn("Escritura {} del outbox rechazada por el servicio, se descarta: {}", entry.getOperation(),
+                e.getMessage());
+        return true;
+    }
+
+    private void complete(List<OutboxEntry> entries, Map<Long, Integer> resultIds) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        long position;
+        synchronized (this) {
+            position = journal.markDone(entries, resultIds);
+            entries.forEach(queue::remove);
+            if (queue.isEmpty()) {
+                journal.truncate(createdIds, localIds.get());
+                return;
+            }
+        }
+        journal.awaitDurable(position);
+    }
+
+    /* ==============================
+       COPIAS SIN RELACIONES
+       ============================== */
+
+    /**
+     * El formulario no envía el reparto ni la filmografía: se guardan solo los campos propios.
+     */
+    private static Movie copyOf(Movie movie) {
+        Movie copy = new Movie();
+        copy.setId(movie.getId());
+        copy.setTitle(movie.getTitle());
+        copy.setReleaseYear(movie.getReleaseYear());
+        copy.setDuration(movie.getDuration());
+        copy.setCountry(movie.getCountry());
+        copy.setDirector(movie.getDirector());
+        copy.setGenre(movie.getGenre());
+        copy.setSinopsis(movie.getSinopsis());
+        return copy;
+    }
+
+    private static Actor copyOf(Actor actor) {
+        Actor copy = new Actor(actor.getId(), actor.getName());
+        copy.setBirthDate(actor.getBirthDate());
+        copy.setDeadDate(actor.getDeadDate());
+        copy.setCountry(actor.getCountry());
+        return copy;
+    }
+
+    /* ==============================
+       MÉTRICAS
+       ============================== */
+
+    public synchronized int getDepth() {
+        return queue.size();
+    }
+
+    /**
+     * @return segundos que lleva esperando la escritura pendiente más antigua, 0 si no hay ninguna
+     */
+    public synchronized double getLagSeconds() {
+        OutboxEntry oldest = queue.peekFirst();
+        return oldest == null ? 0 : Math.max(0, System.currentTimeMillis() - oldest.getEnqueuedAt()) / 1000.0;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder(METRIC_PREFIX + "depth", this, WriteOutbox::getDepth)
+                .register(registry);
+        Gauge.builder(METRIC_PREFIX + "lag", this, WriteOutbox::getLagSeconds)
+                .baseUnit("seconds")
+                .register(registry);
+        registry.more().counter(METRIC_PREFIX + "replayed", Tags.of("result", "sent"), sent);
+        registry.more().counter(METRIC_PREFIX + "replayed", Tags.of("result", "merged"), merged);
+        registry.more().counter(METRIC_PREFIX + "replayed", Tags.of("result", "dead"), dead);
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        scheduler.shutdownNow();
+        if (journal != null) {
+            journal.close();
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.lauracercas.moviecards.timing;
+
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.ModelAndView;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Tramo "render": desde que el controlador devuelve la vista hasta que termina la petición,
+ * es decir, el procesado de la plantilla Thymeleaf y la escritura de la página.
+ * Autor: Hernan Andres Henao
+ * Proyecto: TFM Integración Continua con GitHub Actions
+ * Fecha: 18/10/2026
+ */
+public class RenderTimingInterceptor implements HandlerInterceptor {
+
+    private static final String ATTRIBUTE = RenderTimingInterceptor.class.getName() + ".span";
+
+    @Override
+    public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler,
+                           ModelAndView modelAndView) {
+        if (modelAndView != null && modelAndView.hasView() && RequestTimings.current() != null) {
+            String view = modelAndView.getViewName() != null ? modelAndView.getViewName() : "view";
+            request.setAttribute(ATTRIBUTE, RequestTimings.start("render", view));
+        }
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        Object span = request.getAttribute(ATTRIBUTE);
+        if (span instanceof RequestTimings.Span) {
+            request.removeAttribute(ATTRIBUTE);
+            ((RequestTimings.Span) span).end();
+        }
+    }
+}
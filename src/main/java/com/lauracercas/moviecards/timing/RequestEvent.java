@@ -0,0 +1,31 @@
+package com.lauracercas.moviecards.timing;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento JFR de una petición web completa, con el mismo reparto que la cabecera Server-Timing,
+ * para localizar las páginas lentas y cruzarlas con sus eventos moviecards.Span.
+ * Autor: Hernan Andres Henao
+ * Proyecto: TFM Integración Continua con GitHub Actions
+ * Fecha: 18/10/2026
+ */
+@Name("moviecards.Request")
+@Label("MovieCards Request")
+@Category("MovieCards")
+@Description("Petición web con el reparto de su tiempo por capas")
+@StackTrace(false)
+class RequestEvent extends jdk.jfr.Event {
+
+    @Label("Request")
+    String request;
+
+    @Label("Status")
+    int status;
+
+    @Label("Server-Timing")
+    String serverTiming;
+}
@@ -0,0 +1,230 @@
+package com.lauracercas.moviecards.timing;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+/**
+ * Reparto del tiempo de una petición web por capas (controller, service, http, decode,
+ * render): cada tramo se acumula por capa y nombre (número de veces y tiempo total) y se emite
+ * además como evento JFR. La petición en curso se asocia al hilo; los tramos que se abren en
+ * un hilo sin petición (sincronización, outbox...) solo generan el evento JFR.
+ * Autor: Hernan Andres Henao
+ * Proyecto: TFM Integración Continua con GitHub Actions
+ * Fecha: 18/10/2026
+ */
+public final class RequestTimings {
+
+    /**
+     * Como mucho se publican tantas entradas en Server-Timing; el resto se suman en "other".
+     */
+    static final int MAX_ENTRIES = 20;
+
+    private static final ThreadLocal<RequestTimings> CURRENT = new ThreadLocal<>();
+
+    private final String request;
+    private final long startNanos = System.nanoTime();
+    private final Map<String, Entry> entries = new LinkedHashMap<>();
+    private final RequestEvent event = new RequestEvent();
+    private volatile int version;
+
+    public RequestTimings(String request) {
+        this.request = request;
+        event.begin();
+    }
+
+    /**
+     * @return la petición asociada a este hilo, o null si no hay ninguna
+     */
+    public static RequestTimings current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Asocia la petición al hilo y devuelve la que hubiera para restaurarla con restore().
+     */
+    public static RequestTimings attach(RequestTimings timings) {
+        RequestTimings previous = CURRENT.get();
+        CURRENT.set(timings);
+        return previous;
+    }
+
+    public static void restore(RequestTimings previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+
+    /**
+     * Abre un tramo de la petición en curso en el hilo (o solo el evento JFR si no hay petición).
+     */
+    public static Span start(String layer, String name) {
+        return new Span(CURRENT.get(), layer, name);
+    }
+
+    /**
+     * Abre un tramo de esta petición desde cualquier hilo, esté o no asociada a él (p. ej. en los
+     * hilos de Reactor de WebClient).
+     */
+    public Span startSpan(String layer, String name) {
+        return new Span(this, layer, name);
+    }
+
+    /**
+     * @return un ejecutor que lleva a cada tarea la petición del hilo que la encola
+     */
+    public static Executor propagating(Executor executor) {
+        return command -> executor.execute(wrap(command));
+    }
+
+    public static Runnable wrap(Runnable command) {
+        RequestTimings timings = CURRENT.get();
+        if (timings == null) {
+            return command;
+        }
+        return () -> {
+            RequestTimings previous = attach(timings);
+            try {
+                command.run();
+            } finally {
+                restore(previous);
+            }
+        };
+    }
+
+    public String getRequest() {
+        return request;
+    }
+
+    /**
+     * Cambia cada vez que se cierra un tramo; permite saber si la cabecera está al día.
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    public long getElapsedNanos() {
+        return System.nanoTime() - startNanos;
+    }
+
+    synchronized void record(String layer, String name, long nanos) {
+        entries.computeIfAbsent(layer + '|' + name, key -> new Entry(layer, name)).add(nanos);
+        version++;
+    }
+
+    /**
+     * @return el valor de la cabecera Server-Timing con lo acumulado hasta ahora y el total transcurrido
+     */
+    public synchronized String toServerTiming() {
+        StringBuilder header = new StringBuilder();
+        int published = 0;
+        long otherNanos = 0;
+        int otherCount = 0;
+        for (Entry entry : entries.values()) {
+            if (published < MAX_ENTRIES) {
+                append(header, entry.layer, entry.name, entry.count, entry.nanos);
+                published++;
+            } else {
+                otherNanos += entry.nanos;
+                otherCount += entry.count;
+            }
+        }
+        if (otherCount > 0) {
+            append(header, "other", null, otherCount, otherNanos);
+        }
+        append(header, "total", null, 1, getElapsedNanos());
+        return header.toString();
+    }
+
+    /**
+     * Cierra la petición: emite su evento JFR y devuelve el valor definitivo de Server-Timing.
+     */
+    public String finish(int status) {
+        String serverTiming = toServerTiming();
+        event.end();
+        if (event.shouldCommit()) {
+            event.request = request;
+            event.status = status;
+            event.serverTiming = serverTiming;
+            event.commit();
+        }
+        return serverTiming;
+    }
+
+    private static void append(StringBuilder header, String layer, String name, int count, long nanos) {
+        if (header.length() > 0) {
+            header.append(", ");
+        }
+        header.append(layer);
+        if (name != null) {
+            header.append(";desc=\"").append(name.replace('"', '\'').replace('\\', '/'));
+            if (count > 1) {
+                header.append(" x").append(count);
+            }
+            header.append('"');
+        }
+        header.append(";dur=").append(String.format(Locale.ROOT, "%.1f", nanos / 1_000_000.0));
+    }
+
+    private static final class Entry {
+
+        private final String layer;
+        private final String name;
+        private int count;
+        private long nanos;
+
+        private Entry(String layer, String name) {
+            this.layer = layer;
+            this.name = name;
+        }
+
+        private void add(long spanNanos) {
+            count++;
+            nanos += spanNanos;
+        }
+    }
+
+    /**
+     * Tramo abierto: se cierra una sola vez con end(), desde este u otro hilo.
+     */
+    public static final class Span {
+
+        private final RequestTimings timings;
+        private final String layer;
+        private final String name;
+        private final SpanEvent event = new SpanEvent();
+        private final long startNanos;
+        private boolean ended;
+
+        private Span(RequestTimings timings, String layer, String name) {
+            this.timings = timings;
+            this.layer = layer;
+            this.name = name;
+            event.begin();
+            this.startNanos = System.nanoTime();
+        }
+
+        public void end() {
+            synchronized (this) {
+                if (ended) {
+                    return;
+                }
+                ended = true;
+            }
+            long nanos = System.nanoTime() - startNanos;
+            event.end();
+            if (event.shouldCommit()) {
+                event.request = timings != null ? timings.request : null;
+                event.layer = layer;
+                event.name = name;
+                event.commit();
+            }
+            if (timings != null) {
+                timings.record(layer, name, nanos);
+            }
+        }
+    }
+}
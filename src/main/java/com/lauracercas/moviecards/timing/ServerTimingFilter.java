@@ -0,0 +1,133 @@
+package com.lauracercas.moviecards.timing;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.WebUtils;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import java.io.IOException;
+import java.io.PrintWriter;
+
+/**
+ * Abre el RequestTimings de cada petición, lo asocia al hilo (también en el despacho asíncrono
+ * de los controladores que devuelven CompletableFuture) y publica el reparto en la cabecera
+ * Server-Timing. La cabecera se actualiza justo antes de escribir el cuerpo y otra vez al
+ * terminar si la respuesta sigue sin confirmar, así que el render solo aparece en ella cuando
+ * la página cabe en el búfer de la respuesta; el evento JFR de la petición siempre va completo.
+ * Autor: Hernan Andres Henao
+ * Proyecto: TFM Integración Continua con GitHub Actions
+ * Fecha: 18/10/2026
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "Server-Timing";
+    static final String ATTRIBUTE = RequestTimings.class.getName();
+
+    private final boolean enabled;
+
+    public ServerTimingFilter(@Value("${moviecards.timing.enabled:true}") boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled;
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RequestTimings timings = (RequestTimings) request.getAttribute(ATTRIBUTE);
+        if (timings == null) {
+            timings = new RequestTimings(request.getMethod() + " " + request.getRequestURI());
+            request.setAttribute(ATTRIBUTE, timings);
+            response = new TimedResponse(response, timings);
+        }
+        RequestTimings previous = RequestTimings.attach(timings);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            RequestTimings.restore(previous);
+            if (!request.isAsyncStarted()) {
+                TimedResponse timed = WebUtils.getNativeResponse(response, TimedResponse.class);
+                String serverTiming = timings.finish(response.getStatus());
+                if (timed != null && !response.isCommitted()) {
+                    timed.setHeader(HEADER, serverTiming);
+                }
+            }
+        }
+    }
+
+    /**
+     * Pone al día Server-Timing antes de que el primer byte del cuerpo confirme la respuesta.
+     */
+    private static final class TimedResponse extends HttpServletResponseWrapper {
+
+        private final RequestTimings timings;
+        private int publishedVersion = -1;
+
+        private TimedResponse(HttpServletResponse response, RequestTimings timings) {
+            super(response);
+            this.timings = timings;
+        }
+
+        private void publish() {
+            int version = timings.getVersion();
+            if (version != publishedVersion && !isCommitted()) {
+                publishedVersion = version;
+                setHeader(HEADER, timings.toServerTiming());
+            }
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            publish();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            publish();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            publish();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            publish();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            publish();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            publish();
+            super.sendRedirect(location);
+        }
+    }
+}
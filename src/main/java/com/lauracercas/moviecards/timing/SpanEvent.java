@@ -0,0 +1,33 @@
+package com.lauracercas.moviecards.timing;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento JFR de un tramo de RequestTimings. Solo cuesta algo con una grabación activa que lo
+ * tenga habilitado (p. ej. -XX:StartFlightRecording con un umbral en moviecards.Span).
+ * Autor: Hernan Andres Henao
+ * Proyecto: TFM Integración Continua con GitHub Actions
+ * Fecha: 18/10/2026
+ */
+@Name("moviecards.Span")
+@Label("MovieCards Span")
+@Category("MovieCards")
+@Description("Tramo de una petición: controller, service, http, decode o render")
+@StackTrace(false)
+class SpanEvent extends jdk.jfr.Event {
+
+    @Label("Request")
+    @Description("Método y ruta de la petición web, vacío fuera de una petición")
+    String request;
+
+    @Label("Layer")
+    String layer;
+
+    @Label("Name")
+    @Description("Método del controlador o servicio, u operación del cliente")
+    String name;
+}
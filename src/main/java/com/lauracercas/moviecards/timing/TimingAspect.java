@@ -0,0 +1,50 @@
+package com.lauracercas.moviecards.timing;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Abre un tramo "controller" por cada método de un @Controller y uno "service" por cada método
+ * de un @Service. Si el método devuelve un CompletableFuture el tramo dura hasta que se completa.
+ * Autor: Hernan Andres Henao
+ * Proyecto: TFM Integración Continua con GitHub Actions
+ * Fecha: 18/10/2026
+ */
+@Aspect
+@Component
+@ConditionalOnProperty(name = "moviecards.timing.enabled", havingValue = "true", matchIfMissing = true)
+public class TimingAspect {
+
+    @Around("@within(org.springframework.stereotype.Controller) && execution(public * *(..))")
+    public Object timeController(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time("controller", joinPoint);
+    }
+
+    @Around("@within(org.springframework.stereotype.Service) && execution(public * *(..))")
+    public Object timeService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time("service", joinPoint);
+    }
+
+    private static Object time(String layer, ProceedingJoinPoint joinPoint) throws Throwable {
+        RequestTimings.Span span = RequestTimings.start(layer,
+                joinPoint.getSignature().getDeclaringType().getSimpleName() + "." + joinPoint.getSignature().getName());
+        Object result;
+        try {
+            result = joinPoint.proceed();
+        } catch (Throwable e) {
+            span.end();
+            throw e;
+        }
+        if (result instanceof CompletableFuture) {
+            ((CompletableFuture<?>) result).whenComplete((value, error) -> span.end());
+        } else {
+            span.end();
+        }
+        return result;
+    }
+}
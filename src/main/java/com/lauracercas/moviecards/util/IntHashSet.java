@@ -0,0 +1,117 @@
+package com.lauracercas.moviecards.util;
+
+import java.util.Arrays;
+
+/**
+ * Conjunto de int sin boxing: direccionamiento abierto con sondeo lineal sobre un array cuya
+ * longitud es potencia de dos y que se duplica al llenarse hasta la mitad. El 0 marca huecos
+ * libres, así que su presencia se guarda aparte. No es seguro entre hilos.
+ * Autor: Hernan Andres Henao
+ * Proyecto: TFM Integración Continua con GitHub Actions
+ * Fecha: 18/10/2026
+ */
+public final class IntHashSet {
+
+    private static final int MIN_CAPACITY = 8;
+
+    private int[] slots;
+    private int size;
+    private boolean containsZero;
+
+    public IntHashSet() {
+        this(MIN_CAPACITY / 2);
+    }
+
+    /**
+     * @param expectedSize elementos que se esperan, para no redimensionar mientras se llena
+     */
+    public IntHashSet(int expectedSize) {
+        slots = new int[capacityFor(expectedSize)];
+    }
+
+    /**
+     * @return true si no estaba
+     */
+    public boolean add(int value) {
+        if (value == 0) {
+            if (containsZero) {
+                return false;
+            }
+            containsZero = true;
+            size++;
+            return true;
+        }
+        int mask = slots.length - 1;
+        int slot = hash(value) & mask;
+        while (slots[slot] != 0) {
+            if (slots[slot] == value) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+        slots[slot] = value;
+        size++;
+        if (size * 2 > slots.length) {
+            grow();
+        }
+        return true;
+    }
+
+    public boolean contains(int value) {
+        if (value == 0) {
+            return containsZero;
+        }
+        int mask = slots.length - 1;
+        int slot = hash(value) & mask;
+        while (slots[slot] != 0) {
+            if (slots[slot] == value) {
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(slots, 0);
+        size = 0;
+        containsZero = false;
+    }
+
+    private void grow() {
+        int[] previous = slots;
+        slots = new int[previous.length * 2];
+        int mask = slots.length - 1;
+        for (int value : previous) {
+            if (value != 0) {
+                int slot = hash(value) & mask;
+                while (slots[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                slots[slot] = value;
+            }
+        }
+    }
+
+    private static int hash(int value) {
+        // Los ids son consecutivos: se reparten por la tabla con la constante de Fibonacci
+        int mixed = value * 0x9E3779B9;
+        return mixed ^ (mixed >>> 16);
+    }
+
+    private static int capacityFor(int expectedSize) {
+        int capacity = MIN_CAPACITY;
+        while (capacity < expectedSize * 2L + 1) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+}
@@ -4,6 +4,7 @@ package com.lauracercas.moviecards.util;
  * Autor: Laura Cercas Ramos
  * Proyecto: TFM Integración Continua con GitHub Actions
  * Fecha: 04/06/2024
+ * Modificado: 18/10/2026 - Mensajes de escrituras pendientes en el outbox
  */
 public class Messages {
 
@@ -22,6 +23,10 @@ public class Messages {
     public static final String NEW_ACTOR_TITLE = "Nuevo Actor";
     public static final String EDIT_MOVIE_TITLE = "Editar Película";
     public static final String NEW_MOVIE_TITLE = "Nueva Película";
+    public static final String CARD_REGISTRATION_PENDING = "El servicio de películas no está disponible: la ficha se registrará en cuanto vuelva";
+    public static final String SAVED_ACTOR_PENDING = "El servicio de películas no está disponible: el actor se guardará en cuanto vuelva";
+    public static final String SAVED_MOVIE_PENDING = "El servicio de películas no está disponible: la película se guardará en cuanto vuelva";
+    public static final String SERVICE_OVERLOADED = "El servicio de películas está saturado en este momento. Vuelve a intentarlo en unos segundos.";
 
 
 }
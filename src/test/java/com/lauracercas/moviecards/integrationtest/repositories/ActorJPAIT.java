@@ -1,18 +1,28 @@
 package com.lauracercas.moviecards.integrationtest.repositories;
 
+import com.lauracercas.moviecards.model.Actor;
+import com.lauracercas.moviecards.repositories.ActorJPA;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
 /**
  * Autor: Laura Cercas Ramos
  * Proyecto: TFM Integración Continua con GitHub Actions
  * Fecha: 04/06/2024
- * Modificado: 21/02/2026 - Deshabilitado: Estas pruebas ya no aplican ya que ahora
- * se usa el servicio externo moviecards-service en lugar de repositorios JPA locales.
- * 
- * NOTA: Estas pruebas deberían ser reemplazadas por pruebas de integración que
- * prueben el cliente REST contra un servicio mock o un servicio de prueba.
- * Para pruebas de integración del servicio REST, usar MockRestServiceServer
- * o WireMock para simular el servicio externo.
+ * Modificado: 21/02/2026 - Deshabilitado: se usa el servicio externo moviecards-service
+ * en lugar de repositorios JPA locales.
+ * Modificado: 18/10/2026 - Rehabilitado: los repositorios vuelven a usarse para el espejo local del catálogo
  */
-/*
 @DataJpaTest
 public class ActorJPAIT {
 
@@ -48,5 +58,16 @@ public class ActorJPAIT {
         assertTrue(foundActor.isPresent());
         assertEquals(savedActor, foundActor.get());
     }
+
+    @Test
+    public void testUpsertKeepsServiceIdAndDeletesMissing() {
+        actorJPA.upsert(new Actor(1001, "actor"));
+        actorJPA.upsert(new Actor(1001, "renamed"));
+        actorJPA.upsert(new Actor(1002, "other"));
+
+        actorJPA.deleteByIdNotIn(List.of(1001));
+
+        assertEquals("renamed", actorJPA.findById(1001).orElseThrow().getName());
+        assertFalse(actorJPA.existsById(1002));
+    }
 }
-*/
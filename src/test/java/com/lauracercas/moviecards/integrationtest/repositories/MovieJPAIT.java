@@ -1,24 +1,45 @@
 package com.lauracercas.moviecards.integrationtest.repositories;
 
+import com.lauracercas.moviecards.model.Actor;
+import com.lauracercas.moviecards.model.Movie;
+import com.lauracercas.moviecards.model.MovieSummary;
+import com.lauracercas.moviecards.repositories.ActorJPA;
+import com.lauracercas.moviecards.repositories.MovieJPA;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
 /**
  * Autor: Laura Cercas Ramos
  * Proyecto: TFM Integración Continua con GitHub Actions
  * Fecha: 04/06/2024
- * Modificado: 21/02/2026 - Deshabilitado: Estas pruebas ya no aplican ya que ahora
- * se usa el servicio externo moviecards-service en lugar de repositorios JPA locales.
- * 
- * NOTA: Estas pruebas deberían ser reemplazadas por pruebas de integración que
- * prueben el cliente REST contra un servicio mock o un servicio de prueba.
- * Para pruebas de integración del servicio REST, usar MockRestServiceServer
- * o WireMock para simular el servicio externo.
+ * Modificado: 21/02/2026 - Deshabilitado: se usa el servicio externo moviecards-service
+ * en lugar de repositorios JPA locales.
+ * Modificado: 18/10/2026 - Rehabilitado: los repositorios vuelven a usarse para el espejo local del catálogo
+ * Modificado: 18/10/2026 - Proyección resumida de películas
  */
-/*
 @DataJpaTest
 public class MovieJPAIT {
 
     @Autowired
     private MovieJPA movieJPA;
 
+    @Autowired
+    private ActorJPA actorJPA;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
     @Test
     public void testSaveMovie() {
         Movie movie = new Movie();
@@ -50,5 +71,40 @@ public class MovieJPAIT {
         assertTrue(foundMovie.isPresent());
         assertEquals(savedMovie, foundMovie.get());
     }
+
+    @Test
+    public void testUpsertKeepsServiceIdAndCast() {
+        Movie movie = new Movie();
+        movie.setId(2001);
+        movie.setTitle("Mirrored");
+        actorJPA.upsert(new Actor(3001, "actor"));
+        movieJPA.upsert(movie);
+        movieJPA.addToCast(2001, 3001);
+        movieJPA.addToCast(2001, 3001);
+        entityManager.clear();
+
+        Movie found = movieJPA.findWithActorsById(2001).orElseThrow();
+
+        assertEquals("Mirrored", found.getTitle());
+        assertEquals(1, found.getActors().size());
+        assertEquals(List.of(found), movieJPA.findAllWithActorsByIdIn(List.of(2001)));
+    }
+
+    @Test
+    public void testSummariesSkipCast() {
+        Movie movie = new Movie();
+        movie.setId(2002);
+        movie.setTitle("Summary");
+        movie.setReleaseYear(2001);
+        movieJPA.upsert(movie);
+        actorJPA.upsert(new Actor(3002, "actor"));
+        movieJPA.addToCast(2002, 3002);
+        entityManager.clear();
+
+        List<MovieSummary> summaries = movieJPA.findAllSummaries();
+        Page<MovieSummary> page = movieJPA.findSummaries(PageRequest.of(0, 10));
+
+        assertTrue(summaries.contains(MovieSummary.of(movie)));
+        assertEquals(summaries.size(), page.getTotalElements());
+    }
 }
-*/
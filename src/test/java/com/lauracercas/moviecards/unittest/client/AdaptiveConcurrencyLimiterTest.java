@@ -0,0 +1,77 @@
+package com.lauracercas.moviecards.unittest.client;
+
+import com.lauracercas.moviecards.client.exception.ServiceOverloadedException;
+import com.lauracercas.moviecards.client.resilience.AdaptiveConcurrencyLimiter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Autor: Hernan Andres Henao
+ * Proyecto: TFM Integración Continua con GitHub Actions
+ * Fecha: 18/10/2026
+ */
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final String URL = "http://moviecards-service/api/movies";
+
+    @Test
+    public void shouldRejectCallsOverTheLimit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(true, 1, 1, 10, 0.9, 2.0, 0);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        limiter.bindTo(registry);
+        CompletableFuture<String> pending = new CompletableFuture<>();
+        limiter.executeAsync(URL, () -> pending);
+
+        assertThrows(ServiceOverloadedException.class, () -> limiter.execute(URL, () -> "rejected"));
+        assertTrue(limiter.executeAsync(URL, () -> CompletableFuture.completedFuture("rejected"))
+                .isCompletedExceptionally());
+        assertEquals(2, registry.get("moviecards.client.limiter.rejected").functionCounter().count());
+
+        pending.complete("done");
+        assertEquals("accepted", limiter.execute(URL, () -> "accepted"));
+    }
+
+    @Test
+    public void shouldRaiseLimitWhileFullyUsedWithSteadyLatency() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(true, 4, 1, 100, 0.9, 1000, 0);
+        Deque<CompletableFuture<String>> inFlight = new ArrayDeque<>();
+
+        for (int round = 0; round < 40; round++) {
+            while (limiter.getInFlight() < limiter.getLimit()) {
+                CompletableFuture<String> call = new CompletableFuture<>();
+                limiter.executeAsync(URL, () -> call);
+                inFlight.add(call);
+            }
+            inFlight.poll().complete("ok");
+        }
+
+        assertTrue(limiter.getLimit() > 4);
+    }
+
+    @Test
+    public void shouldCutLimitOnServerErrorsButNotOnClientErrors() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(true, 20, 2, 100, 0.5, 2.0, 0);
+
+        assertThrows(HttpClientErrorException.class, () -> limiter.execute(URL, () -> {
+            throw new HttpClientErrorException(HttpStatus.NOT_FOUND);
+        }));
+        assertEquals(20, limiter.getLimit());
+
+        assertThrows(HttpServerErrorException.class, () -> limiter.execute(URL, () -> {
+            throw new HttpServerErrorException(HttpStatus.SERVICE_UNAVAILABLE);
+        }));
+        assertEquals(10, limiter.getLimit());
+        assertEquals(0, limiter.getInFlight());
+    }
+}
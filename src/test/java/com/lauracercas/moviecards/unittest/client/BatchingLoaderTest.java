@@ -0,0 +1,182 @@
+package com.lauracercas.moviecards.unittest.client;
+
+import com.lauracercas.moviecards.client.concurrent.BatchLoaders;
+import com.lauracercas.moviecards.client.concurrent.BatchingLoader;
+import com.lauracercas.moviecards.client.exception.MovieCardsServiceException;
+import com.lauracercas.moviecards.timing.RequestTimings;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Autor: Hernan Andres Henao
+ * Proyecto: TFM Integración Continua con GitHub Actions
+ * Fecha: 18/10/2026
+ */
+class BatchingLoaderTest {
+
+    /**
+     * Clave cuya consulta individual no termina hasta release: deja una consulta en curso.
+     */
+    private static final int BLOCKED = 0;
+
+    private final List<Set<Integer>> batches = new CopyOnWriteArrayList<>();
+    private final List<Integer> singles = new CopyOnWriteArrayList<>();
+    private final List<RequestTimings> timings = new CopyOnWriteArrayList<>();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private BatchLoaders loaders;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        loaders.destroy();
+    }
+
+    @Test
+    public void shouldLoadAtOnceWhenNothingElseIsPending() throws Exception {
+        BatchingLoader<Integer, String> sut = newLoader(60000, 10, ids -> Map.of());
+
+        assertEquals("single-1", sut.load(1).get(1, TimeUnit.SECONDS));
+        assertEquals("single-2", sut.load(2).get(1, TimeUnit.SECONDS));
+        assertTrue(batches.isEmpty());
+    }
+
+    @Test
+    public void shouldCollapseRequestsWithinWindowIntoOneBatch() {
+        BatchingLoader<Integer, String> sut = newLoader(50, 10, ids -> ids.stream()
+                .collect(Collectors.toMap(Function.identity(), id -> "movie-" + id)));
+
+        CompletableFuture<String> busy = sut.load(BLOCKED);
+        CompletableFuture<String> first = sut.load(1);
+        CompletableFuture<String> second = sut.load(2);
+        CompletableFuture<String> repeated = sut.load(1);
+
+        assertEquals("movie-1", first.join());
+        assertEquals("movie-2", second.join());
+        assertSame(first, repeated);
+        assertEquals(List.of(Set.of(1, 2)), batches);
+        assertTrue(singles.isEmpty());
+        release.countDown();
+        assertEquals("single-0", busy.join());
+    }
+
+    @Test
+    public void shouldFlushAsSoonAsBatchIsFull() {
+        BatchingLoader<Integer, String> sut = newLoader(60000, 2, ids -> ids.stream()
+                .collect(Collectors.toMap(Function.identity(), id -> "movie-" + id)));
+
+        sut.load(BLOCKED);
+        CompletableFuture<String> first = sut.load(1);
+        CompletableFuture<String> second = sut.load(2);
+
+        assertEquals("movie-1", first.join());
+        assertEquals("movie-2", second.join());
+        assertEquals(1, batches.size());
+        release.countDown();
+    }
+
+    @Test
+    public void shouldLoadWithTimingsOfTheRequestThatAsked() {
+        BatchingLoader<Integer, String> sut = newLoader(50, 10, ids -> ids.stream()
+                .collect(Collectors.toMap(Function.identity(), id -> "movie-" + id)));
+        RequestTimings request = new RequestTimings("GET /editActor/1");
+        RequestTimings previous = RequestTimings.attach(request);
+        try {
+            CompletableFuture<String> busy = sut.load(BLOCKED);
+            CompletableFuture<String> first = sut.load(1);
+            CompletableFuture<String> second = sut.load(2);
+
+            assertEquals("movie-1", first.join());
+            assertEquals("movie-2", second.join());
+            release.countDown();
+            assertEquals("single-0", busy.join());
+        } finally {
+            RequestTimings.restore(previous);
+        }
+
+        assertEquals(List.of(request, request), timings);
+    }
+
+    @Test
+    public void shouldResolveMissingKeysIndividuallyAndIsolateErrors() {
+        BatchingLoader<Integer, String> sut = newLoader(0, 10, ids -> Map.of(1, "movie-1"));
+
+        List<String> found = sut.getAll(List.of(1, 2));
+
+        assertEquals(List.of("movie-1", "single-2"), found);
+        assertEquals(List.of(2), singles);
+
+        CompletionException thrown = assertThrows(CompletionException.class, () -> sut.load(404).join());
+        assertTrue(thrown.getCause() instanceof MovieCardsServiceException);
+    }
+
+    @Test
+    public void shouldOmitAbsentKeysOnlyWhenLoadingSeveral() {
+        loaders = new BatchLoaders(0, 10, Executors.newFixedThreadPool(4));
+        BatchingLoader<Integer, String> sut = loaders.newLoader(ids -> Map.of(1, "movie-1"), id -> {
+            throw new MovieCardsServiceException("Not found", "/movies/" + id, 404, "");
+        }, e -> e instanceof MovieCardsServiceException
+                && Integer.valueOf(404).equals(((MovieCardsServiceException) e).getStatusCode()));
+
+        assertEquals(List.of("movie-1"), sut.getAll(List.of(2, 1)));
+        assertThrows(MovieCardsServiceException.class, () -> sut.get(2));
+    }
+
+    @Test
+    public void shouldFailEveryCallerWhenBatchCallFails() {
+        MovieCardsServiceException failure = new MovieCardsServiceException("Service error", "/movies");
+        BatchingLoader<Integer, String> sut = newLoader(0, 10, ids -> {
+            throw failure;
+        });
+
+        MovieCardsServiceException thrown = assertThrows(MovieCardsServiceException.class,
+                () -> sut.getAll(List.of(1, 2, 3)));
+
+        assertSame(failure, thrown);
+    }
+
+    private BatchingLoader<Integer, String> newLoader(long window, int maxSize,
+                                                      Function<Set<Integer>, Map<Integer, String>> batch) {
+        loaders = new BatchLoaders(window, maxSize, Executors.newFixedThreadPool(4));
+        return loaders.newLoader(ids -> {
+            timings.add(RequestTimings.current());
+            batches.add(ids);
+            return batch.apply(ids);
+        }, id -> {
+            if (id == BLOCKED) {
+                timings.add(RequestTimings.current());
+                awaitRelease();
+                return "single-" + id;
+            }
+            if (id == 404) {
+                throw new MovieCardsServiceException("Not found", "/movies/404", 404, "");
+            }
+            singles.add(id);
+            return "single-" + id;
+        });
+    }
+
+    private void awaitRelease() {
+        try {
+            release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
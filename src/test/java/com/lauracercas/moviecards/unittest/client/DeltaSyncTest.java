@@ -0,0 +1,122 @@
+package com.lauracercas.moviecards.unittest.client;
+
+import com.lauracercas.moviecards.client.exception.MovieCardsServiceException;
+import com.lauracercas.moviecards.client.sync.CatalogChecksum;
+import com.lauracercas.moviecards.client.sync.CatalogDelta;
+import com.lauracercas.moviecards.client.sync.DeltaSync;
+import com.lauracercas.moviecards.client.sync.DeltaTarget;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Autor: Hernan Andres Henao
+ * Proyecto: TFM Integración Continua con GitHub Actions
+ * Fecha: 18/10/2026
+ */
+class DeltaSyncTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final Map<Long, Object> responses = new HashMap<>();
+    private final MapTarget target = new MapTarget();
+    private final DeltaSync<Integer> sut = new DeltaSync<>("numbers", this::changesSince, () -> List.of(1, 2, 3));
+
+    DeltaSyncTest() {
+        sut.bindTo(registry);
+    }
+
+    @Test
+    public void shouldApplyOnlyChangesAfterFullLoad() {
+        responses.put(0L, new CatalogDelta<>(10, List.of(1, 2, 3), List.of(), CatalogChecksum.of(Set.of(1, 2, 3))));
+        responses.put(10L, new CatalogDelta<>(12, List.of(4), List.of(1), CatalogChecksum.of(Set.of(2, 3, 4))));
+
+        assertEquals(DeltaSync.Mode.FULL, sut.sync(target));
+        assertEquals(DeltaSync.Mode.DELTA, sut.sync(target));
+
+        assertEquals(Set.of(2, 3, 4), target.values.keySet());
+        assertEquals(12, sut.getVersion());
+        assertEquals(1 + 1, count("moviecards.client.sync.runs"));
+        assertEquals(3 + 2, count("moviecards.client.sync.entities"));
+    }
+
+    @Test
+    public void shouldReloadEverythingWhenChecksumDoesNotMatch() {
+        responses.put(0L, new CatalogDelta<>(10, List.of(1, 2), List.of(), null));
+        // Falta el borrado del 2: la suma del servicio no coincide con la copia local
+        responses.put(10L, new CatalogDelta<>(11, List.of(3), List.of(), CatalogChecksum.of(Set.of(1, 3))));
+
+        sut.sync(target);
+        responses.put(0L, new CatalogDelta<>(11, List.of(1, 3), List.of(), CatalogChecksum.of(Set.of(1, 3))));
+
+        assertEquals(DeltaSync.Mode.FULL, sut.sync(target));
+        assertEquals(Set.of(1, 3), target.values.keySet());
+        assertEquals(11, sut.getVersion());
+        assertEquals(1, count("moviecards.client.sync.gaps"));
+    }
+
+    @Test
+    public void shouldReloadEverythingWhenServiceNoLongerHasChanges() {
+        responses.put(0L, new CatalogDelta<>(10, List.of(1), List.of(), null));
+        responses.put(10L, new MovieCardsServiceException("Gone", "url", 410, null));
+
+        sut.sync(target);
+
+        assertEquals(DeltaSync.Mode.FULL, sut.sync(target));
+        assertEquals(1, count("moviecards.client.sync.gaps"));
+    }
+
+    @Test
+    public void shouldLoadFullCatalogWhenServiceHasNoChangesEndpoint() {
+        assertEquals(DeltaSync.Mode.FULL, sut.sync(target));
+        assertEquals(DeltaSync.Mode.FULL, sut.sync(target));
+
+        assertEquals(Set.of(1, 2, 3), target.values.keySet());
+        assertEquals(0, sut.getVersion());
+    }
+
+    @SuppressWarnings("unchecked")
+    private Optional<CatalogDelta<Integer>> changesSince(long since) {
+        Object response = responses.get(since);
+        if (response instanceof RuntimeException) {
+            throw (RuntimeException) response;
+        }
+        return Optional.ofNullable((CatalogDelta<Integer>) response);
+    }
+
+    private long count(String metric) {
+        return (long) registry.get(metric).functionCounters().stream().mapToDouble(counter -> counter.count()).sum();
+    }
+
+    /**
+     * Copia local de prueba: cada número es su propio id.
+     */
+    private static final class MapTarget implements DeltaTarget<Integer> {
+
+        private final Map<Integer, Integer> values = new HashMap<>();
+
+        @Override
+        public void apply(List<Integer> changed, Collection<Integer> deleted) {
+            deleted.forEach(values::remove);
+            changed.forEach(value -> values.put(value, value));
+        }
+
+        @Override
+        public void replaceAll(List<Integer> all) {
+            values.clear();
+            apply(all, List.of());
+        }
+
+        @Override
+        public Collection<Integer> ids() {
+            return values.keySet();
+        }
+    }
+}
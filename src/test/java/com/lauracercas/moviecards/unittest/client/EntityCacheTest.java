@@ -0,0 +1,83 @@
+package com.lauracercas.moviecards.unittest.client;
+
+import com.lauracercas.moviecards.client.cache.EntityCache;
+import com.lauracercas.moviecards.client.fallback.OfflineData;
+import com.lauracercas.moviecards.model.Actor;
+import com.lauracercas.moviecards.model.Movie;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Autor: Hernan Andres Henao
+ * Proyecto: TFM Integración Continua con GitHub Actions
+ * Fecha: 18/10/2026
+ */
+class EntityCacheTest {
+
+    private final EntityCache cache = new EntityCache(100, 60000);
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private Movie loadMovie(Integer id) {
+        loads.incrementAndGet();
+        Movie movie = new Movie();
+        movie.setId(id);
+        return movie;
+    }
+
+    private Actor loadActor(Integer id) {
+        loads.incrementAndGet();
+        return new Actor(id, "Sample name");
+    }
+
+    @Test
+    public void shouldLoadOnceAndCountHitsAndMisses() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        cache.bindTo(registry);
+
+        cache.getMovie(1, this::loadMovie);
+        cache.getMovie(1, this::loadMovie);
+        cache.getMovie(1, this::loadMovie);
+
+        assertEquals(1, loads.get());
+        assertEquals(2.0, registry.get("cache.gets").tags("cache", "movies", "result", "hit").functionCounter().count());
+        assertEquals(1.0, registry.get("cache.gets").tags("cache", "movies", "result", "miss").functionCounter().count());
+    }
+
+    @Test
+    public void shouldEvictActorsOfAMovieWhenMovieChanges() {
+        cache.getActor(3, this::loadActor);
+        Movie movie = new Movie();
+        movie.setId(1);
+        movie.setActors(List.of(new Actor(3, "Sample name")));
+
+        cache.putMovie(movie);
+        cache.getActor(3, this::loadActor);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void shouldNotCacheOfflinePlaceholders() {
+        assertEquals("Test Movie", cache.getMovie(1, OfflineData::movie).getTitle());
+        cache.putLoadedActor(OfflineData.actor(2));
+
+        assertEquals(1, cache.getMovie(1, this::loadMovie).getId());
+        assertNull(cache.getActorIfPresent(2));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    public void shouldReloadAfterEviction() {
+        cache.getMovie(1, this::loadMovie);
+        cache.evictMovie(1);
+        cache.getMovie(1, this::loadMovie);
+
+        assertEquals(2, loads.get());
+    }
+}
@@ -0,0 +1,68 @@
+package com.lauracercas.moviecards.unittest.client;
+
+import com.lauracercas.moviecards.client.patch.FieldFingerprint;
+import com.lauracercas.moviecards.model.Actor;
+import com.lauracercas.moviecards.model.Movie;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Autor: Hernan Andres Henao
+ * Proyecto: TFM Integración Continua con GitHub Actions
+ * Fecha: 18/10/2026
+ */
+class FieldFingerprintTest {
+
+    @Test
+    public void shouldReportOnlyChangedFields() {
+        Movie movie = new Movie();
+        movie.setTitle("Title");
+        movie.setDuration(100);
+        String fingerprint = FieldFingerprint.MOVIE.of(movie, "\"v1\"");
+
+        movie.setDuration(120);
+        Map<String, Object> changes = FieldFingerprint.MOVIE.changedFields(movie, fingerprint);
+
+        assertEquals(Map.of("duration", 120), changes);
+        assertEquals("\"v1\"", FieldFingerprint.MOVIE.etag(fingerprint));
+    }
+
+    @Test
+    public void shouldReportChangeBetweenValuesWithSameCrc32() {
+        Movie movie = new Movie();
+        movie.setTitle("plumless");
+        String fingerprint = FieldFingerprint.MOVIE.of(movie, null);
+
+        movie.setTitle("buckeroo");
+
+        assertEquals(Map.of("title", "buckeroo"), FieldFingerprint.MOVIE.changedFields(movie, fingerprint));
+    }
+
+    @Test
+    public void shouldTreatEmptyTextAndSameDayAsUnchanged() {
+        Actor actor = new Actor();
+        actor.setName("Name");
+        actor.setBirthDate(new Date(0));
+        String fingerprint = FieldFingerprint.ACTOR.of(actor, null);
+
+        actor.setCountry("");
+        actor.setBirthDate(new Date(1000));
+
+        assertTrue(FieldFingerprint.ACTOR.changedFields(actor, fingerprint).isEmpty());
+        assertNull(FieldFingerprint.ACTOR.etag(fingerprint));
+    }
+
+    @Test
+    public void shouldRejectMissingOrMalformedFingerprint() {
+        Movie movie = new Movie();
+
+        assertNull(FieldFingerprint.MOVIE.changedFields(movie, null));
+        assertNull(FieldFingerprint.MOVIE.changedFields(movie, ".1-2"));
+    }
+}
@@ -0,0 +1,81 @@
+package com.lauracercas.moviecards.unittest.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lauracercas.moviecards.client.stream.JsonCatalogReader;
+import com.lauracercas.moviecards.model.Movie;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Autor: Hernan Andres Henao
+ * Proyecto: TFM Integración Continua con GitHub Actions
+ * Fecha: 18/10/2026
+ */
+class JsonCatalogReaderTest {
+
+    private static final String MOVIES = "[{\"id\":1,\"title\":\"Casablanca\"},"
+            + "{\"id\":2,\"title\":\"Alien\"},"
+            + "{\"id\":3,\"title\":\"Dune\"},"
+            + "{\"id\":4,\"title\":\"Brazil\"}]";
+
+    private final JsonCatalogReader reader = new JsonCatalogReader(new ObjectMapper());
+
+    @Test
+    public void shouldStreamEveryElementOfArray() throws IOException {
+        List<Movie> movies = new ArrayList<>();
+
+        long count = reader.readArray(json(MOVIES), Movie.class, movies::add);
+
+        assertEquals(4, count);
+        assertEquals("Casablanca", movies.get(0).getTitle());
+    }
+
+    @Test
+    public void shouldSliceArrayWhenServiceIgnoresPaging() throws IOException {
+        Page<Movie> page = reader.readPage(json(MOVIES), Movie.class, PageRequest.of(1, 3));
+
+        assertEquals(4, page.getTotalElements());
+        assertEquals(2, page.getTotalPages());
+        assertEquals(List.of(4), ids(page));
+    }
+
+    @Test
+    public void shouldSortArrayBeforeSlicing() throws IOException {
+        Page<Movie> page = reader.readPage(json(MOVIES), Movie.class,
+                PageRequest.of(0, 2, Sort.by("title")));
+
+        assertEquals(List.of(2, 4), ids(page));
+        assertEquals(4, page.getTotalElements());
+    }
+
+    @Test
+    public void shouldReadSpringDataPageObject() throws IOException {
+        String body = "{\"content\":[{\"id\":3,\"title\":\"Dune\"}],\"pageable\":{\"pageNumber\":2},"
+                + "\"totalElements\":7,\"last\":false}";
+
+        Page<Movie> page = reader.readPage(json(body), Movie.class, PageRequest.of(2, 1));
+
+        assertEquals(List.of(3), ids(page));
+        assertEquals(7, page.getTotalElements());
+    }
+
+    private static List<Integer> ids(Page<Movie> page) {
+        return page.getContent().stream().map(Movie::getId).collect(Collectors.toList());
+    }
+
+    private static InputStream json(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,723 @@
+package com.lauracercas.moviecards.unittest.client;
+
+import com.lauracercas.moviecards.client.MovieCardsServiceClient;
+import com.lauracercas.moviecards.client.cache.ConditionalResponseStore;
+import com.lauracercas.moviecards.client.cache.EntityCache;
+import com.lauracercas.moviecards.client.concurrent.BatchLoaders;
+import com.lauracercas.moviecards.client.concurrent.RequestHedger;
+import com.lauracercas.moviecards.client.concurrent.SingleFlight;
+import com.lauracercas.moviecards.client.exception.MovieCardsServiceException;
+import com.lauracercas.moviecards.client.exception.ServiceUnavailableException;
+import com.lauracercas.moviecards.client.fallback.FailFastFallback;
+import com.lauracercas.moviecards.client.fallback.OfflineDataFallback;
+import com.lauracercas.moviecards.client.http.CallTimingInterceptor;
+import com.lauracercas.moviecards.client.http.ClientCallMetrics;
+import com.lauracercas.moviecards.client.http.WireFormat;
+import com.lauracercas.moviecards.client.http.WireFormatInterceptor;
+import com.lauracercas.moviecards.client.resilience.AdaptiveConcurrencyLimiter;
+import com.lauracercas.moviecards.client.resilience.RetryPolicy;
+import com.lauracercas.moviecards.client.resilience.ServiceCallGuard;
+import com.lauracercas.moviecards.client.sync.CatalogDelta;
+import com.lauracercas.moviecards.config.MovieCardsServiceConfig;
+import com.lauracercas.moviecards.model.Actor;
+import com.lauracercas.moviecards.model.CatalogGraph;
+import com.lauracercas.moviecards.model.Movie;
+import com.lauracercas.moviecards.model.MovieSummary;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.client.ExpectedCount.once;
+import static org.springframework.test.web.client.ExpectedCount.times;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.content;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.headerDoesNotExist;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withServerError;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+/**
+ * Autor: Hernan Andres Henao
+ * Proyecto: TFM Integración Continua con GitHub Actions
+ * Fecha: 18/10/2026
+ */
+class MovieCardsServiceClientTest {
+
+    private static final String SERVICE_URL = "http://moviecards-service/api";
+
+    private final BatchLoaders batchLoaders = new BatchLoaders(0, 50, Executors.newFixedThreadPool(4));
+    private final RequestHedger hedger = new RequestHedger(false, 95, 10, 20, 0.1, Executors.newCachedThreadPool());
+    private RestTemplate restTemplate;
+    private MovieCardsServiceConfig config;
+    private MockRestServiceServer server;
+    private EntityCache entityCache;
+    private final PrometheusMeterRegistry registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+    private final ClientCallMetrics callMetrics = new ClientCallMetrics(true);
+    private final AdaptiveConcurrencyLimiter limiter = newLimiter();
+    private MovieCardsServiceClient sut;
+
+    @BeforeEach
+    void setUp() {
+        restTemplate = new RestTemplate();
+        restTemplate.getInterceptors().add(new CallTimingInterceptor());
+        server = MockRestServiceServer.bindTo(restTemplate).build();
+        callMetrics.bindTo(registry);
+        config = new MovieCardsServiceConfig();
+        ReflectionTestUtils.setField(config, "serviceUrl", SERVICE_URL);
+        entityCache = new EntityCache(100, 60000);
+        sut = new MovieCardsServiceClient(restTemplate, config, entityCache,
+                new SingleFlight(), new ConditionalResponseStore(10), newCallGuard(), limiter, hedger, newRetryPolicy(), callMetrics, new FailFastFallback(),
+                batchLoaders);
+    }
+
+    @AfterEach
+    void tearDown() {
+        batchLoaders.destroy();
+        hedger.destroy();
+    }
+
+    @Test
+    public void shouldReuseMovieListWhenServiceAnswersNotModified() {
+        server.expect(once(), requestTo(SERVICE_URL + "/movies"))
+                .andExpect(headerDoesNotExist(HttpHeaders.IF_NONE_MATCH))
+                .andRespond(withSuccess("[{\"id\":1,\"title\":\"Sample Movie\"}]", MediaType.APPLICATION_JSON)
+                        .headers(etag("\"v1\"")));
+        server.expect(once(), requestTo(SERVICE_URL + "/movies"))
+                .andExpect(header(HttpHeaders.IF_NONE_MATCH, "\"v1\""))
+                .andRespond(withStatus(HttpStatus.NOT_MODIFIED));
+
+        List<Movie> first = sut.getAllMovies();
+        List<Movie> second = sut.getAllMovies();
+
+        assertEquals(1, second.size());
+        assertSame(first, second);
+        server.verify();
+    }
+
+    @Test
+    public void shouldServeRepeatedMovieLookupsFromCache() {
+        server.expect(once(), requestTo(SERVICE_URL + "/movies/1"))
+                .andRespond(withSuccess("{\"id\":1,\"title\":\"Sample Movie\"}", MediaType.APPLICATION_JSON));
+
+        Movie first = sut.getMovieById(1);
+        Movie second = sut.getMovieById(1);
+
+        assertEquals("Sample Movie", first.getTitle());
+        assertEquals(first, second);
+        server.verify();
+    }
+
+    @Test
+    public void shouldLoadSeveralMoviesWithOneBatchCall() {
+        server.expect(once(), requestTo(SERVICE_URL + "/movies?ids=2,1"))
+                .andRespond(withSuccess("[{\"id\":1,\"title\":\"First\"},{\"id\":2,\"title\":\"Second\"}]",
+                        MediaType.APPLICATION_JSON));
+
+        List<Movie> movies = sut.getMoviesByIds(List.of(2, 1, 2));
+
+        assertEquals(List.of("Second", "First"), List.of(movies.get(0).getTitle(), movies.get(1).getTitle()));
+        assertEquals("First", sut.getMovieById(1).getTitle());
+        server.verify();
+    }
+
+    @Test
+    public void shouldOmitIdsThatDoNotExist() {
+        server.expect(once(), requestTo(SERVICE_URL + "/movies?ids=1,99"))
+                .andRespond(withSuccess("[{\"id\":1,\"title\":\"First\"}]", MediaType.APPLICATION_JSON));
+        server.expect(once(), requestTo(SERVICE_URL + "/movies/99"))
+                .andRespond(withStatus(HttpStatus.NOT_FOUND));
+
+        List<Movie> movies = sut.getMoviesByIds(List.of(1, 99));
+
+        assertEquals(1, movies.size());
+        assertEquals("First", movies.get(0).getTitle());
+        server.verify();
+    }
+
+    @Test
+    public void shouldFallBackToSingleGetsWithoutBatchEndpoint() {
+        server = MockRestServiceServer.bindTo(restTemplate).ignoreExpectOrder(true).build();
+        server.expect(once(), requestTo(SERVICE_URL + "/actors?ids=1,2"))
+                .andRespond(withStatus(HttpStatus.NOT_FOUND));
+        server.expect(once(), requestTo(SERVICE_URL + "/actors/1"))
+                .andRespond(withSuccess("{\"id\":1,\"name\":\"First\"}", MediaType.APPLICATION_JSON));
+        server.expect(once(), requestTo(SERVICE_URL + "/actors/2"))
+                .andRespond(withSuccess("{\"id\":2,\"name\":\"Second\"}", MediaType.APPLICATION_JSON));
+        server.expect(once(), requestTo(SERVICE_URL + "/actors/3"))
+                .andRespond(withSuccess("{\"id\":3,\"name\":\"Third\"}", MediaType.APPLICATION_JSON));
+        server.expect(once(), requestTo(SERVICE_URL + "/actors/4"))
+                .andRespond(withSuccess("{\"id\":4,\"name\":\"Fourth\"}", MediaType.APPLICATION_JSON));
+
+        assertEquals(2, sut.getActorsByIds(List.of(1, 2)).size());
+        // El endpoint por lotes ya no se vuelve a intentar
+        assertEquals(2, sut.getActorsByIds(List.of(3, 4)).size());
+        server.verify();
+    }
+
+    @Test
+    public void shouldUsePutResponseBodyWithoutReadingMovieAgain() {
+        server.expect(once(), requestTo(SERVICE_URL + "/movies/1"))
+                .andRespond(withSuccess("{\"id\":1,\"title\":\"Old title\"}", MediaType.APPLICATION_JSON));
+        server.expect(once(), requestTo(SERVICE_URL + "/movies/1"))
+                .andExpect(method(HttpMethod.PUT))
+                .andRespond(withSuccess("{\"id\":1,\"title\":\"New title\"}", MediaType.APPLICATION_JSON));
+
+        sut.getMovieById(1);
+        Movie movie = new Movie();
+        movie.setTitle("New title");
+        Movie updated = sut.updateMovie(1, movie);
+
+        assertEquals("New title", updated.getTitle());
+        assertEquals("New title", sut.getMovieById(1).getTitle());
+        server.verify();
+    }
+
+    @Test
+    public void shouldMergeAndRefreshInBackgroundWhenPutHasNoBody() {
+        server.expect(once(), requestTo(SERVICE_URL + "/movies/1"))
+                .andRespond(withSuccess("{\"id\":1,\"title\":\"Old title\",\"actors\":[{\"id\":5}]}",
+                        MediaType.APPLICATION_JSON));
+        server.expect(once(), requestTo(SERVICE_URL + "/movies/1"))
+                .andExpect(method(HttpMethod.PUT))
+                .andRespond(withStatus(HttpStatus.NO_CONTENT));
+        server.expect(once(), requestTo(SERVICE_URL + "/movies/1"))
+                .andExpect(method(HttpMethod.GET))
+                .andRespond(withSuccess("{\"id\":1,\"title\":\"New title\"}", MediaType.APPLICATION_JSON));
+
+        sut.getMovieById(1);
+        Movie movie = new Movie();
+        movie.setTitle("New title");
+        Movie updated = sut.updateMovie(1, movie);
+
+        assertEquals("New title", updated.getTitle());
+        assertEquals(1, updated.getActors().size());
+        server.verify(Duration.ofSeconds(2));
+    }
+
+    @Test
+    public void shouldReadMovieAfterUpdateWhenConfigured() {
+        ReflectionTestUtils.setField(config, "readAfterWrite", true);
+        server.expect(once(), requestTo(SERVICE_URL + "/movies/1"))
+                .andExpect(method(HttpMethod.PUT))
+                .andRespond(withSuccess("{\"id\":1,\"title\":\"Ignored\"}", MediaType.APPLICATION_JSON));
+        server.expect(once(), requestTo(SERVICE_URL + "/movies/1"))
+                .andRespond(withSuccess("{\"id\":1,\"title\":\"New title\"}", MediaType.APPLICATION_JSON));
+
+        Movie movie = new Movie();
+        movie.setTitle("New title");
+
+        assertEquals("New title", sut.updateMovie(1, movie).getTitle());
+        server.verify();
+    }
+
+    @Test
+    public void shouldPatchOnlyChangedFieldsWithIfMatch() {
+        server.expect(once(), requestTo(SERVICE_URL + "/movies/1"))
+                .andRespond(withSuccess("{\"id\":1,\"title\":\"Title\",\"duration\":100,\"sinopsis\":\"Long text\"}",
+                        MediaType.APPLICATION_JSON).headers(etag("\"v1\"")));
+        server.expect(once(), requestTo(SERVICE_URL + "/movies/1"))
+                .andExpect(method(HttpMethod.PATCH))
+                .andExpect(header(HttpHeaders.IF_MATCH, "\"v1\""))
+                .andExpect(content().contentType("application/merge-patch+json"))
+                .andExpect(content().json("{\"duration\":120}", true))
+                .andRespond(withSuccess("{\"id\":1,\"title\":\"Title\",\"duration\":120}", MediaType.APPLICATION_JSON));
+
+        Movie movie = editedCopy(sut.getMovieById(1));
+        movie.setDuration(120);
+        Movie updated = sut.updateMovie(1, movie);
+
+        assertEquals(120, updated.getDuration());
+        server.verify();
+    }
+
+    @Test
+    public void shouldNotCallServiceForIdenticalResubmission() {
+        server.expect(once(), requestTo(SERVICE_URL + "/movies/1"))
+                .andRespond(withSuccess("{\"id\":1,\"title\":\"Title\",\"duration\":100}", MediaType.APPLICATION_JSON));
+
+        Movie loaded = sut.getMovieById(1);
+        Movie updated = sut.updateMovie(1, editedCopy(loaded));
+
+        assertEquals(100, updated.getDuration());
+        server.verify();
+    }
+
+    @Test
+    public void shouldFallBackToPutWhenServiceRejectsPatch() {
+        server.expect(once(), requestTo(SERVICE_URL + "/movies/1"))
+                .andRespond(withSuccess("{\"id\":1,\"title\":\"Title\"}", MediaType.APPLICATION_JSON));
+        server.expect(once(), requestTo(SERVICE_URL + "/movies/1"))
+                .andExpect(method(HttpMethod.PATCH))
+                .andRespond(withStatus(HttpStatus.METHOD_NOT_ALLOWED));
+        server.expect(times(2), requestTo(SERVICE_URL + "/movies/1"))
+                .andExpect(method(HttpMethod.PUT))
+                .andRespond(withSuccess("{\"id\":1,\"title\":\"New title\"}", MediaType.APPLICATION_JSON));
+
+        Movie loaded = sut.getMovieById(1);
+        Movie first = editedCopy(loaded);
+        first.setTitle("New title");
+        Movie second = editedCopy(loaded);
+        second.setTitle("New title");
+
+        assertEquals("New title", sut.updateMovie(1, first).getTitle());
+        assertEquals("New title", sut.updateMovie(1, second).getTitle());
+        server.verify();
+    }
+
+    @Test
+    public void shouldReportMissingEntityInsteadOfFallingBackToPut() {
+        server.expect(once(), requestTo(SERVICE_URL + "/movies/1"))
+                .andRespond(withSuccess("{\"id\":1,\"title\":\"Title\"}", MediaType.APPLICATION_JSON));
+        server.expect(times(2), requestTo(SERVICE_URL + "/movies/1"))
+                .andExpect(method(HttpMethod.PATCH))
+                .andRespond(withStatus(HttpStatus.NOT_FOUND));
+
+        Movie loaded = sut.getMovieById(1);
+        Movie first = editedCopy(loaded);
+        first.setTitle("New title");
+        Movie second = editedCopy(loaded);
+        second.setTitle("New title");
+
+        MovieCardsServiceException e = assertThrows(MovieCardsServiceException.class, () -> sut.updateMovie(1, first));
+        assertEquals(404, e.getStatusCode());
+        // La ruta sigue admitiendo PATCH: el siguiente guardado no pasa a PUT
+        assertThrows(MovieCardsServiceException.class, () -> sut.updateMovie(1, second));
+        server.verify();
+    }
+
+    @Test
+    public void shouldDecodeSmileCatalogWhenServiceOffersIt() throws Exception {
+        restTemplate.getInterceptors().add(new WireFormatInterceptor(WireFormat.SMILE));
+        Movie movie = new Movie();
+        movie.setId(1);
+        movie.setTitle("Sample Movie");
+        byte[] smile = new ObjectMapper(new SmileFactory()).writeValueAsBytes(List.of(movie));
+        server.expect(times(2), requestTo(SERVICE_URL + "/movies"))
+                .andExpect(header(HttpHeaders.ACCEPT, "application/x-jackson-smile, application/json;q=0.9"))
+                .andRespond(withSuccess(smile, WireFormat.SMILE.getMediaType()));
+
+        List<Movie> movies = sut.getAllMovies();
+        List<Movie> streamed = new ArrayList<>();
+        sut.streamAllMovies(streamed::add);
+
+        assertEquals("Sample Movie", movies.get(0).getTitle());
+        assertEquals("Sample Movie", streamed.get(0).getTitle());
+        server.verify();
+    }
+
+    @Test
+    public void shouldReleaseLimiterBeforeHandingStreamedRowsToConsumer() {
+        server.expect(once(), requestTo(SERVICE_URL + "/movies"))
+                .andRespond(withSuccess("[{\"id\":1,\"title\":\"First\"},{\"id\":2,\"title\":\"Second\"}]",
+                        MediaType.APPLICATION_JSON));
+        List<Integer> inFlight = new ArrayList<>();
+
+        // Un consumidor lento (el navegador) no ocupa el hueco de la llamada al servicio
+        sut.streamAllMovies(movie -> inFlight.add(limiter.getInFlight()));
+
+        assertEquals(List.of(0, 0), inFlight);
+        server.verify();
+    }
+
+    @Test
+    public void shouldReportStreamErrorsFromTheService() {
+        server.expect(once(), requestTo(SERVICE_URL + "/actors")).andRespond(withServerError());
+
+        MovieCardsServiceException e = assertThrows(MovieCardsServiceException.class,
+                () -> sut.streamAllActors(actor -> { }));
+
+        assertEquals(500, e.getStatusCode());
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    public void shouldReadCatalogGraphWithSharedInstances() {
+        ReflectionTestUtils.setField(config, "graphView", true);
+        server.expect(once(), requestTo(SERVICE_URL + "/movies?view=graph"))
+                .andRespond(withSuccess("{\"movies\":[{\"id\":1,\"title\":\"First\",\"actors\":[7]},"
+                        + "{\"id\":2,\"title\":\"Second\",\"actors\":[7]}],"
+                        + "\"actors\":[{\"id\":7,\"name\":\"Sample Actor\",\"movies\":[1,2]}]}",
+                        MediaType.APPLICATION_JSON));
+
+        CatalogGraph catalog = sut.getCatalog();
+
+        Actor actor = catalog.getActors().get(0);
+        assertSame(actor, catalog.getMovies().get(0).getActors().get(0));
+        assertSame(actor, catalog.getMovies().get(1).getActors().get(0));
+        assertSame(catalog.getMovies().get(1), actor.getMovies().get(1));
+        server.verify();
+    }
+
+    @Test
+    public void shouldRebuildCatalogGraphFromNestedMovies() {
+        server.expect(once(), requestTo(SERVICE_URL + "/movies"))
+                .andRespond(withSuccess("[{\"id\":1,\"actors\":[{\"id\":7,\"name\":\"Sample Actor\"}]},"
+                        + "{\"id\":2,\"actors\":[{\"id\":7,\"name\":\"Sample Actor\"},{\"id\":8}]}]",
+                        MediaType.APPLICATION_JSON));
+
+        CatalogGraph catalog = sut.getCatalog();
+
+        assertEquals(2, catalog.getMovies().size());
+        assertEquals(2, catalog.getActors().size());
+        assertSame(catalog.getMovies().get(0).getActors().get(0), catalog.getMovies().get(1).getActors().get(0));
+        server.verify();
+    }
+
+    @Test
+    public void shouldKeepCatalogGraphApartFromMovieListWithoutGraphView() {
+        server.expect(once(), requestTo(SERVICE_URL + "/movies"))
+                .andRespond(withSuccess("[{\"id\":1,\"actors\":[{\"id\":7}]}]", MediaType.APPLICATION_JSON)
+                        .headers(etag("\"v1\"")));
+        server.expect(once(), requestTo(SERVICE_URL + "/movies"))
+                .andExpect(headerDoesNotExist(HttpHeaders.IF_NONE_MATCH))
+                .andRespond(withSuccess("[{\"id\":1,\"actors\":[{\"id\":7}]}]", MediaType.APPLICATION_JSON)
+                        .headers(etag("\"v1\"")));
+        server.expect(once(), requestTo(SERVICE_URL + "/movies"))
+                .andExpect(header(HttpHeaders.IF_NONE_MATCH, "\"v1\""))
+                .andRespond(withStatus(HttpStatus.NOT_MODIFIED));
+
+        List<Movie> movies = sut.getAllMovies();
+        CatalogGraph catalog = sut.getCatalog();
+
+        assertEquals(1, movies.size());
+        assertEquals(1, catalog.getActors().size());
+        assertSame(catalog, sut.getCatalog());
+        server.verify();
+    }
+
+    @Test
+    public void shouldRequestSummaryViewAndSkipNestedCast() {
+        ReflectionTestUtils.setField(config, "summaryView", true);
+        server.expect(once(), requestTo(SERVICE_URL + "/movies?view=summary"))
+                .andRespond(withSuccess("[{\"id\":1,\"title\":\"Sample Movie\",\"actors\":[{\"id\":7,"
+                        + "\"name\":\"Sample Actor\",\"movies\":[{\"id\":1}]}],\"extra\":{\"a\":[1,2]}}]",
+                        MediaType.APPLICATION_JSON));
+
+        List<MovieSummary> movies = sut.getMovieSummaries();
+
+        assertEquals(1, movies.size());
+        assertEquals("Sample Movie", movies.get(0).getTitle());
+        assertEquals(1, movies.get(0).getId());
+        server.verify();
+    }
+
+    @Test
+    public void shouldKeepSummariesApartFromFullListWithoutSummaryView() {
+        server.expect(once(), requestTo(SERVICE_URL + "/movies"))
+                .andRespond(withSuccess("[{\"id\":1,\"title\":\"Sample Movie\"}]", MediaType.APPLICATION_JSON)
+                        .headers(etag("\"v1\"")));
+        server.expect(once(), requestTo(SERVICE_URL + "/movies"))
+                .andExpect(headerDoesNotExist(HttpHeaders.IF_NONE_MATCH))
+                .andRespond(withSuccess("[{\"id\":1,\"title\":\"Sample Movie\"}]", MediaType.APPLICATION_JSON)
+                        .headers(etag("\"v1\"")));
+        server.expect(once(), requestTo(SERVICE_URL + "/movies"))
+                .andExpect(header(HttpHeaders.IF_NONE_MATCH, "\"v1\""))
+                .andRespond(withStatus(HttpStatus.NOT_MODIFIED));
+
+        List<Movie> movies = sut.getAllMovies();
+        List<MovieSummary> summaries = sut.getMovieSummaries();
+        List<MovieSummary> cachedSummaries = sut.getMovieSummaries();
+
+        assertEquals("Sample Movie", movies.get(0).getTitle());
+        assertEquals("Sample Movie", summaries.get(0).getTitle());
+        assertSame(summaries, cachedSummaries);
+        server.verify();
+    }
+
+    @Test
+    public void shouldOnlyAskForBinaryFormatOnListReads() {
+        restTemplate.getInterceptors().add(new WireFormatInterceptor(WireFormat.SMILE));
+        server.expect(once(), requestTo(SERVICE_URL + "/actors?view=summary"))
+                .andExpect(header(HttpHeaders.ACCEPT, "application/x-jackson-smile, application/json;q=0.9"))
+                .andRespond(withSuccess("[{\"id\":7,\"name\":\"Sample Actor\"}]", MediaType.APPLICATION_JSON));
+        server.expect(once(), requestTo(SERVICE_URL + "/movies/1"))
+                .andExpect(request -> assertNotEquals(WireFormat.SMILE.getAccept(), request.getHeaders().getAccept()))
+                .andRespond(withSuccess("{\"id\":1,\"title\":\"Sample Movie\"}", MediaType.APPLICATION_JSON));
+        ReflectionTestUtils.setField(config, "summaryView", true);
+
+        assertEquals("Sample Actor", sut.getActorSummaries().get(0).getName());
+        assertEquals("Sample Movie", sut.getMovieById(1).getTitle());
+        server.verify();
+    }
+
+    @Test
+    public void shouldReadJsonWhenServiceIgnoresBinaryFormat() {
+        restTemplate.getInterceptors().add(new WireFormatInterceptor(WireFormat.CBOR));
+        server.expect(once(), requestTo(SERVICE_URL + "/movies"))
+                .andExpect(header(HttpHeaders.ACCEPT, "application/cbor, application/json;q=0.9"))
+                .andRespond(withSuccess("[{\"id\":1,\"title\":\"Sample Movie\"}]", MediaType.APPLICATION_JSON));
+
+        assertEquals("Sample Movie", sut.getAllMovies().get(0).getTitle());
+        server.verify();
+    }
+
+    @Test
+    public void shouldCacheSavedActorAndEvictBothEntitiesOnRegistration() {
+        server.expect(once(), requestTo(SERVICE_URL + "/actors"))
+                .andExpect(method(HttpMethod.POST))
+                .andRespond(withSuccess("{\"id\":7,\"name\":\"New Actor\"}", MediaType.APPLICATION_JSON));
+        server.expect(once(), requestTo(SERVICE_URL + "/movies/2/actors/7"))
+                .andExpect(method(HttpMethod.POST))
+                .andRespond(withSuccess());
+        server.expect(once(), requestTo(SERVICE_URL + "/actors/7"))
+                .andRespond(withSuccess("{\"id\":7,\"name\":\"New Actor\"}", MediaType.APPLICATION_JSON));
+
+        Actor actor = new Actor();
+        actor.setName("New Actor");
+        sut.saveActor(actor);
+        assertEquals("New Actor", sut.getActorById(7).getName());
+
+        sut.registerActorInMovie(2, 7);
+        sut.getActorById(7);
+
+        server.verify();
+    }
+
+    @Test
+    public void shouldGiveHedgedAttemptItsOwnLimiterPermit() {
+        RequestHedger hedging = new RequestHedger(true, 50, 10, 1, 1.0, Executors.newCachedThreadPool());
+        AtomicInteger requests = new AtomicInteger();
+        List<Integer> inFlight = new CopyOnWriteArrayList<>();
+        restTemplate.setRequestFactory((uri, method) -> new MockClientHttpRequest(method, uri) {
+            @Override
+            protected ClientHttpResponse executeInternal() throws IOException {
+                inFlight.add(limiter.getInFlight());
+                if (requests.incrementAndGet() == 2) {
+                    // Primer intento de la segunda lectura: lento hasta que el hedging lo cancela
+                    try {
+                        Thread.sleep(5000);
+                    } catch (InterruptedException e) {
+                        throw new InterruptedIOException("cancelado");
+                    }
+                }
+                MockClientHttpResponse response = new MockClientHttpResponse("[]".getBytes(), HttpStatus.OK);
+                response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+                return response;
+            }
+        });
+        MovieCardsServiceClient hedged = new MovieCardsServiceClient(restTemplate, config, entityCache,
+                new SingleFlight(), new ConditionalResponseStore(10), newCallGuard(), limiter, hedging, newRetryPolicy(),
+                callMetrics, new FailFastFallback(), batchLoaders);
+        try {
+            hedged.getAllMovies();
+            hedged.getAllMovies();
+        } finally {
+            hedging.destroy();
+        }
+
+        assertEquals(List.of(1, 1, 2), inFlight);
+    }
+
+    @Test
+    public void shouldTranslateServerErrorWithStatusCode() {
+        server.expect(once(), requestTo(SERVICE_URL + "/actors/1")).andRespond(withServerError());
+
+        MovieCardsServiceException e = assertThrows(MovieCardsServiceException.class, () -> sut.getActorById(1));
+
+        assertEquals(500, e.getStatusCode());
+        assertEquals(SERVICE_URL + "/actors/1", e.getServiceUrl());
+    }
+
+    @Test
+    public void shouldRetryReadAfterTransientUnavailability() {
+        server.expect(once(), requestTo(SERVICE_URL + "/actors/1"))
+                .andRespond(withStatus(HttpStatus.SERVICE_UNAVAILABLE));
+        server.expect(once(), requestTo(SERVICE_URL + "/actors/1"))
+                .andRespond(withSuccess("{\"id\":1,\"name\":\"Sample Actor\"}", MediaType.APPLICATION_JSON));
+
+        assertEquals("Sample Actor", sut.getActorById(1).getName());
+        server.verify();
+    }
+
+    @Test
+    public void shouldRetryPostWithSameIdempotencyKey() {
+        List<String> keys = new ArrayList<>();
+        server.expect(once(), requestTo(SERVICE_URL + "/movies"))
+                .andExpect(method(HttpMethod.POST))
+                .andExpect(request -> keys.add(request.getHeaders().getFirst("Idempotency-Key")))
+                .andRespond(withStatus(HttpStatus.BAD_GATEWAY));
+        server.expect(once(), requestTo(SERVICE_URL + "/movies"))
+                .andExpect(method(HttpMethod.POST))
+                .andExpect(request -> keys.add(request.getHeaders().getFirst("Idempotency-Key")))
+                .andRespond(withSuccess("{\"id\":9,\"title\":\"New Movie\"}", MediaType.APPLICATION_JSON));
+
+        Movie movie = new Movie();
+        movie.setTitle("New Movie");
+
+        assertEquals(9, sut.saveMovie(movie).getId());
+        server.verify();
+        assertTrue(keys.get(0) != null && keys.get(0).equals(keys.get(1)));
+    }
+
+    @Test
+    public void shouldSendAndRetryRegistrationWithGivenIdempotencyKey() {
+        server.expect(times(2), requestTo(SERVICE_URL + "/movies/2/actors/7"))
+                .andExpect(method(HttpMethod.POST))
+                .andExpect(header("Idempotency-Key", "ficha-1"))
+                .andRespond(withStatus(HttpStatus.BAD_GATEWAY));
+        server.expect(once(), requestTo(SERVICE_URL + "/movies/2/actors/7"))
+                .andExpect(header("Idempotency-Key", "ficha-1"))
+                .andRespond(withSuccess());
+
+        assertEquals("Éxito", sut.registerActorInMovie(2, 7, "ficha-1"));
+        server.verify();
+    }
+
+    @Test
+    public void shouldReadCatalogChangesSinceVersion() {
+        server.expect(once(), requestTo(SERVICE_URL + "/movies/changes?since=7"))
+                .andRespond(withSuccess("{\"version\":9,\"changed\":[{\"id\":1,\"title\":\"Changed\"}],"
+                        + "\"deleted\":[2],\"checksum\":\"ab\"}", MediaType.APPLICATION_JSON));
+
+        CatalogDelta<Movie> delta = sut.getMovieChanges(7).orElseThrow();
+
+        assertEquals(9, delta.getVersion());
+        assertEquals("Changed", delta.getChanged().get(0).getTitle());
+        assertEquals(List.of(2), delta.getDeleted());
+        assertEquals("ab", delta.getChecksum());
+    }
+
+    @Test
+    public void shouldRememberMissingChangesEndpoint() {
+        server.expect(once(), requestTo(SERVICE_URL + "/actors/changes?since=0"))
+                .andRespond(withStatus(HttpStatus.BAD_REQUEST));
+
+        assertTrue(sut.getActorChanges(0).isEmpty());
+        assertTrue(sut.getActorChanges(3).isEmpty());
+        server.verify();
+    }
+
+    @Test
+    public void shouldFailFastOnceCircuitIsOpen() {
+        server.expect(times(4), requestTo(SERVICE_URL + "/movies")).andRespond(withServerError());
+
+        for (int i = 0; i < 4; i++) {
+            assertThrows(MovieCardsServiceException.class, () -> sut.getAllMovies());
+        }
+        MovieCardsServiceException e = assertThrows(MovieCardsServiceException.class, () -> sut.getAllMovies());
+
+        assertTrue(e instanceof ServiceUnavailableException);
+        server.verify();
+    }
+
+    @Test
+    public void shouldUseOfflineDataWithOfflineFallback() {
+        RestTemplate restTemplate = new RestTemplate();
+        MockRestServiceServer offlineServer = MockRestServiceServer.bindTo(restTemplate).build();
+        MovieCardsServiceConfig config = new MovieCardsServiceConfig();
+        ReflectionTestUtils.setField(config, "serviceUrl", SERVICE_URL);
+        MovieCardsServiceClient offlineClient = new MovieCardsServiceClient(restTemplate, config,
+                new EntityCache(100, 60000), new SingleFlight(), new ConditionalResponseStore(10),
+                newCallGuard(), newLimiter(), hedger, newRetryPolicy(), callMetrics, new OfflineDataFallback(),
+                batchLoaders);
+        offlineServer.expect(once(), requestTo(SERVICE_URL + "/actors")).andRespond(withServerError());
+
+        assertTrue(offlineClient.getAllActors().isEmpty());
+    }
+
+    @Test
+    public void shouldNotUseOfflineDataToSyncLocalCopies() {
+        RestTemplate restTemplate = new RestTemplate();
+        MockRestServiceServer offlineServer = MockRestServiceServer.bindTo(restTemplate).build();
+        MovieCardsServiceConfig config = new MovieCardsServiceConfig();
+        ReflectionTestUtils.setField(config, "serviceUrl", SERVICE_URL);
+        MovieCardsServiceClient offlineClient = new MovieCardsServiceClient(restTemplate, config,
+                new EntityCache(100, 60000), new SingleFlight(), new ConditionalResponseStore(10),
+                newCallGuard(), newLimiter(), hedger, newRetryPolicy(), callMetrics, new OfflineDataFallback(),
+                batchLoaders);
+        offlineServer.expect(once(), requestTo(SERVICE_URL + "/actors/changes?since=0")).andRespond(withServerError());
+        offlineServer.expect(once(), requestTo(SERVICE_URL + "/actors")).andRespond(withServerError());
+        offlineServer.expect(once(), requestTo(SERVICE_URL + "/movies")).andRespond(withServerError());
+
+        assertThrows(MovieCardsServiceException.class, () -> offlineClient.getActorChanges(0));
+        assertThrows(MovieCardsServiceException.class, offlineClient::getAllActorsForSync);
+        assertThrows(MovieCardsServiceException.class, offlineClient::getCatalogForSync);
+        offlineServer.verify();
+    }
+
+    @Test
+    public void shouldRecordLatencyAndPayloadPerOperation() {
+        String body = "{\"id\":1,\"title\":\"Movie 1\"}";
+        server.expect(once(), requestTo(SERVICE_URL + "/movies/1"))
+                .andRespond(withSuccess(body, MediaType.APPLICATION_JSON));
+        server.expect(once(), requestTo(SERVICE_URL + "/actors"))
+                .andRespond(withStatus(HttpStatus.NOT_FOUND));
+
+        sut.getMovieById(1);
+        assertThrows(MovieCardsServiceException.class, () -> sut.getAllActors());
+
+        Timer success = registry.get("moviecards.client.operation")
+                .tags("operation", "getMovieById", "outcome", "SUCCESS", "status", "200").timer();
+        assertEquals(1, success.count());
+        assertTrue(registry.scrape().contains("moviecards_client_operation_seconds_bucket{operation=\"getMovieById\""));
+        assertEquals(1, registry.get("moviecards.client.operation")
+                .tags("operation", "getAllActors", "outcome", "CLIENT_ERROR", "status", "404").timer().count());
+        assertEquals(1, registry.get("moviecards.client.network").tag("operation", "getMovieById").timer().count());
+        assertEquals(1, registry.get("moviecards.client.deserialization").tag("operation", "getMovieById").timer()
+                .count());
+        assertEquals(body.length(), registry.get("moviecards.client.payload").tag("operation", "getMovieById")
+                .summary().totalAmount());
+    }
+
+    /**
+     * Simula el envío del formulario: los campos editables y la huella, sin reparto.
+     */
+    private static Movie editedCopy(Movie loaded) {
+        Movie movie = new Movie();
+        movie.setId(loaded.getId());
+        movie.setTitle(loaded.getTitle());
+        movie.setDuration(loaded.getDuration());
+        movie.setSinopsis(loaded.getSinopsis());
+        movie.setFingerprint(loaded.getFingerprint());
+        return movie;
+    }
+
+    private static AdaptiveConcurrencyLimiter newLimiter() {
+        return new AdaptiveConcurrencyLimiter(true, 20, 2, 200, 0.9, 2.0, 50);
+    }
+
+    private static RetryPolicy newRetryPolicy() {
+        return new RetryPolicy(true, 3, 0, 0, 0.1, true);
+    }
+
+    private static ServiceCallGuard newCallGuard() {
+        return new ServiceCallGuard(50, 100, 5000, 30, 4, 60000, 1, 10, 0);
+    }
+
+    private static HttpHeaders etag(String value) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag(value);
+        return headers;
+    }
+}
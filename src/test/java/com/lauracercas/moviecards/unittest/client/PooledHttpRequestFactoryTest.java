@@ -0,0 +1,106 @@
+package com.lauracercas.moviecards.unittest.client;
+
+import com.lauracercas.moviecards.client.http.EndpointTimeouts;
+import com.lauracercas.moviecards.client.http.PooledHttpRequestFactory;
+import com.lauracercas.moviecards.client.http.ServiceEndpoint;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Autor: Hernan Andres Henao
+ * Proyecto: TFM Integración Continua con GitHub Actions
+ * Fecha: 18/10/2026
+ */
+class PooledHttpRequestFactoryTest {
+
+    private HttpServer server;
+    private PoolingHttpClientConnectionManager connectionManager;
+    private CloseableHttpClient httpClient;
+    private RestTemplate restTemplate;
+    private String baseUrl;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/api/movies", exchange -> {
+            byte[] body = (exchange.getRequestMethod() + " " + exchange.getRequestURI().getPath())
+                    .getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.createContext("/api/slow/1", exchange -> {
+            try {
+                Thread.sleep(500);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        server.start();
+        baseUrl = "http://localhost:" + server.getAddress().getPort() + "/api";
+
+        connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnPerRoute(2)
+                .setMaxConnTotal(2)
+                .build();
+        httpClient = HttpClients.custom().setConnectionManager(connectionManager).build();
+
+        Map<ServiceEndpoint, EndpointTimeouts> timeouts = new EnumMap<>(ServiceEndpoint.class);
+        timeouts.put(ServiceEndpoint.LIST, new EndpointTimeouts(1000, 2000, 1000));
+        timeouts.put(ServiceEndpoint.GET_BY_ID, new EndpointTimeouts(1000, 100, 1000));
+        timeouts.put(ServiceEndpoint.WRITE, new EndpointTimeouts(1000, 2000, 1000));
+        restTemplate = new RestTemplate(new PooledHttpRequestFactory(httpClient, timeouts));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        httpClient.close();
+        server.stop(0);
+    }
+
+    @Test
+    public void shouldClassifyEndpointsByMethodAndPath() {
+        assertEquals(ServiceEndpoint.LIST, ServiceEndpoint.classify(HttpMethod.GET, URI.create("http://h/api/movies")));
+        assertEquals(ServiceEndpoint.LIST, ServiceEndpoint.classify(HttpMethod.GET, URI.create("http://h/api/actors?page=1")));
+        assertEquals(ServiceEndpoint.GET_BY_ID, ServiceEndpoint.classify(HttpMethod.GET, URI.create("http://h/api/movies/12")));
+        assertEquals(ServiceEndpoint.WRITE, ServiceEndpoint.classify(HttpMethod.PUT, URI.create("http://h/api/movies/12")));
+        assertEquals(ServiceEndpoint.WRITE, ServiceEndpoint.classify(HttpMethod.POST, URI.create("http://h/api/movies/1/actors/2")));
+    }
+
+    @Test
+    public void shouldReuseConnectionsAndReturnThemToThePool() {
+        for (int i = 0; i < 5; i++) {
+            assertEquals("GET /api/movies", restTemplate.getForObject(baseUrl + "/movies", String.class));
+        }
+        assertEquals("POST /api/movies", restTemplate.postForObject(baseUrl + "/movies", "{}", String.class));
+
+        assertEquals(0, connectionManager.getTotalStats().getLeased());
+        assertEquals(1, connectionManager.getTotalStats().getAvailable());
+    }
+
+    @Test
+    public void shouldApplyReadTimeoutOfTheEndpoint() {
+        String url = baseUrl + "/slow/1";
+        assertThrows(ResourceAccessException.class, () -> restTemplate.getForObject(url, String.class));
+    }
+}
@@ -0,0 +1,100 @@
+package com.lauracercas.moviecards.unittest.client;
+
+import com.lauracercas.moviecards.client.concurrent.RequestHedger;
+import com.lauracercas.moviecards.client.http.ServiceEndpoint;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Autor: Hernan Andres Henao
+ * Proyecto: TFM Integración Continua con GitHub Actions
+ * Fecha: 18/10/2026
+ */
+class RequestHedgerTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final CountDownLatch primaryCancelled = new CountDownLatch(1);
+    private RequestHedger hedger;
+
+    @AfterEach
+    void tearDown() {
+        hedger.destroy();
+    }
+
+    @Test
+    public void shouldReturnHedgeAndCancelSlowPrimary() throws Exception {
+        hedger = newHedger(1.0);
+        hedger.execute(ServiceEndpoint.GET_BY_ID, () -> "warm-up");
+
+        long start = System.nanoTime();
+        String result = hedger.execute(ServiceEndpoint.GET_BY_ID, slowThenFast(5000));
+
+        assertEquals("fast", result);
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 2000);
+        assertTrue(primaryCancelled.await(2, TimeUnit.SECONDS));
+        assertEquals(1, count("fired"));
+        assertEquals(1, count("won"));
+    }
+
+    @Test
+    public void shouldNotHedgeWithoutBudget() {
+        hedger = newHedger(0);
+        hedger.execute(ServiceEndpoint.LIST, () -> "warm-up");
+
+        String result = hedger.execute(ServiceEndpoint.LIST, slowThenFast(100));
+
+        assertEquals("slow", result);
+        assertEquals(0, count("fired"));
+        assertEquals(1, count("budget-exhausted"));
+    }
+
+    @Test
+    public void shouldRunWritesOnCallerThread() {
+        hedger = newHedger(1.0);
+        Thread caller = Thread.currentThread();
+
+        Thread executed = hedger.execute(ServiceEndpoint.WRITE, Thread::currentThread);
+
+        assertEquals(caller, executed);
+    }
+
+    private RequestHedger newHedger(double budgetRatio) {
+        RequestHedger requestHedger = new RequestHedger(true, 95, 20, 1, budgetRatio, Executors.newCachedThreadPool());
+        requestHedger.bindTo(registry);
+        return requestHedger;
+    }
+
+    /**
+     * El primer intento tarda slowMillis (y anota si se le interrumpe); los siguientes responden al momento.
+     */
+    private Supplier<String> slowThenFast(long slowMillis) {
+        AtomicInteger attempts = new AtomicInteger();
+        return () -> {
+            if (attempts.getAndIncrement() > 0) {
+                return "fast";
+            }
+            try {
+                Thread.sleep(slowMillis);
+                return "slow";
+            } catch (InterruptedException e) {
+                primaryCancelled.countDown();
+                throw new IllegalStateException(e);
+            }
+        };
+    }
+
+    private long count(String result) {
+        return (long) registry.get("moviecards.client.hedge.calls").tag("result", result).functionCounters().stream()
+                .mapToDouble(counter -> counter.count()).sum();
+    }
+}
@@ -0,0 +1,104 @@
+package com.lauracercas.moviecards.unittest.client;
+
+import com.lauracercas.moviecards.client.exception.ServiceUnavailableException;
+import com.lauracercas.moviecards.client.resilience.RetryPolicy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Autor: Hernan Andres Henao
+ * Proyecto: TFM Integración Continua con GitHub Actions
+ * Fecha: 18/10/2026
+ */
+class RetryPolicyTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final AtomicInteger attempts = new AtomicInteger();
+
+    @Test
+    public void shouldRetryTransientErrorsUntilSuccess() {
+        RetryPolicy policy = newPolicy(0.1);
+
+        String result = policy.execute(true, failingTimes(2, new ResourceAccessException("Connection reset")));
+
+        assertEquals("ok", result);
+        assertEquals(3, attempts.get());
+        assertEquals(2, count("retried"));
+        assertEquals(1, count("recovered"));
+    }
+
+    @Test
+    public void shouldGiveUpAfterMaxAttempts() {
+        RetryPolicy policy = newPolicy(0.1);
+
+        assertThrows(HttpServerErrorException.class,
+                () -> policy.execute(true, failingTimes(5, new HttpServerErrorException(HttpStatus.SERVICE_UNAVAILABLE))));
+
+        assertEquals(3, attempts.get());
+    }
+
+    @Test
+    public void shouldNotRetryClientErrorsLocalRejectionsOrNonRetryableCalls() {
+        RetryPolicy policy = newPolicy(0.1);
+
+        assertThrows(HttpClientErrorException.class,
+                () -> policy.execute(true, failingTimes(1, new HttpClientErrorException(HttpStatus.CONFLICT))));
+        assertThrows(HttpServerErrorException.class,
+                () -> policy.execute(true, failingTimes(1, new HttpServerErrorException(HttpStatus.INTERNAL_SERVER_ERROR))));
+        assertThrows(ServiceUnavailableException.class,
+                () -> policy.execute(true, failingTimes(1, new ServiceUnavailableException("abierto", "url", null))));
+        assertThrows(HttpServerErrorException.class,
+                () -> policy.execute(false, failingTimes(1, new HttpServerErrorException(HttpStatus.BAD_GATEWAY))));
+
+        assertEquals(4, attempts.get());
+        assertEquals(0, count("retried"));
+    }
+
+    @Test
+    public void shouldStopRetryingWhenBudgetIsExhausted() {
+        RetryPolicy policy = newPolicy(0);
+
+        // La reserva inicial (10 fichas) se agota y sin recarga ya no hay más reintentos
+        for (int i = 0; i < 10; i++) {
+            attempts.set(0);
+            assertEquals("ok", policy.execute(true, failingTimes(1, new HttpServerErrorException(HttpStatus.GATEWAY_TIMEOUT))));
+        }
+        attempts.set(0);
+        assertThrows(HttpServerErrorException.class,
+                () -> policy.execute(true, failingTimes(1, new HttpServerErrorException(HttpStatus.GATEWAY_TIMEOUT))));
+
+        assertEquals(1, attempts.get());
+        assertEquals(1, count("budget-exhausted"));
+    }
+
+    private RetryPolicy newPolicy(double budgetRatio) {
+        RetryPolicy policy = new RetryPolicy(true, 3, 0, 0, budgetRatio, true);
+        policy.bindTo(registry);
+        return policy;
+    }
+
+    private Supplier<String> failingTimes(int failures, RuntimeException error) {
+        AtomicInteger local = new AtomicInteger();
+        return () -> {
+            attempts.incrementAndGet();
+            if (local.getAndIncrement() < failures) {
+                throw error;
+            }
+            return "ok";
+        };
+    }
+
+    private long count(String result) {
+        return (long) registry.get("moviecards.client.retry.calls").tag("result", result).functionCounter().count();
+    }
+}
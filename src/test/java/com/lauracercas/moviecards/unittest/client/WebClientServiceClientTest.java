@@ -0,0 +1,179 @@
+package com.lauracercas.moviecards.unittest.client;
+
+import com.lauracercas.moviecards.client.async.WebClientServiceClient;
+import com.lauracercas.moviecards.client.cache.EntityCache;
+import com.lauracercas.moviecards.client.exception.MovieCardsServiceException;
+import com.lauracercas.moviecards.client.fallback.FailFastFallback;
+import com.lauracercas.moviecards.client.fallback.OfflineDataFallback;
+import com.lauracercas.moviecards.client.fallback.ServiceFallback;
+import com.lauracercas.moviecards.client.http.CallTimingFilter;
+import com.lauracercas.moviecards.client.http.ClientCallMetrics;
+import com.lauracercas.moviecards.client.http.EndpointTimeouts;
+import com.lauracercas.moviecards.client.http.ServiceEndpoint;
+import com.lauracercas.moviecards.client.resilience.AdaptiveConcurrencyLimiter;
+import com.lauracercas.moviecards.client.resilience.RetryPolicy;
+import com.lauracercas.moviecards.client.resilience.ServiceCallGuard;
+import com.lauracercas.moviecards.model.ActorSummary;
+import com.lauracercas.moviecards.model.Movie;
+import com.lauracercas.moviecards.timing.RequestTimings;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Autor: Hernan Andres Henao
+ * Proyecto: TFM Integración Continua con GitHub Actions
+ * Fecha: 18/10/2026
+ */
+class WebClientServiceClientTest {
+
+    private static final String SERVICE_URL = "http://moviecards-service/api";
+
+    private final AtomicInteger requests = new AtomicInteger();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    public void shouldReadMovieListWithoutBlocking() {
+        WebClientServiceClient sut = newClient(HttpStatus.OK,
+                "[{\"id\":1,\"title\":\"Sample Movie\"},{\"id\":2,\"title\":\"Other Movie\"}]", new FailFastFallback());
+
+        List<Movie> movies = sut.getAllMovies().join();
+
+        assertEquals(2, movies.size());
+        assertEquals("Sample Movie", movies.get(0).getTitle());
+    }
+
+    @Test
+    public void shouldReadActorSummariesIgnoringTheirMovies() {
+        WebClientServiceClient sut = newClient(HttpStatus.OK,
+                "[{\"id\":7,\"name\":\"Sample Actor\",\"movies\":[{\"id\":1,\"actors\":[]}]}]",
+                new FailFastFallback());
+
+        List<ActorSummary> actors = sut.getActorSummaries().join();
+
+        assertEquals(1, actors.size());
+        assertEquals("Sample Actor", actors.get(0).getName());
+    }
+
+    @Test
+    public void shouldAddHttpAndDecodeSpansToTheRequestTimings() {
+        WebClientServiceClient sut = newClient(HttpStatus.OK,
+                "{\"id\":3,\"title\":\"Sample Movie\"}", new FailFastFallback());
+        RequestTimings request = new RequestTimings("GET /editMovie/3");
+        RequestTimings previous = RequestTimings.attach(request);
+        try {
+            assertEquals("Sample Movie", sut.getMovieById(3).join().getTitle());
+        } finally {
+            RequestTimings.restore(previous);
+        }
+
+        String serverTiming = request.toServerTiming();
+        assertTrue(serverTiming.contains("http;desc=\"getMovieById\""), serverTiming);
+        assertTrue(serverTiming.contains("decode;desc=\"getMovieById\""), serverTiming);
+    }
+
+    @Test
+    public void shouldServeMovieByIdFromEntityCache() {
+        WebClientServiceClient sut = newClient(HttpStatus.OK,
+                "{\"id\":3,\"title\":\"Sample Movie\"}", new FailFastFallback());
+
+        Movie first = sut.getMovieById(3).join();
+        Movie second = sut.getMovieById(3).join();
+
+        assertEquals("Sample Movie", second.getTitle());
+        assertEquals(first, second);
+        assertEquals(1, requests.get());
+    }
+
+    @Test
+    public void shouldTranslateServerErrorIntoServiceException() {
+        WebClientServiceClient sut = newClient(HttpStatus.INTERNAL_SERVER_ERROR, "boom", new FailFastFallback());
+
+        CompletionException thrown = assertThrows(CompletionException.class, () -> sut.getMovieById(3).join());
+
+        assertTrue(thrown.getCause() instanceof MovieCardsServiceException);
+        MovieCardsServiceException cause = (MovieCardsServiceException) thrown.getCause();
+        assertEquals(500, cause.getStatusCode());
+        assertEquals(SERVICE_URL + "/movies/3", cause.getServiceUrl());
+    }
+
+    @Test
+    public void shouldRetryTransientErrorsAndRecordTheOperation() {
+        WebClientServiceClient sut = newClient(request -> request == 1 ? HttpStatus.SERVICE_UNAVAILABLE : HttpStatus.OK,
+                "[{\"id\":1,\"title\":\"Sample Movie\"}]", new FailFastFallback());
+
+        assertEquals(1, sut.getAllMovies().join().size());
+
+        assertEquals(2, requests.get());
+        assertEquals(1, registry.get("moviecards.client.operation")
+                .tags("operation", "getAllMovies", "outcome", "SUCCESS", "status", "200").timer().count());
+        assertEquals(1, registry.get("moviecards.client.retry.calls").tag("result", "recovered")
+                .functionCounter().count());
+    }
+
+    @Test
+    public void shouldRecordFailedOperationWithoutRetryingClientErrors() {
+        WebClientServiceClient sut = newClient(HttpStatus.NOT_FOUND, "", new FailFastFallback());
+
+        assertThrows(CompletionException.class, () -> sut.getActorById(3).join());
+
+        assertEquals(1, requests.get());
+        assertEquals(1, registry.get("moviecards.client.operation")
+                .tags("operation", "getActorById", "outcome", "CLIENT_ERROR", "status", "404").timer().count());
+    }
+
+    @Test
+    public void shouldUseOfflineDataWhenConfigured() {
+        WebClientServiceClient sut = newClient(HttpStatus.SERVICE_UNAVAILABLE, "", new OfflineDataFallback());
+
+        assertEquals("Test Movie", sut.getMovieById(3).join().getTitle());
+        assertTrue(sut.getAllActors().join().isEmpty());
+    }
+
+    private WebClientServiceClient newClient(HttpStatus status, String body, ServiceFallback fallback) {
+        return newClient(request -> status, body, fallback);
+    }
+
+    /**
+     * @param statuses código de cada petición según su número (empezando en 1)
+     */
+    private WebClientServiceClient newClient(IntFunction<HttpStatus> statuses, String body, ServiceFallback fallback) {
+        WebClient webClient = WebClient.builder()
+                .filter(new CallTimingFilter())
+                .exchangeFunction(request -> {
+                    HttpStatus status = statuses.apply(requests.incrementAndGet());
+                    return Mono.just(ClientResponse.create(status)
+                            .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                            .body(body)
+                            .build());
+                })
+                .build();
+        Map<ServiceEndpoint, EndpointTimeouts> timeouts = new EnumMap<>(ServiceEndpoint.class);
+        for (ServiceEndpoint endpoint : ServiceEndpoint.values()) {
+            timeouts.put(endpoint, new EndpointTimeouts(1000, 1000, 1000));
+        }
+        RetryPolicy retryPolicy = new RetryPolicy(true, 3, 0, 0, 0.1, true);
+        retryPolicy.bindTo(registry);
+        ClientCallMetrics callMetrics = new ClientCallMetrics(false);
+        callMetrics.bindTo(registry);
+        return new WebClientServiceClient(webClient, SERVICE_URL, timeouts, true,
+                new EntityCache(100, 60000), new ServiceCallGuard(50, 100, 5000, 30, 4, 60000, 1, 10, 0),
+                new AdaptiveConcurrencyLimiter(true, 20, 2, 200, 0.9, 2.0, 50), retryPolicy, callMetrics, fallback);
+    }
+}
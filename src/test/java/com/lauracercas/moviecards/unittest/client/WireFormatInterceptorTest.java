@@ -0,0 +1,56 @@
+package com.lauracercas.moviecards.unittest.client;
+
+import com.lauracercas.moviecards.client.http.WireFormat;
+import com.lauracercas.moviecards.client.http.WireFormatInterceptor;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Autor: Hernan Andres Henao
+ * Proyecto: TFM Integración Continua con GitHub Actions
+ * Fecha: 18/10/2026
+ */
+class WireFormatInterceptorTest {
+
+    private static final String SERVICE_URL = "http://moviecards-service/api";
+
+    private final ExchangeFilterFunction sut = WireFormatInterceptor.forWebClient(WireFormat.CBOR);
+
+    @Test
+    public void shouldAskWebClientListReadsForBinaryFormat() {
+        assertEquals(WireFormat.CBOR.getAccept(), acceptSent(HttpMethod.GET, "/movies?view=summary"));
+        assertEquals(WireFormat.CBOR.getAccept(), acceptSent(HttpMethod.GET, "/actors"));
+    }
+
+    @Test
+    public void shouldKeepAcceptOfOtherWebClientRequests() {
+        assertEquals(List.of(MediaType.APPLICATION_JSON), acceptSent(HttpMethod.GET, "/movies/3"));
+        assertEquals(List.of(MediaType.APPLICATION_JSON), acceptSent(HttpMethod.GET, "/actors/7"));
+        assertEquals(List.of(MediaType.APPLICATION_JSON), acceptSent(HttpMethod.POST, "/movies"));
+    }
+
+    private List<MediaType> acceptSent(HttpMethod method, String path) {
+        ClientRequest request = ClientRequest.create(method, URI.create(SERVICE_URL + path))
+                .header(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE)
+                .build();
+        AtomicReference<ClientRequest> sent = new AtomicReference<>();
+        sut.filter(request, filtered -> {
+            sent.set(filtered);
+            return Mono.just(ClientResponse.create(HttpStatus.OK).build());
+        }).block();
+        return sent.get().headers().getAccept();
+    }
+}
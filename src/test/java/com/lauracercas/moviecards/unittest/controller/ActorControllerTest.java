@@ -1,21 +1,30 @@
 package com.lauracercas.moviecards.unittest.controller;
 
+import com.lauracercas.moviecards.client.exception.MovieCardsServiceException;
 import com.lauracercas.moviecards.controller.ActorController;
 import com.lauracercas.moviecards.model.Actor;
+import com.lauracercas.moviecards.model.ActorSummary;
 import com.lauracercas.moviecards.model.Movie;
+import com.lauracercas.moviecards.service.RowStreams;
 import com.lauracercas.moviecards.service.actor.ActorService;
 import com.lauracercas.moviecards.util.Messages;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
+import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 import static org.mockito.MockitoAnnotations.openMocks;
 
@@ -31,6 +40,9 @@ class ActorControllerTest {
     @Mock
     private ActorService actorServiceMock;
 
+    @Mock
+    private RowStreams rowStreams;
+
     private AutoCloseable closeable;
     @Mock
     private Model model;
@@ -38,7 +50,7 @@ class ActorControllerTest {
     @BeforeEach
     void setUp() {
         closeable = openMocks(this);
-        controller = new ActorController(actorServiceMock);
+        controller = new ActorController(actorServiceMock, rowStreams);
     }
 
     @AfterEach
@@ -49,13 +61,41 @@ class ActorControllerTest {
 
     @Test
     public void shouldGoListActorAndGetAllActors() {
-        List<Actor> actors = new ArrayList<>();
+        List<ActorSummary> actors = new ArrayList<>();
+
+        when(actorServiceMock.getActorSummariesAsync()).thenReturn(CompletableFuture.completedFuture(actors));
 
-        when(actorServiceMock.getAllActors()).thenReturn(actors);
+        String viewName = controller.getActorsList(model, new MockHttpServletResponse()).join();
+
+        assertEquals("actors/list", viewName);
+    }
+
+    @Test
+    public void shouldPropagateServiceErrorBeforeStreaming() {
+        RowStreams streams = new RowStreams(true, 10, 1000, Executors.newSingleThreadExecutor());
+        controller = new ActorController(actorServiceMock, streams);
+        doThrow(new MovieCardsServiceException("Servicio caído", "http://moviecards-service/api/actors", null))
+                .when(actorServiceMock).streamActorSummaries(any());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertThrows(MovieCardsServiceException.class, () -> controller.getActorsList(model, response));
+        streams.destroy();
+
+        assertFalse(response.isCommitted());
+        verify(model, never()).addAttribute(eq("actors"), any());
+    }
+
+    @Test
+    public void shouldStreamActorsListWhenEnabled() {
+        Iterable<ActorSummary> rows = List.of();
+        when(rowStreams.isEnabled()).thenReturn(true);
+        when(rowStreams.<ActorSummary>open(any(), any())).thenReturn(rows);
 
-        String viewName = controller.getActorsList(model);
+        String viewName = controller.getActorsList(model, new MockHttpServletResponse()).join();
 
         assertEquals("actors/list", viewName);
+        verify(model).addAttribute("actors", rows);
+        verify(actorServiceMock, never()).getActorSummariesAsync();
     }
 
     @Test
@@ -123,9 +163,9 @@ class ActorControllerTest {
         actor.setId(1);
         List<Movie> movies = List.of(new Movie());
         actor.setMovies(movies);
-        when(actorServiceMock.getActorById(actor.getId())).thenReturn(actor);
+        when(actorServiceMock.getActorByIdAsync(actor.getId())).thenReturn(CompletableFuture.completedFuture(actor));
 
-        String viewName = controller.editActor(actor.getId(), model);
+        String viewName = controller.editActor(actor.getId(), model).join();
 
         assertEquals("actors/form", viewName);
 
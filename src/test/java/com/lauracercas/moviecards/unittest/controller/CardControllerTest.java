@@ -1,9 +1,9 @@
 package com.lauracercas.moviecards.unittest.controller;
 
 import com.lauracercas.moviecards.controller.CardController;
-import com.lauracercas.moviecards.model.Actor;
+import com.lauracercas.moviecards.model.ActorSummary;
 import com.lauracercas.moviecards.model.Card;
-import com.lauracercas.moviecards.model.Movie;
+import com.lauracercas.moviecards.model.MovieSummary;
 import com.lauracercas.moviecards.service.actor.ActorService;
 import com.lauracercas.moviecards.service.card.CardService;
 import com.lauracercas.moviecards.service.movie.MovieService;
@@ -16,6 +16,7 @@ import org.springframework.ui.Model;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.verify;
@@ -55,13 +56,13 @@ class CardControllerTest {
 
     @Test
     public void shouldInitializeCardPage() {
-        List<Movie> movies = new ArrayList<>();
-        List<Actor> actors = new ArrayList<>();
+        List<MovieSummary> movies = new ArrayList<>();
+        List<ActorSummary> actors = new ArrayList<>();
 
-        when(movieServiceMock.getAllMovies()).thenReturn(movies);
-        when(actorServiceMock.getAllActors()).thenReturn(actors);
+        when(movieServiceMock.getMovieSummariesAsync()).thenReturn(CompletableFuture.completedFuture(movies));
+        when(actorServiceMock.getActorSummariesAsync()).thenReturn(CompletableFuture.completedFuture(actors));
 
-        String viewName = controller.showInfoForm(model);
+        String viewName = controller.showInfoForm(model).join();
 
         assertEquals("cards/registerActorMovieForm", viewName);
         verify(model).addAttribute("actors", actors);
@@ -73,9 +74,10 @@ class CardControllerTest {
     @Test
     public void shouldRegisterCardSucess() {
         Card card = new Card();
-        when(cardServiceMock.registerActorInMovie(card)).thenReturn(Messages.CARD_REGISTRATION_SUCCESS);
+        when(cardServiceMock.registerActorInMovieAsync(card))
+                .thenReturn(CompletableFuture.completedFuture(Messages.CARD_REGISTRATION_SUCCESS));
 
-        String result = controller.registerCard(card, model);
+        String result = controller.registerCard(card, model).join();
 
         assertEquals("index", result);
         verify(model).addAttribute("message", Messages.CARD_REGISTRATION_SUCCESS);
@@ -83,12 +85,15 @@ class CardControllerTest {
 
     @Test
     public void shouldRegisterCardFailure() {
-        List<Movie> movies = new ArrayList<>();
-        List<Actor> actors = new ArrayList<>();
+        List<MovieSummary> movies = new ArrayList<>();
+        List<ActorSummary> actors = new ArrayList<>();
         Card card = new Card();
-        when(cardServiceMock.registerActorInMovie(card)).thenReturn(Messages.CARD_ALREADY_EXISTS);
+        when(cardServiceMock.registerActorInMovieAsync(card))
+                .thenReturn(CompletableFuture.completedFuture(Messages.CARD_ALREADY_EXISTS));
+        when(movieServiceMock.getMovieSummariesAsync()).thenReturn(CompletableFuture.completedFuture(movies));
+        when(actorServiceMock.getActorSummariesAsync()).thenReturn(CompletableFuture.completedFuture(actors));
 
-        String result = controller.registerCard(card, model);
+        String result = controller.registerCard(card, model).join();
 
         assertEquals("cards/registerActorMovieForm", result);
         verify(model).addAttribute("message", Messages.CARD_ALREADY_EXISTS);
@@ -1,21 +1,32 @@
 package com.lauracercas.moviecards.unittest.controller;
 
+import com.lauracercas.moviecards.client.exception.ServiceOverloadedException;
 import com.lauracercas.moviecards.controller.MovieController;
 import com.lauracercas.moviecards.model.Actor;
 import com.lauracercas.moviecards.model.Movie;
+import com.lauracercas.moviecards.model.MovieSummary;
+import com.lauracercas.moviecards.service.RowStreams;
 import com.lauracercas.moviecards.service.movie.MovieService;
 import com.lauracercas.moviecards.util.Messages;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 import static org.mockito.MockitoAnnotations.openMocks;
@@ -33,6 +44,9 @@ class MovieControllerTest {
     @Mock
     MovieService movieServiceMock;
 
+    @Mock
+    private RowStreams rowStreams;
+
     @Mock
     private Model model;
 
@@ -40,7 +54,7 @@ class MovieControllerTest {
     @BeforeEach
     void setUp() {
         closeable = openMocks(this);
-        controller = new MovieController(movieServiceMock);
+        controller = new MovieController(movieServiceMock, rowStreams);
     }
 
     @AfterEach
@@ -50,16 +64,62 @@ class MovieControllerTest {
 
     @Test
     public void shouldGoListMovieAndGetAllMovies() {
-        List<Movie> movies = new ArrayList<>();
+        List<MovieSummary> movies = new ArrayList<>();
+
+        when(movieServiceMock.getMovieSummariesAsync()).thenReturn(CompletableFuture.completedFuture(movies));
 
-        when(movieServiceMock.getAllMovies()).thenReturn(movies);
+        String viewName = controller.getMoviesList(model, new MockHttpServletResponse()).join();
+
+        assertEquals("movies/list", viewName);
+    }
+
+    @Test
+    public void shouldShowDegradedPageWhenServiceIsDownBeforeStreaming() {
+        RowStreams streams = new RowStreams(true, 10, 1000, Executors.newSingleThreadExecutor());
+        controller = new MovieController(movieServiceMock, streams);
+        doThrow(new ServiceOverloadedException("Saturado", "http://moviecards-service/api/movies"))
+                .when(movieServiceMock).streamMovieSummaries(any());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        ServiceOverloadedException error = assertThrows(ServiceOverloadedException.class,
+                () -> controller.getMoviesList(model, response));
+        String viewName = controller.handleServiceOverloaded(error, response, model);
+        streams.destroy();
+
+        assertFalse(response.isCommitted());
+        assertEquals("degraded", viewName);
+        assertEquals(503, response.getStatus());
+    }
+
+    @Test
+    public void shouldStreamMoviesListWhenEnabled() {
+        Iterable<MovieSummary> rows = List.of();
+        when(rowStreams.isEnabled()).thenReturn(true);
+        when(rowStreams.<MovieSummary>open(any(), any())).thenReturn(rows);
 
-        String viewName = controller.getMoviesList(model);
+        String viewName = controller.getMoviesList(model, new MockHttpServletResponse()).join();
 
         assertEquals("movies/list", viewName);
+        verify(model).addAttribute("movies", rows);
+        verify(movieServiceMock, never()).getMovieSummariesAsync();
     }
 
 
+    @Test
+    public void shouldGoListMovieWithOnePage() {
+        PageRequest pageable = PageRequest.of(0, 2);
+        List<MovieSummary> movies = List.of(MovieSummary.of(new Movie()), MovieSummary.of(new Movie()));
+        Page<MovieSummary> page = new PageImpl<>(movies, pageable, 5);
+
+        when(movieServiceMock.getMovieSummariesPage(pageable)).thenReturn(page);
+
+        String viewName = controller.getMoviesPage(pageable, model);
+
+        assertEquals("movies/list", viewName);
+        verify(model).addAttribute("movies", movies);
+        verify(model).addAttribute("page", page);
+    }
+
     @Test
     public void shouldInitializeMovie() {
         String viewName = controller.newMovie(model);
@@ -127,9 +187,9 @@ class MovieControllerTest {
         movie.setId(1);
         List<Actor> actors = List.of(new Actor());
         movie.setActors(actors);
-        when(movieServiceMock.getMovieById(movie.getId())).thenReturn(movie);
+        when(movieServiceMock.getMovieByIdAsync(movie.getId())).thenReturn(CompletableFuture.completedFuture(movie));
 
-        String viewName = controller.editMovie(movie.getId(), model);
+        String viewName = controller.editMovie(movie.getId(), model).join();
 
         assertEquals("movies/form", viewName);
 
@@ -138,4 +198,16 @@ class MovieControllerTest {
         verify(model).addAttribute("title", Messages.EDIT_MOVIE_TITLE);
     }
 
-}
\ No newline at end of file
+    @Test
+    public void shouldShowDegradedPageWhenServiceIsOverloaded() {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        String viewName = controller.handleServiceOverloaded(
+                new ServiceOverloadedException("Saturado", "http://moviecards-service/api/movies"), response, model);
+
+        assertEquals("degraded", viewName);
+        assertEquals(503, response.getStatus());
+        assertEquals("2", response.getHeader("Retry-After"));
+        verify(model).addAttribute("errorMessage", Messages.SERVICE_OVERLOADED);
+    }
+}
@@ -0,0 +1,75 @@
+package com.lauracercas.moviecards.unittest.model;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lauracercas.moviecards.model.Actor;
+import com.lauracercas.moviecards.model.CatalogGraph;
+import com.lauracercas.moviecards.model.CatalogGraphModule;
+import com.lauracercas.moviecards.model.Movie;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Autor: Hernan Andres Henao
+ * Proyecto: TFM Integración Continua con GitHub Actions
+ * Fecha: 18/10/2026
+ */
+class CatalogGraphTest {
+
+    private final ObjectMapper mapper = CatalogGraphModule.graphMapper(new ObjectMapper());
+
+    @Test
+    void shouldShareActorsRepeatedAcrossNestedMovies() {
+        Movie first = movie(1, new Actor(7, "Sample Actor"));
+        Movie second = movie(2, new Actor(7, "Sample Actor"), new Actor(8, "Other Actor"));
+
+        CatalogGraph graph = CatalogGraph.of(List.of(first, second));
+
+        assertEquals(2, graph.getActors().size());
+        Actor shared = graph.getActors().get(0);
+        assertSame(shared, first.getActors().get(0));
+        assertSame(shared, second.getActors().get(0));
+        assertEquals(List.of(first, second), shared.getMovies());
+    }
+
+    @Test
+    void shouldWriteEachEntityOnceWithRelationshipsAsIds() throws Exception {
+        CatalogGraph graph = CatalogGraph.of(List.of(movie(1, new Actor(7, "Sample Actor")),
+                movie(2, new Actor(7, "Sample Actor"))));
+
+        JsonNode json = mapper.readTree(mapper.writeValueAsString(graph));
+
+        assertEquals(2, json.get("movies").size());
+        assertEquals(1, json.get("actors").size());
+        assertEquals(7, json.get("movies").get(1).get("actors").get(0).asInt());
+        assertEquals("[1,2]", json.get("actors").get(0).get("movies").toString());
+    }
+
+    @Test
+    void shouldRebuildSharedInstancesOnRead() throws Exception {
+        CatalogGraph written = CatalogGraph.of(List.of(movie(1, new Actor(7, "Sample Actor")),
+                movie(2, new Actor(7, "Sample Actor"))));
+
+        CatalogGraph read = mapper.readValue(mapper.writeValueAsBytes(written), CatalogGraph.class);
+
+        Movie first = read.getMovies().get(0);
+        Actor actor = read.getActors().get(0);
+        assertEquals("Sample Actor", actor.getName());
+        assertSame(actor, first.getActors().get(0));
+        assertSame(actor, read.getMovies().get(1).getActors().get(0));
+        assertSame(first, actor.getMovies().get(0));
+    }
+
+    private static Movie movie(int id, Actor... cast) {
+        Movie movie = new Movie();
+        movie.setId(id);
+        movie.setTitle("Movie " + id);
+        movie.setActors(new ArrayList<>(List.of(cast)));
+        return movie;
+    }
+}
@@ -1,10 +1,15 @@
 package com.lauracercas.moviecards.unittest.model;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.junit.jupiter.api.Test;
 
@@ -96,4 +101,72 @@ public class MovieTest {
         assertTrue(movie.existActorInMovie(actorExample));
     }
 
+    @Test
+    void testExistActorInMovieComparesById() {
+        List<Actor> actorsExample = new ArrayList<Actor>();
+        actorsExample.add(new Actor(2, "Sample name"));
+        movie.setActors(actorsExample);
+        Actor updatedCopy = new Actor(2, "Sample name");
+        updatedCopy.setCountry("Sample country");
+        assertTrue(movie.existActorInMovie(updatedCopy));
+        assertFalse(movie.existActorInMovie(new Actor(3, "Sample name")));
+    }
+
+    @Test
+    void testExistActorInMovieAfterCastChanges() {
+        movie.setActors(new ArrayList<Actor>());
+        assertFalse(movie.existActorInMovie(new Actor(4, "Sample name")));
+        movie.addActor(new Actor(4, "Sample name"));
+        assertTrue(movie.existActorInMovie(new Actor(4, "Sample name")));
+        assertThrows(UnsupportedOperationException.class, () -> movie.getActors().set(0, new Actor(5, "Sample name")));
+        assertTrue(movie.existActorInMovie(new Actor(4, "Sample name")));
+        assertFalse(movie.existActorInMovie(new Actor(5, "Sample name")));
+        movie.setActors(new ArrayList<Actor>());
+        assertFalse(movie.existActorInMovie(new Actor(4, "Sample name")));
+    }
+
+    @Test
+    void testExistActorInMovieWithLargeCast() {
+        List<Actor> actorsExample = new ArrayList<Actor>();
+        for (int id = 0; id < 5000; id += 2) {
+            actorsExample.add(new Actor(id, "Sample name " + id));
+        }
+        movie.setActors(actorsExample);
+        assertTrue(movie.existActorInMovie(new Actor(0, "Sample name")));
+        assertTrue(movie.existActorInMovie(new Actor(4998, "Sample name")));
+        assertFalse(movie.existActorInMovie(new Actor(4999, "Sample name")));
+        assertFalse(movie.existActorInMovie(new Actor(null, "Sample name")));
+    }
+
+    @Test
+    void testExistActorInMovieFromSeveralThreads() {
+        List<Actor> actorsExample = new ArrayList<Actor>();
+        for (int id = 1; id <= 500; id++) {
+            actorsExample.add(new Actor(id, "Sample name " + id));
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            for (int round = 0; round < 50; round++) {
+                Movie shared = new Movie();
+                shared.setActors(actorsExample);
+                List<CompletableFuture<Boolean>> checks = new ArrayList<>();
+                for (int thread = 0; thread < 8; thread++) {
+                    checks.add(CompletableFuture.supplyAsync(() -> {
+                        for (int id = 1; id <= 500; id++) {
+                            if (!shared.existActorInMovie(new Actor(id, "Sample name"))) {
+                                return false;
+                            }
+                        }
+                        return true;
+                    }, executor));
+                }
+                for (CompletableFuture<Boolean> check : checks) {
+                    assertTrue(check.join());
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
 }
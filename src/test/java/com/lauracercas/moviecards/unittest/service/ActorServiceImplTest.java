@@ -1,8 +1,11 @@
 package com.lauracercas.moviecards.unittest.service;
 
 import com.lauracercas.moviecards.client.MovieCardsServiceClient;
+import com.lauracercas.moviecards.client.async.AsyncServiceClient;
 import com.lauracercas.moviecards.model.Actor;
 import com.lauracercas.moviecards.service.actor.ActorServiceImpl;
+import com.lauracercas.moviecards.service.mirror.CatalogMirror;
+import com.lauracercas.moviecards.service.outbox.WriteOutbox;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -14,6 +17,8 @@ import java.util.List;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.anyInt;
+import static org.mockito.Mockito.isNull;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mockito.MockitoAnnotations.openMocks;
 
@@ -27,13 +32,19 @@ class ActorServiceImplTest {
 
     @Mock
     private MovieCardsServiceClient serviceClient;
+    @Mock
+    private AsyncServiceClient asyncServiceClient;
+    @Mock
+    private CatalogMirror mirror;
+    @Mock
+    private WriteOutbox outbox;
     private ActorServiceImpl sut;
     private AutoCloseable closeable;
 
     @BeforeEach
     void setUp() {
         closeable = openMocks(this);
-        sut = new ActorServiceImpl(serviceClient);
+        sut = new ActorServiceImpl(serviceClient, asyncServiceClient, mirror, outbox);
     }
 
     @AfterEach
@@ -73,11 +84,25 @@ class ActorServiceImplTest {
         Actor actor = new Actor();
         actor.setName("New Actor");
 
-        when(serviceClient.saveActor(any(Actor.class))).thenReturn(actor);
+        when(serviceClient.saveActor(any(Actor.class), isNull())).thenReturn(actor);
 
         Actor result = sut.save(actor);
 
         assertEquals("New Actor", result.getName());
     }
 
+    @Test
+    public void shouldUpdateExistingActor() {
+        Actor actor = new Actor();
+        actor.setId(3);
+        actor.setName("Renamed Actor");
+
+        when(serviceClient.updateActor(anyInt(), any(Actor.class))).thenReturn(actor);
+
+        Actor result = sut.save(actor);
+
+        assertEquals("Renamed Actor", result.getName());
+        verify(serviceClient).updateActor(3, actor);
+    }
+
 }
\ No newline at end of file
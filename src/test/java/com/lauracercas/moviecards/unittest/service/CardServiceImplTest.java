@@ -1,12 +1,17 @@
 package com.lauracercas.moviecards.unittest.service;
 
 import com.lauracercas.moviecards.client.MovieCardsServiceClient;
+import com.lauracercas.moviecards.client.async.AsyncServiceClient;
+import com.lauracercas.moviecards.client.exception.ServiceUnavailableException;
 import com.lauracercas.moviecards.model.Actor;
 import com.lauracercas.moviecards.model.Card;
 import com.lauracercas.moviecards.model.Movie;
+import com.lauracercas.moviecards.service.ParallelCalls;
 import com.lauracercas.moviecards.service.actor.ActorService;
 import com.lauracercas.moviecards.service.card.CardServiceImpl;
+import com.lauracercas.moviecards.service.mirror.CatalogMirror;
 import com.lauracercas.moviecards.service.movie.MovieService;
+import com.lauracercas.moviecards.service.outbox.WriteOutbox;
 import com.lauracercas.moviecards.util.Messages;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -15,9 +20,15 @@ import org.mockito.Mock;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.anyInt;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mockito.MockitoAnnotations.openMocks;
 
@@ -35,6 +46,12 @@ class CardServiceImplTest {
     MovieService movieService;
     @Mock
     MovieCardsServiceClient serviceClient;
+    @Mock
+    AsyncServiceClient asyncServiceClient;
+    @Mock
+    CatalogMirror mirror;
+    @Mock
+    WriteOutbox outbox;
     private CardServiceImpl sut;
     private AutoCloseable closeable;
 
@@ -42,7 +59,8 @@ class CardServiceImplTest {
     @BeforeEach
     public void setUp() {
         closeable = openMocks(this);
-        sut = new CardServiceImpl(actorService, movieService, serviceClient);
+        sut = new CardServiceImpl(actorService, movieService, serviceClient, asyncServiceClient,
+                new ParallelCalls(Executors.newFixedThreadPool(2), 5000), mirror, outbox);
     }
 
     @AfterEach
@@ -66,7 +84,7 @@ class CardServiceImplTest {
 
         when(actorService.getActorById(1)).thenReturn(actor);
         when(movieService.getMovieById(2)).thenReturn(movie);
-        when(serviceClient.registerActorInMovie(anyInt(), anyInt())).thenReturn("Éxito");
+        when(serviceClient.registerActorInMovie(anyInt(), anyInt(), isNull())).thenReturn("Éxito");
 
         String result = sut.registerActorInMovie(card);
 
@@ -127,11 +145,80 @@ class CardServiceImplTest {
 
         when(actorService.getActorById(1)).thenReturn(actor);
         when(movieService.getMovieById(2)).thenReturn(movie);
-        when(serviceClient.registerActorInMovie(anyInt(), anyInt())).thenThrow(new RuntimeException("Service error"));
+        when(serviceClient.registerActorInMovie(anyInt(), anyInt(), isNull())).thenThrow(new RuntimeException("Service error"));
 
         String result = sut.registerActorInMovie(card);
 
         assertEquals(Messages.ERROR_MESSAGE, result);
     }
 
-}
\ No newline at end of file
+    @Test
+    public void shouldRegisterCardAsync() {
+        Card card = new Card();
+        card.setIdActor(1);
+        card.setIdMovie(2);
+
+        Actor actor = new Actor();
+        actor.setId(1);
+        Movie movie = new Movie();
+        movie.setId(2);
+        movie.setActors(new ArrayList<>());
+
+        when(actorService.getActorByIdAsync(1)).thenReturn(CompletableFuture.completedFuture(actor));
+        when(movieService.getMovieByIdAsync(2)).thenReturn(CompletableFuture.completedFuture(movie));
+        when(asyncServiceClient.registerActorInMovie(eq(2), eq(1), isNull()))
+                .thenReturn(CompletableFuture.completedFuture("Éxito"));
+
+        String result = sut.registerActorInMovieAsync(card).join();
+
+        assertEquals(Messages.CARD_REGISTRATION_SUCCESS, result);
+    }
+
+    @Test
+    public void shouldReturnErrorMessageWhenAsyncRegistrationFails() {
+        Card card = new Card();
+        card.setIdActor(1);
+        card.setIdMovie(2);
+
+        Actor actor = new Actor();
+        actor.setId(1);
+        Movie movie = new Movie();
+        movie.setId(2);
+        movie.setActors(new ArrayList<>());
+
+        when(actorService.getActorByIdAsync(1)).thenReturn(CompletableFuture.completedFuture(actor));
+        when(movieService.getMovieByIdAsync(2)).thenReturn(CompletableFuture.completedFuture(movie));
+        when(asyncServiceClient.registerActorInMovie(eq(2), eq(1), isNull()))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("Service error")));
+
+        String result = sut.registerActorInMovieAsync(card).join();
+
+        assertEquals(Messages.ERROR_MESSAGE, result);
+    }
+
+    @Test
+    public void shouldQueueRegistrationWhenServiceIsUnavailable() {
+        Card card = new Card();
+        card.setIdActor(1);
+        card.setIdMovie(2);
+
+        Actor actor = new Actor();
+        actor.setId(1);
+        Movie movie = new Movie();
+        movie.setId(2);
+        movie.setActors(new ArrayList<>());
+        ServiceUnavailableException failure = new ServiceUnavailableException("Circuito abierto", "url", null);
+
+        when(actorService.getActorByIdAsync(1)).thenReturn(CompletableFuture.completedFuture(actor));
+        when(movieService.getMovieByIdAsync(2)).thenReturn(CompletableFuture.completedFuture(movie));
+        when(outbox.newIdempotencyKey()).thenReturn("ficha-1");
+        when(asyncServiceClient.registerActorInMovie(2, 1, "ficha-1")).thenReturn(CompletableFuture.failedFuture(failure));
+        when(outbox.accepts(any())).thenReturn(true);
+
+        String result = sut.registerActorInMovieAsync(card).join();
+
+        assertEquals(Messages.CARD_REGISTRATION_PENDING, result);
+        verify(outbox).enqueueCast(2, 1, "ficha-1");
+    }
+
+}
@@ -0,0 +1,139 @@
+package com.lauracercas.moviecards.unittest.service;
+
+import com.lauracercas.moviecards.client.MovieCardsServiceClient;
+import com.lauracercas.moviecards.client.exception.MovieCardsServiceException;
+import com.lauracercas.moviecards.client.sync.CatalogDelta;
+import com.lauracercas.moviecards.model.Actor;
+import com.lauracercas.moviecards.model.CatalogGraph;
+import com.lauracercas.moviecards.model.Movie;
+import com.lauracercas.moviecards.repositories.ActorJPA;
+import com.lauracercas.moviecards.repositories.MovieJPA;
+import com.lauracercas.moviecards.service.mirror.CatalogMirror;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.openMocks;
+
+/**
+ * Autor: Hernan Andres Henao
+ * Proyecto: TFM Integración Continua con GitHub Actions
+ * Fecha: 18/10/2026
+ */
+class CatalogMirrorTest {
+
+    @Mock
+    private MovieCardsServiceClient serviceClient;
+    @Mock
+    private MovieJPA movieJPA;
+    @Mock
+    private ActorJPA actorJPA;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private AutoCloseable closeable;
+    private CatalogMirror sut;
+
+    @BeforeEach
+    public void setUp() {
+        closeable = openMocks(this);
+        when(serviceClient.getCatalogForSync()).thenReturn(CatalogGraph.empty());
+        sut = newMirror(60000);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        sut.destroy();
+        closeable.close();
+    }
+
+    @Test
+    public void shouldReadFromServiceUntilFirstSync() {
+        assertFalse(sut.isServing());
+        assertFalse(sut.movies().isPresent());
+        assertTrue(Double.isNaN(registry.get("moviecards.mirror.staleness").gauge().value()));
+        verify(movieJPA, never()).findAllWithActors();
+    }
+
+    @Test
+    public void shouldCopyCatalogAndServeReads() {
+        Actor actor = new Actor(7, "Actor");
+        Movie movie = new Movie();
+        movie.setId(1);
+        movie.setActors(List.of(actor));
+        when(serviceClient.getAllActorsForSync()).thenReturn(List.of(actor));
+        when(serviceClient.getCatalogForSync()).thenReturn(CatalogGraph.of(List.of(movie)));
+        when(movieJPA.findWithActorsById(1)).thenReturn(Optional.of(movie));
+
+        assertTrue(sut.sync());
+
+        verify(movieJPA).deleteCastsOfActorsNotIn(Set.of(7));
+        verify(movieJPA).deleteCastsOfMoviesNotIn(Set.of(1));
+        verify(movieJPA).deleteByIdNotIn(Set.of(1));
+        verify(movieJPA).upsert(movie);
+        verify(movieJPA).addToCast(1, 7);
+        assertTrue(sut.isServing());
+        assertNotNull(sut.movie(1).orElseThrow().getFingerprint());
+        assertTrue(registry.get("moviecards.mirror.staleness").gauge().value() < 60);
+    }
+
+    @Test
+    public void shouldKeepReadingFromServiceWhenSyncFails() {
+        when(serviceClient.getAllActorsForSync()).thenThrow(new MovieCardsServiceException("Error", "url", null));
+
+        assertFalse(sut.sync());
+
+        assertFalse(sut.isServing());
+        assertEquals(1, registry.get("moviecards.mirror.syncs").tag("result", "failure").functionCounter().count());
+    }
+
+    @Test
+    public void shouldStopServingWhenStale() throws Exception {
+        sut.destroy();
+        sut = newMirror(0);
+        when(serviceClient.getAllActorsForSync()).thenReturn(List.of());
+        when(serviceClient.getCatalogForSync()).thenReturn(CatalogGraph.empty());
+
+        assertTrue(sut.sync());
+        Thread.sleep(5);
+
+        assertFalse(sut.actors().isPresent());
+        verify(actorJPA).deleteAllInBatch();
+    }
+
+    @Test
+    public void shouldApplyOnlyChangesAfterFirstSync() {
+        Actor renamed = new Actor(7, "Renamed");
+        when(serviceClient.getActorChanges(0)).thenReturn(Optional.of(new CatalogDelta<>(5, List.of(), List.of(), null)));
+        when(serviceClient.getActorChanges(5)).thenReturn(Optional.of(new CatalogDelta<>(6, List.of(renamed), List.of(8), null)));
+
+        assertTrue(sut.sync());
+        assertTrue(sut.sync());
+
+        verify(actorJPA).upsert(renamed);
+        verify(movieJPA).deleteCastsOfActors(List.of(8));
+        verify(actorJPA).deleteAllByIdInBatch(List.of(8));
+        verify(serviceClient, never()).getAllActorsForSync();
+    }
+
+    private CatalogMirror newMirror(long maxStalenessMillis) {
+        CatalogMirror mirror = new CatalogMirror(true, 60000, maxStalenessMillis, serviceClient, movieJPA, actorJPA,
+                transactionManager);
+        mirror.bindTo(registry);
+        return mirror;
+    }
+}
@@ -1,19 +1,32 @@
 package com.lauracercas.moviecards.unittest.service;
 
 import com.lauracercas.moviecards.client.MovieCardsServiceClient;
+import com.lauracercas.moviecards.client.async.AsyncServiceClient;
+import com.lauracercas.moviecards.client.exception.ServiceUnavailableException;
 import com.lauracercas.moviecards.model.Movie;
+import com.lauracercas.moviecards.model.MovieSummary;
+import com.lauracercas.moviecards.service.mirror.CatalogMirror;
 import com.lauracercas.moviecards.service.movie.MovieServiceImpl;
+import com.lauracercas.moviecards.service.outbox.WriteOutbox;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.anyInt;
+import static org.mockito.Mockito.eq;
+import static org.mockito.Mockito.isNull;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.mockito.MockitoAnnotations.openMocks;
 
@@ -26,13 +39,19 @@ import static org.mockito.MockitoAnnotations.openMocks;
 class MovieServiceImplTest {
     @Mock
     private MovieCardsServiceClient serviceClient;
+    @Mock
+    private AsyncServiceClient asyncServiceClient;
+    @Mock
+    private CatalogMirror mirror;
+    @Mock
+    private WriteOutbox outbox;
     private MovieServiceImpl sut;
     private AutoCloseable closeable;
 
     @BeforeEach
     public void setUp() {
         closeable = openMocks(this);
-        sut = new MovieServiceImpl(serviceClient);
+        sut = new MovieServiceImpl(serviceClient, asyncServiceClient, mirror, outbox);
     }
 
     @AfterEach
@@ -53,6 +72,29 @@ class MovieServiceImplTest {
         assertEquals(2, result.size());
     }
 
+    @Test
+    public void shouldGetMoviesPage() {
+        PageRequest pageable = PageRequest.of(1, 2);
+        Page<Movie> page = new PageImpl<>(List.of(new Movie()), pageable, 3);
+
+        when(serviceClient.getMoviesPage(pageable)).thenReturn(page);
+
+        Page<Movie> result = sut.getMoviesPage(pageable);
+
+        assertEquals(3, result.getTotalElements());
+        assertEquals(1, result.getContent().size());
+    }
+
+    @Test
+    public void shouldGetMovieSummariesPage() {
+        PageRequest pageable = PageRequest.of(0, 2);
+        Page<MovieSummary> page = new PageImpl<>(List.of(MovieSummary.of(new Movie())), pageable, 1);
+
+        when(serviceClient.getMovieSummariesPage(pageable)).thenReturn(page);
+
+        assertEquals(page, sut.getMovieSummariesPage(pageable));
+    }
+
     @Test
     public void shouldGetMovieById() {
         Movie movie = new Movie();
@@ -72,7 +114,7 @@ class MovieServiceImplTest {
         Movie movie = new Movie();
         movie.setTitle("New Movie");
 
-        when(serviceClient.saveMovie(any(Movie.class))).thenReturn(movie);
+        when(serviceClient.saveMovie(any(Movie.class), isNull())).thenReturn(movie);
 
         Movie result = sut.save(movie);
 
@@ -91,7 +133,39 @@ class MovieServiceImplTest {
         Movie result = sut.save(movie);
 
         assertEquals("Updated Movie", result.getTitle());
+        verify(mirror).applyMovie(movie);
     }
 
+    @Test
+    public void shouldQueueSaveWhenServiceIsUnavailable() {
+        Movie movie = new Movie();
+        movie.setTitle("New Movie");
+        ServiceUnavailableException failure = new ServiceUnavailableException("Circuito abierto", "url", null);
+
+        when(outbox.newIdempotencyKey()).thenReturn("alta-1");
+        when(serviceClient.saveMovie(any(Movie.class), eq("alta-1"))).thenThrow(failure);
+        when(outbox.accepts(failure)).thenReturn(true);
+        when(outbox.enqueueMovie(movie, "alta-1")).thenReturn(movie);
+
+        assertEquals(movie, sut.save(movie));
+        // El reenvío lleva la misma clave que el intento cuya respuesta no llegó
+        verify(outbox).enqueueMovie(movie, "alta-1");
+        verifyNoInteractions(mirror);
+    }
 
+    @Test
+    public void shouldServeReadsFromMirrorWhenAvailable() {
+        Movie movie = new Movie();
+        movie.setId(1);
+        movie.setTitle("Mirrored Movie");
+
+        when(mirror.movies()).thenReturn(Optional.of(List.of(movie)));
+        when(mirror.movie(1)).thenReturn(Optional.of(movie));
+        when(mirror.movieSummaries()).thenReturn(Optional.of(List.of(MovieSummary.of(movie))));
+
+        assertEquals(1, sut.getAllMovies().size());
+        assertEquals("Mirrored Movie", sut.getMovieSummariesAsync().join().get(0).getTitle());
+        assertEquals("Mirrored Movie", sut.getMovieById(1).getTitle());
+        verifyNoInteractions(serviceClient);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,176 @@
+package com.lauracercas.moviecards.unittest.service;
+
+import com.lauracercas.moviecards.client.exception.MovieCardsServiceException;
+import com.lauracercas.moviecards.service.ParallelCalls;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Autor: Hernan Andres Henao
+ * Proyecto: TFM Integración Continua con GitHub Actions
+ * Fecha: 18/10/2026
+ */
+class ParallelCallsTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+    private final ParallelCalls sut = new ParallelCalls(executor, 1000);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void shouldRunBothCallsConcurrently() {
+        CountDownLatch bothStarted = new CountDownLatch(2);
+
+        String result = sut.invokeBoth(
+                () -> awaitOther(bothStarted, "actor"),
+                () -> awaitOther(bothStarted, "movie"),
+                (actor, movie) -> actor + "-" + movie);
+
+        assertEquals("actor-movie", result);
+    }
+
+    @Test
+    public void shouldPropagateServiceExceptionAndCancelSibling() throws Exception {
+        MovieCardsServiceException failure = new MovieCardsServiceException("Service error", "/actors/1");
+        CountDownLatch siblingStarted = new CountDownLatch(1);
+        CountDownLatch siblingInterrupted = new CountDownLatch(1);
+
+        MovieCardsServiceException thrown = assertThrows(MovieCardsServiceException.class, () -> sut.invokeBoth(
+                () -> {
+                    siblingStarted.await(1, TimeUnit.SECONDS);
+                    throw failure;
+                },
+                () -> {
+                    siblingStarted.countDown();
+                    try {
+                        Thread.sleep(5000);
+                    } catch (InterruptedException e) {
+                        siblingInterrupted.countDown();
+                    }
+                    return "movie";
+                },
+                (actor, movie) -> "not combined"));
+
+        assertSame(failure, thrown);
+        assertTrue(siblingInterrupted.await(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void shouldFailWhenDeadlineIsExceeded() {
+        assertThrows(MovieCardsServiceException.class, () -> sut.invokeBoth(
+                () -> "actor",
+                () -> {
+                    Thread.sleep(5000);
+                    return "movie";
+                },
+                (actor, movie) -> "not combined"));
+    }
+
+    @Test
+    public void shouldTranslateAsyncDeadlineIntoServiceException() {
+        CompletionException thrown = assertThrows(CompletionException.class, () -> sut.supplyAsync(() -> {
+            try {
+                Thread.sleep(5000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "movie";
+        }).join());
+
+        assertTrue(thrown.getCause() instanceof MovieCardsServiceException);
+    }
+
+    @Test
+    public void shouldKeepDeadlineWhenPoolIsSaturated() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        ThreadPoolExecutor saturated = saturatedPool(release);
+        ParallelCalls tight = new ParallelCalls(saturated, 200);
+        String caller = Thread.currentThread().getName();
+        try {
+            long start = System.nanoTime();
+            assertThrows(MovieCardsServiceException.class, () -> tight.invokeBoth(
+                    () -> notOn(caller),
+                    () -> notOn(caller),
+                    (actor, movie) -> "not combined"));
+            assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 1000);
+        } finally {
+            release.countDown();
+            saturated.shutdownNow();
+        }
+    }
+
+    @Test
+    public void shouldWaitForQueueRoomWithinDeadline() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        ThreadPoolExecutor saturated = saturatedPool(release);
+        ParallelCalls tight = new ParallelCalls(saturated, 2000);
+        String caller = Thread.currentThread().getName();
+        try {
+            CompletableFuture.delayedExecutor(100, TimeUnit.MILLISECONDS).execute(release::countDown);
+            CompletableFuture<String> movie = tight.supplyAsync(() -> {
+                try {
+                    return notOn(caller);
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+
+            assertEquals("pool", movie.join());
+        } finally {
+            saturated.shutdownNow();
+        }
+    }
+
+    /**
+     * Un hilo ocupado hasta release y la cola (de una tarea) llena.
+     */
+    private static ThreadPoolExecutor saturatedPool(CountDownLatch release) throws InterruptedException {
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(1, 1, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(1), new ThreadPoolExecutor.AbortPolicy());
+        CountDownLatch running = new CountDownLatch(1);
+        pool.execute(() -> {
+            running.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        assertTrue(running.await(1, TimeUnit.SECONDS));
+        pool.execute(() -> {
+        });
+        return pool;
+    }
+
+    private static String notOn(String caller) throws InterruptedException {
+        if (Thread.currentThread().getName().equals(caller)) {
+            throw new IllegalStateException("La consulta se ha ejecutado en el hilo llamante");
+        }
+        return "pool";
+    }
+
+    private static String awaitOther(CountDownLatch latch, String value) throws InterruptedException {
+        latch.countDown();
+        if (!latch.await(1, TimeUnit.SECONDS)) {
+            throw new IllegalStateException("Las llamadas no se ejecutaron en paralelo");
+        }
+        return value;
+    }
+}
@@ -0,0 +1,104 @@
+package com.lauracercas.moviecards.unittest.service;
+
+import com.lauracercas.moviecards.client.exception.MovieCardsServiceException;
+import com.lauracercas.moviecards.service.RowStreams;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Autor: Hernan Andres Henao
+ * Proyecto: TFM Integración Continua con GitHub Actions
+ * Fecha: 18/10/2026
+ */
+class RowStreamsTest {
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final RowStreams sut = new RowStreams(true, 2, 2000, executor);
+
+    @AfterEach
+    void tearDown() {
+        sut.destroy();
+    }
+
+    @Test
+    public void shouldFlushHeaderBeforeFirstRowAndThenEveryChunk() {
+        List<String> events = new ArrayList<>();
+
+        Iterable<Integer> rows = sut.open(consumer -> IntStream.rangeClosed(1, 5).forEach(consumer::accept),
+                () -> events.add("flush"));
+        rows.forEach(row -> events.add("row " + row));
+
+        assertEquals("flush", events.get(0));
+        assertEquals(List.of("row 1", "row 2", "row 3", "row 4", "row 5"),
+                events.stream().filter(event -> event.startsWith("row")).collect(Collectors.toList()));
+        assertTrue(events.stream().filter("flush"::equals).count() >= 3);
+    }
+
+    @Test
+    public void shouldReadWholeSourceWhenNoThreadIsFree() {
+        sut.bindTo(registry);
+        executor.shutdown();
+
+        Iterable<Integer> rows = sut.open(consumer -> IntStream.rangeClosed(1, 3).forEach(consumer::accept), () -> {
+        });
+
+        assertEquals(List.of(1, 2, 3), rows);
+        assertEquals(1, registry.get("moviecards.render.streams").tag("mode", "materialized").functionCounter().count());
+    }
+
+    @Test
+    public void shouldStopSourceWhenClientGoesAway() throws Exception {
+        sut.bindTo(registry);
+
+        Iterable<Integer> rows = sut.open(consumer -> IntStream.iterate(1, i -> i + 1).forEach(consumer::accept), () -> {
+            throw new IOException("Broken pipe");
+        });
+
+        assertFalse(rows.iterator().hasNext());
+        for (int i = 0; i < 200 && abandoned() == 0; i++) {
+            Thread.sleep(10);
+        }
+        assertEquals(1, abandoned());
+    }
+
+    @Test
+    public void shouldReportSourceFailureBeforeAnythingIsSent() {
+        List<String> events = new ArrayList<>();
+
+        MovieCardsServiceException error = assertThrows(MovieCardsServiceException.class,
+                () -> sut.open(consumer -> {
+                    throw new MovieCardsServiceException("Servicio caído", "url", null);
+                }, () -> events.add("flush")));
+
+        assertEquals("Servicio caído", error.getMessage());
+        assertTrue(events.isEmpty());
+    }
+
+    @Test
+    public void shouldRenderEmptyListWithoutError() {
+        Iterable<Integer> rows = sut.open(consumer -> {
+        }, () -> {
+        });
+
+        assertFalse(rows.iterator().hasNext());
+    }
+
+    private double abandoned() {
+        return registry.get("moviecards.render.streams").tag("mode", "abandoned").functionCounter().count();
+    }
+}
@@ -0,0 +1,268 @@
+package com.lauracercas.moviecards.unittest.service;
+
+import com.lauracercas.moviecards.client.MovieCardsServiceClient;
+import com.lauracercas.moviecards.client.async.AsyncServiceClient;
+import com.lauracercas.moviecards.client.exception.MovieCardsServiceException;
+import com.lauracercas.moviecards.client.exception.ServiceUnavailableException;
+import com.lauracercas.moviecards.model.Actor;
+import com.lauracercas.moviecards.model.Movie;
+import com.lauracercas.moviecards.service.mirror.CatalogMirror;
+import com.lauracercas.moviecards.service.outbox.WriteOutbox;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.openMocks;
+
+/**
+ * Autor: Hernan Andres Henao
+ * Proyecto: TFM Integración Continua con GitHub Actions
+ * Fecha: 18/10/2026
+ */
+class WriteOutboxTest {
+
+    @Mock
+    private MovieCardsServiceClient serviceClient;
+    @Mock
+    private AsyncServiceClient asyncServiceClient;
+    @Mock
+    private ObjectProvider<AsyncServiceClient> asyncServiceClientProvider;
+    @Mock
+    private CatalogMirror mirror;
+    @TempDir
+    Path dir;
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private AutoCloseable closeable;
+    private WriteOutbox sut;
+
+    @BeforeEach
+    public void setUp() {
+        closeable = openMocks(this);
+        when(asyncServiceClientProvider.getObject()).thenReturn(asyncServiceClient);
+        sut = newOutbox();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        sut.destroy();
+        closeable.close();
+    }
+
+    @Test
+    public void shouldMergeEditsOfNewMovieAndSendItOnce() {
+        Movie first = new Movie();
+        first.setTitle("Borrador");
+        Movie pending = sut.enqueueMovie(first);
+        Movie edit = new Movie();
+        edit.setId(pending.getId());
+        edit.setTitle("Definitivo");
+        sut.enqueueMovie(edit);
+        Movie saved = new Movie();
+        saved.setId(42);
+        when(serviceClient.saveMovie(any(Movie.class), anyString())).thenReturn(saved);
+
+        assertTrue(pending.isPending());
+        assertTrue(pending.getId() < 0);
+        assertEquals(1, sut.getDepth());
+        sut.replay();
+
+        verify(serviceClient, times(1)).saveMovie(argThat(movie -> "Definitivo".equals(movie.getTitle())
+                && movie.getId() == null), anyString());
+        verify(mirror).applyMovie(saved);
+        assertEquals(0, sut.getDepth());
+        assertEquals(1, count("merged"));
+        assertEquals(1, count("sent"));
+    }
+
+    @Test
+    public void shouldUpdateNewMovieEditedWhileItsCreateIsInFlight() {
+        Movie first = new Movie();
+        first.setTitle("Borrador");
+        Movie pending = sut.enqueueMovie(first);
+        Movie saved = new Movie();
+        saved.setId(42);
+        when(serviceClient.saveMovie(any(Movie.class), anyString())).thenAnswer(invocation -> {
+            Movie edit = new Movie();
+            edit.setId(pending.getId());
+            edit.setTitle("Definitivo");
+            sut.enqueueMovie(edit);
+            return saved;
+        });
+        when(serviceClient.updateMovie(eq(42), any(Movie.class))).thenReturn(saved);
+
+        sut.replay();
+
+        verify(serviceClient, times(1)).saveMovie(any(Movie.class), anyString());
+        verify(serviceClient).updateMovie(eq(42), argThat(movie -> "Definitivo".equals(movie.getTitle())));
+        assertEquals(0, sut.getDepth());
+        assertEquals(2, count("sent"));
+    }
+
+    @Test
+    public void shouldKeepLocalIdsAcrossJournalTruncationAndRestart() throws Exception {
+        Movie first = new Movie();
+        first.setTitle("Borrador");
+        Integer localId = sut.enqueueMovie(first).getId();
+        Movie saved = new Movie();
+        saved.setId(42);
+        when(serviceClient.saveMovie(any(Movie.class), anyString())).thenReturn(saved);
+        sut.replay();
+        assertEquals(0, sut.getDepth());
+        sut.destroy();
+
+        sut = newOutbox();
+        Movie stale = new Movie();
+        stale.setId(localId);
+        stale.setTitle("Definitivo");
+        Movie fresh = new Movie();
+        fresh.setTitle("Otra");
+
+        assertEquals(42, sut.enqueueMovie(stale).getId());
+        assertTrue(sut.enqueueMovie(fresh).getId() < localId);
+    }
+
+    @Test
+    public void shouldResendWithSameIdempotencyKeyWhileServiceIsUnavailable() {
+        Actor actor = new Actor(null, "Nuevo");
+        sut.enqueueActor(actor);
+        when(serviceClient.saveActor(any(Actor.class), anyString()))
+                .thenThrow(new ServiceUnavailableException("Circuito abierto", "url", null))
+                .thenReturn(new Actor(9, "Nuevo"));
+
+        sut.replay();
+        assertEquals(1, sut.getDepth());
+        assertTrue(sut.shouldQueue(null));
+        sut.replay();
+
+        ArgumentCaptor<String> keys = ArgumentCaptor.forClass(String.class);
+        verify(serviceClient, times(2)).saveActor(any(Actor.class), keys.capture());
+        assertEquals(keys.getAllValues().get(0), keys.getAllValues().get(1));
+        assertEquals(0, sut.getDepth());
+        assertFalse(sut.shouldQueue(9));
+    }
+
+    @Test
+    public void shouldReplayNewEntityWithKeyOfFirstAttempt() {
+        Movie movie = new Movie();
+        movie.setTitle("Nueva");
+        sut.enqueueMovie(movie, "alta-1");
+        Movie saved = new Movie();
+        saved.setId(9);
+        when(serviceClient.saveMovie(any(Movie.class), eq("alta-1"))).thenReturn(saved);
+
+        sut.replay();
+
+        verify(serviceClient).saveMovie(any(Movie.class), eq("alta-1"));
+        assertEquals(0, sut.getDepth());
+    }
+
+    @Test
+    public void shouldReplayPendingWritesAfterRestart() throws Exception {
+        Actor actor = new Actor(7, "Editado");
+        actor.setFingerprint("huella");
+        sut.enqueueActor(actor);
+        sut.enqueueCast(1, 7);
+        sut.destroy();
+        Files.writeString(dir.resolve("outbox.journal"), "{\"seq\":3,\"ent", StandardOpenOption.APPEND);
+
+        sut = newOutbox();
+        when(serviceClient.updateActor(eq(7), any(Actor.class))).thenReturn(actor);
+        when(asyncServiceClient.registerActorInMovie(eq(1), eq(7), anyString()))
+                .thenReturn(CompletableFuture.completedFuture("Éxito"));
+
+        assertEquals(2, sut.getDepth());
+        assertTrue(sut.getLagSeconds() >= 0);
+        sut.replay();
+
+        verify(serviceClient).updateActor(eq(7), argThat(sent -> "huella".equals(sent.getFingerprint())));
+        verify(mirror).applyCast(1, 7);
+        assertEquals(0, sut.getDepth());
+        assertEquals("", Files.readString(dir.resolve("outbox.journal"), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void shouldSendConsecutiveRegistrationsTogether() {
+        sut.enqueueCast(1, 7);
+        sut.enqueueCast(1, 8);
+        sut.enqueueCast(1, 7);
+        when(asyncServiceClient.registerActorInMovie(anyInt(), anyInt(), anyString()))
+                .thenReturn(CompletableFuture.completedFuture("Éxito"));
+
+        assertEquals(2, sut.getDepth());
+        sut.replay();
+
+        verify(asyncServiceClient).registerActorInMovie(eq(1), eq(7), anyString());
+        verify(asyncServiceClient).registerActorInMovie(eq(1), eq(8), anyString());
+        assertEquals(2, count("sent"));
+        assertEquals(1, count("merged"));
+    }
+
+    @Test
+    public void shouldReplayRegistrationWithItsIdempotencyKey() {
+        sut.enqueueCast(1, 7, "ficha-1");
+        when(asyncServiceClient.registerActorInMovie(1, 7, "ficha-1"))
+                .thenReturn(CompletableFuture.completedFuture("Éxito"));
+
+        sut.replay();
+
+        verify(asyncServiceClient).registerActorInMovie(1, 7, "ficha-1");
+        assertEquals(0, sut.getDepth());
+    }
+
+    @Test
+    public void shouldDropWritesRejectedByService() {
+        sut.enqueueCast(1, 7);
+        sut.enqueueCast(2, 7);
+        when(asyncServiceClient.registerActorInMovie(eq(1), eq(7), anyString())).thenReturn(CompletableFuture.failedFuture(
+                new MovieCardsServiceException("Bad Request", "url", 400, null)));
+        when(asyncServiceClient.registerActorInMovie(eq(2), eq(7), anyString()))
+                .thenReturn(CompletableFuture.completedFuture("Éxito"));
+
+        sut.replay();
+
+        assertEquals(0, sut.getDepth());
+        assertEquals(1, count("dead"));
+        assertEquals(1, count("sent"));
+    }
+
+    @Test
+    public void shouldOnlyAcceptUnavailabilityFailures() {
+        assertTrue(sut.accepts(new ServiceUnavailableException("Circuito abierto", "url", null)));
+        assertTrue(sut.accepts(new MovieCardsServiceException("Bad Gateway", "url", 502, null)));
+        assertFalse(sut.accepts(new MovieCardsServiceException("Bad Request", "url", 400, null)));
+    }
+
+    private WriteOutbox newOutbox() {
+        WriteOutbox outbox = new WriteOutbox(true, dir.toString(), 1000, 20, serviceClient, asyncServiceClientProvider,
+                mirror);
+        outbox.bindTo(registry);
+        return outbox;
+    }
+
+    private long count(String result) {
+        return (long) registry.get("moviecards.outbox.replayed").tag("result", result).functionCounters().stream()
+                .mapToDouble(counter -> counter.count()).sum();
+    }
+}
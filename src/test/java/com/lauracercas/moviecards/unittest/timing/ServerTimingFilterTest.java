@@ -0,0 +1,98 @@
+package com.lauracercas.moviecards.unittest.timing;
+
+import com.lauracercas.moviecards.service.ParallelCalls;
+import com.lauracercas.moviecards.timing.RequestTimings;
+import com.lauracercas.moviecards.timing.ServerTimingFilter;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Autor: Hernan Andres Henao
+ * Proyecto: TFM Integración Continua con GitHub Actions
+ * Fecha: 18/10/2026
+ */
+class ServerTimingFilterTest {
+
+    private final ServerTimingFilter sut = new ServerTimingFilter(true);
+
+    @Test
+    public void shouldPublishBreakdownBeforeBodyIsWritten() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/movies");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        sut.doFilter(request, response, (req, res) -> {
+            RequestTimings.start("service", "MovieServiceImpl.getAllMovies").end();
+            RequestTimings.start("http", "getMovieById").end();
+            RequestTimings.start("http", "getMovieById").end();
+            res.getWriter().write("<html></html>");
+            res.flushBuffer();
+        });
+
+        String header = response.getHeader(ServerTimingFilter.HEADER);
+        assertTrue(header.startsWith("service;desc=\"MovieServiceImpl.getAllMovies\";dur="), header);
+        assertTrue(header.contains("http;desc=\"getMovieById x2\";dur="), header);
+        assertTrue(header.contains("total;dur="), header);
+        assertNull(RequestTimings.current());
+    }
+
+    @Test
+    public void shouldCollectSpansFromParallelCalls() throws Exception {
+        ParallelCalls parallelCalls = new ParallelCalls(Executors.newFixedThreadPool(2), 1000);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/editActor/1");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        try {
+            sut.doFilter(request, response, (req, res) -> parallelCalls.acceptBoth(
+                    () -> timed("getActorById"), () -> timed("getAllMovies"), (actor, movies) -> {
+                    }));
+        } finally {
+            parallelCalls.destroy();
+        }
+
+        String header = response.getHeader(ServerTimingFilter.HEADER);
+        assertTrue(header.contains("http;desc=\"getActorById\""), header);
+        assertTrue(header.contains("http;desc=\"getAllMovies\""), header);
+    }
+
+    @Test
+    public void shouldEmitFlightRecorderEvents(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("timing.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("moviecards.Span").withThreshold(java.time.Duration.ZERO);
+            recording.enable("moviecards.Request").withThreshold(java.time.Duration.ZERO);
+            recording.start();
+            sut.doFilter(new MockHttpServletRequest("GET", "/register"), new MockHttpServletResponse(),
+                    (req, res) -> RequestTimings.start("controller", "CardController.registerActorInMovie").end());
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        RecordedEvent span = events.stream()
+                .filter(event -> event.getEventType().getName().equals("moviecards.Span")).findFirst().orElseThrow();
+        RecordedEvent request = events.stream()
+                .filter(event -> event.getEventType().getName().equals("moviecards.Request")).findFirst().orElseThrow();
+        assertEquals("GET /register", span.getString("request"));
+        assertEquals("CardController.registerActorInMovie", span.getString("name"));
+        assertEquals(200, request.getInt("status"));
+        assertTrue(request.getString("serverTiming").startsWith("controller;"));
+    }
+
+    private static String timed(String operation) {
+        RequestTimings.start("http", operation).end();
+        return operation;
+    }
+}